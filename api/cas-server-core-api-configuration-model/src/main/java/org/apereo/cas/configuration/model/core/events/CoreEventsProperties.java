@@ -1,11 +1,14 @@
 package org.apereo.cas.configuration.model.core.events;
 
+import org.apereo.cas.configuration.model.support.quartz.ScheduledJobProperties;
+import org.apereo.cas.configuration.support.DurationCapable;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -48,4 +51,26 @@ public class CoreEventsProperties implements Serializable {
      * configuration files and reloading context conditionally if there are any changes.
      */
     private boolean trackConfigurationModifications;
+
+    /**
+     * Indicates how long events should be kept in the events repository.
+     * Events that are older are removed by the background cleaner process, if enabled,
+     * or expired by the repository itself if it supports expiring records natively.
+     * A zero or negative duration, which is the default, keeps events forever.
+     */
+    @DurationCapable
+    private String maxAge = "PT0S";
+
+    /**
+     * Settings that control the background cleaner process
+     * that removes events older than the configured maximum age.
+     * The cleaner is disabled by default and must be turned on explicitly
+     * along with a maximum age for events to be removed.
+     */
+    @NestedConfigurationProperty
+    private ScheduledJobProperties cleaner = new ScheduledJobProperties();
+
+    public CoreEventsProperties() {
+        cleaner.getSchedule().setEnabled(false).setStartDelay("PT1M").setRepeatInterval("PT1H");
+    }
 }
@@ -0,0 +1,81 @@
+package org.apereo.cas.configuration.model.core.slo;
+
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * This is {@link SingleLogoutDispatchProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@RequiresModule(name = "cas-server-core-logout")
+@Getter
+@Setter
+@Accessors(chain = true)
+public class SingleLogoutDispatchProperties implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -2870951436592018644L;
+
+    /**
+     * Whether asynchronous back-channel logout messages should be handed to
+     * a dispatch queue that limits concurrent requests per host, coalesces
+     * duplicate messages and retries failed deliveries.
+     * When disabled, messages are handed directly to the HTTP client.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of logout messages that may be delivered
+     * to the same host concurrently. Remaining messages for the host
+     * wait in the queue until a slot is freed.
+     */
+    private int maxConcurrentRequestsPerHost = 4;
+
+    /**
+     * Maximum number of logout messages that may wait in the queue of the same host.
+     * Messages for a host whose queue is full are rejected and reported as failed.
+     */
+    private int maxQueuedMessagesPerHost = 1000;
+
+    /**
+     * Maximum number of logout messages that may be pending delivery across all hosts,
+     * including messages waiting to be retried. Messages beyond this limit are rejected
+     * and reported as failed.
+     */
+    private int maxPendingMessages = 10000;
+
+    /**
+     * Maximum number of delivery attempts for a logout message,
+     * including the first attempt. The message is dropped once all attempts fail.
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * Delay before the first retry of a failed logout message.
+     * The delay is doubled for every subsequent retry.
+     */
+    @DurationCapable
+    private String initialRetryDelay = "PT1S";
+
+    /**
+     * Upper bound for the delay between retries of a failed logout message.
+     */
+    @DurationCapable
+    private String maxRetryDelay = "PT5M";
+
+    /**
+     * Directory used to journal pending logout messages on disk.
+     * Messages that are still pending when CAS shuts down are delivered
+     * again when CAS starts. When left blank, pending messages are only kept in memory.
+     */
+    private String journalDirectory;
+}
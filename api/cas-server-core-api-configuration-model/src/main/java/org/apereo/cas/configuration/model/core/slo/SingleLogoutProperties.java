@@ -5,6 +5,7 @@ import org.apereo.cas.configuration.support.RequiresModule;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -41,6 +42,12 @@ public class SingleLogoutProperties implements Serializable {
      */
     private LogoutPropagationTypes logoutPropagationType = LogoutPropagationTypes.AJAX;
 
+    /**
+     * Control how asynchronous back-channel logout messages are queued and delivered.
+     */
+    @NestedConfigurationProperty
+    private SingleLogoutDispatchProperties dispatch = new SingleLogoutDispatchProperties();
+
     /**
      * The Logout propagation types.
      */
@@ -38,4 +38,15 @@ public class TicketGrantingTicketCoreProperties implements Serializable {
      * has a subsequent impact on logout.
      */
     private boolean onlyTrackMostRecentSession = true;
+
+    /**
+     * Flag to control whether services and descendant tickets tracked by
+     * a ticket-granting ticket should be stored as separate entries next to the ticket,
+     * rather than as part of the ticket itself. When enabled, issuing a service ticket
+     * only appends a small entry along with the ticket's usage, and the ticket-granting ticket
+     * is only written back to the registry if anything else about it has changed.
+     * This is only supported by ticket registries that are able to keep such
+     * entries natively and is ignored otherwise.
+     */
+    private boolean storeTrackedTicketsSeparately;
 }
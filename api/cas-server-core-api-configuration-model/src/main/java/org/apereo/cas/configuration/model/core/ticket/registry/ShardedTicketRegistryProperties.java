@@ -0,0 +1,67 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This is {@link ShardedTicketRegistryProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+public class ShardedTicketRegistryProperties implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 3528164025971238716L;
+
+    /**
+     * Whether tickets should be spread across multiple ticket registry shards.
+     * Ticket-granting tickets are placed on a shard by consistent hashing of their identifier,
+     * and the identifiers of service, proxy and proxy-granting tickets carry a tag that
+     * routes them to the shard of the ticket-granting ticket they descend from.
+     */
+    private boolean enabled;
+
+    /**
+     * Connection addresses of the additional shards that tickets are spread across.
+     * The configured ticket registry serves as the first shard, and one more shard is created for each entry
+     * with the same settings as the configured ticket registry, except for its connection address.
+     * Entries are Redis URIs for the Redis ticket registry, client URIs for the MongoDb ticket registry,
+     * or database URLs for the JPA ticket registry. Sharding is not available for ticket registries
+     * that keep tickets in runtime memory, since shards in the same server offer no additional throughput.
+     */
+    private List<String> connections = new ArrayList<>();
+
+    /**
+     * Connection addresses of the additional shards that were used before the shards were last changed,
+     * in the order they were configured. When connections are added or removed, list the previous connections
+     * here so that tickets are still looked up on the shard they were stored on, until they are migrated
+     * to the shard that owns them now. Once tickets are migrated, or have expired, this setting may be removed.
+     */
+    private List<String> previousConnections = new ArrayList<>();
+
+    /**
+     * Whether tickets that are not stored on the shard that owns them should be migrated in the background on startup,
+     * typically along with {@code previous-connections} after the shards have changed. Migration should be turned on
+     * for a single CAS server node only.
+     */
+    private boolean migrateOnStartup;
+
+    /**
+     * Number of positions each shard is given on the consistent hash ring.
+     * More positions spread tickets more evenly across shards, at the cost of a larger ring.
+     */
+    private int virtualNodes = 128;
+}
@@ -42,4 +42,55 @@ public class TicketRegistryCoreProperties implements Serializable {
      * and kept in memory.
      */
     private String queueIdentifier;
+
+    /**
+     * Binary format used to serialize tickets before they are encrypted
+     * and stored as encoded tickets, when ticket registry encryption is turned on.
+     * Regardless of this setting, CAS is always able to read encoded tickets
+     * produced in any of the supported formats, allowing a cluster to move from one
+     * format to another via a rolling upgrade: first deploy CAS nodes
+     * that keep the default format, and once all nodes are upgraded, switch the format.
+     */
+    private EncodedTicketFormats encodedTicketFormat = EncodedTicketFormats.SERIALIZATION;
+
+    /**
+     * Format of the ticket documents that are stored by ticket registries
+     * which keep a serialized copy of the ticket, such as JPA, MongoDb, Redis, DynamoDb or Cassandra.
+     * Regardless of this setting, CAS is always able to read documents in any of the supported formats,
+     * so a cluster can migrate from one format to another via a rolling upgrade.
+     * Note that the binary format is stored as base64-encoded text and is opaque
+     * to database tools that inspect the ticket document as JSON.
+     */
+    private TicketDocumentFormats documentFormat = TicketDocumentFormats.JSON;
+
+    /**
+     * Formats available for ticket documents.
+     */
+    public enum TicketDocumentFormats {
+        /**
+         * Default option that stores tickets as JSON.
+         */
+        JSON,
+        /**
+         * Compact binary JSON format (CBOR), encoded as base64,
+         * that produces smaller documents and is faster to parse.
+         */
+        CBOR
+    }
+
+    /**
+     * Binary formats available for encoded tickets.
+     */
+    public enum EncodedTicketFormats {
+        /**
+         * Default option that uses Java serialization, which remains
+         * readable by CAS nodes that predate the encoded ticket header.
+         */
+        SERIALIZATION,
+        /**
+         * Compact binary JSON format (CBOR) that produces
+         * smaller payloads and is faster to write and read.
+         */
+        CBOR
+    }
 }
@@ -110,6 +110,18 @@ public class TicketRegistryProperties implements Serializable {
     @NestedConfigurationProperty
     private StatelessTicketRegistryProperties stateless = new StatelessTicketRegistryProperties();
 
+    /**
+     * Settings relevant for the in-memory hot tier that may front the ticket registry.
+     */
+    @NestedConfigurationProperty
+    private TieredTicketRegistryProperties tiered = new TieredTicketRegistryProperties();
+
+    /**
+     * Settings relevant for spreading tickets across multiple ticket registry shards.
+     */
+    @NestedConfigurationProperty
+    private ShardedTicketRegistryProperties sharding = new ShardedTicketRegistryProperties();
+
     /**
      * Ticket registry cleaner settings.
      */
@@ -0,0 +1,82 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * This is {@link TieredTicketRegistryProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+public class TieredTicketRegistryProperties implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 6143092214383316905L;
+
+    /**
+     * Whether the configured ticket registry should be fronted by an in-memory hot tier.
+     * Tickets are served from and written to memory first, and changes are replicated
+     * to the configured ticket registry in the background. Tickets that cannot be found
+     * in memory are read from the configured ticket registry. Since the hot tier is local
+     * to each CAS node, deployments with more than one node should route requests that
+     * belong to the same single sign-on session to the same node.
+     */
+    private boolean enabled;
+
+    /**
+     * Whether ticket-granting tickets should be written to the configured ticket registry
+     * synchronously, as part of the request that adds, updates or deletes them, so that
+     * single sign-on sessions are never lost when a node goes down before its changes are replicated.
+     * Other tickets are replicated in the background.
+     */
+    private boolean writeThroughTicketGrantingTickets;
+
+    /**
+     * Whether service and proxy tickets that are added and validated again before the queue is flushed
+     * should be kept out of the configured ticket registry. A service ticket that is still waiting in the queue
+     * can only be validated by the node that issued it, so validation requests must be routed to that node,
+     * typically by the suffix of the ticket id that is set via {@code cas.host.name}. Service tickets that have been
+     * replicated are validated against and removed from the configured ticket registry, so that they cannot be
+     * validated more than once across nodes. When disabled, service and proxy tickets are always written synchronously.
+     */
+    private boolean coalesceServiceTickets = true;
+
+    /**
+     * Maximum number of tickets that are kept in the hot tier.
+     * Tickets that are evicted are read again from the configured ticket registry when needed.
+     */
+    private long hotTierMaximumSize = 50_000;
+
+    /**
+     * Maximum amount of time a ticket is kept in the hot tier, unless the ticket expires sooner.
+     * This bounds how long a node may serve a copy of a ticket that has since been changed by another node.
+     */
+    @DurationCapable
+    private String hotTierTimeToLive = "PT1M";
+
+    /**
+     * Interval at which pending changes are replicated to the configured ticket registry.
+     * Tickets that are added and removed again within this interval
+     * are never written to the configured ticket registry.
+     */
+    @DurationCapable
+    private String flushInterval = "PT1S";
+
+    /**
+     * Maximum number of pending changes that are replicated
+     * to the configured ticket registry in a single batch.
+     */
+    private int flushBatchSize = 500;
+}
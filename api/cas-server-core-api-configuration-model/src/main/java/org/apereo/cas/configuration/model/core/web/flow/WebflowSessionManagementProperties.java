@@ -40,4 +40,12 @@ public class WebflowSessionManagementProperties implements Serializable {
      */
     @RequiredProperty
     private boolean storage;
+
+    /**
+     * When session state is managed on the client side, compress the flow execution state
+     * using a shared dictionary of common class names and flow-scope keys and a faster compression level,
+     * before it is signed and encrypted. This produces a considerably smaller execution parameter.
+     * Flow execution state produced with this setting turned off remains readable.
+     */
+    private boolean compactClientState;
 }
@@ -46,4 +46,12 @@ public abstract class BaseBucket4jProperties implements CasFeatureModule, Serial
      * (i.e. allows 1000 tokens per 1 minute, but not often then 50 tokens per 1 second).
      */
     private List<Bucket4jBandwidthLimitProperties> bandwidth = new ArrayList<>();
+
+    /**
+     * Maximum number of buckets that are kept in memory when buckets
+     * are not shared with other nodes. Once the limit is reached,
+     * the least recently used buckets are evicted. Buckets are also evicted
+     * once they stay idle long enough to refill to their full capacity.
+     */
+    private long maximumBuckets = 100_000;
 }
@@ -0,0 +1,37 @@
+package org.apereo.cas.configuration.model.support.bucket4j;
+
+import org.apereo.cas.configuration.model.support.hazelcast.BaseHazelcastProperties;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+
+/**
+ * This is {@link Bucket4jHazelcastProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@RequiresModule(name = "cas-server-support-throttle-bucket4j")
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("Bucket4jHazelcastProperties")
+public class Bucket4jHazelcastProperties extends BaseHazelcastProperties {
+    @Serial
+    private static final long serialVersionUID = -3284215707962370283L;
+
+    /**
+     * Whether buckets should be shared with other nodes via Hazelcast.
+     */
+    private boolean enabled;
+
+    /**
+     * Name of the distributed map that holds the buckets.
+     */
+    private String mapName = "bucket4jBuckets";
+}
@@ -0,0 +1,34 @@
+package org.apereo.cas.configuration.model.support.bucket4j;
+
+import org.apereo.cas.configuration.model.support.jpa.AbstractJpaProperties;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+
+/**
+ * This is {@link Bucket4jJdbcProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@RequiresModule(name = "cas-server-support-throttle-bucket4j")
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("Bucket4jJdbcProperties")
+public class Bucket4jJdbcProperties extends AbstractJpaProperties {
+    @Serial
+    private static final long serialVersionUID = 2590417452861403721L;
+
+    /**
+     * Whether buckets should be shared with other nodes via a relational database.
+     * Buckets are stored in a {@code bucket} table that is locked per row
+     * whenever a bucket is consumed. PostgreSQL and MySQL databases are supported.
+     */
+    private boolean enabled;
+}
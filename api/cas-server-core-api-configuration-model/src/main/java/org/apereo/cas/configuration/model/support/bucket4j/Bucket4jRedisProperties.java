@@ -0,0 +1,32 @@
+package org.apereo.cas.configuration.model.support.bucket4j;
+
+import org.apereo.cas.configuration.model.support.redis.BaseRedisProperties;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+
+/**
+ * This is {@link Bucket4jRedisProperties}.
+ * Buckets are shared with other nodes via Redis once enabled.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@RequiresModule(name = "cas-server-support-throttle-bucket4j")
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("Bucket4jRedisProperties")
+public class Bucket4jRedisProperties extends BaseRedisProperties {
+    @Serial
+    private static final long serialVersionUID = 6043580163829946517L;
+
+    public Bucket4jRedisProperties() {
+        setEnabled(false);
+    }
+}
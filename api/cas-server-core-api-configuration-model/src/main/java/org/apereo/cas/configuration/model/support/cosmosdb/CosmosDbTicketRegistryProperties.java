@@ -30,7 +30,45 @@ public class CosmosDbTicketRegistryProperties extends BaseCosmosDbProperties {
     @NestedConfigurationProperty
     private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
 
+    /**
+     * Scheme used to assign ticket documents to logical partitions.
+     * The partition key value of each ticket document is stored in its {@code prefix} field.
+     */
+    private PartitioningSchemes partitioningScheme = PartitioningSchemes.PREFIX;
+
+    /**
+     * Number of logical partitions, per ticket type, over which
+     * tickets are spread when the partitioning scheme is {@code HASHED}.
+     */
+    private int partitionBuckets = 64;
+
+    /**
+     * When the partitioning scheme is {@code HASHED}, also look up tickets that cannot be found in their
+     * hashed partition in the partition used by the {@code PREFIX} scheme. Tickets found there are moved
+     * to their hashed partition. This allows a deployment to switch schemes without losing tickets
+     * that were issued before the switch, and may be turned off once those tickets have expired.
+     */
+    private boolean migrateLegacyPartitions;
+
     public CosmosDbTicketRegistryProperties() {
         this.crypto.setEnabled(false);
     }
+
+    /**
+     * Partitioning schemes for ticket documents.
+     */
+    public enum PartitioningSchemes {
+        /**
+         * All tickets of a given type share a single logical partition,
+         * named after the ticket prefix, i.e. {@code TGT}.
+         */
+        PREFIX,
+        /**
+         * Tickets are spread over a number of logical partitions, named after the
+         * ticket prefix and a hash bucket of the ticket id, i.e. {@code TGT-17}.
+         * The partition of a ticket is derived from its id, so tickets can still be read
+         * with point reads, while writes and storage are spread over the container.
+         */
+        HASHED
+    }
 }
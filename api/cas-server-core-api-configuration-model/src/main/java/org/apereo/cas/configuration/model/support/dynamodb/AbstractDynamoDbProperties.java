@@ -1,6 +1,7 @@
 package org.apereo.cas.configuration.model.support.dynamodb;
 
 import org.apereo.cas.configuration.model.support.aws.BaseAmazonWebServicesProperties;
+import org.apereo.cas.configuration.support.DurationCapable;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import lombok.Getter;
@@ -55,6 +56,15 @@ public abstract class AbstractDynamoDbProperties extends BaseAmazonWebServicesPr
      */
     private BillingMode billingMode = BillingMode.PROVISIONED;
 
+    /**
+     * Maximum amount of time to wait on startup for global secondary indexes
+     * that are added to an existing table to become active. Indexes that are still being built
+     * once this time elapses continue to be built in the background, and lookups that would use them
+     * fall back to scanning the table until they become active.
+     */
+    @DurationCapable
+    private String indexCreationTimeout = "PT30S";
+
     /**
      * Indicates that the database instance is local to the deployment
      * that does not require or use any credentials or other configuration
@@ -60,6 +60,12 @@ public class OAuthAccessTokenProperties implements Serializable {
      */
     private long maxActiveTokensAllowed;
 
+    /**
+     * Control settings for stateless validation of JWT access tokens.
+     */
+    @NestedConfigurationProperty
+    private OAuthStatelessAccessTokenProperties stateless = new OAuthStatelessAccessTokenProperties();
+
     /**
      * Crypto settings.
      */
@@ -0,0 +1,70 @@
+package org.apereo.cas.configuration.model.support.oauth;
+
+import org.apereo.cas.configuration.model.support.quartz.SchedulingProperties;
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * This is {@link OAuthStatelessAccessTokenProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@RequiresModule(name = "cas-server-support-oauth")
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("OAuthStatelessAccessTokenProperties")
+public class OAuthStatelessAccessTokenProperties implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 2259628417613622587L;
+
+    /**
+     * When enabled, access tokens that are issued as JWTs are validated
+     * using their signature and expiration date only, and the ticket registry
+     * is no longer consulted when the token is presented to CAS. Revoked tokens
+     * are tracked in a replicated deny-list until their original expiration date.
+     * Revocations are also recorded in the ticket registry, so that CAS server nodes
+     * that share the ticket registry recognize tokens revoked by other nodes
+     * once they load those revocations on startup and on schedule.
+     */
+    private boolean enabled;
+
+    /**
+     * Expected number of revoked access tokens per revocation partition.
+     * This is used to size the bloom filter that guards the deny-list.
+     */
+    private long expectedRevocations = 100_000;
+
+    /**
+     * Acceptable false-positive probability of the bloom filter
+     * that guards the deny-list. False positives are always verified
+     * against the exact revocation set.
+     */
+    private double falsePositiveProbability = 0.01;
+
+    /**
+     * Length of each time partition of the revocation deny-list.
+     * Revoked tokens are grouped into partitions by their expiration date,
+     * and partitions are discarded as a whole once all their tokens have expired.
+     */
+    @DurationCapable
+    private String partitionLength = "PT1H";
+
+    /**
+     * Scheduler settings to indicate how often revocations recorded in the ticket registry
+     * by other CAS server nodes are loaded into the deny-list of this node.
+     */
+    @NestedConfigurationProperty
+    private SchedulingProperties schedule = new SchedulingProperties().setStartDelay("PT1M").setRepeatInterval("PT1M");
+}
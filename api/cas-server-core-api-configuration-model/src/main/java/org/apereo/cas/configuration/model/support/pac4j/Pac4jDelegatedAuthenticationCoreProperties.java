@@ -43,7 +43,10 @@ public class Pac4jDelegatedAuthenticationCoreProperties implements Serializable
 
     /**
      * Whether initialization of delegated identity providers should be done
-     * eagerly typically during startup.
+     * eagerly typically during startup. When disabled, identity providers are initialized
+     * as soon as they are loaded rather than on first use. In either case, identity providers
+     * are loaded once and cached, and are only loaded again once the cache expires,
+     * configuration is refreshed or identity providers are explicitly reloaded.
      */
     private boolean lazyInit = true;
 
@@ -58,6 +58,19 @@ public class RedisTicketRegistryProperties extends BaseRedisProperties {
      */
     private boolean enableRedisSearch = true;
 
+    /**
+     * Whether the second-level cache should be kept coherent by Redis itself, using
+     * server-assisted client-side caching (client tracking in broadcasting mode).
+     * Redis then notifies this CAS server node of every change to a ticket, so that the
+     * ticket can be removed from the cache, and tickets are no longer published to other
+     * CAS server nodes when they are added, updated or removed. This requires Redis 6 or newer,
+     * and a dedicated connection to the configured Redis host that uses the RESP3 protocol.
+     * The cache is cleared whenever that connection is lost. Client tracking is only supported
+     * for standalone Redis deployments, and CAS fails to start if it is turned on along with
+     * Redis sentinel or cluster settings, or when tickets are spread across shards.
+     */
+    private boolean enableClientTracking;
+
     public RedisTicketRegistryProperties() {
         crypto.setEnabled(false);
     }
@@ -1,12 +1,16 @@
 package org.apereo.cas.configuration.model.support.throttle;
 
 import org.apereo.cas.configuration.model.support.bucket4j.BaseBucket4jProperties;
+import org.apereo.cas.configuration.model.support.bucket4j.Bucket4jHazelcastProperties;
+import org.apereo.cas.configuration.model.support.bucket4j.Bucket4jJdbcProperties;
+import org.apereo.cas.configuration.model.support.bucket4j.Bucket4jRedisProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import java.io.Serial;
 
@@ -24,4 +28,25 @@ import java.io.Serial;
 public class Bucket4jThrottleProperties extends BaseBucket4jProperties {
     @Serial
     private static final long serialVersionUID = 5813165633105563813L;
+
+    /**
+     * Share buckets with other nodes via Hazelcast,
+     * so that limits apply across the cluster.
+     */
+    @NestedConfigurationProperty
+    private Bucket4jHazelcastProperties hazelcast = new Bucket4jHazelcastProperties();
+
+    /**
+     * Share buckets with other nodes via Redis,
+     * so that limits apply across the cluster.
+     */
+    @NestedConfigurationProperty
+    private Bucket4jRedisProperties redis = new Bucket4jRedisProperties();
+
+    /**
+     * Share buckets with other nodes via a relational database,
+     * so that limits apply across the cluster.
+     */
+    @NestedConfigurationProperty
+    private Bucket4jJdbcProperties jdbc = new Bucket4jJdbcProperties();
 }
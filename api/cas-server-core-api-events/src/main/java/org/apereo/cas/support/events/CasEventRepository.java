@@ -31,6 +31,15 @@ public interface CasEventRepository {
      */
     void removeAll();
 
+    /**
+     * Remove events created before the given date.
+     * Repositories that expire events on their own may ignore this operation.
+     *
+     * @param dateTime the date time
+     */
+    default void removeBefore(final ZonedDateTime dateTime) {
+    }
+
     /**
      * Save.
      *
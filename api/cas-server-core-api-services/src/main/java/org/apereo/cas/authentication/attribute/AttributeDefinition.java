@@ -124,6 +124,14 @@ public interface AttributeDefinition extends Serializable, Comparable<AttributeD
      */
     List<Object> resolveAttributeValues(AttributeDefinitionResolutionContext context) throws Throwable;
 
+    /**
+     * Prepare this definition for resolution ahead of time, typically
+     * when the definition is loaded or reloaded into an attribute definition store,
+     * so that resolving attribute values no longer needs to parse the definition.
+     */
+    default void compile() {
+    }
+
     /**
      * To attribute value.
      *
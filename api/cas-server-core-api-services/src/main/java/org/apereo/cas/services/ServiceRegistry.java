@@ -3,6 +3,7 @@ package org.apereo.cas.services;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -212,6 +213,19 @@ public interface ServiceRegistry {
         return load().size();
     }
 
+    /**
+     * Whether service definitions in this registry may have changed since the given instant.
+     * Callers that reload definitions periodically may skip the reload when nothing has changed.
+     * Registries that cannot tell should report a change, which is the default.
+     *
+     * @param since the instant of the last load
+     * @return true if definitions may have changed
+     * @since 7.1.0
+     */
+    default boolean isChangedSince(final Instant since) {
+        return true;
+    }
+
     /**
      * Returns the friendly name of this registry.
      *
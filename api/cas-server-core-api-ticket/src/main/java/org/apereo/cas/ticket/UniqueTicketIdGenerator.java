@@ -28,4 +28,29 @@ public interface UniqueTicketIdGenerator {
      * @throws Throwable the throwable
      */
     String getNewTicketId(String prefix) throws Throwable;
+
+    /**
+     * Return a new unique ticket id beginning with the prefix, for a ticket
+     * that descends from the given parent ticket. Implementations may embed details
+     * of the parent ticket id into the new ticket id, such as where the parent is stored.
+     *
+     * @param prefix         The prefix we want attached to the ticket.
+     * @param parentTicketId the parent ticket id
+     * @return the unique ticket id
+     * @throws Throwable the throwable
+     */
+    default String getNewTicketId(final String prefix, final String parentTicketId) throws Throwable {
+        return getNewTicketId(prefix);
+    }
+
+    /**
+     * Whether ticket ids produced by this generator follow a format that is defined elsewhere,
+     * such as SAML artifacts or tokens that are typed in by users, and must not be extended
+     * with additional details such as where the parent ticket is stored.
+     *
+     * @return true/false
+     */
+    default boolean isFixedFormat() {
+        return false;
+    }
 }
@@ -5,11 +5,13 @@ import org.apereo.cas.ticket.AuthenticationAwareTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 
+import lombok.val;
 import org.jooq.lambda.Unchecked;
 
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -101,6 +103,27 @@ public interface TicketRegistry {
      */
     int deleteTicket(Ticket ticketId) throws Exception;
 
+    /**
+     * Retrieve a ticket and remove it from the registry in one operation.
+     * This is intended for single-use tickets, such as service tickets
+     * that are consumed on validation, so that a ticket is only ever handed to one caller
+     * without a separate update or lock. Registries that are able to do so
+     * natively carry out the operation atomically in a single round trip;
+     * otherwise, the ticket is fetched and then removed. If the ticket cannot be found or has expired,
+     * an InvalidTicketException is thrown, similar to {@link #getTicket(String, Class)}.
+     *
+     * @param <T>      the type parameter
+     * @param ticketId the ticket id
+     * @param clazz    the expected ticket type
+     * @return the ticket that was removed from the registry
+     * @throws Exception the exception
+     */
+    default <T extends Ticket> T consumeTicket(final String ticketId, final Class<T> clazz) throws Exception {
+        val ticket = getTicket(ticketId, clazz);
+        deleteTicket(ticket);
+        return ticket;
+    }
+
     /**
      * Delete all tickets from the registry.
      *
@@ -141,6 +164,43 @@ public interface TicketRegistry {
      */
     Ticket updateTicket(Ticket ticket) throws Exception;
 
+    /**
+     * Start a unit of work that collects ticket changes
+     * and writes them to this registry together once committed.
+     *
+     * @return the unit of work
+     */
+    default TicketRegistryUnitOfWork newUnitOfWork() {
+        return new TicketRegistryUnitOfWork(this);
+    }
+
+    /**
+     * Write the changes collected by the unit of work to the registry.
+     * Tickets are added first, then updated and finally deleted. Registries
+     * that are able to do so should override this operation to write changes
+     * in a single batch or transaction.
+     *
+     * @param unitOfWork the unit of work
+     * @return the tickets as added to the registry, keyed by the identifier of the ticket that was given
+     * @throws Exception the exception
+     */
+    default Map<String, Ticket> commit(final TicketRegistryUnitOfWork unitOfWork) throws Exception {
+        val addedTickets = new LinkedHashMap<String, Ticket>();
+        for (val ticket : unitOfWork.getTicketsToAdd()) {
+            val addedTicket = addTicket(ticket);
+            if (addedTicket != null) {
+                addedTickets.put(ticket.getId(), addedTicket);
+            }
+        }
+        for (val ticket : unitOfWork.getTicketsToUpdate()) {
+            updateTicket(ticket);
+        }
+        for (val ticket : unitOfWork.getTicketsToDelete()) {
+            deleteTicket(ticket);
+        }
+        return addedTickets;
+    }
+
     /**
      * Computes the number of SSO sessions stored in the ticket registry.
      *
@@ -0,0 +1,121 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This is {@link TicketRegistryUnitOfWork}. It collects tickets that are to be added,
+ * updated or deleted so they can be written to the ticket registry together once committed,
+ * allowing registries to batch the changes into as few requests as possible.
+ * Changes that target the same ticket are merged, such that a ticket that is added or updated
+ * more than once is only written once in its most recent state.
+ * A unit of work is not thread-safe and is meant to be used by a single request.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@RequiredArgsConstructor
+public class TicketRegistryUnitOfWork {
+    private final TicketRegistry ticketRegistry;
+
+    private final Map<String, Ticket> ticketsToAdd = new LinkedHashMap<>();
+
+    private final Map<String, Ticket> ticketsToUpdate = new LinkedHashMap<>();
+
+    private final Map<String, Ticket> ticketsToDelete = new LinkedHashMap<>();
+
+    /**
+     * Add ticket.
+     *
+     * @param ticket the ticket
+     * @return this unit of work
+     */
+    public TicketRegistryUnitOfWork addTicket(final Ticket ticket) {
+        if (ticket != null) {
+            ticketsToDelete.remove(ticket.getId());
+            ticketsToUpdate.remove(ticket.getId());
+            ticketsToAdd.put(ticket.getId(), ticket);
+        }
+        return this;
+    }
+
+    /**
+     * Update ticket. A ticket that is to be added
+     * is added in its updated state instead.
+     *
+     * @param ticket the ticket
+     * @return this unit of work
+     */
+    public TicketRegistryUnitOfWork updateTicket(final Ticket ticket) {
+        if (ticket != null && !ticketsToDelete.containsKey(ticket.getId())) {
+            if (ticketsToAdd.containsKey(ticket.getId())) {
+                ticketsToAdd.put(ticket.getId(), ticket);
+            } else {
+                ticketsToUpdate.put(ticket.getId(), ticket);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Delete ticket. A ticket that is to be added
+     * is never written to the registry instead.
+     *
+     * @param ticket the ticket
+     * @return this unit of work
+     */
+    public TicketRegistryUnitOfWork deleteTicket(final Ticket ticket) {
+        if (ticket != null) {
+            ticketsToUpdate.remove(ticket.getId());
+            if (ticketsToAdd.remove(ticket.getId()) == null) {
+                ticketsToDelete.put(ticket.getId(), ticket);
+            }
+        }
+        return this;
+    }
+
+    public Collection<Ticket> getTicketsToAdd() {
+        return ticketsToAdd.values();
+    }
+
+    public Collection<Ticket> getTicketsToUpdate() {
+        return ticketsToUpdate.values();
+    }
+
+    public Collection<Ticket> getTicketsToDelete() {
+        return ticketsToDelete.values();
+    }
+
+    /**
+     * Whether there are no changes to commit.
+     *
+     * @return true/false
+     */
+    public boolean isEmpty() {
+        return ticketsToAdd.isEmpty() && ticketsToUpdate.isEmpty() && ticketsToDelete.isEmpty();
+    }
+
+    /**
+     * Write all collected changes to the ticket registry, and start over.
+     *
+     * @return the tickets as added to the registry, keyed by the identifier of the ticket that was given to this unit of work
+     * @throws Exception the exception
+     */
+    public Map<String, Ticket> commit() throws Exception {
+        if (isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return ticketRegistry.commit(this);
+        } finally {
+            ticketsToAdd.clear();
+            ticketsToUpdate.clear();
+            ticketsToDelete.clear();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package org.apereo.cas.authentication.attribute;
+
+import org.apereo.cas.util.RegexUtils;
+import org.apereo.cas.util.scripting.ExecutableCompiledGroovyScript;
+import org.apereo.cas.util.scripting.ScriptingUtils;
+import org.apereo.cas.util.spring.ApplicationContextProvider;
+import org.apereo.cas.util.spring.SpringExpressionLanguageValueResolver;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.services.persondir.util.CaseCanonicalizationMode;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * This is {@link CompiledAttributeDefinition}. It carries the immutable resolution plan
+ * of an attribute definition, prepared once when the definition is registered with the
+ * attribute definition store. Patterns are compiled, the pattern format is parsed,
+ * the canonicalization mode is looked up and scripts are bound to their handles,
+ * so resolving attribute values does not need to parse the definition again.
+ *
+ * @param script                   the script the plan is compiled from
+ * @param patternFormat            the pattern format the plan is compiled from
+ * @param canonicalizationMode     the canonicalization mode the plan is compiled from
+ * @param patterns                 the patterns the plan is compiled from
+ * @param scriptHandle             the script handle, if any
+ * @param compiledPatterns         the compiled patterns
+ * @param messageFormat            the parsed pattern format, if any
+ * @param caseCanonicalizationMode the case canonicalization mode, if any
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Slf4j
+record CompiledAttributeDefinition(String script, String patternFormat, String canonicalizationMode,
+                                   Map<String, String> patterns, ScriptHandle scriptHandle,
+                                   List<CompiledPattern> compiledPatterns, MessageFormat messageFormat,
+                                   CaseCanonicalizationMode caseCanonicalizationMode) {
+
+    /**
+     * Compile the attribute definition.
+     *
+     * @param definition the definition
+     * @return the compiled attribute definition
+     */
+    static CompiledAttributeDefinition compile(final DefaultAttributeDefinition definition) {
+        val patterns = definition.getPatterns() == null
+            ? Map.<String, String>of()
+            : new LinkedHashMap<>(definition.getPatterns());
+        val compiledPatterns = patterns.entrySet()
+            .stream()
+            .map(entry -> new CompiledPattern(RegexUtils.createPattern(entry.getKey()),
+                entry.getValue(), compilePatternedValueScript(entry.getValue())))
+            .toList();
+        return new CompiledAttributeDefinition(definition.getScript(), definition.getPatternFormat(),
+            definition.getCanonicalizationMode(), patterns,
+            compileScript(definition.getKey(), definition.getScript()),
+            compiledPatterns, compileMessageFormat(definition.getPatternFormat()),
+            compileCanonicalizationMode(definition.getCanonicalizationMode()));
+    }
+
+    /**
+     * Whether this plan still reflects the given definition,
+     * which may have been modified after it was compiled.
+     *
+     * @param definition the definition
+     * @return true/false
+     */
+    boolean isCompiledFrom(final DefaultAttributeDefinition definition) {
+        return Objects.equals(script, definition.getScript())
+            && Objects.equals(patternFormat, definition.getPatternFormat())
+            && Objects.equals(canonicalizationMode, definition.getCanonicalizationMode())
+            && Objects.equals(patterns, Objects.requireNonNullElse(definition.getPatterns(), Map.of()));
+    }
+
+    /**
+     * Format the value using the pattern format.
+     *
+     * @param value the value
+     * @return the formatted value
+     */
+    String format(final Object value) {
+        if (messageFormat == null) {
+            return MessageFormat.format(patternFormat, value);
+        }
+        val format = (MessageFormat) messageFormat.clone();
+        return format.format(new Object[]{value});
+    }
+
+    /**
+     * Canonicalize the value.
+     *
+     * @param value the value
+     * @return the canonicalized value
+     */
+    String canonicalize(final Object value) {
+        val mode = Objects.requireNonNullElseGet(caseCanonicalizationMode,
+            () -> CaseCanonicalizationMode.valueOf(canonicalizationMode.toUpperCase(Locale.ENGLISH)));
+        return mode.canonicalize(value.toString());
+    }
+
+    private static ScriptHandle compileScript(final String attributeName, final String script) {
+        if (StringUtils.isBlank(script)) {
+            return null;
+        }
+        val matcherInline = ScriptingUtils.getMatcherForInlineGroovyScript(script);
+        if (matcherInline.find()) {
+            val inlineGroovy = matcherInline.group(1);
+            return new ScriptHandle(inlineGroovy, attributeName, inlineGroovy);
+        }
+        val scriptDefinition = SpringExpressionLanguageValueResolver.getInstance().resolve(script);
+        val matcherFile = ScriptingUtils.getMatcherForExternalGroovyScript(scriptDefinition);
+        if (matcherFile.find()) {
+            val file = matcherFile.group();
+            return new ScriptHandle(file, attributeName, file);
+        }
+        return ScriptHandle.NONE;
+    }
+
+    private static ScriptHandle compilePatternedValueScript(final String patternedValue) {
+        return StringUtils.isNotBlank(patternedValue) && ScriptingUtils.getMatcherForInlineGroovyScript(patternedValue).find()
+            ? new ScriptHandle(patternedValue, patternedValue)
+            : null;
+    }
+
+    private static MessageFormat compileMessageFormat(final String patternFormat) {
+        if (StringUtils.isBlank(patternFormat)) {
+            return null;
+        }
+        try {
+            return new MessageFormat(patternFormat);
+        } catch (final IllegalArgumentException e) {
+            LOGGER.warn("Unable to parse attribute definition pattern format [{}]: [{}]", patternFormat, e.getMessage());
+            return null;
+        }
+    }
+
+    private static CaseCanonicalizationMode compileCanonicalizationMode(final String canonicalizationMode) {
+        return StringUtils.isBlank(canonicalizationMode)
+            ? null
+            : Arrays.stream(CaseCanonicalizationMode.values())
+                .filter(mode -> mode.name().equalsIgnoreCase(canonicalizationMode))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * A compiled pattern and the value it maps to.
+     *
+     * @param pattern      the pattern
+     * @param value        the value
+     * @param scriptHandle the script handle, if the value is an inline script
+     */
+    record CompiledPattern(Pattern pattern, String value, ScriptHandle scriptHandle) {
+    }
+
+    /**
+     * A script bound to its executable handle. The handle is looked up from the script
+     * resource cache manager the first time it is needed, and reused afterwards.
+     */
+    static final class ScriptHandle {
+        /**
+         * Handle for scripts that cannot be recognized.
+         */
+        static final ScriptHandle NONE = new ScriptHandle(null);
+
+        private final String resource;
+
+        private final String[] keys;
+
+        private volatile ExecutableCompiledGroovyScript script;
+
+        ScriptHandle(final String resource, final String... keys) {
+            this.resource = resource;
+            this.keys = keys;
+        }
+
+        boolean isDefined() {
+            return resource != null;
+        }
+
+        Optional<ExecutableCompiledGroovyScript> resolve() {
+            var resolved = script;
+            if (resolved == null && isDefined()) {
+                resolved = ApplicationContextProvider.getScriptResourceCacheManager()
+                    .map(cacheManager -> cacheManager.resolveScriptableResource(resource, keys))
+                    .orElse(null);
+                script = resolved;
+            }
+            return Optional.ofNullable(resolved);
+        }
+    }
+}
@@ -7,12 +7,10 @@ import org.apereo.cas.util.EncodingUtils;
 import org.apereo.cas.util.RegexUtils;
 import org.apereo.cas.util.function.FunctionUtils;
 import org.apereo.cas.util.scripting.ExecutableCompiledGroovyScript;
-import org.apereo.cas.util.scripting.ScriptingUtils;
-import org.apereo.cas.util.spring.ApplicationContextProvider;
-import org.apereo.cas.util.spring.SpringExpressionLanguageValueResolver;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -26,18 +24,16 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.CompareToBuilder;
-import org.apereo.services.persondir.util.CaseCanonicalizationMode;
 import org.jooq.lambda.Unchecked;
 
 import java.io.Serial;
 import java.nio.charset.StandardCharsets;
-import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
@@ -85,6 +81,11 @@ public class DefaultAttributeDefinition implements AttributeDefinition {
 
     private boolean singleValue;
 
+    @JsonIgnore
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    private final transient AtomicReference<CompiledAttributeDefinition> compiledDefinition = new AtomicReference<>();
+
     private static List<Object> formatValuesWithScope(final String scope, final List<Object> currentValues) {
         return currentValues
             .stream()
@@ -115,36 +116,6 @@ public class DefaultAttributeDefinition implements AttributeDefinition {
             .collect(Collectors.toCollection(ArrayList::new));
     }
 
-    private static List<Object> fetchAttributeValueFromExternalGroovyScript(final String attributeName,
-                                                                            final List<Object> currentValues,
-                                                                            final String file,
-                                                                            final AttributeDefinitionResolutionContext context) throws Throwable {
-        val result = ApplicationContextProvider.getScriptResourceCacheManager();
-        if (result.isPresent()) {
-            val cacheMgr = result.get();
-            val script = cacheMgr.resolveScriptableResource(file, attributeName, file);
-            if (script != null) {
-                return fetchAttributeValueFromScript(script, attributeName, currentValues, context);
-            }
-        }
-        LOGGER.warn("No groovy script cache manager is available to execute attribute mappings");
-        return new ArrayList<>(0);
-    }
-
-    private static List<Object> fetchAttributeValueAsInlineGroovyScript(final String attributeName,
-                                                                        final List<Object> currentValues,
-                                                                        final String inlineGroovy,
-                                                                        final AttributeDefinitionResolutionContext context) {
-        return ApplicationContextProvider.getScriptResourceCacheManager()
-            .map(cacheManager -> FunctionUtils.doUnchecked(() -> {
-                val script = cacheManager.resolveScriptableResource(inlineGroovy, attributeName, inlineGroovy);
-                return fetchAttributeValueFromScript(script, attributeName, currentValues, context);
-            })).orElseGet(() -> {
-                LOGGER.warn("No groovy script cache manager is available to execute attribute mappings");
-                return new ArrayList<>(0);
-            });
-    }
-
     private static List<Object> fetchAttributeValueFromScript(final ExecutableCompiledGroovyScript scriptToExec,
                                                               final String attributeKey,
                                                               final List<Object> currentValues,
@@ -164,30 +135,37 @@ public class DefaultAttributeDefinition implements AttributeDefinition {
             .build();
     }
     
+    @Override
+    public void compile() {
+        if (compiledDefinition != null) {
+            compiledDefinition.set(CompiledAttributeDefinition.compile(this));
+        }
+    }
+
     @JsonIgnore
     @Override
     public List<Object> resolveAttributeValues(final AttributeDefinitionResolutionContext context) throws Throwable {
+        val plan = getCompiledDefinition();
         List<Object> currentValues = new ArrayList<>(context.getAttributeValues());
-        if (StringUtils.isNotBlank(getScript())) {
-            currentValues = getScriptedAttributeValue(key, currentValues, context);
+        if (plan.scriptHandle() != null) {
+            currentValues = getScriptedAttributeValue(plan.scriptHandle(), currentValues, context);
         }
-        if (getPatterns() != null && !getPatterns().isEmpty() && !currentValues.isEmpty()) {
-            currentValues = getPatternValuesFor(currentValues, context);
+        if (!plan.compiledPatterns().isEmpty() && !currentValues.isEmpty()) {
+            currentValues = getPatternValuesFor(plan, currentValues, context);
         }
         if (isScoped()) {
             currentValues = formatValuesWithScope(context.getScope(), currentValues);
         }
         if (StringUtils.isNotBlank(getPatternFormat())) {
-            currentValues = formatValuesWithPattern(currentValues);
+            currentValues = formatValuesWithPattern(plan, currentValues);
         }
         if (isEncrypted()) {
             currentValues = encryptValues(currentValues, context.getRegisteredService());
         }
         if (StringUtils.isNotBlank(this.canonicalizationMode)) {
-            val mode = CaseCanonicalizationMode.valueOf(canonicalizationMode.toUpperCase(Locale.ENGLISH));
             currentValues = Objects.requireNonNull(currentValues)
                 .stream()
-                .map(value -> mode.canonicalize(value.toString()))
+                .map(plan::canonicalize)
                 .collect(Collectors.toList());
         }
         if (StringUtils.isNotBlank(getFlattened()) && currentValues.size() > 1) {
@@ -199,63 +177,69 @@ public class DefaultAttributeDefinition implements AttributeDefinition {
         return currentValues;
     }
 
-    private List<Object> getPatternValuesFor(final List<Object> currentValues,
-                                             final AttributeDefinitionResolutionContext context) {
-        return patterns
-            .entrySet()
+    private CompiledAttributeDefinition getCompiledDefinition() {
+        if (compiledDefinition == null) {
+            return CompiledAttributeDefinition.compile(this);
+        }
+        val plan = compiledDefinition.get();
+        if (plan != null && plan.isCompiledFrom(this)) {
+            return plan;
+        }
+        val recompiled = CompiledAttributeDefinition.compile(this);
+        compiledDefinition.set(recompiled);
+        return recompiled;
+    }
+
+    private static List<Object> getPatternValuesFor(final CompiledAttributeDefinition plan,
+                                                    final List<Object> currentValues,
+                                                    final AttributeDefinitionResolutionContext context) {
+        return plan.compiledPatterns()
             .stream()
-            .map(entry -> {
-                val pattern = RegexUtils.createPattern(entry.getKey());
-                return currentValues.stream()
-                    .filter(value -> RegexUtils.find(pattern, value.toString()))
-                    .map(value -> getScriptedPatternedValue(value, entry.getValue(), context))
-                    .findFirst()
-                    .orElse(StringUtils.EMPTY);
-            })
+            .map(entry -> currentValues.stream()
+                .filter(value -> RegexUtils.find(entry.pattern(), value.toString()))
+                .map(value -> getScriptedPatternedValue(value, entry, context))
+                .findFirst()
+                .orElse(StringUtils.EMPTY))
             .filter(StringUtils::isNotBlank)
             .collect(Collectors.toList());
     }
 
-    private List<Object> formatValuesWithPattern(final List<Object> currentValues) {
+    private static List<Object> formatValuesWithPattern(final CompiledAttributeDefinition plan,
+                                                        final List<Object> currentValues) {
         return currentValues
             .stream()
-            .map(value -> MessageFormat.format(getPatternFormat(), value))
+            .map(plan::format)
             .collect(Collectors.toCollection(ArrayList::new));
     }
 
-    private List<Object> getScriptedAttributeValue(final String attributeKey,
+    private List<Object> getScriptedAttributeValue(final CompiledAttributeDefinition.ScriptHandle scriptHandle,
                                                    final List<Object> currentValues,
                                                    final AttributeDefinitionResolutionContext context) throws Throwable {
         LOGGER.trace("Locating attribute value via script for definition [{}]", this);
-        val matcherInline = ScriptingUtils.getMatcherForInlineGroovyScript(getScript());
-
-        if (matcherInline.find()) {
-            return fetchAttributeValueAsInlineGroovyScript(attributeKey, currentValues, matcherInline.group(1), context);
+        if (!scriptHandle.isDefined()) {
+            return new ArrayList<>(0);
         }
-
-        val scriptDefinition = SpringExpressionLanguageValueResolver.getInstance().resolve(getScript());
-        val matcherFile = ScriptingUtils.getMatcherForExternalGroovyScript(scriptDefinition);
-        if (matcherFile.find()) {
-            return fetchAttributeValueFromExternalGroovyScript(attributeKey, currentValues, matcherFile.group(), context);
+        val script = scriptHandle.resolve();
+        if (script.isPresent()) {
+            return fetchAttributeValueFromScript(script.get(), key, currentValues, context);
         }
-
+        LOGGER.warn("No groovy script cache manager is available to execute attribute mappings");
         return new ArrayList<>(0);
     }
 
-    private static String getScriptedPatternedValue(final Object currentValue, final String patternedValue,
+    private static String getScriptedPatternedValue(final Object currentValue,
+                                                    final CompiledAttributeDefinition.CompiledPattern compiledPattern,
                                                     final AttributeDefinitionResolutionContext context) {
-        val matcherInline = ScriptingUtils.getMatcherForInlineGroovyScript(patternedValue);
-        if (matcherInline.find()) {
-            return ApplicationContextProvider.getScriptResourceCacheManager()
-                .map(cacheManager -> FunctionUtils.doUnchecked(() -> {
-                    val script = cacheManager.resolveScriptableResource(patternedValue);
+        if (compiledPattern.scriptHandle() != null) {
+            return compiledPattern.scriptHandle().resolve()
+                .map(script -> FunctionUtils.doUnchecked(() -> {
                     val args = CollectionUtils.<String, Object>wrap("context", context,
                         "currentValue", currentValue, "logger", LOGGER);
                     script.setBinding(args);
                     return script.execute(args.values().toArray(), String.class);
                 }))
-                .orElse(patternedValue);
+                .orElse(compiledPattern.value());
         }
-        return patternedValue;
+        return compiledPattern.value();
     }
 }
@@ -100,6 +100,7 @@ public class DefaultAttributeDefinitionStore implements AttributeDefinitionStore
     public AttributeDefinitionStore registerAttributeDefinition(final String key, final AttributeDefinition definition) {
         LOGGER.trace("Registering attribute definition [{}] by key [{}]", definition, key);
         val keyToUse = getAttributeDefinitionKey(key, definition);
+        definition.compile();
         attributeDefinitions.put(keyToUse, definition);
         return this;
     }
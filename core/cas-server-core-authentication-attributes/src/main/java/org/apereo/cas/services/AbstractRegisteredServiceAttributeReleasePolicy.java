@@ -88,6 +88,10 @@ public abstract class AbstractRegisteredServiceAttributeReleasePolicy implements
 
     @Override
     public Map<String, List<Object>> getAttributes(final RegisteredServiceAttributeReleasePolicyContext context) throws Throwable {
+        return RegisteredServiceAttributeReleasePolicyMemoization.memoize(this, context, () -> releaseAttributes(context));
+    }
+
+    protected Map<String, List<Object>> releaseAttributes(final RegisteredServiceAttributeReleasePolicyContext context) throws Throwable {
         val attributesToRelease = new TreeMap<String, List<Object>>(String.CASE_INSENSITIVE_ORDER);
         if (supports(context)) {
             LOGGER.debug("Initiating attributes release phase via [{}] for principal [{}] "
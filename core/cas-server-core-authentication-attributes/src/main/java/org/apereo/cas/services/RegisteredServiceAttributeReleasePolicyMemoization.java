@@ -0,0 +1,141 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.util.http.HttpRequestUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.jooq.lambda.fi.util.function.CheckedSupplier;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This is {@link RegisteredServiceAttributeReleasePolicyMemoization} that remembers the outcome of
+ * attribute release policy evaluations for the duration of the current http request. The same policy
+ * is typically evaluated several times during a single request for the same registered service, principal
+ * and service, i.e. more than once during service ticket validation and again when validation responses
+ * are rendered, and each evaluation may reach out to attribute repositories, scripts or REST endpoints.
+ * <p>
+ * Evaluations outside of an http request are not memoized. Saved and performed evaluations are
+ * recorded as the {@value #METRIC_NAME} counter, tagged by result.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Slf4j
+@UtilityClass
+public class RegisteredServiceAttributeReleasePolicyMemoization {
+    /**
+     * Name of the counter that tracks policy evaluations.
+     */
+    public static final String METRIC_NAME = "cas.services.attribute.release.evaluations";
+
+    private static final String REQUEST_ATTRIBUTE_NAME = RegisteredServiceAttributeReleasePolicyMemoization.class.getName();
+
+    private static final Counter COUNTER_SAVED = Metrics.counter(METRIC_NAME, "result", "saved");
+
+    private static final Counter COUNTER_EVALUATED = Metrics.counter(METRIC_NAME, "result", "evaluated");
+
+    /**
+     * Return the attributes memoized for the policy and context in the current request,
+     * or evaluate and remember them.
+     *
+     * @param policy     the policy
+     * @param context    the context
+     * @param evaluation the evaluation
+     * @return the attributes
+     * @throws Throwable the throwable
+     */
+    public static Map<String, List<Object>> memoize(final RegisteredServiceAttributeReleasePolicy policy,
+                                                    final RegisteredServiceAttributeReleasePolicyContext context,
+                                                    final CheckedSupplier<Map<String, List<Object>>> evaluation) throws Throwable {
+        val evaluations = getEvaluations();
+        if (evaluations == null) {
+            return evaluation.get();
+        }
+        val key = new EvaluationKey(policy, Optional.ofNullable(context.getRegisteredService()).map(RegisteredService::getId).orElse(null),
+            Optional.ofNullable(context.getPrincipal()).map(Principal::getId).orElse(null),
+            Optional.ofNullable(context.getService()).map(Service::getId).orElse(null),
+            new LinkedHashMap<>(context.getReleasingAttributes()));
+        val memoized = evaluations.get(key);
+        if (memoized != null) {
+            LOGGER.trace("Using memoized attributes released by [{}] for principal [{}] and service [{}]",
+                policy.getClass().getSimpleName(), key.principalId(), key.serviceId());
+            COUNTER_SAVED.increment();
+            return copyOf(memoized);
+        }
+        val attributes = evaluation.get();
+        COUNTER_EVALUATED.increment();
+        if (attributes != null) {
+            evaluations.put(key, copyOf(attributes));
+        }
+        return attributes;
+    }
+
+    /**
+     * Count of evaluations saved by memoization.
+     *
+     * @return the count
+     */
+    public static long getSavedEvaluations() {
+        return (long) COUNTER_SAVED.count();
+    }
+
+    /**
+     * Count of evaluations that were carried out.
+     *
+     * @return the count
+     */
+    public static long getPerformedEvaluations() {
+        return (long) COUNTER_EVALUATED.count();
+    }
+
+    private static Map<EvaluationKey, Map<String, List<Object>>> getEvaluations() {
+        val request = HttpRequestUtils.getHttpServletRequestFromRequestAttributes();
+        if (request == null) {
+            return null;
+        }
+        var evaluations = (Map<EvaluationKey, Map<String, List<Object>>>) request.getAttribute(REQUEST_ATTRIBUTE_NAME);
+        if (evaluations == null) {
+            evaluations = new ConcurrentHashMap<>();
+            request.setAttribute(REQUEST_ATTRIBUTE_NAME, evaluations);
+        }
+        return evaluations;
+    }
+
+    private static Map<String, List<Object>> copyOf(final Map<String, List<Object>> attributes) {
+        if (attributes instanceof final SortedMap<String, List<Object>> sortedMap) {
+            return new TreeMap<>(sortedMap);
+        }
+        return new LinkedHashMap<>(attributes);
+    }
+
+    private record EvaluationKey(RegisteredServiceAttributeReleasePolicy policy, Long registeredServiceId,
+                                 String principalId, String serviceId, Map<String, List<Object>> releasingAttributes) {
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof final EvaluationKey key
+                && policy == key.policy()
+                && Objects.equals(registeredServiceId, key.registeredServiceId())
+                && Objects.equals(principalId, key.principalId())
+                && Objects.equals(serviceId, key.serviceId())
+                && Objects.equals(releasingAttributes, key.releasingAttributes());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(policy), registeredServiceId, principalId, serviceId, releasingAttributes);
+        }
+    }
+}
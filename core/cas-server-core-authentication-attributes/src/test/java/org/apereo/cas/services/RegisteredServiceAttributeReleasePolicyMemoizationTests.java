@@ -0,0 +1,78 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.principal.RegisteredServicePrincipalAttributesRepository;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.util.CollectionUtils;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link RegisteredServiceAttributeReleasePolicyMemoizationTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Tag("Attributes")
+@SpringBootTest(classes = RefreshAutoConfiguration.class)
+@EnableConfigurationProperties(CasConfigurationProperties.class)
+class RegisteredServiceAttributeReleasePolicyMemoizationTests {
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void verifyEvaluationsMemoizedPerRequest() throws Throwable {
+        val repository = mock(RegisteredServicePrincipalAttributesRepository.class);
+        when(repository.getAttributes(any())).thenReturn(CollectionUtils.wrap("cn", List.of("CommonName"), "uid", List.of("casuser")));
+        val policy = new ReturnAllAttributeReleasePolicy();
+        policy.setPrincipalAttributesRepository(repository);
+        val context = RegisteredServiceAttributeReleasePolicyContext.builder()
+            .registeredService(CoreAuthenticationTestUtils.getRegisteredService())
+            .service(CoreAuthenticationTestUtils.getService())
+            .principal(CoreAuthenticationTestUtils.getPrincipal("casuser"))
+            .applicationContext(applicationContext)
+            .build();
+
+        policy.getAttributes(context);
+        policy.getAttributes(context);
+        verify(repository, times(2)).getAttributes(any());
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), new MockHttpServletResponse()));
+        val saved = RegisteredServiceAttributeReleasePolicyMemoization.getSavedEvaluations();
+        val first = policy.getAttributes(context);
+        first.remove("cn");
+        val second = policy.getAttributes(context);
+        assertTrue(second.containsKey("cn"));
+        assertTrue(second.containsKey("uid"));
+        verify(repository, times(3)).getAttributes(any());
+        assertEquals(saved + 1, RegisteredServiceAttributeReleasePolicyMemoization.getSavedEvaluations());
+
+        val otherContext = RegisteredServiceAttributeReleasePolicyContext.builder()
+            .registeredService(CoreAuthenticationTestUtils.getRegisteredService())
+            .service(CoreAuthenticationTestUtils.getService("https://example.org"))
+            .principal(CoreAuthenticationTestUtils.getPrincipal("casuser"))
+            .applicationContext(applicationContext)
+            .build();
+        policy.getAttributes(otherContext);
+        verify(repository, times(4)).getAttributes(any());
+    }
+}
@@ -83,7 +83,25 @@ public abstract class BaseMappableThrottledSubmissionsStore<T extends ThrottledS
     public boolean exceedsThreshold(final String key, final double thresholdRate) {
         val submissionEntry = get(key);
         LOGGER.debug("Last throttling date for key [{}] is [{}]", key, submissionEntry);
+        return exceedsThreshold(submissionEntry, thresholdRate);
+    }
+
+    /**
+     * Evaluate the submission against the threshold rate. A submission that has not yet
+     * expired remains throttled; otherwise, the submission rate between now and the
+     * submission date is compared with the threshold rate.
+     *
+     * @param submissionEntry the submission entry, if any
+     * @param thresholdRate   the threshold rate
+     * @return true/false
+     */
+    public static boolean exceedsThreshold(final ThrottledSubmission submissionEntry, final double thresholdRate) {
         if (submissionEntry != null) {
+            if (!submissionEntry.hasExpiredAlready()) {
+                LOGGER.warn("Throttled submission [{}] remains throttled; submission expires at [{}]",
+                    submissionEntry.getKey(), submissionEntry.getExpiration());
+                return true;
+            }
             val now = ZonedDateTime.now(ZoneOffset.UTC);
             val submissionRate = submissionRate(now, submissionEntry.getValue());
             val result = submissionRate > thresholdRate;
@@ -0,0 +1,48 @@
+package org.apereo.cas.support.events.dao;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.util.function.FunctionUtils;
+import org.apereo.cas.util.thread.Cleanable;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
+
+/**
+ * This is {@link CasEventRepositoryCleaner} that removes events
+ * older than the configured maximum age from the events repository.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Getter
+public class CasEventRepositoryCleaner implements Cleanable {
+    private final CasEventRepository casEventRepository;
+
+    private final CasConfigurationProperties casProperties;
+
+    @Override
+    @Scheduled(initialDelayString = "${cas.events.core.cleaner.schedule.start-delay:PT1M}",
+        fixedDelayString = "${cas.events.core.cleaner.schedule.repeat-interval:PT1H}")
+    public void clean() {
+        val maxAge = Beans.newDuration(casProperties.getEvents().getCore().getMaxAge());
+        if (maxAge.isZero() || maxAge.isNegative()) {
+            LOGGER.trace("Events are kept forever and will not be cleaned up");
+            return;
+        }
+        FunctionUtils.doAndHandle(__ -> {
+            val dateTime = ZonedDateTime.now(Clock.systemUTC()).minus(maxAge);
+            LOGGER.trace("Removing events created before [{}]", dateTime);
+            casEventRepository.removeBefore(dateTime);
+        });
+    }
+}
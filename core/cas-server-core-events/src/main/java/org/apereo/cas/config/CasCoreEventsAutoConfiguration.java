@@ -4,6 +4,7 @@ import org.apereo.cas.authentication.adaptive.geo.GeoLocationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
 import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.dao.CasEventRepositoryCleaner;
 import org.apereo.cas.support.events.dao.NoOpCasEventRepository;
 import org.apereo.cas.support.events.listener.CasAuthenticationAuthenticationEventListener;
 import org.apereo.cas.support.events.listener.CasAuthenticationEventListener;
@@ -12,6 +13,7 @@ import org.apereo.cas.util.spring.beans.BeanCondition;
 import org.apereo.cas.util.spring.beans.BeanSupplier;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 import org.apereo.cas.util.text.MessageSanitizer;
+import org.apereo.cas.util.thread.Cleanable;
 
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -89,4 +91,25 @@ public class CasCoreEventsAutoConfiguration {
         }
     }
 
+    @Configuration(value = "CasCoreEventsSchedulingConfiguration", proxyBeanMethods = false)
+    @EnableConfigurationProperties(CasConfigurationProperties.class)
+    static class CasCoreEventsSchedulingConfiguration {
+        @ConditionalOnMissingBean(name = "casEventRepositoryCleaner")
+        @Bean
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        @Lazy(false)
+        public Cleanable casEventRepositoryCleaner(
+            final CasConfigurationProperties casProperties,
+            final ConfigurableApplicationContext applicationContext,
+            @Qualifier(CasEventRepository.BEAN_NAME) final CasEventRepository casEventRepository) {
+            return BeanSupplier.of(Cleanable.class)
+                .when(CONDITION.given(applicationContext.getEnvironment()))
+                .when(BeanCondition.on("cas.events.core.cleaner.schedule.enabled").isTrue()
+                    .given(applicationContext.getEnvironment()))
+                .supply(() -> new CasEventRepositoryCleaner(casEventRepository, casProperties))
+                .otherwiseProxy()
+                .get();
+        }
+    }
+
 }
@@ -11,6 +11,13 @@ import org.junit.jupiter.api.Test;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -87,8 +94,59 @@ public abstract class AbstractCasEventRepositoryTests {
         });
     }
 
+    @Test
+    protected void verifyQueriesAreConsistent() throws Throwable {
+        val eventRepository = getEventRepository();
+        eventRepository.removeAll();
+
+        val now = ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS);
+        val recentDate = now.minusDays(5);
+        val types = List.of(CasTicketGrantingTicketCreatedEvent.class.getCanonicalName(), "org.example.AuthenticationFailedEvent");
+        val principals = List.of("casuser", "casadmin");
+        val events = new ArrayList<CasEvent>();
+        var index = 0;
+        for (val type : types) {
+            for (val principal : principals) {
+                for (val creationTime : List.of(now.minusDays(10), now.minusDays(1))) {
+                    val event = getCasEvent(principal);
+                    event.setId(now.toInstant().toEpochMilli() + index);
+                    event.setType(type);
+                    event.setCreationTime(creationTime.format(DateTimeFormatter.ISO_ZONED_DATE_TIME));
+                    event.putTimestamp(creationTime.toInstant().toEpochMilli() + index);
+                    event.putEventId(UUID.randomUUID().toString());
+                    events.add(eventRepository.save(event));
+                    index++;
+                }
+            }
+        }
+
+        val type = types.getFirst();
+        val principal = principals.getFirst();
+        Predicate<CasEvent> isRecent = event -> !ZonedDateTime.parse(event.getCreationTime()).isBefore(recentDate);
+        Predicate<CasEvent> ofType = event -> event.getType().equals(type);
+        Predicate<CasEvent> forPrincipal = event -> event.getPrincipalId().equals(principal);
+
+        assertEvents(events, event -> true, eventRepository.load());
+        assertEvents(events, isRecent, eventRepository.load(recentDate));
+        assertEvents(events, ofType, eventRepository.getEventsOfType(type));
+        assertEvents(events, ofType.and(isRecent), eventRepository.getEventsOfType(type, recentDate));
+        assertEvents(events, forPrincipal, eventRepository.getEventsForPrincipal(principal));
+        assertEvents(events, forPrincipal.and(isRecent), eventRepository.getEventsForPrincipal(principal, recentDate));
+        assertEvents(events, ofType.and(forPrincipal), eventRepository.getEventsOfTypeForPrincipal(type, principal));
+        assertEvents(events, ofType.and(forPrincipal).and(isRecent),
+            eventRepository.getEventsOfTypeForPrincipal(type, principal, recentDate));
+        assertEvents(events, event -> false, eventRepository.getEventsForPrincipal("unknown"));
+    }
+
     public abstract CasEventRepository getEventRepository();
 
+    private static void assertEvents(final List<CasEvent> events, final Predicate<CasEvent> expected,
+                                     final Stream<? extends CasEvent> results) {
+        val expectedIds = events.stream().filter(expected).map(CasEvent::getEventId).collect(Collectors.toSet());
+        val resultIds = results.map(CasEvent::getEventId).collect(Collectors.toSet());
+        assertEquals(expectedIds, resultIds);
+    }
+
     private CasEvent getCasEvent(final String user) {
         val ticket = new MockTicketGrantingTicket(user);
         val event = new CasTicketGrantingTicketCreatedEvent(this, ticket, null);
@@ -16,6 +16,7 @@ import org.apereo.cas.util.http.HttpClient;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
@@ -47,6 +48,9 @@ public abstract class BaseSingleLogoutServiceMessageHandler implements SingleLog
 
     private final AuthenticationServiceSelectionPlan authenticationRequestServiceSelectionStrategies;
 
+    @Setter
+    private SingleLogoutMessageDispatcher messageDispatcher;
+
     @Override
     public Collection<SingleLogoutRequestContext> handle(final WebApplicationService singleLogoutService,
                                                          final String ticketId,
@@ -193,7 +197,9 @@ public abstract class BaseSingleLogoutServiceMessageHandler implements SingleLog
         LOGGER.trace("Preparing logout request for [{}] to [{}]", logoutService.getId(), request.getLogoutUrl());
         val msg = getLogoutHttpMessageToSend(request, logoutMessage);
         LOGGER.debug("Prepared logout message to send is [{}]. Sending...", msg);
-        val result = sendMessageToEndpoint(msg, request, logoutMessage);
+        val result = messageDispatcher != null && msg.isAsynchronous()
+            ? dispatchMessageToEndpoint(msg, request, logoutMessage)
+            : sendMessageToEndpoint(msg, request, logoutMessage);
         logoutService.setLoggedOutAlready(result);
         return result;
     }
@@ -212,6 +218,21 @@ public abstract class BaseSingleLogoutServiceMessageHandler implements SingleLog
         return this.httpClient.sendMessageToEndPoint(msg);
     }
 
+    /**
+     * Hand an asynchronous message to the message dispatcher, which posts the message itself.
+     * Handlers that deliver messages differently should pass their own delivery to the dispatcher.
+     *
+     * @param msg           the msg
+     * @param request       the request
+     * @param logoutMessage the logout message
+     * @return true if the message was accepted for delivery
+     */
+    protected boolean dispatchMessageToEndpoint(final LogoutHttpMessage msg,
+                                                final SingleLogoutRequestContext request,
+                                                final SingleLogoutMessage logoutMessage) {
+        return messageDispatcher.dispatch(request, msg);
+    }
+
     /**
      * Gets logout http message to send.
      *
@@ -0,0 +1,352 @@
+package org.apereo.cas.logout.slo;
+
+import org.apereo.cas.configuration.model.core.slo.SingleLogoutDispatchProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.logout.LogoutHttpMessage;
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.function.FunctionUtils;
+import org.apereo.cas.util.http.HttpClient;
+import org.apereo.cas.util.http.HttpMessage;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * This is {@link QueueingSingleLogoutMessageDispatcher}. Logout messages are queued per host
+ * and delivered by virtual threads, with no more than a configured number of requests in flight
+ * for the same host. A message for an endpoint and session that is still pending delivery is
+ * coalesced into the pending message. Failed deliveries are retried with an exponential backoff,
+ * and messages that are posted as they are may be journaled on disk so they survive a restart.
+ * The number of pending messages, overall and per host, is bounded; messages beyond these limits are rejected.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Slf4j
+public class QueueingSingleLogoutMessageDispatcher implements SingleLogoutMessageDispatcher, InitializingBean, DisposableBean {
+    private static final String METRIC_MESSAGES = "cas.slo.dispatch.messages";
+
+    private static final String METRIC_PENDING = "cas.slo.dispatch.pending";
+
+    private static final String JOURNAL_FILE_EXTENSION = ".slo";
+
+    private final HttpClient httpClient;
+
+    private final SingleLogoutDispatchProperties properties;
+
+    private final Duration initialRetryDelay;
+
+    private final Duration maxRetryDelay;
+
+    private final Path journalDirectory;
+
+    private final Map<String, PendingDelivery> pendingMessages = new ConcurrentHashMap<>();
+
+    private final Map<String, HostQueue> hostQueues = new ConcurrentHashMap<>();
+
+    private final ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ScheduledExecutorService retryScheduler = Executors.newScheduledThreadPool(1, Thread.ofVirtual().factory());
+
+    public QueueingSingleLogoutMessageDispatcher(final HttpClient httpClient,
+                                                 final SingleLogoutDispatchProperties properties) {
+        this.httpClient = httpClient;
+        this.properties = properties;
+        this.initialRetryDelay = Beans.newDuration(properties.getInitialRetryDelay());
+        this.maxRetryDelay = Beans.newDuration(properties.getMaxRetryDelay());
+        this.journalDirectory = StringUtils.isNotBlank(properties.getJournalDirectory())
+            ? Path.of(properties.getJournalDirectory())
+            : null;
+        Metrics.gauge(METRIC_PENDING, pendingMessages, Map::size);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (journalDirectory != null) {
+            Files.createDirectories(journalDirectory);
+            try (val files = Files.list(journalDirectory)) {
+                files.filter(file -> file.getFileName().toString().endsWith(JOURNAL_FILE_EXTENSION))
+                    .forEach(this::replayJournalEntry);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        retryScheduler.shutdownNow();
+        executorService.shutdownNow();
+    }
+
+    @Override
+    public boolean dispatch(final SingleLogoutRequestContext request, final LogoutHttpMessage message,
+                            final BooleanSupplier delivery) {
+        if (pendingMessages.size() >= properties.getMaxPendingMessages()) {
+            LOGGER.warn("Logout message to [{}] is rejected; [{}] message(s) are already pending delivery",
+                message.getUrl(), pendingMessages.size());
+            record("rejected");
+            return false;
+        }
+        val pendingMessage = PendingMessage.from(request, message);
+        if (pendingMessages.putIfAbsent(pendingMessage.key(), new PendingDelivery(delivery)) != null) {
+            LOGGER.debug("Logout message to [{}] is already pending delivery for the same session and is coalesced", message.getUrl());
+            record("coalesced");
+            return true;
+        }
+        if (delivery == null) {
+            writeJournalEntry(pendingMessage);
+        }
+        if (!enqueue(pendingMessage)) {
+            complete(pendingMessage, "rejected");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Number of messages that are pending delivery, including messages waiting to be retried.
+     *
+     * @return the count
+     */
+    public int getPendingCount() {
+        return pendingMessages.size();
+    }
+
+    private void deliver(final PendingMessage pendingMessage) {
+        val pendingDelivery = pendingMessages.get(pendingMessage.key());
+        if (pendingDelivery == null) {
+            return;
+        }
+        val attempts = pendingDelivery.attempts();
+        if (send(pendingMessage, pendingDelivery)) {
+            LOGGER.trace("Delivered logout message to [{}]", pendingMessage.url());
+            complete(pendingMessage, "sent");
+        } else if (attempts.incrementAndGet() < properties.getMaxAttempts()) {
+            val delay = getRetryDelay(attempts.get());
+            LOGGER.debug("Failed to deliver logout message to [{}]; retrying in [{}]", pendingMessage.url(), delay);
+            record("retried");
+            schedule(() -> {
+                if (!enqueue(pendingMessage)) {
+                    complete(pendingMessage, "rejected");
+                }
+            }, delay);
+        } else {
+            LOGGER.warn("Failed to deliver logout message to [{}] after [{}] attempt(s)", pendingMessage.url(), attempts.get());
+            complete(pendingMessage, "failed");
+        }
+    }
+
+    private boolean send(final PendingMessage pendingMessage, final PendingDelivery pendingDelivery) {
+        try {
+            return pendingDelivery.delivery() == null
+                ? httpClient.sendMessageToEndPoint(pendingMessage.toHttpMessage())
+                : pendingDelivery.delivery().getAsBoolean();
+        } catch (final Exception e) {
+            LoggingUtils.warn(LOGGER, e);
+            return false;
+        }
+    }
+
+    /**
+     * Delay before the next delivery attempt, doubled for every failed attempt
+     * and capped by the configured maximum.
+     *
+     * @param attempt the number of failed attempts so far
+     * @return the delay
+     */
+    protected Duration getRetryDelay(final int attempt) {
+        val delay = initialRetryDelay.multipliedBy(1L << Math.min(attempt - 1, 30));
+        return delay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : delay;
+    }
+
+    private boolean enqueue(final PendingMessage pendingMessage) {
+        val accepted = hostQueues.computeIfAbsent(pendingMessage.url().getAuthority().toLowerCase(Locale.ENGLISH), host -> new HostQueue())
+            .offer(pendingMessage);
+        if (!accepted) {
+            LOGGER.warn("Logout message to [{}] is rejected; the queue for the host is full", pendingMessage.url());
+        }
+        return accepted;
+    }
+
+    private void complete(final PendingMessage pendingMessage, final String result) {
+        pendingMessages.remove(pendingMessage.key());
+        deleteJournalEntry(pendingMessage);
+        record(result);
+    }
+
+    private void schedule(final Runnable task, final Duration delay) {
+        try {
+            retryScheduler.schedule(task, delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final RejectedExecutionException e) {
+            LOGGER.debug("Unable to schedule logout message delivery: [{}]", e.getMessage());
+        }
+    }
+
+    private void writeJournalEntry(final PendingMessage pendingMessage) {
+        if (journalDirectory != null) {
+            try {
+                Files.write(getJournalFile(pendingMessage), SerializationUtils.serialize(pendingMessage));
+            } catch (final IOException e) {
+                LoggingUtils.warn(LOGGER, e);
+            }
+        }
+    }
+
+    private void deleteJournalEntry(final PendingMessage pendingMessage) {
+        if (journalDirectory != null) {
+            try {
+                Files.deleteIfExists(getJournalFile(pendingMessage));
+            } catch (final IOException e) {
+                LoggingUtils.warn(LOGGER, e);
+            }
+        }
+    }
+
+    private void replayJournalEntry(final Path file) {
+        try {
+            val pendingMessage = SerializationUtils.deserialize(Files.readAllBytes(file), PendingMessage.class);
+            if (pendingMessages.putIfAbsent(pendingMessage.key(), new PendingDelivery(null)) == null) {
+                LOGGER.debug("Replaying journaled logout message to [{}]", pendingMessage.url());
+                if (!enqueue(pendingMessage)) {
+                    complete(pendingMessage, "rejected");
+                }
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to replay journaled logout message [{}]: [{}]", file, e.getMessage());
+            FunctionUtils.doAndHandle(__ -> Files.deleteIfExists(file));
+        }
+    }
+
+    private Path getJournalFile(final PendingMessage pendingMessage) {
+        return journalDirectory.resolve(pendingMessage.key() + JOURNAL_FILE_EXTENSION);
+    }
+
+    private static void record(final String result) {
+        Metrics.counter(METRIC_MESSAGES, "result", result).increment();
+    }
+
+    /**
+     * A logout message pending delivery. The message body is kept
+     * in its final encoded form, as prepared by the logout message handler.
+     * Messages are identified by their endpoint and the session they log out.
+     *
+     * @param key         the key that identifies the message
+     * @param url         the url
+     * @param contentType the content type
+     * @param message     the message
+     */
+    record PendingMessage(String key, URL url, String contentType, String message) implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 2753081927471062853L;
+
+        static PendingMessage from(final SingleLogoutRequestContext request, final HttpMessage message) {
+            val executionRequest = request.getExecutionRequest();
+            val ticketGrantingTicket = executionRequest != null && executionRequest.getTicketGrantingTicket() != null
+                ? executionRequest.getTicketGrantingTicket().getId()
+                : StringUtils.EMPTY;
+            val key = DigestUtils.sha256(message.getUrl().toExternalForm() + '|' + ticketGrantingTicket + '|' + request.getTicketId());
+            return new PendingMessage(key, message.getUrl(), message.getContentType(), message.getMessage());
+        }
+
+        HttpMessage toHttpMessage() {
+            return new PreparedHttpMessage(url, message, contentType);
+        }
+    }
+
+    private static final class PreparedHttpMessage extends HttpMessage {
+        @Serial
+        private static final long serialVersionUID = -5342176083361495729L;
+
+        PreparedHttpMessage(final URL url, final String message, final String contentType) {
+            super(url, message, false);
+            setContentType(contentType);
+        }
+
+        @Override
+        protected String formatOutputMessageInternal(final String message) {
+            return message;
+        }
+    }
+
+    /**
+     * Delivery state of a pending message.
+     *
+     * @param delivery the handler-specific delivery, if any
+     * @param attempts the number of failed attempts
+     */
+    private record PendingDelivery(BooleanSupplier delivery, AtomicInteger attempts) {
+        PendingDelivery(final BooleanSupplier delivery) {
+            this(delivery, new AtomicInteger());
+        }
+    }
+
+    private final class HostQueue {
+        private final BlockingQueue<PendingMessage> queue = new LinkedBlockingQueue<>(Math.max(1, properties.getMaxQueuedMessagesPerHost()));
+
+        private final AtomicInteger activeRequests = new AtomicInteger();
+
+        boolean offer(final PendingMessage pendingMessage) {
+            val accepted = queue.offer(pendingMessage);
+            drain();
+            return accepted;
+        }
+
+        private void drain() {
+            while (!queue.isEmpty()) {
+                val active = activeRequests.get();
+                if (active >= properties.getMaxConcurrentRequestsPerHost()) {
+                    return;
+                }
+                if (activeRequests.compareAndSet(active, active + 1)) {
+                    val next = queue.poll();
+                    if (next == null) {
+                        activeRequests.decrementAndGet();
+                    } else {
+                        submit(next);
+                    }
+                }
+            }
+        }
+
+        private void submit(final PendingMessage pendingMessage) {
+            try {
+                executorService.execute(() -> {
+                    try {
+                        deliver(pendingMessage);
+                    } finally {
+                        activeRequests.decrementAndGet();
+                        drain();
+                    }
+                });
+            } catch (final RejectedExecutionException e) {
+                activeRequests.decrementAndGet();
+                LOGGER.debug("Unable to submit logout message delivery: [{}]", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.apereo.cas.logout.slo;
+
+import org.apereo.cas.logout.LogoutHttpMessage;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * This is {@link SingleLogoutMessageDispatcher} which takes over the delivery
+ * of asynchronous back-channel logout messages from the logout message handlers.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@FunctionalInterface
+public interface SingleLogoutMessageDispatcher {
+    /**
+     * Default bean name.
+     */
+    String BEAN_NAME = "singleLogoutMessageDispatcher";
+
+    /**
+     * Dispatch the logout message to its endpoint, by posting the message itself.
+     *
+     * @param request the logout request
+     * @param message the message
+     * @return true if the message was sent or accepted for delivery.
+     */
+    default boolean dispatch(final SingleLogoutRequestContext request, final LogoutHttpMessage message) {
+        return dispatch(request, message, null);
+    }
+
+    /**
+     * Dispatch the logout message to its endpoint.
+     *
+     * @param request  the logout request
+     * @param message  the message
+     * @param delivery the handler-specific delivery of the message that reports whether the message was received,
+     *                 or {@code null} to post the message itself.
+     * @return true if the message was sent or accepted for delivery.
+     */
+    boolean dispatch(SingleLogoutRequestContext request, LogoutHttpMessage message, BooleanSupplier delivery);
+}
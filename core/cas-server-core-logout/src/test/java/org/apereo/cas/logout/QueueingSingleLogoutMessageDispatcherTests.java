@@ -0,0 +1,199 @@
+package org.apereo.cas.logout;
+
+import org.apereo.cas.configuration.model.core.slo.SingleLogoutDispatchProperties;
+import org.apereo.cas.logout.slo.QueueingSingleLogoutMessageDispatcher;
+import org.apereo.cas.logout.slo.SingleLogoutRequestContext;
+import org.apereo.cas.util.http.HttpClient;
+import org.apereo.cas.util.http.HttpMessage;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link QueueingSingleLogoutMessageDispatcherTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Tag("Logout")
+class QueueingSingleLogoutMessageDispatcherTests {
+
+    @Test
+    void verifyPerHostConcurrencyAndCoalescing() throws Throwable {
+        val latch = new CountDownLatch(1);
+        val active = new AtomicInteger();
+        val maxActive = new AtomicInteger();
+        val httpClient = mock(HttpClient.class);
+        when(httpClient.sendMessageToEndPoint(any(HttpMessage.class))).thenAnswer(invocation -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            latch.await();
+            active.decrementAndGet();
+            return true;
+        });
+        val properties = new SingleLogoutDispatchProperties().setMaxConcurrentRequestsPerHost(2);
+        val dispatcher = new QueueingSingleLogoutMessageDispatcher(httpClient, properties);
+        try {
+            for (var i = 0; i < 10; i++) {
+                assertTrue(dispatch(dispatcher, "https://app.example.org/logout", "ST-" + i));
+            }
+            assertTrue(dispatcher.dispatch(newLogoutRequest("https://app.example.org/logout", "ST-1"),
+                newLogoutMessage("https://app.example.org/logout", "ST-1-reissued")));
+            assertEquals(10, dispatcher.getPendingCount());
+            await().atMost(Duration.ofSeconds(5)).until(() -> active.get() == 2);
+            latch.countDown();
+            await().atMost(Duration.ofSeconds(5)).until(() -> dispatcher.getPendingCount() == 0);
+            assertEquals(2, maxActive.get());
+            verify(httpClient, times(10)).sendMessageToEndPoint(any(HttpMessage.class));
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    void verifyRetries() throws Throwable {
+        val httpClient = mock(HttpClient.class);
+        when(httpClient.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(false, false, true);
+        val properties = new SingleLogoutDispatchProperties()
+            .setInitialRetryDelay("PT0.01S")
+            .setMaxRetryDelay("PT0.02S");
+        val dispatcher = new QueueingSingleLogoutMessageDispatcher(httpClient, properties);
+        try {
+            assertTrue(dispatch(dispatcher, "https://app.example.org/logout", "ST-1"));
+            await().atMost(Duration.ofSeconds(5)).until(() -> dispatcher.getPendingCount() == 0);
+            verify(httpClient, times(3)).sendMessageToEndPoint(any(HttpMessage.class));
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    void verifyRetryDelays() {
+        val properties = new SingleLogoutDispatchProperties()
+            .setInitialRetryDelay("PT1S")
+            .setMaxRetryDelay("PT5S");
+        val dispatcher = new QueueingSingleLogoutMessageDispatcher(mock(HttpClient.class), properties) {
+            @Override
+            public Duration getRetryDelay(final int attempt) {
+                return super.getRetryDelay(attempt);
+            }
+        };
+        assertEquals(Duration.ofSeconds(1), dispatcher.getRetryDelay(1));
+        assertEquals(Duration.ofSeconds(4), dispatcher.getRetryDelay(3));
+        assertEquals(Duration.ofSeconds(5), dispatcher.getRetryDelay(10));
+        dispatcher.destroy();
+    }
+
+    @Test
+    void verifyJournalIsReplayed(@TempDir final Path journalDirectory) throws Throwable {
+        val failingClient = mock(HttpClient.class);
+        when(failingClient.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(false);
+        val properties = new SingleLogoutDispatchProperties()
+            .setJournalDirectory(journalDirectory.toString())
+            .setInitialRetryDelay("PT1H");
+        val failingDispatcher = new QueueingSingleLogoutMessageDispatcher(failingClient, properties);
+        failingDispatcher.afterPropertiesSet();
+        val logoutMessage = newLogoutMessage("https://app.example.org/logout", "ST-1");
+        assertTrue(failingDispatcher.dispatch(newLogoutRequest("https://app.example.org/logout", "ST-1"), logoutMessage));
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> verify(failingClient).sendMessageToEndPoint(any(HttpMessage.class)));
+        failingDispatcher.destroy();
+        try (val files = Files.list(journalDirectory)) {
+            assertEquals(1, files.count());
+        }
+
+        val httpClient = mock(HttpClient.class);
+        when(httpClient.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(true);
+        val dispatcher = new QueueingSingleLogoutMessageDispatcher(httpClient, properties);
+        try {
+            dispatcher.afterPropertiesSet();
+            await().atMost(Duration.ofSeconds(5)).until(() -> dispatcher.getPendingCount() == 0);
+            verify(httpClient).sendMessageToEndPoint(argThat(message -> message.getMessage().equals(logoutMessage.getMessage())));
+            try (val files = Files.list(journalDirectory)) {
+                assertEquals(0, files.count());
+            }
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    void verifyHandlerDeliveryIsNotJournaled(@TempDir final Path journalDirectory) throws Throwable {
+        val httpClient = mock(HttpClient.class);
+        val attempts = new AtomicInteger();
+        val properties = new SingleLogoutDispatchProperties()
+            .setJournalDirectory(journalDirectory.toString())
+            .setInitialRetryDelay("PT0.01S");
+        val dispatcher = new QueueingSingleLogoutMessageDispatcher(httpClient, properties);
+        try {
+            dispatcher.afterPropertiesSet();
+            val url = "https://app.example.org/logout";
+            assertTrue(dispatcher.dispatch(newLogoutRequest(url, "ST-1"), newLogoutMessage(url, "ST-1"),
+                () -> attempts.incrementAndGet() > 1));
+            try (val files = Files.list(journalDirectory)) {
+                assertEquals(0, files.count());
+            }
+            await().atMost(Duration.ofSeconds(5)).until(() -> dispatcher.getPendingCount() == 0);
+            assertEquals(2, attempts.get());
+            verifyNoInteractions(httpClient);
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    void verifyPendingMessagesAreBounded() throws Throwable {
+        val latch = new CountDownLatch(1);
+        val httpClient = mock(HttpClient.class);
+        when(httpClient.sendMessageToEndPoint(any(HttpMessage.class))).thenAnswer(invocation -> {
+            latch.await();
+            return true;
+        });
+        val properties = new SingleLogoutDispatchProperties()
+            .setMaxConcurrentRequestsPerHost(1)
+            .setMaxQueuedMessagesPerHost(2)
+            .setMaxPendingMessages(4);
+        val dispatcher = new QueueingSingleLogoutMessageDispatcher(httpClient, properties);
+        try {
+            assertTrue(dispatch(dispatcher, "https://app.example.org/logout", "ST-1"));
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> verify(httpClient).sendMessageToEndPoint(any(HttpMessage.class)));
+            assertTrue(dispatch(dispatcher, "https://app.example.org/logout", "ST-2"));
+            assertTrue(dispatch(dispatcher, "https://app.example.org/logout", "ST-3"));
+            assertFalse(dispatch(dispatcher, "https://app.example.org/logout", "ST-4"));
+            assertTrue(dispatch(dispatcher, "https://other.example.org/logout", "ST-5"));
+            assertFalse(dispatch(dispatcher, "https://another.example.org/logout", "ST-6"));
+            assertEquals(4, dispatcher.getPendingCount());
+            latch.countDown();
+            await().atMost(Duration.ofSeconds(5)).until(() -> dispatcher.getPendingCount() == 0);
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    private static boolean dispatch(final QueueingSingleLogoutMessageDispatcher dispatcher,
+                                    final String url, final String ticket) throws Exception {
+        return dispatcher.dispatch(newLogoutRequest(url, ticket), newLogoutMessage(url, ticket));
+    }
+
+    private static SingleLogoutRequestContext newLogoutRequest(final String url, final String ticket) throws Exception {
+        return DefaultSingleLogoutRequestContext.builder()
+            .ticketId(ticket)
+            .logoutUrl(new URI(url).toURL())
+            .build();
+    }
+
+    private static LogoutHttpMessage newLogoutMessage(final String url, final String ticket) throws Exception {
+        return new LogoutHttpMessage(new URI(url).toURL(), "<LogoutRequest>" + ticket + "</LogoutRequest>", true);
+    }
+}
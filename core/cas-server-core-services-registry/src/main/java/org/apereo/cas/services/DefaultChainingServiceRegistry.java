@@ -7,6 +7,8 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.context.ConfigurableApplicationContext;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -25,6 +27,8 @@ import java.util.stream.Collectors;
 public class DefaultChainingServiceRegistry extends AbstractServiceRegistry implements ChainingServiceRegistry {
     private final List<ServiceRegistry> serviceRegistries;
 
+    private volatile Instant lastRegistrationTime = Instant.now(Clock.systemUTC());
+
     public DefaultChainingServiceRegistry(final ConfigurableApplicationContext applicationContext) {
         this(applicationContext, new ArrayList<>(0));
     }
@@ -128,6 +132,13 @@ public class DefaultChainingServiceRegistry extends AbstractServiceRegistry impl
     @Override
     public void addServiceRegistries(final Collection<ServiceRegistry> registries) {
         serviceRegistries.addAll(registries);
+        lastRegistrationTime = Instant.now(Clock.systemUTC());
+    }
+
+    @Override
+    public boolean isChangedSince(final Instant since) {
+        return !lastRegistrationTime.isBefore(since)
+            || serviceRegistries.stream().anyMatch(registry -> registry.isChangedSince(since));
     }
 
     @Override
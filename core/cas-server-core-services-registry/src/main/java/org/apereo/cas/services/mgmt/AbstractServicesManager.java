@@ -20,19 +20,24 @@ import com.googlecode.cqengine.ConcurrentIndexedCollection;
 import com.googlecode.cqengine.IndexedCollection;
 import com.googlecode.cqengine.index.AttributeIndex;
 import com.googlecode.cqengine.query.QueryFactory;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.inspektr.common.web.ClientInfoHolder;
 import org.springframework.context.ApplicationEvent;
+import java.time.Clock;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -53,23 +58,12 @@ public abstract class AbstractServicesManager implements ServicesManager {
 
     private final CasReentrantLock lock = new CasReentrantLock();
 
-    private final IndexedCollection<RegisteredService> indexedRegisteredServices;
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<RegisteredServicesSnapshot> snapshot;
 
     protected AbstractServicesManager(final ServicesManagerConfigurationContext configurationContext) {
         this.configurationContext = configurationContext;
-
-        this.indexedRegisteredServices = new ConcurrentIndexedCollection<>();
-        configurationContext.getRegisteredServiceLocators()
-            .forEach(locator -> locator.getRegisteredServiceIndexes()
-                .stream()
-                .map(RegisteredServiceQueryIndex::getIndex)
-                .filter(AttributeIndex.class::isInstance)
-                .map(AttributeIndex.class::cast)
-                .forEach(index -> {
-                    LOGGER.debug("Adding registered service index [{}] supplied by [{}]",
-                        index.getAttribute().toString(), locator.getClass().getSimpleName());
-                    indexedRegisteredServices.addIndex(index);
-                }));
+        this.snapshot = new AtomicReference<>(new RegisteredServicesSnapshot(null, Map.of(), newIndexedRegisteredServices()));
     }
 
     private static Predicate<RegisteredService> getRegisteredServicesFilteringPredicate(
@@ -94,6 +88,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
             val clientInfo = ClientInfoHolder.getClientInfo();
             publishEvent(new CasRegisteredServicePreSaveEvent(this, registeredService, clientInfo));
             val savedService = configurationContext.getServiceRegistry().save(registeredService);
+            invalidateRegisteredServicesSnapshot();
             cacheRegisteredService(savedService);
             saveInternal(registeredService);
 
@@ -113,6 +108,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
             val clientInfo = ClientInfoHolder.getClientInfo();
             if (registeredService != null) {
                 publishEvent(new CasRegisteredServicePreSaveEvent(this, registeredService, clientInfo));
+                invalidateRegisteredServicesSnapshot();
                 cacheRegisteredService(registeredService);
                 saveInternal(registeredService);
                 publishEvent(new CasRegisteredServiceSavedEvent(this, registeredService, clientInfo));
@@ -127,6 +123,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
         lock.tryLock(__ -> {
             configurationContext.getServicesCache().asMap().forEach((k, v) -> delete(v));
             configurationContext.getServicesCache().invalidateAll();
+            invalidateRegisteredServicesSnapshot();
             val clientInfo = ClientInfoHolder.getClientInfo();
             publishEvent(new CasRegisteredServicesDeletedEvent(this, clientInfo));
         });
@@ -148,6 +145,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
                 publishEvent(new CasRegisteredServicePreDeleteEvent(this, service, clientInfo));
                 configurationContext.getServiceRegistry().delete(service);
                 configurationContext.getServicesCache().invalidate(service.getId());
+                invalidateRegisteredServicesSnapshot();
                 deleteInternal(service);
                 publishEvent(new CasRegisteredServiceDeletedEvent(this, service, clientInfo));
             }
@@ -317,28 +315,41 @@ public abstract class AbstractServicesManager implements ServicesManager {
     /**
      * For the duration of the read, the cache store should not remain empty.
      * Otherwise, lookup operations during that loading time window might produce
-     * unauthorized failure errors. Invalidation attempts must happen after the load
-     * to minimize chances of failures.
+     * unauthorized failure errors. The loaded services and their index are built
+     * on the side as a new snapshot that replaces the current one at once, and
+     * invalidation attempts only target services that are no longer found after the load.
+     * Services whose definitions did not change since the last load are reused as they are,
+     * and the load is skipped altogether if the registry reports no changes.
      */
     @Override
     public Collection<RegisteredService> load() {
         return lock.tryLock(() -> {
-            LOGGER.trace("Loading services from [{}]", configurationContext.getServiceRegistry().getName());
-            val servicesMap = configurationContext.getServiceRegistry()
-                .load()
-                .stream()
-                .filter(this::supports)
-                .filter(this::validateAndFilterServiceByEnvironment)
-                .peek(this::loadInternal)
-                .filter(Objects::nonNull)
-                .map(this::applyTemplate)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toMap(service -> {
-                    LOGGER.trace("Adding registered service [{}] with name [{}] and internal identifier [{}]",
-                        service.getServiceId(), service.getName(), service.getId());
-                    return service.getId();
-                }, Function.identity(), (__, service) -> service));
-            cacheRegisteredServices(servicesMap);
+            val serviceRegistry = configurationContext.getServiceRegistry();
+            val currentSnapshot = snapshot.get();
+            val loadTime = Instant.now(Clock.systemUTC());
+            if (currentSnapshot.loadTime() != null && !serviceRegistry.isChangedSince(currentSnapshot.loadTime())) {
+                LOGGER.debug("Services in [{}] have not changed since [{}]", serviceRegistry.getName(), currentSnapshot.loadTime());
+                cacheRegisteredServices(currentSnapshot.withLoadTime(loadTime));
+            } else {
+                LOGGER.trace("Loading services from [{}]", serviceRegistry.getName());
+                val loadedServices = new LinkedHashMap<Long, LoadedRegisteredService>();
+                serviceRegistry
+                    .load()
+                    .stream()
+                    .filter(this::supports)
+                    .filter(this::validateAndFilterServiceByEnvironment)
+                    .map(definition -> loadRegisteredService(definition, currentSnapshot))
+                    .filter(Objects::nonNull)
+                    .forEach(loadedService -> {
+                        val service = loadedService.service();
+                        LOGGER.trace("Adding registered service [{}] with name [{}] and internal identifier [{}]",
+                            service.getServiceId(), service.getName(), service.getId());
+                        loadedServices.put(service.getId(), loadedService);
+                    });
+                cacheRegisteredServices(currentSnapshot.isChangedBy(loadedServices)
+                    ? RegisteredServicesSnapshot.of(loadTime, loadedServices, newIndexedRegisteredServices())
+                    : currentSnapshot.withLoadTime(loadTime));
+            }
             loadInternal();
             val clientInfo = ClientInfoHolder.getClientInfo();
             publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices(), clientInfo));
@@ -351,12 +362,54 @@ public abstract class AbstractServicesManager implements ServicesManager {
         });
     }
 
-    private Map<Long, RegisteredService> cacheRegisteredServices(final Map<Long, RegisteredService> servicesMap) {
+    private LoadedRegisteredService loadRegisteredService(final RegisteredService definition,
+                                                         final RegisteredServicesSnapshot currentSnapshot) {
+        definition.initialize();
+        val fingerprint = definition.hashCode();
+        val loadedService = currentSnapshot.services().get(definition.getId());
+        if (loadedService != null && loadedService.isUnchangedBy(definition, fingerprint)) {
+            LOGGER.trace("Registered service [{}] has not changed since the last load", definition.getName());
+            return loadedService;
+        }
+        loadInternal(definition);
+        val service = applyTemplate(definition);
+        return service != null ? new LoadedRegisteredService(definition, fingerprint, service) : null;
+    }
+
+    private void cacheRegisteredServices(final RegisteredServicesSnapshot loadedSnapshot) {
+        val servicesMap = loadedSnapshot.services()
+            .values()
+            .stream()
+            .map(LoadedRegisteredService::service)
+            .collect(Collectors.toMap(RegisteredService::getId, Function.identity(), (__, service) -> service));
         val servicesCache = configurationContext.getServicesCache();
-        servicesCache.invalidateAll();
         servicesCache.putAll(servicesMap);
-        indexedRegisteredServices.addAll(servicesMap.values());
-        return servicesCache.asMap();
+        snapshot.set(loadedSnapshot);
+        val staleServices = servicesCache.asMap().keySet()
+            .stream()
+            .filter(id -> !servicesMap.containsKey(id))
+            .toList();
+        servicesCache.invalidateAll(staleServices);
+    }
+
+    private void invalidateRegisteredServicesSnapshot() {
+        snapshot.updateAndGet(current -> current.withLoadTime(null));
+    }
+
+    private IndexedCollection<RegisteredService> newIndexedRegisteredServices() {
+        val indexedRegisteredServices = new ConcurrentIndexedCollection<RegisteredService>();
+        configurationContext.getRegisteredServiceLocators()
+            .forEach(locator -> locator.getRegisteredServiceIndexes()
+                .stream()
+                .map(RegisteredServiceQueryIndex::getIndex)
+                .filter(AttributeIndex.class::isInstance)
+                .map(AttributeIndex.class::cast)
+                .forEach(index -> {
+                    LOGGER.debug("Adding registered service index [{}] supplied by [{}]",
+                        index.getAttribute().toString(), locator.getClass().getSimpleName());
+                    indexedRegisteredServices.addIndex(index);
+                }));
+        return indexedRegisteredServices;
     }
 
     @Override
@@ -375,6 +428,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
         if (serviceQueries.isEmpty()) {
             return Stream.empty();
         }
+        val indexedRegisteredServices = snapshot.get().index();
         if (serviceQueries.size() == 1) {
             try (val results = indexedRegisteredServices.retrieve(serviceQueries.getFirst())) {
                 return results.stream();
@@ -417,7 +471,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
     private void cacheRegisteredService(final RegisteredService service) {
         if (configurationContext.getServicesCache().getIfPresent(service.getId()) == null) {
             configurationContext.getServicesCache().put(service.getId(), service);
-            indexedRegisteredServices.add(service);
+            snapshot.get().index().add(service);
         }
     }
 
@@ -496,4 +550,28 @@ public abstract class AbstractServicesManager implements ServicesManager {
             .findFirst()
             .orElse(null);
     }
+
+    private record LoadedRegisteredService(RegisteredService definition, int fingerprint, RegisteredService service) {
+        boolean isUnchangedBy(final RegisteredService candidate, final int candidateFingerprint) {
+            return fingerprint == candidateFingerprint && definition.equals(candidate);
+        }
+    }
+
+    private record RegisteredServicesSnapshot(Instant loadTime, Map<Long, LoadedRegisteredService> services,
+                                              IndexedCollection<RegisteredService> index) {
+        static RegisteredServicesSnapshot of(final Instant loadTime, final Map<Long, LoadedRegisteredService> services,
+                                             final IndexedCollection<RegisteredService> index) {
+            services.values().forEach(loadedService -> index.add(loadedService.service()));
+            return new RegisteredServicesSnapshot(loadTime, Map.copyOf(services), index);
+        }
+
+        RegisteredServicesSnapshot withLoadTime(final Instant time) {
+            return new RegisteredServicesSnapshot(time, services, index);
+        }
+
+        boolean isChangedBy(final Map<Long, LoadedRegisteredService> loadedServices) {
+            return loadedServices.size() != services.size()
+                || loadedServices.entrySet().stream().anyMatch(entry -> services.get(entry.getKey()) != entry.getValue());
+        }
+    }
 }
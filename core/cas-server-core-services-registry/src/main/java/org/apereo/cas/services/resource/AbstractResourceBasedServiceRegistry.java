@@ -41,6 +41,8 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -71,6 +73,8 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
     public static final File FALLBACK_REGISTERED_SERVICES_LOCATION =
         new File(CasConfigurationPropertiesSourceLocator.DEFAULT_CAS_CONFIG_DIRECTORIES.getFirst(), "services");
 
+    private static final Duration MODIFICATION_TIME_RESOLUTION = Duration.ofSeconds(2);
+
 
     /**
      * The Service registry directory.
@@ -276,6 +280,26 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
         });
     }
 
+    /**
+     * Definitions are considered changed if any file or directory under the registry directory
+     * was modified since the given instant, allowing for file systems that record modification times
+     * with a coarse resolution. Adding, renaming or removing a file modifies its parent directory.
+     * Definitions replicated from other nodes are always considered changed.
+     */
+    @Override
+    public boolean isChangedSince(final Instant since) {
+        if (!(registeredServiceReplicationStrategy instanceof NoOpRegisteredServiceReplicationStrategy)) {
+            return true;
+        }
+        val threshold = since.minus(MODIFICATION_TIME_RESOLUTION).toEpochMilli();
+        try (val paths = Files.walk(serviceRegistryDirectory)) {
+            return paths.anyMatch(path -> path.toFile().lastModified() >= threshold);
+        } catch (final Exception e) {
+            LoggingUtils.warn(LOGGER, e);
+            return true;
+        }
+    }
+
     @Override
     public Collection<RegisteredService> load(final File file) {
         val fileName = file.getName();
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 /**
  * @author battags
@@ -32,6 +33,34 @@ class DefaultServicesManagerTests extends AbstractServicesManagerTests<DefaultSe
             RegisteredServiceQuery.of(CasRegisteredService.class, "name", service.getName())).count());
     }
 
+    @Test
+    void verifyUnchangedServicesAreReused() throws Throwable {
+        val templatesManager = ((DefaultServicesManager) servicesManager)
+            .getConfigurationContext().getRegisteredServicesTemplatesManager();
+        when(templatesManager.apply(any())).thenAnswer(args -> args.getArgument(0));
+
+        val service = new CasRegisteredService();
+        service.setId(7100);
+        service.setName(TEST + 7100);
+        service.setServiceId(service.getName());
+        serviceRegistry.save(service);
+        val query = RegisteredServiceQuery.of(CasRegisteredService.class, "id", service.getId());
+
+        servicesManager.load();
+        servicesManager.load();
+        verify(templatesManager, times(1)).apply(service);
+        assertEquals(1, servicesManager.findServicesBy(query).count());
+
+        service.setDescription(UUID.randomUUID().toString());
+        servicesManager.load();
+        verify(templatesManager, times(2)).apply(service);
+        assertEquals(1, servicesManager.findServicesBy(query).count());
+
+        serviceRegistry.delete(service);
+        servicesManager.load();
+        assertEquals(0, servicesManager.findServicesBy(query).count());
+    }
+
     @Test
     void verifyFindByName() throws Throwable {
         val service = new CasRegisteredService();
@@ -3,6 +3,7 @@ package org.apereo.cas.ticket;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.ticket.tracking.TicketTrackingPolicy;
+import org.apereo.cas.ticket.tracking.TrackedTickets;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -13,6 +14,7 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.val;
 
 import java.io.Serial;
@@ -72,6 +74,21 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
      */
     private Set<String> descendantTickets = new HashSet<>(0);
 
+    /**
+     * The services and descendant tickets last known to be stored separately by the ticket registry.
+     */
+    @JsonIgnore
+    @Setter
+    private transient TrackedTickets storedTrackedTickets;
+
+    /**
+     * Digest of the ticket document last known to be stored by the ticket registry,
+     * when tracked tickets are stored separately.
+     */
+    @JsonIgnore
+    @Setter
+    private transient String storedDocumentDigest;
+
     @JsonCreator
     public TicketGrantingTicketImpl(
         @JsonProperty("id") final String id,
@@ -103,6 +120,25 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
         return serviceTicket;
     }
 
+    /**
+     * Copy of this ticket without any of its tracked services and descendant tickets,
+     * used when such entries are stored separately from the ticket.
+     *
+     * @return the ticket granting ticket
+     */
+    public TicketGrantingTicketImpl withoutTrackedTickets() {
+        val ticket = new TicketGrantingTicketImpl(getId(), proxiedBy, ticketGrantingTicket, authentication, getExpirationPolicy());
+        ticket.setCreationTime(getCreationTime());
+        ticket.setLastTimeUsed(getLastTimeUsed());
+        ticket.setPreviousTimeUsed(getPreviousTimeUsed());
+        ticket.setCountOfUses(getCountOfUses());
+        ticket.setExpired(isExpiredInternal());
+        ticket.setStateless(isStateless());
+        ticket.setProperties(getProperties());
+        ticket.getProxyGrantingTickets().putAll(proxyGrantingTickets);
+        return ticket;
+    }
+
     @Override
     public void removeAllServices() {
         services.clear();
@@ -41,7 +41,7 @@ public class DefaultProxyGrantingTicketFactory implements ProxyGrantingTicketFac
     @Override
     public <T extends ProxyGrantingTicket> T create(final ServiceTicket serviceTicket,
                                                     final Authentication authentication, final Class<T> clazz) throws Throwable {
-        val pgtId = produceTicketIdentifier();
+        val pgtId = produceTicketIdentifier(serviceTicket);
         return produceTicket(serviceTicket, authentication, pgtId, clazz);
     }
 
@@ -87,8 +87,9 @@ public class DefaultProxyGrantingTicketFactory implements ProxyGrantingTicketFac
 
     }
 
-    protected String produceTicketIdentifier() throws Throwable {
-        val pgtId = this.ticketGrantingTicketUniqueTicketIdGenerator.getNewTicketId(ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX);
+    protected String produceTicketIdentifier(final ServiceTicket serviceTicket) throws Throwable {
+        val pgtId = this.ticketGrantingTicketUniqueTicketIdGenerator.getNewTicketId(
+            ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX, serviceTicket.getId());
         if (cipherExecutor == null || !cipherExecutor.isEnabled()) {
             return pgtId;
         }
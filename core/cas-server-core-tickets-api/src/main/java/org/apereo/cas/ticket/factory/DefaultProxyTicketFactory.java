@@ -48,7 +48,7 @@ public class DefaultProxyTicketFactory implements ProxyTicketFactory {
     @Override
     public <T extends Ticket> T create(final ProxyGrantingTicket proxyGrantingTicket, final Service service,
                                        final Class<T> clazz) throws Throwable {
-        val ticketId = produceTicketIdentifier(service);
+        val ticketId = produceTicketIdentifier(service, proxyGrantingTicket);
         return produceTicket(proxyGrantingTicket, service, ticketId, clazz);
     }
 
@@ -85,7 +85,7 @@ public class DefaultProxyTicketFactory implements ProxyTicketFactory {
         return (T) result;
     }
 
-    protected String produceTicketIdentifier(final Service service) throws Throwable {
+    protected String produceTicketIdentifier(final Service service, final ProxyGrantingTicket proxyGrantingTicket) throws Throwable {
         val uniqueTicketIdGenKey = service.getClass().getName();
         LOGGER.debug("Looking up ticket id generator for [{}]", uniqueTicketIdGenKey);
         var generator = this.uniqueTicketIdGeneratorsForService.get(uniqueTicketIdGenKey);
@@ -94,7 +94,7 @@ public class DefaultProxyTicketFactory implements ProxyTicketFactory {
             LOGGER.debug("Ticket id generator not found for [{}]. Using the default generator...", uniqueTicketIdGenKey);
         }
 
-        val ticketId = generator.getNewTicketId(ProxyTicket.PROXY_TICKET_PREFIX);
+        val ticketId = generator.getNewTicketId(ProxyTicket.PROXY_TICKET_PREFIX, proxyGrantingTicket.getId());
         if (cipherExecutor == null || !cipherExecutor.isEnabled()) {
             return ticketId;
         }
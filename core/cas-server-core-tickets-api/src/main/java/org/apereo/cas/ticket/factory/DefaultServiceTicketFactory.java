@@ -113,7 +113,9 @@ public class DefaultServiceTicketFactory implements ServiceTicketFactory {
             LOGGER.debug("Service ticket id generator not found for [{}]. Using the default generator.", uniqueTicketIdGenKey);
         }
 
-        return serviceTicketUniqueTicketIdGenerator.getNewTicketId(ServiceTicket.PREFIX);
+        return ticketGrantingTicket != null
+            ? serviceTicketUniqueTicketIdGenerator.getNewTicketId(ServiceTicket.PREFIX, ticketGrantingTicket.getId())
+            : serviceTicketUniqueTicketIdGenerator.getNewTicketId(ServiceTicket.PREFIX);
     }
 
     private ExpirationPolicy determineExpirationPolicyForService(final Service service) {
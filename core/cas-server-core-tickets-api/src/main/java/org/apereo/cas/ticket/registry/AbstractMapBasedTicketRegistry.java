@@ -101,6 +101,19 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         return result;
     }
 
+    @Override
+    protected Ticket consumeSingleTicket(final String ticketId) {
+        val removed = getMapInstance().remove(digestIdentifier(ticketId));
+        if (removed == null) {
+            return null;
+        }
+        if (ticketPublisher.isEnabled()) {
+            LOGGER.trace("Publishing delete command for id [{}] and ticket [{}]", publisherIdentifier, ticketId);
+            ticketPublisher.publishMessageToQueue(new DeleteTicketMessageQueueCommand(publisherIdentifier, ticketId));
+        }
+        return decodeTicket(removed);
+    }
+
     @Override
     public Ticket addSingleTicket(final Ticket ticket) throws Exception {
         addTicketToQueue(ticket);
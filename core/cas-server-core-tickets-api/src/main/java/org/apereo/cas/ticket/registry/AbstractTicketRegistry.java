@@ -10,14 +10,21 @@ import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+import org.apereo.cas.ticket.serialization.EncodedTicketCodec;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+import org.apereo.cas.ticket.serialization.VersionedEncodedTicketCodec;
+import org.apereo.cas.ticket.tracking.TicketUsage;
+import org.apereo.cas.ticket.tracking.TrackedTickets;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.EncodingUtils;
 import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.function.FunctionUtils;
-import org.apereo.cas.util.serialization.SerializationUtils;
+import org.apereo.cas.util.serialization.JacksonObjectMapperFactory;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.io.ByteSource;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
@@ -27,9 +34,11 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.jooq.lambda.Unchecked;
 
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -51,8 +60,16 @@ import java.util.stream.Stream;
 @AllArgsConstructor
 public abstract class AbstractTicketRegistry implements TicketRegistry {
 
+    /**
+     * Key of the tracked ticket entry that carries the usage of the ticket-granting ticket.
+     */
+    protected static final String TRACKED_TICKETS_USAGE_KEY = "usage";
+
     private static final String MESSAGE = "Ticket encryption is not enabled. Falling back to default behavior";
 
+    private static final ObjectMapper TRACKED_TICKETS_MAPPER = JacksonObjectMapperFactory.builder()
+        .defaultTypingEnabled(true).build().toObjectMapper();
+
     @Setter
     protected CipherExecutor cipherExecutor;
 
@@ -112,7 +129,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
                 LOGGER.warn("Ticket created [{}] second(s) in the future. Check time synchronization on all servers.", ticketAgeSeconds * -1);
             }
         }
-        return returnTicket;
+        return attachTrackedTickets(returnTicket);
     }
 
     @Override
@@ -129,6 +146,34 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         return clazz.cast(ticket);
     }
 
+    @Override
+    public <T extends Ticket> T consumeTicket(final String ticketId, final @NonNull Class<T> clazz) throws Exception {
+        if (StringUtils.isBlank(ticketId)) {
+            LOGGER.trace("No ticket id is provided to consume");
+            throw new InvalidTicketException(ticketId);
+        }
+        val definition = ticketCatalog != null ? ticketCatalog.find(ticketId) : null;
+        if (definition != null && !clazz.isAssignableFrom(definition.getImplementationClass())) {
+            throw new ClassCastException("Ticket [" + ticketId + " is of type "
+                                         + definition.getImplementationClass() + " when we were expecting " + clazz);
+        }
+        val ticket = consumeSingleTicket(ticketId);
+        if (ticket == null) {
+            LOGGER.debug("Ticket [{}] could not be consumed; it may have been used, expired or deleted.", ticketId);
+            throw new InvalidTicketException(ticketId);
+        }
+        if (ticket.isExpired()) {
+            LOGGER.debug("Ticket [{}] has expired according to policy [{}] and is removed from the ticket registry",
+                ticketId, ticket.getExpirationPolicy().getName());
+            throw new InvalidTicketException(ticketId);
+        }
+        if (!clazz.isAssignableFrom(ticket.getClass())) {
+            throw new ClassCastException("Ticket [" + ticket.getId() + " is of type "
+                                         + ticket.getClass() + " when we were expecting " + clazz);
+        }
+        return clazz.cast(ticket);
+    }
+
     @Override
     public int deleteTicket(final String ticketId) throws Exception {
         if (StringUtils.isBlank(ticketId)) {
@@ -146,7 +191,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
     @Override
     public int deleteTicket(final Ticket ticket) throws Exception {
         val count = new AtomicLong(0);
-        if (ticket instanceof final TicketGrantingTicket tgt) {
+        if (attachTrackedTickets(ticket) instanceof final TicketGrantingTicket tgt) {
             LOGGER.debug("Removing children of ticket [{}] from the registry.", ticket.getId());
             count.getAndAdd(deleteChildren(tgt));
             if (ticket instanceof final ProxyGrantingTicket pgt) {
@@ -157,6 +202,9 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         }
         LOGGER.debug("Removing ticket [{}] from the registry.", ticket);
         count.getAndAdd(deleteSingleTicket(ticket));
+        if (isTrackedTicketsStoredSeparately() && ticket instanceof final TicketGrantingTicket ticketGrantingTicket) {
+            deleteTrackedTickets(ticketGrantingTicket);
+        }
         return count.intValue();
     }
 
@@ -260,8 +308,201 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         return 0;
     }
 
+    /**
+     * Remove the ticket from the registry and return it, decoded.
+     * Registries that are able to fetch and remove a ticket in one operation
+     * should override this to make the operation atomic.
+     *
+     * @param ticketId the ticket id
+     * @return the ticket, or null if it could not be found
+     * @throws Exception the exception
+     */
+    protected Ticket consumeSingleTicket(final String ticketId) throws Exception {
+        val ticket = getTicket(ticketId);
+        if (ticket != null) {
+            deleteSingleTicket(ticket);
+        }
+        return ticket;
+    }
+
     protected abstract Ticket addSingleTicket(Ticket ticket) throws Exception;
 
+    /**
+     * Whether services and descendant tickets tracked by ticket-granting tickets
+     * are stored as separate entries rather than as part of the ticket itself.
+     * Registries that are able to keep such entries natively should override this
+     * and store the tracked ticket entries of each {@link DetachedTicket} they write.
+     *
+     * @return true/false
+     */
+    protected boolean isTrackedTicketsStoredSeparately() {
+        return false;
+    }
+
+    /**
+     * Load the tracked ticket entries that are stored separately for the ticket-granting ticket.
+     *
+     * @param ticket the ticket
+     * @return the entries
+     */
+    protected Map<String, String> loadTrackedTicketEntries(final TicketGrantingTicket ticket) {
+        return new HashMap<>(0);
+    }
+
+    /**
+     * Delete all tracked tickets that are stored separately for the ticket-granting ticket.
+     *
+     * @param ticket the ticket
+     */
+    protected void deleteTrackedTickets(final TicketGrantingTicket ticket) {
+    }
+
+    /**
+     * Prepare the ticket to be written to the registry. If tracked tickets are stored separately,
+     * the changes to the services and descendant tickets of a ticket-granting ticket along with its usage
+     * are collected as entries to store, and a copy of the ticket without tracked tickets is returned to be written.
+     * The ticket document itself is only marked as changed if anything other than its tracked tickets or usage has changed.
+     *
+     * @param ticket the ticket
+     * @return the detached ticket
+     */
+    protected DetachedTicket detachTrackedTickets(final Ticket ticket) {
+        if (supportsTrackedTicketsStoredSeparately(ticket)) {
+            val ticketGrantingTicket = (TicketGrantingTicketImpl) ticket;
+            val current = TrackedTickets.of(ticketGrantingTicket);
+            val stored = Optional.ofNullable(ticketGrantingTicket.getStoredTrackedTickets()).orElseGet(TrackedTickets::empty);
+            val added = current.without(stored);
+            val removed = stored.without(current);
+
+            val document = ticketGrantingTicket.withoutTrackedTickets();
+            val documentDigest = digestTrackedTicketDocument(document);
+            val documentChanged = documentDigest == null || !documentDigest.equals(ticketGrantingTicket.getStoredDocumentDigest());
+
+            val entries = encodeTrackedTickets(added);
+            entries.put(TRACKED_TICKETS_USAGE_KEY, encodeTrackedTicketEntry(TicketUsage.of(ticket, documentDigest)));
+            val removedEntries = getTrackedTicketKeys(removed);
+            LOGGER.trace("Storing [{}] and removing [{}] tracked ticket(s) for [{}]; ticket document has changed: [{}]",
+                added, removed, ticket.getId(), documentChanged);
+
+            ticketGrantingTicket.setStoredTrackedTickets(current);
+            ticketGrantingTicket.setStoredDocumentDigest(documentDigest);
+            return new DetachedTicket(document, documentChanged, entries, removedEntries);
+        }
+        return new DetachedTicket(ticket, true, new HashMap<>(0), new HashSet<>(0));
+    }
+
+    /**
+     * Restore the services and descendant tickets of a ticket-granting ticket
+     * from the tracked tickets that are stored separately, loading them if the ticket is not restored already.
+     *
+     * @param ticket the ticket
+     * @return the ticket
+     */
+    protected Ticket attachTrackedTickets(final Ticket ticket) {
+        if (supportsTrackedTicketsStoredSeparately(ticket)
+            && ((TicketGrantingTicketImpl) ticket).getStoredTrackedTickets() == null) {
+            return attachTrackedTickets(ticket, loadTrackedTicketEntries((TicketGrantingTicket) ticket));
+        }
+        return ticket;
+    }
+
+    /**
+     * Restore the services, descendant tickets and usage of a ticket-granting ticket
+     * from tracked ticket entries that are fetched along with the ticket.
+     *
+     * @param ticket  the ticket
+     * @param entries the entries
+     * @return the ticket
+     */
+    protected Ticket attachTrackedTickets(final Ticket ticket, final Map<String, String> entries) {
+        if (supportsTrackedTicketsStoredSeparately(ticket)) {
+            val ticketGrantingTicket = (TicketGrantingTicketImpl) ticket;
+            val trackedEntries = new HashMap<String, String>(Optional.ofNullable(entries).orElseGet(Map::of));
+            val usage = Optional.ofNullable(trackedEntries.remove(TRACKED_TICKETS_USAGE_KEY))
+                .map(entry -> decodeTrackedTicketEntry(entry, TicketUsage.class));
+            usage.ifPresent(ticketUsage -> {
+                ticketGrantingTicket.setCountOfUses(ticketUsage.countOfUses());
+                ticketGrantingTicket.setLastTimeUsed(ticketUsage.lastTimeUsed());
+                ticketGrantingTicket.setPreviousTimeUsed(ticketUsage.previousTimeUsed());
+                ticketGrantingTicket.setStoredDocumentDigest(ticketUsage.documentDigest());
+            });
+            val stored = TrackedTickets.empty();
+            trackedEntries.values()
+                .stream()
+                .map(entry -> decodeTrackedTicketEntry(entry, TrackedTickets.class))
+                .forEach(stored::merge);
+            ticketGrantingTicket.getServices().putAll(stored.services());
+            ticketGrantingTicket.getDescendantTickets().addAll(stored.descendantTickets());
+            ticketGrantingTicket.setStoredTrackedTickets(stored);
+        }
+        return ticket;
+    }
+
+    private Map<String, String> encodeTrackedTickets(final TrackedTickets trackedTickets) {
+        val entries = new HashMap<String, String>();
+        trackedTickets.services().forEach((ticketId, service) -> {
+            val entry = new TrackedTickets(new HashMap<>(Map.of(ticketId, service)), new HashSet<>(0));
+            entries.put(getTrackedServiceKey(ticketId), encodeTrackedTicketEntry(entry));
+        });
+        trackedTickets.descendantTickets().forEach(descendant -> {
+            val entry = new TrackedTickets(new HashMap<>(0), new HashSet<>(Set.of(descendant)));
+            entries.put(getTrackedDescendantKey(descendant), encodeTrackedTicketEntry(entry));
+        });
+        return entries;
+    }
+
+    private static Set<String> getTrackedTicketKeys(final TrackedTickets trackedTickets) {
+        val keys = new HashSet<String>();
+        trackedTickets.services().keySet().forEach(ticketId -> keys.add(getTrackedServiceKey(ticketId)));
+        trackedTickets.descendantTickets().forEach(descendant -> keys.add(getTrackedDescendantKey(descendant)));
+        return keys;
+    }
+
+    /**
+     * Tracked ticket entries are stored as JSON, and encrypted
+     * and encoded as base64 if ticket encryption is turned on.
+     */
+    private String encodeTrackedTicketEntry(final Object entry) {
+        val json = FunctionUtils.doUnchecked(() -> TRACKED_TICKETS_MAPPER.writeValueAsString(entry));
+        return isCipherExecutorEnabled()
+            ? EncodingUtils.encodeBase64((byte[]) cipherExecutor.encode(json.getBytes(StandardCharsets.UTF_8)))
+            : json;
+    }
+
+    private <T> T decodeTrackedTicketEntry(final String entry, final Class<T> clazz) {
+        val json = isCipherExecutorEnabled()
+            ? new String((byte[]) cipherExecutor.decode(EncodingUtils.decodeBase64(entry)), StandardCharsets.UTF_8)
+            : entry;
+        return FunctionUtils.doUnchecked(() -> TRACKED_TICKETS_MAPPER.readValue(json, clazz));
+    }
+
+    /**
+     * Digest of the ticket document without its usage, to detect whether the document
+     * needs to be written again. Usage is stored and restored separately.
+     */
+    private String digestTrackedTicketDocument(final TicketGrantingTicketImpl document) {
+        val copy = document.withoutTrackedTickets();
+        copy.setLastTimeUsed(copy.getCreationTime());
+        copy.setPreviousTimeUsed(null);
+        copy.setCountOfUses(0);
+        val json = serializeTicket(copy);
+        return StringUtils.isNotBlank(json) ? DigestUtils.sha256(json) : null;
+    }
+
+    private static String getTrackedServiceKey(final String ticketId) {
+        return DigestUtils.sha256("S:" + ticketId);
+    }
+
+    private static String getTrackedDescendantKey(final String descendant) {
+        return DigestUtils.sha256("D:" + descendant);
+    }
+
+    private boolean supportsTrackedTicketsStoredSeparately(final Ticket ticket) {
+        return isTrackedTicketsStoredSeparately()
+            && ticket instanceof TicketGrantingTicketImpl
+            && !(ticket instanceof ProxyGrantingTicket);
+    }
+
     protected int deleteTickets(final Set<String> tickets) {
         return deleteTickets(tickets.stream());
     }
@@ -332,7 +573,8 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
             return ticketToProcess;
         }
         LOGGER.debug("Attempting to decode [{}]", ticketToProcess);
-        val ticket = SerializationUtils.decodeAndDeserializeObject(encodedTicket.getEncodedTicket(), this.cipherExecutor, Ticket.class);
+        val decodedTicketObject = (byte[]) cipherExecutor.decode(encodedTicket.getEncodedTicket());
+        val ticket = getEncodedTicketCodec().decode(decodedTicketObject);
         LOGGER.debug("Decoded ticket to [{}]", ticket);
         return ticket;
     }
@@ -359,10 +601,16 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
 
     protected Ticket createEncodedTicket(final Ticket ticket) throws Exception {
         LOGGER.debug("Encoding ticket [{}]", ticket);
-        val encodedTicketObject = SerializationUtils.serializeAndEncodeObject(cipherExecutor, ticket);
+        val encodedTicketObject = (byte[]) cipherExecutor.encode(getEncodedTicketCodec().encode(ticket));
         return toEncodedTicket(ticket, encodedTicketObject);
     }
 
+    protected EncodedTicketCodec getEncodedTicketCodec() {
+        return Optional.ofNullable(ticketSerializationManager)
+            .map(TicketSerializationManager::getEncodedTicketCodec)
+            .orElse(VersionedEncodedTicketCodec.INSTANCE);
+    }
+
     protected Ticket toEncodedTicket(final Ticket ticket, final byte[] encodedTicketObject) throws Exception {
         val encodedTicketId = digestIdentifier(ticket.getId());
         return new DefaultEncodedTicket(encodedTicketId,
@@ -395,4 +643,25 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
     protected Ticket deserializeTicket(final String ticketContent, final String type) {
         return ticketSerializationManager.deserializeTicket(ticketContent, type);
     }
+
+    /**
+     * The ticket to write to the registry along with the tracked ticket entries to store and remove,
+     * when tracked tickets are stored separately.
+     *
+     * @param ticket          the ticket to write
+     * @param documentChanged whether the ticket document must be written, or only its tracked ticket entries
+     * @param storedEntries   the tracked ticket entries to store
+     * @param removedEntries  the keys of the tracked ticket entries to remove
+     */
+    protected record DetachedTicket(Ticket ticket, boolean documentChanged,
+                                    Map<String, String> storedEntries, Set<String> removedEntries) {
+        /**
+         * Whether there are tracked ticket entries to store or remove.
+         *
+         * @return true/false
+         */
+        public boolean hasTrackedTicketEntries() {
+            return !storedEntries.isEmpty() || !removedEntries.isEmpty();
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.util.ShardedUniqueTicketIdGenerator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * This is {@link ShardedTicketIdGeneratorPostProcessor}. When tickets are spread across
+ * ticket registry shards, it decorates ticket id generator beans, whichever module provides them,
+ * so that descendant tickets are tagged with the shard of their ticket-granting ticket.
+ * Generators whose ticket ids follow a fixed format, such as SAML artifacts, are left alone;
+ * their tickets are placed by a hash of their own id instead.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ShardedTicketIdGeneratorPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<CasConfigurationProperties> casProperties;
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (bean instanceof final UniqueTicketIdGenerator generator && !(bean instanceof ShardedUniqueTicketIdGenerator)
+            && !generator.isFixedFormat() && isShardingEnabled()) {
+            LOGGER.debug("Ticket ids produced by [{}] are tagged with the shard of their parent ticket", beanName);
+            return new ShardedUniqueTicketIdGenerator(generator);
+        }
+        return bean;
+    }
+
+    private boolean isShardingEnabled() {
+        val sharding = casProperties.getObject().getTicket().getRegistry().getSharding();
+        return sharding.isEnabled() && !sharding.getConnections().isEmpty();
+    }
+}
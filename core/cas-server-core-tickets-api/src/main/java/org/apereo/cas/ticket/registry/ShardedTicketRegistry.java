@@ -0,0 +1,482 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.configuration.model.core.ticket.registry.ShardedTicketRegistryProperties;
+import org.apereo.cas.ticket.InvalidTicketException;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.ticket.registry.pubsub.QueueableTicketRegistry;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.crypto.CipherExecutor;
+import org.apereo.cas.util.function.FunctionUtils;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.codec.digest.MurmurHash3;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link ShardedTicketRegistry}. Tickets are spread across a number of ticket registry shards,
+ * typically of the same type, using consistent hashing. The shard that owns a ticket is determined by its
+ * identifier alone: ticket ids that carry a shard tag, as produced for descendant tickets, are placed by their tag,
+ * which is derived from the ticket-granting ticket they descend from; all other tickets are placed by a hash of their id.
+ * A ticket-granting ticket and its descendants therefore end up on the same shard.
+ * <p>
+ * Operations that look across all tickets, such as counting or querying sessions, are sent to all shards
+ * in parallel and their results are combined, while streams of tickets go through the shards one after the other
+ * so that tickets are not collected in memory. When the shards change between restarts, the previous shards are
+ * given as well: lookups then fall back to the shard that owned a ticket before, until tickets are
+ * migrated to the shard that owns them now.
+ * <p>
+ * Ticket registries that replicate ticket operations to other nodes through a message queue
+ * are not sharded, since they rely on receiving those operations as {@link QueueableTicketRegistry} instances.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Slf4j
+public class ShardedTicketRegistry extends AbstractTicketRegistry implements DisposableBean {
+    /**
+     * Prefix of the last segment of a ticket id that carries the shard tag.
+     */
+    public static final String SHARD_TAG_PREFIX = "SH";
+
+    private static final int SHARD_TAG_LENGTH = SHARD_TAG_PREFIX.length() + Integer.BYTES * 2;
+
+    private final List<TicketRegistry> shards;
+
+    private final List<TicketRegistry> allShards;
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    private final Lock rebalanceLock = new ReentrantLock();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final NavigableMap<Integer, TicketRegistry> ring;
+
+    private final NavigableMap<Integer, TicketRegistry> previousRing;
+
+    public ShardedTicketRegistry(final List<? extends TicketRegistry> shards,
+                                 final int virtualNodes,
+                                 final TicketSerializationManager ticketSerializationManager,
+                                 final TicketCatalog ticketCatalog) {
+        this(shards, List.of(), virtualNodes, ticketSerializationManager, ticketCatalog);
+    }
+
+    public ShardedTicketRegistry(final List<? extends TicketRegistry> shards,
+                                 final List<? extends TicketRegistry> previousShards,
+                                 final int virtualNodes,
+                                 final TicketSerializationManager ticketSerializationManager,
+                                 final TicketCatalog ticketCatalog) {
+        super(CipherExecutor.noOp(), ticketSerializationManager, ticketCatalog);
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one ticket registry shard must be provided");
+        }
+        this.shards = List.copyOf(shards);
+        this.allShards = Stream.concat(shards.stream(), previousShards.stream()).distinct().map(TicketRegistry.class::cast).toList();
+        this.ring = buildRing(this.shards, virtualNodes);
+        this.previousRing = previousShards.isEmpty() ? null : buildRing(previousShards, virtualNodes);
+    }
+
+    /**
+     * Spread tickets across the given ticket registry, which serves as the first shard,
+     * and one ticket registry for each of the configured shard connections. Connections that were
+     * used before the shards changed also get a ticket registry, so that tickets can be found where they were stored.
+     * The given ticket registry is returned as is when sharding is turned off.
+     *
+     * @param ticketRegistry             the ticket registry
+     * @param properties                 the sharding properties
+     * @param shardFactory               builds the shard for a connection address
+     * @param ticketSerializationManager the ticket serialization manager
+     * @param ticketCatalog              the ticket catalog
+     * @return the ticket registry
+     */
+    public static TicketRegistry of(final TicketRegistry ticketRegistry,
+                                    final ShardedTicketRegistryProperties properties,
+                                    final Function<String, Shard> shardFactory,
+                                    final TicketSerializationManager ticketSerializationManager,
+                                    final TicketCatalog ticketCatalog) {
+        if (!properties.isEnabled() || properties.getConnections().isEmpty() && properties.getPreviousConnections().isEmpty()) {
+            return ticketRegistry;
+        }
+        if (ticketRegistry instanceof QueueableTicketRegistry) {
+            LOGGER.warn("Ticket registry [{}] replicates ticket operations through a message queue and cannot be sharded",
+                ticketRegistry.getClass().getSimpleName());
+            return ticketRegistry;
+        }
+        val shardsByConnection = new LinkedHashMap<String, Shard>();
+        Stream.concat(properties.getConnections().stream(), properties.getPreviousConnections().stream())
+            .forEach(connection -> shardsByConnection.computeIfAbsent(connection, shardFactory));
+        val shards = Stream.concat(Stream.of(ticketRegistry),
+            properties.getConnections().stream().map(connection -> shardsByConnection.get(connection).ticketRegistry())).toList();
+        val previousShards = properties.getPreviousConnections().isEmpty()
+            ? List.<TicketRegistry>of()
+            : Stream.concat(Stream.of(ticketRegistry),
+                properties.getPreviousConnections().stream().map(connection -> shardsByConnection.get(connection).ticketRegistry())).toList();
+        val registry = new ShardedTicketRegistry(shards, previousShards, properties.getVirtualNodes(), ticketSerializationManager, ticketCatalog);
+        shardsByConnection.values().forEach(shard -> registry.resources.addAll(shard.resources()));
+        LOGGER.info("Tickets are spread across [{}] shards of ticket registry [{}]", shards.size(), ticketRegistry.getClass().getSimpleName());
+        if (!previousShards.isEmpty()) {
+            LOGGER.info("Tickets are looked up on the [{}] previous shards until they are migrated", previousShards.size());
+        }
+        if (properties.isMigrateOnStartup()) {
+            CompletableFuture.runAsync(registry::rebalance, registry.executor)
+                .exceptionally(throwable -> {
+                    LoggingUtils.error(LOGGER, throwable);
+                    return null;
+                });
+        }
+        return registry;
+    }
+
+    /**
+     * Produce the shard tag for tickets that descend from the given ticket.
+     * Descendants of a ticket that carries a shard tag inherit the same tag.
+     *
+     * @param parentTicketId the parent ticket id
+     * @return the shard tag
+     */
+    public static String getShardTag(final String parentTicketId) {
+        return SHARD_TAG_PREFIX + "%08x".formatted(getRoutingToken(parentTicketId));
+    }
+
+    /**
+     * Position of the ticket on the consistent hash ring.
+     *
+     * @param ticketId the ticket id
+     * @return the routing token
+     */
+    protected static int getRoutingToken(final String ticketId) {
+        val tag = StringUtils.substringAfterLast(ticketId, String.valueOf(UniqueTicketIdGenerator.SEPARATOR));
+        if (isShardTag(tag)) {
+            return Integer.parseUnsignedInt(tag.substring(SHARD_TAG_PREFIX.length()), 16);
+        }
+        return hash(ticketId);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        allShards.stream()
+            .filter(DisposableBean.class::isInstance)
+            .map(DisposableBean.class::cast)
+            .forEach(shard -> FunctionUtils.doAndHandle(__ -> shard.destroy()));
+        resources.forEach(resource -> FunctionUtils.doAndHandle(__ -> resource.close()));
+        resources.clear();
+    }
+
+    /**
+     * The shard that owns the given ticket.
+     *
+     * @param ticketId the ticket id
+     * @return the ticket registry shard
+     */
+    public TicketRegistry getShard(final String ticketId) {
+        return locate(ring, ticketId);
+    }
+
+    /**
+     * The ticket registry shards.
+     *
+     * @return the shards
+     */
+    public List<TicketRegistry> getShards() {
+        return shards;
+    }
+
+    /**
+     * Move tickets that are not stored on the shard that owns them, including all tickets
+     * that are stored on previous shards that are no longer used, after the shards have changed between restarts.
+     * With consistent hashing, only the tickets that are now owned by a different shard move.
+     *
+     * @return the number of tickets that were migrated
+     */
+    public long rebalance() {
+        rebalanceLock.lock();
+        try {
+            return migrate();
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
+        if (StringUtils.isBlank(ticketId)) {
+            return null;
+        }
+        val ticket = getOwners(ticketId)
+            .stream()
+            .map(shard -> shard.getTicket(ticketId))
+            .filter(Objects::nonNull)
+            .findFirst()
+            .orElse(null);
+        if (ticket == null || !predicate.test(ticket)) {
+            LOGGER.debug("Ticket [{}] could not be found", ticketId);
+            return null;
+        }
+        return ticket;
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) throws Exception {
+        val owners = getOwners(ticket.getId());
+        val shard = owners.size() == 1 ? owners.getFirst() : owners
+            .stream()
+            .filter(owner -> owner.getTicket(ticket.getId()) != null)
+            .findFirst()
+            .orElseGet(owners::getFirst);
+        return shard.updateTicket(ticket);
+    }
+
+    @Override
+    public Map<String, Ticket> commit(final TicketRegistryUnitOfWork unitOfWork) throws Exception {
+        val unitsOfWork = new LinkedHashMap<TicketRegistry, TicketRegistryUnitOfWork>();
+        val unitOfWorkFor = (Function<Ticket, TicketRegistryUnitOfWork>) ticket ->
+            unitsOfWork.computeIfAbsent(getShard(ticket.getId()), TicketRegistry::newUnitOfWork);
+        unitOfWork.getTicketsToAdd().forEach(ticket -> unitOfWorkFor.apply(ticket).addTicket(ticket));
+        unitOfWork.getTicketsToUpdate().forEach(ticket -> unitOfWorkFor.apply(ticket).updateTicket(ticket));
+        unitOfWork.getTicketsToDelete().forEach(ticket -> unitOfWorkFor.apply(ticket).deleteTicket(ticket));
+        val futures = unitsOfWork.values()
+            .stream()
+            .map(shardUnitOfWork -> CompletableFuture.supplyAsync(
+                () -> FunctionUtils.doUnchecked(shardUnitOfWork::commit), executor))
+            .toList();
+        val addedTickets = new LinkedHashMap<String, Ticket>();
+        futures.forEach(future -> addedTickets.putAll(future.join()));
+        return addedTickets;
+    }
+
+    @Override
+    public long deleteAll() {
+        return scatter(TicketRegistry::deleteAll).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public Collection<? extends Ticket> getTickets() {
+        return gather(shard -> new ArrayList<Ticket>(shard.getTickets()));
+    }
+
+    @Override
+    public Stream<? extends Ticket> stream() {
+        return allShards.stream().flatMap(TicketRegistry::stream);
+    }
+
+    @Override
+    public long sessionCount() {
+        return sum(TicketRegistry::sessionCount);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return sum(TicketRegistry::serviceTicketCount);
+    }
+
+    @Override
+    public long countSessionsFor(final String principalId) {
+        return sum(shard -> shard.countSessionsFor(principalId));
+    }
+
+    @Override
+    public long countTicketsFor(final Service service) {
+        return sum(shard -> shard.countTicketsFor(service));
+    }
+
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        return allShards.stream().flatMap(shard -> shard.getSessionsFor(principalId));
+    }
+
+    @Override
+    public Stream<? extends Ticket> getSessionsWithAttributes(final Map<String, List<Object>> queryAttributes) {
+        return allShards.stream().flatMap(shard -> shard.getSessionsWithAttributes(queryAttributes));
+    }
+
+    @Override
+    public List<? extends Serializable> query(final TicketRegistryQueryCriteria criteria) {
+        val results = scatter(shard -> new ArrayList<Serializable>(shard.query(criteria)))
+            .stream()
+            .flatMap(List::stream);
+        return (criteria.getCount() > 0 ? results.limit(criteria.getCount()) : results).toList();
+    }
+
+    @Override
+    public String digestIdentifier(final String identifier) {
+        return shards.getFirst().digestIdentifier(identifier);
+    }
+
+    @Override
+    protected Ticket addSingleTicket(final Ticket ticket) throws Exception {
+        return getShard(ticket.getId()).addTicket(ticket);
+    }
+
+    @Override
+    protected long deleteSingleTicket(final Ticket ticket) {
+        return getOwners(ticket.getId())
+            .stream()
+            .mapToLong(shard -> FunctionUtils.doUnchecked(() -> shard.deleteTicket(ticket)))
+            .sum();
+    }
+
+    @Override
+    protected Ticket consumeSingleTicket(final String ticketId) throws Exception {
+        for (val shard : getOwners(ticketId)) {
+            try {
+                return shard.consumeTicket(ticketId, Ticket.class);
+            } catch (final InvalidTicketException e) {
+                LOGGER.trace("Ticket [{}] could not be consumed from shard [{}]", ticketId, shard.getClass().getSimpleName());
+            }
+        }
+        return null;
+    }
+
+    private List<TicketRegistry> getOwners(final String ticketId) {
+        val owner = getShard(ticketId);
+        if (previousRing != null) {
+            val previousOwner = locate(previousRing, ticketId);
+            if (previousOwner != owner) {
+                return List.of(owner, previousOwner);
+            }
+        }
+        return List.of(owner);
+    }
+
+    private long migrate() {
+        var migrated = 0L;
+        for (val source : allShards) {
+            val misplaced = new ArrayList<Ticket>();
+            try (val tickets = source.stream()) {
+                tickets.filter(ticket -> getShard(ticket.getId()) != source).forEach(misplaced::add);
+            }
+            val copied = misplaced
+                .stream()
+                .map(ticket -> FunctionUtils.doAndHandle(() -> {
+                    getShard(ticket.getId()).addTicket(ticket);
+                    return ticket;
+                }))
+                .filter(Objects::nonNull)
+                .toList();
+            copied.forEach(ticket -> FunctionUtils.doAndHandle(__ -> removeMigratedTicket(source, ticket)));
+            migrated += copied.size();
+            LOGGER.debug("Migrated [{}] ticket(s) away from shard [{}]", copied.size(), source.getClass().getSimpleName());
+        }
+        LOGGER.info("Migrated [{}] ticket(s) across [{}] ticket registry shards", migrated, allShards.size());
+        return migrated;
+    }
+
+    /**
+     * Remove a migrated ticket from its previous shard, once all tickets that move away from that shard are copied.
+     * Removing a ticket-granting ticket also removes its descendants from that shard,
+     * so descendants that remain owned by that shard are put back.
+     *
+     * @param source the previous shard
+     * @param ticket the migrated ticket
+     * @throws Exception the exception
+     */
+    private void removeMigratedTicket(final TicketRegistry source, final Ticket ticket) throws Exception {
+        val remaining = new ArrayList<Ticket>();
+        if (ticket instanceof final TicketGrantingTicket ticketGrantingTicket) {
+            Stream.concat(ticketGrantingTicket.getServices().keySet().stream(),
+                    ticketGrantingTicket.getProxyGrantingTickets().keySet().stream())
+                .filter(id -> getShard(id) == source)
+                .map(source::getTicket)
+                .filter(Objects::nonNull)
+                .forEach(remaining::add);
+        }
+        source.deleteTicket(ticket);
+        for (val descendant : remaining) {
+            if (source.getTicket(descendant.getId()) == null) {
+                source.addTicket(descendant);
+            }
+        }
+    }
+
+    private <T> List<T> scatter(final Function<TicketRegistry, T> operation) {
+        val futures = allShards.stream()
+            .map(shard -> CompletableFuture.supplyAsync(() -> operation.apply(shard), executor))
+            .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private List<Ticket> gather(final Function<TicketRegistry, ? extends Collection<? extends Ticket>> operation) {
+        val results = new ArrayList<Ticket>();
+        scatter(operation).forEach(results::addAll);
+        return results;
+    }
+
+    private long sum(final Function<TicketRegistry, Long> operation) {
+        val counts = scatter(operation);
+        if (counts.stream().anyMatch(count -> count < 0)) {
+            return Long.MIN_VALUE;
+        }
+        return counts.stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static NavigableMap<Integer, TicketRegistry> buildRing(final List<? extends TicketRegistry> shards, final int virtualNodes) {
+        val newRing = new TreeMap<Integer, TicketRegistry>();
+        for (var index = 0; index < shards.size(); index++) {
+            for (var node = 0; node < Math.max(1, virtualNodes); node++) {
+                newRing.put(hash("shard-" + index + '#' + node), shards.get(index));
+            }
+        }
+        return newRing;
+    }
+
+    private static TicketRegistry locate(final NavigableMap<Integer, TicketRegistry> ring, final String ticketId) {
+        val entry = ring.ceilingEntry(getRoutingToken(ticketId));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    private static boolean isShardTag(final String segment) {
+        return segment.length() == SHARD_TAG_LENGTH && segment.startsWith(SHARD_TAG_PREFIX)
+            && segment.substring(SHARD_TAG_PREFIX.length()).chars().allMatch(c -> Character.digit(c, 16) >= 0);
+    }
+
+    private static int hash(final String value) {
+        return MurmurHash3.hash32x86(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A ticket registry shard, along with the resources that were created for it,
+     * such as connection factories or data sources, which are closed when the sharded ticket registry is destroyed.
+     *
+     * @param ticketRegistry the ticket registry of the shard
+     * @param resources      the resources of the shard
+     */
+    public record Shard(TicketRegistry ticketRegistry, List<AutoCloseable> resources) {
+        /**
+         * Shard backed by the given ticket registry and resources.
+         *
+         * @param ticketRegistry the ticket registry
+         * @param resources      the resources to close, in order
+         * @return the shard
+         */
+        public static Shard of(final TicketRegistry ticketRegistry, final AutoCloseable... resources) {
+            return new Shard(ticketRegistry, List.of(resources));
+        }
+    }
+}
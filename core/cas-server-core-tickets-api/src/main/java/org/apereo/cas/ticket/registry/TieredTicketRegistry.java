@@ -0,0 +1,514 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.configuration.model.core.ticket.registry.TieredTicketRegistryProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.ticket.InvalidTicketException;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.crypto.CipherExecutor;
+import org.apereo.cas.util.function.FunctionUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.Serializable;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link TieredTicketRegistry}. Tickets are kept in a bounded in-memory hot tier and
+ * replicated to a durable ticket registry through a write-behind queue that is flushed
+ * periodically in batches. Pending changes to the same ticket are coalesced, such that
+ * a ticket that is added and removed before the queue is flushed never reaches the durable
+ * ticket registry. Tickets that cannot be found in the hot tier are read from the durable
+ * ticket registry. Service and proxy tickets may be coalesced as well: a service ticket that is
+ * still waiting in the queue exists nowhere else, so it can only be consumed on this node,
+ * and once it is replicated it is consumed from the durable ticket registry; updates and removals of
+ * service tickets that have reached the durable ticket registry are always written through.
+ * Ticket-granting tickets may optionally be written through as well.
+ * <p>
+ * Operations that look across all tickets, such as counting or querying sessions,
+ * flush pending changes first and are answered by the durable ticket registry.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Slf4j
+public class TieredTicketRegistry extends AbstractTicketRegistry implements DisposableBean {
+    private static final String METRIC_CHANGES = "cas.ticket.registry.tiered.changes";
+
+    private static final String METRIC_QUEUE_DEPTH = "cas.ticket.registry.tiered.queue.depth";
+
+    private static final String METRIC_QUEUE_LAG = "cas.ticket.registry.tiered.queue.lag";
+
+    @Getter
+    private final TicketRegistry durableTicketRegistry;
+
+    private final TieredTicketRegistryProperties properties;
+
+    private final Cache<String, Ticket> hotTier;
+
+    private final Map<String, PendingChange> pendingChanges = new ConcurrentHashMap<>();
+
+    private final Set<String> inFlightChanges = ConcurrentHashMap.newKeySet();
+
+    private final Lock flushLock = new ReentrantLock();
+
+    private final ScheduledExecutorService flushScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().factory());
+
+    public TieredTicketRegistry(final TicketRegistry durableTicketRegistry,
+                                final TicketSerializationManager ticketSerializationManager,
+                                final TicketCatalog ticketCatalog,
+                                final TieredTicketRegistryProperties properties) {
+        super(CipherExecutor.noOp(), ticketSerializationManager, ticketCatalog);
+        this.durableTicketRegistry = durableTicketRegistry;
+        this.properties = properties;
+        this.hotTier = Caffeine.newBuilder()
+            .maximumSize(properties.getHotTierMaximumSize())
+            .expireAfter(new HotTierExpiry(Beans.newDuration(properties.getHotTierTimeToLive())))
+            .build();
+        val flushInterval = Beans.newDuration(properties.getFlushInterval()).toMillis();
+        if (flushInterval > 0) {
+            flushScheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        }
+        Metrics.gauge(METRIC_QUEUE_DEPTH, pendingChanges, Map::size);
+        Metrics.gauge(METRIC_QUEUE_LAG, this, registry -> registry.getQueueLag().toMillis());
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        shutdown();
+        if (durableTicketRegistry instanceof final DisposableBean disposableBean) {
+            disposableBean.destroy();
+        }
+    }
+
+    /**
+     * Stop replicating changes in the background and replicate the changes that are still pending.
+     * The durable ticket registry is left open.
+     */
+    public void shutdown() {
+        flushScheduler.shutdown();
+        flush();
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
+        if (StringUtils.isBlank(ticketId)) {
+            return null;
+        }
+        var ticket = hotTier.getIfPresent(ticketId);
+        if (ticket == null) {
+            ticket = getPendingTicket(ticketId);
+        }
+        if (ticket == null) {
+            ticket = readThrough(ticketId);
+        }
+        if (ticket == null || !predicate.test(ticket)) {
+            LOGGER.debug("Ticket [{}] could not be found", ticketId);
+            return null;
+        }
+        return ticket;
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) throws Exception {
+        hotTier.put(ticket.getId(), ticket);
+        if (isWrittenThrough(ticket, ChangeType.UPDATE)) {
+            writeThrough(ticket, ChangeType.UPDATE);
+        } else {
+            recordChange(ticket, ChangeType.UPDATE);
+        }
+        return ticket;
+    }
+
+    @Override
+    public long deleteAll() {
+        flushLock.lock();
+        try {
+            val pendingAdditions = pendingChanges.values().stream().filter(change -> change.type() == ChangeType.ADD).count();
+            pendingChanges.clear();
+            hotTier.invalidateAll();
+            return durableTicketRegistry.deleteAll() + pendingAdditions;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public Collection<? extends Ticket> getTickets() {
+        flush();
+        return durableTicketRegistry.getTickets();
+    }
+
+    @Override
+    public Stream<? extends Ticket> stream() {
+        flush();
+        return durableTicketRegistry.stream();
+    }
+
+    @Override
+    public long sessionCount() {
+        flush();
+        return durableTicketRegistry.sessionCount();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        flush();
+        return durableTicketRegistry.serviceTicketCount();
+    }
+
+    @Override
+    public long countSessionsFor(final String principalId) {
+        flush();
+        return durableTicketRegistry.countSessionsFor(principalId);
+    }
+
+    @Override
+    public long countTicketsFor(final Service service) {
+        flush();
+        return durableTicketRegistry.countTicketsFor(service);
+    }
+
+    @Override
+    public Stream<? extends Ticket> getSessionsWithAttributes(final Map<String, List<Object>> queryAttributes) {
+        flush();
+        return durableTicketRegistry.getSessionsWithAttributes(queryAttributes);
+    }
+
+    @Override
+    public List<? extends Serializable> query(final TicketRegistryQueryCriteria criteria) {
+        flush();
+        return durableTicketRegistry.query(criteria);
+    }
+
+    @Override
+    public String digestIdentifier(final String identifier) {
+        return durableTicketRegistry.digestIdentifier(identifier);
+    }
+
+    /**
+     * Replicate pending changes to the durable ticket registry in batches.
+     * Changes that cannot be replicated are kept in the queue and retried with the next flush.
+     *
+     * @return the number of changes that were replicated
+     */
+    public long flush() {
+        flushLock.lock();
+        try {
+            var flushed = 0L;
+            var remaining = pendingChanges.size();
+            while (remaining > 0) {
+                val batch = nextBatch();
+                if (batch.isEmpty() || !flush(batch)) {
+                    break;
+                }
+                flushed += batch.size();
+                remaining -= batch.size();
+            }
+            return flushed;
+        } catch (final Throwable e) {
+            LoggingUtils.error(LOGGER, e);
+            return 0;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Number of changes that are waiting to be replicated to the durable ticket registry.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return pendingChanges.size();
+    }
+
+    /**
+     * Age of the oldest change that is waiting to be replicated to the durable ticket registry.
+     *
+     * @return the queue lag, or zero if there are no pending changes
+     */
+    public Duration getQueueLag() {
+        return pendingChanges.values()
+            .stream()
+            .map(PendingChange::createdAt)
+            .min(Comparator.naturalOrder())
+            .map(oldest -> Duration.between(oldest, Instant.now(Clock.systemUTC())))
+            .orElse(Duration.ZERO);
+    }
+
+    @Override
+    protected Ticket addSingleTicket(final Ticket ticket) throws Exception {
+        hotTier.put(ticket.getId(), ticket);
+        if (isWrittenThrough(ticket, ChangeType.ADD)) {
+            writeThrough(ticket, ChangeType.ADD);
+        } else {
+            recordChange(ticket, ChangeType.ADD);
+        }
+        return ticket;
+    }
+
+    @Override
+    protected long deleteSingleTicket(final Ticket ticket) {
+        val removed = hotTier.asMap().remove(ticket.getId()) != null || getPendingTicket(ticket.getId()) != null;
+        if (isWrittenThrough(ticket, ChangeType.DELETE)) {
+            FunctionUtils.doUnchecked(__ -> writeThrough(ticket, ChangeType.DELETE));
+        } else {
+            recordChange(ticket, ChangeType.DELETE);
+        }
+        return removed ? 1 : 0;
+    }
+
+    @Override
+    protected Ticket consumeSingleTicket(final String ticketId) throws Exception {
+        val cached = hotTier.asMap().remove(ticketId);
+        var pending = pendingChanges.remove(ticketId);
+        if (pending == null && inFlightChanges.contains(ticketId)) {
+            LOGGER.trace("Ticket [{}] is being replicated and will be consumed once the flush completes", ticketId);
+            awaitFlush();
+            pending = pendingChanges.remove(ticketId);
+        }
+        if (pending != null && pending.type() == ChangeType.ADD) {
+            LOGGER.trace("Ticket [{}] is consumed before it is replicated, and will not reach the durable ticket registry", ticketId);
+            record("coalesced", 2);
+            return pending.ticket();
+        }
+        if (pending != null && pending.type() == ChangeType.DELETE) {
+            return null;
+        }
+        try {
+            val consumed = durableTicketRegistry.consumeTicket(ticketId, Ticket.class);
+            return pending != null ? pending.ticket() : cached != null ? cached : consumed;
+        } catch (final InvalidTicketException e) {
+            LOGGER.trace("Ticket [{}] could not be consumed from the durable ticket registry", ticketId);
+            return null;
+        }
+    }
+
+    /**
+     * Whether changes to the ticket should be written to the durable ticket registry
+     * synchronously instead of being queued. Only additions of service tickets may be queued,
+     * so that a service ticket that has reached the durable ticket registry is consumed and removed there.
+     *
+     * @param ticket the ticket
+     * @param type   the type of change
+     * @return true/false
+     */
+    protected boolean isWrittenThrough(final Ticket ticket, final ChangeType type) {
+        if (ticket instanceof ServiceTicket) {
+            return type != ChangeType.ADD || !properties.isCoalesceServiceTickets();
+        }
+        return properties.isWriteThroughTicketGrantingTickets() && ticket instanceof TicketGrantingTicket;
+    }
+
+    private Ticket getPendingTicket(final String ticketId) {
+        val pending = pendingChanges.get(ticketId);
+        return pending != null && pending.type() != ChangeType.DELETE ? pending.ticket() : null;
+    }
+
+    private void awaitFlush() {
+        flushLock.lock();
+        flushLock.unlock();
+    }
+
+    private Ticket readThrough(final String ticketId) {
+        if (isPendingDeletion(ticketId)) {
+            return null;
+        }
+        val ticket = durableTicketRegistry.getTicket(ticketId);
+        if (ticket == null) {
+            return null;
+        }
+        LOGGER.trace("Ticket [{}] is read from the durable ticket registry into the hot tier", ticketId);
+        val existing = hotTier.asMap().putIfAbsent(ticketId, ticket);
+        if (existing != null) {
+            return existing;
+        }
+        if (isPendingDeletion(ticketId)) {
+            hotTier.asMap().remove(ticketId, ticket);
+            return null;
+        }
+        return ticket;
+    }
+
+    private boolean isPendingDeletion(final String ticketId) {
+        val pending = pendingChanges.get(ticketId);
+        return pending != null && pending.type() == ChangeType.DELETE;
+    }
+
+    private void recordChange(final Ticket ticket, final ChangeType type) {
+        pendingChanges.compute(ticket.getId(), (id, pending) -> {
+            if (pending == null) {
+                return new PendingChange(ticket, type, Instant.now(Clock.systemUTC()));
+            }
+            if (type == ChangeType.DELETE && pending.type() == ChangeType.ADD) {
+                LOGGER.trace("Ticket [{}] is removed before it is replicated, and will not reach the durable ticket registry", id);
+                record("coalesced", 2);
+                return null;
+            }
+            record("coalesced", 1);
+            val coalescedType = type == ChangeType.DELETE ? ChangeType.DELETE
+                : pending.type() == ChangeType.UPDATE ? type : ChangeType.ADD;
+            return new PendingChange(ticket, coalescedType, pending.createdAt());
+        });
+    }
+
+    private void writeThrough(final Ticket ticket, final ChangeType type) throws Exception {
+        if (inFlightChanges.contains(ticket.getId())) {
+            LOGGER.trace("Ticket [{}] is being replicated and will be written through once the flush completes", ticket.getId());
+            awaitFlush();
+        }
+        val pending = pendingChanges.remove(ticket.getId());
+        val pendingAddition = pending != null && pending.type() == ChangeType.ADD;
+        if (pendingAddition && type == ChangeType.DELETE) {
+            LOGGER.trace("Ticket [{}] is removed before it is replicated, and will not reach the durable ticket registry", ticket.getId());
+            record("coalesced", 2);
+            return;
+        }
+        switch (type) {
+            case ADD -> durableTicketRegistry.addTicket(ticket);
+            case UPDATE -> {
+                if (pendingAddition) {
+                    durableTicketRegistry.addTicket(ticket);
+                } else {
+                    durableTicketRegistry.updateTicket(ticket);
+                }
+            }
+            case DELETE -> durableTicketRegistry.deleteTicket(ticket);
+        }
+        record("written-through", 1);
+    }
+
+    private List<PendingChange> nextBatch() {
+        val batch = new ArrayList<PendingChange>();
+        val iterator = pendingChanges.keySet().iterator();
+        while (iterator.hasNext() && batch.size() < properties.getFlushBatchSize()) {
+            val ticketId = iterator.next();
+            inFlightChanges.add(ticketId);
+            val change = pendingChanges.remove(ticketId);
+            if (change != null) {
+                batch.add(change);
+            } else {
+                inFlightChanges.remove(ticketId);
+            }
+        }
+        return batch;
+    }
+
+    private boolean flush(final List<PendingChange> batch) {
+        val unitOfWork = durableTicketRegistry.newUnitOfWork();
+        batch.forEach(change -> {
+            switch (change.type()) {
+                case ADD -> unitOfWork.addTicket(change.ticket());
+                case UPDATE -> unitOfWork.updateTicket(change.ticket());
+                case DELETE -> unitOfWork.deleteTicket(change.ticket());
+            }
+        });
+        try {
+            unitOfWork.commit();
+            LOGGER.debug("Replicated [{}] change(s) to the durable ticket registry", batch.size());
+            record("flushed", batch.size());
+            return true;
+        } catch (final Exception e) {
+            LoggingUtils.warn(LOGGER, "Unable to replicate %s change(s) to the durable ticket registry".formatted(batch.size()), e);
+            record("failed", batch.size());
+            batch.forEach(this::requeue);
+            return false;
+        } finally {
+            batch.forEach(change -> inFlightChanges.remove(change.ticket().getId()));
+        }
+    }
+
+    /**
+     * Put back a change that could not be replicated, unless it is superseded by a newer change.
+     * A failed addition turns a newer update into an addition, and cancels out a newer deletion.
+     *
+     * @param failed the failed change
+     */
+    private void requeue(final PendingChange failed) {
+        pendingChanges.compute(failed.ticket().getId(), (id, newer) -> {
+            if (newer == null) {
+                return failed;
+            }
+            if (failed.type() == ChangeType.ADD) {
+                return newer.type() == ChangeType.DELETE ? null : new PendingChange(newer.ticket(), ChangeType.ADD, failed.createdAt());
+            }
+            return new PendingChange(newer.ticket(), newer.type(), failed.createdAt());
+        });
+    }
+
+    private static void record(final String result, final long count) {
+        Metrics.counter(METRIC_CHANGES, "result", result).increment(count);
+    }
+
+    /**
+     * Type of change made to a ticket.
+     */
+    protected enum ChangeType {
+        ADD,
+        UPDATE,
+        DELETE
+    }
+
+    private record PendingChange(Ticket ticket, ChangeType type, Instant createdAt) {
+    }
+
+    /**
+     * Keeps tickets in the hot tier no longer than their own time-to-live, bounded by
+     * the configured time-to-live of the hot tier so that changes made by other nodes are picked up.
+     *
+     * @param timeToLive the time to live of the hot tier
+     */
+    private record HotTierExpiry(Duration timeToLive) implements Expiry<String, Ticket> {
+        @Override
+        public long expireAfterCreate(final String key, final Ticket ticket, final long currentTime) {
+            if (ticket.isExpired()) {
+                return 0;
+            }
+            val ticketTimeToLive = ticket.getExpirationPolicy() != null ? ticket.getExpirationPolicy().getTimeToLive(ticket) : null;
+            if (ticketTimeToLive != null && ticketTimeToLive > 0 && ticketTimeToLive < timeToLive.toSeconds()) {
+                return Duration.ofSeconds(ticketTimeToLive).toNanos();
+            }
+            return timeToLive.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final Ticket ticket, final long currentTime, final long currentDuration) {
+            return expireAfterCreate(key, ticket, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final Ticket ticket, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.registry.pubsub.QueueableTicketRegistry;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This is {@link TieredTicketRegistryPostProcessor}. It fronts the ticket registry bean,
+ * whichever module provides it, with a {@link TieredTicketRegistry} once the registry is initialized.
+ * Registries that are {@link QueueableTicketRegistry} instances are left alone, since they rely on
+ * receiving ticket operations from other nodes through the message queue.
+ * Since the tiered registry is not a bean of its own, its pending changes are flushed
+ * right before the ticket registry bean it fronts is destroyed, which also happens when that bean is refreshed;
+ * the ticket registry bean itself is then destroyed by the container.
+ * Any registry that remains is destroyed along with this post processor.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TieredTicketRegistryPostProcessor implements DestructionAwareBeanPostProcessor, DisposableBean {
+    private final ObjectProvider<CasConfigurationProperties> casProperties;
+
+    private final ObjectProvider<TicketSerializationManager> ticketSerializationManager;
+
+    private final ObjectProvider<TicketCatalog> ticketCatalog;
+
+    private final Map<String, TieredTicketRegistry> registries = new ConcurrentHashMap<>();
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (TicketRegistry.BEAN_NAME.equals(beanName) && bean instanceof final TicketRegistry ticketRegistry
+            && !(bean instanceof TieredTicketRegistry)) {
+            val properties = casProperties.getObject().getTicket().getRegistry().getTiered();
+            if (properties.isEnabled() && bean instanceof QueueableTicketRegistry) {
+                LOGGER.warn("Ticket registry [{}] replicates ticket operations through a message queue and cannot be fronted by a hot tier",
+                    ticketRegistry.getClass().getSimpleName());
+                return bean;
+            }
+            if (properties.isEnabled()) {
+                LOGGER.info("Ticket registry [{}] is fronted by an in-memory hot tier", ticketRegistry.getClass().getSimpleName());
+                val registry = new TieredTicketRegistry(ticketRegistry, ticketSerializationManager.getObject(),
+                    ticketCatalog.getObject(), properties);
+                val previous = registries.put(beanName, registry);
+                if (previous != null) {
+                    previous.shutdown();
+                }
+                return registry;
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public boolean requiresDestruction(final Object bean) {
+        return bean instanceof TicketRegistry && !(bean instanceof TieredTicketRegistry);
+    }
+
+    @Override
+    public void postProcessBeforeDestruction(final Object bean, final String beanName) {
+        registries.computeIfPresent(beanName, (name, registry) -> {
+            if (registry.getDurableTicketRegistry() == bean) {
+                registry.shutdown();
+                return null;
+            }
+            return registry;
+        });
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (val registry : registries.values()) {
+            registry.destroy();
+        }
+        registries.clear();
+    }
+}
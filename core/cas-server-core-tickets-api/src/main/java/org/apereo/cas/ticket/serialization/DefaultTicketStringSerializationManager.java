@@ -1,19 +1,35 @@
 package org.apereo.cas.ticket.serialization;
 
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCoreProperties;
 import org.apereo.cas.ticket.InvalidTicketException;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.EncodingUtils;
 import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.function.FunctionUtils;
+import org.apereo.cas.util.serialization.AbstractJacksonBackedStringSerializer;
+import org.apereo.cas.util.serialization.StringSerializer;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.jooq.lambda.Unchecked;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is {@link DefaultTicketStringSerializationManager}.
+ * Tickets are serialized as JSON by default, or as base64-encoded CBOR documents
+ * when the binary document format is selected. CBOR documents are produced by the
+ * serializer registered for the ticket type, whose mapping rules are applied to
+ * a binary factory. Reads detect the format of the content, so documents written
+ * in either format remain readable.
  *
  * @author Misagh Moayyed
  * @since 6.1.0
@@ -23,11 +39,27 @@ import java.util.Objects;
 public class DefaultTicketStringSerializationManager implements TicketSerializationManager {
     private final TicketSerializationExecutionPlan ticketSerializationExecutionPlan;
 
+    private final Map<Class<?>, ObjectMapper> binaryObjectMappers = new ConcurrentHashMap<>();
+
+    @Setter
+    private TicketRegistryCoreProperties.TicketDocumentFormats documentFormat = TicketRegistryCoreProperties.TicketDocumentFormats.JSON;
+
+    @Getter
+    @Setter
+    private EncodedTicketCodec encodedTicketCodec = VersionedEncodedTicketCodec.INSTANCE;
+
     @Override
     public String serializeTicket(final Ticket ticket) {
         try {
             val serializer = Objects.requireNonNull(ticketSerializationExecutionPlan.getTicketSerializer(ticket),
                 () -> "Unable to find ticket serializer for " + ticket.getId());
+            val binaryObjectMapper = documentFormat == TicketRegistryCoreProperties.TicketDocumentFormats.CBOR
+                ? getBinaryObjectMapper(serializer)
+                : null;
+            if (binaryObjectMapper != null) {
+                val document = FunctionUtils.doUnchecked(() -> binaryObjectMapper.writeValueAsBytes(ticket));
+                return EncodingUtils.encodeBase64(document);
+            }
             return serializer.toString(ticket);
         } catch (final Exception e) {
             LoggingUtils.error(LOGGER, e);
@@ -55,7 +87,9 @@ public class DefaultTicketStringSerializationManager implements TicketSerializat
         val serializer = Objects.requireNonNull(ticketSerializationExecutionPlan.getTicketSerializer(clazz),
             () -> "Unable to find ticket deserializer for " + clazz.getSimpleName());
         LOGGER.trace("Unmarshalling ticket content from [{}]", ticketContent);
-        val ticket = serializer.from(ticketContent);
+        val ticket = isJsonDocument(ticketContent)
+            ? serializer.from(ticketContent)
+            : deserializeBinaryDocument(ticketContent, serializer);
         if (ticket == null) {
             throw new InvalidTicketException(clazz.getName());
         }
@@ -66,4 +100,26 @@ public class DefaultTicketStringSerializationManager implements TicketSerializat
         }
         return (T) ticket;
     }
+
+    private Ticket deserializeBinaryDocument(final String ticketContent, final StringSerializer<Ticket> serializer) {
+        val binaryObjectMapper = Objects.requireNonNull(getBinaryObjectMapper(serializer),
+            () -> "Unable to read binary ticket documents via " + serializer.getClass().getSimpleName());
+        return FunctionUtils.doAndHandle(() -> binaryObjectMapper.readValue(
+            EncodingUtils.decodeBase64(ticketContent), serializer.getTypeToSerialize()), throwable -> {
+                LoggingUtils.warn(LOGGER, "Unable to read binary ticket document as %s".formatted(serializer.getTypeToSerialize().getName()), throwable);
+                return null;
+            }).get();
+    }
+
+    private ObjectMapper getBinaryObjectMapper(final StringSerializer<Ticket> serializer) {
+        if (serializer instanceof final AbstractJacksonBackedStringSerializer<?> jacksonSerializer) {
+            return binaryObjectMappers.computeIfAbsent(serializer.getClass(),
+                key -> jacksonSerializer.getObjectMapper().copyWith(new CBORFactory()));
+        }
+        return null;
+    }
+
+    private static boolean isJsonDocument(final String ticketContent) {
+        return StringUtils.isBlank(ticketContent) || ticketContent.stripLeading().charAt(0) == '{';
+    }
 }
@@ -0,0 +1,29 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.ticket.Ticket;
+
+/**
+ * This is {@link EncodedTicketCodec} that turns tickets into the binary payloads
+ * that are encrypted and carried by encoded tickets, and back.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+public interface EncodedTicketCodec {
+
+    /**
+     * Encode ticket into a binary payload.
+     *
+     * @param ticket the ticket
+     * @return the bytes
+     */
+    byte[] encode(Ticket ticket);
+
+    /**
+     * Decode the binary payload back into a ticket.
+     *
+     * @param payload the payload
+     * @return the ticket
+     */
+    Ticket decode(byte[] payload);
+}
@@ -0,0 +1,24 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+/**
+ * This is {@link JavaSerializationEncodedTicketCodec} that relies on Java serialization.
+ * Payloads produced here carry no header and remain readable by CAS nodes
+ * that predate {@link VersionedEncodedTicketCodec}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+public class JavaSerializationEncodedTicketCodec implements EncodedTicketCodec {
+    @Override
+    public byte[] encode(final Ticket ticket) {
+        return SerializationUtils.serialize(ticket);
+    }
+
+    @Override
+    public Ticket decode(final byte[] payload) {
+        return SerializationUtils.deserializeAndCheckObject(payload, Ticket.class);
+    }
+}
@@ -40,4 +40,14 @@ public interface TicketSerializationManager {
      * @return the ticket instance
      */
     <T extends Ticket> T deserializeTicket(String ticketContent, Class<T> clazz);
+
+    /**
+     * Gets the codec that turns tickets into the binary payloads
+     * carried by encoded tickets, when ticket encryption is turned on.
+     *
+     * @return the encoded ticket codec
+     */
+    default EncodedTicketCodec getEncodedTicketCodec() {
+        return VersionedEncodedTicketCodec.INSTANCE;
+    }
 }
@@ -0,0 +1,91 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCoreProperties;
+import org.apereo.cas.ticket.Ticket;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * This is {@link VersionedEncodedTicketCodec} that frames encoded ticket payloads
+ * with a small header made of a magic marker, a header version and the identifier
+ * of the codec that produced the payload. Reads always detect the codec from the payload,
+ * and payloads without a header are treated as legacy Java-serialized tickets,
+ * so nodes can switch formats via a rolling upgrade.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class VersionedEncodedTicketCodec implements EncodedTicketCodec {
+    /**
+     * Current version of the payload header.
+     */
+    public static final byte HEADER_VERSION = 1;
+
+    /**
+     * Default instance that writes Java-serialized payloads.
+     */
+    public static final EncodedTicketCodec INSTANCE = new VersionedEncodedTicketCodec();
+
+    private static final byte[] HEADER_MAGIC = {(byte) 0xCA, (byte) 0x5E};
+
+    private static final int HEADER_LENGTH = HEADER_MAGIC.length + 2;
+
+    private static final byte CODEC_SERIALIZATION = 0;
+
+    private static final byte CODEC_CBOR = 1;
+
+    private final Map<Byte, EncodedTicketCodec> codecs = Map.of(
+        CODEC_SERIALIZATION, new JavaSerializationEncodedTicketCodec(),
+        CODEC_CBOR, new CborEncodedTicketCodec());
+
+    private final TicketRegistryCoreProperties.EncodedTicketFormats format;
+
+    public VersionedEncodedTicketCodec() {
+        this(TicketRegistryCoreProperties.EncodedTicketFormats.SERIALIZATION);
+    }
+
+    @Override
+    public byte[] encode(final Ticket ticket) {
+        if (format == TicketRegistryCoreProperties.EncodedTicketFormats.SERIALIZATION) {
+            return codecs.get(CODEC_SERIALIZATION).encode(ticket);
+        }
+        val body = codecs.get(CODEC_CBOR).encode(ticket);
+        val payload = new byte[HEADER_LENGTH + body.length];
+        System.arraycopy(HEADER_MAGIC, 0, payload, 0, HEADER_MAGIC.length);
+        payload[HEADER_MAGIC.length] = HEADER_VERSION;
+        payload[HEADER_MAGIC.length + 1] = CODEC_CBOR;
+        System.arraycopy(body, 0, payload, HEADER_LENGTH, body.length);
+        return payload;
+    }
+
+    @Override
+    public Ticket decode(final byte[] payload) {
+        if (!hasHeader(payload)) {
+            LOGGER.trace("Encoded ticket payload carries no header; decoding it via Java serialization");
+            return codecs.get(CODEC_SERIALIZATION).decode(payload);
+        }
+        val version = payload[HEADER_MAGIC.length];
+        if (version > HEADER_VERSION) {
+            throw new IllegalArgumentException("Unsupported encoded ticket header version " + version);
+        }
+        val codecId = payload[HEADER_MAGIC.length + 1];
+        val codec = codecs.get(codecId);
+        if (codec == null) {
+            throw new IllegalArgumentException("Unsupported encoded ticket codec " + codecId);
+        }
+        return codec.decode(Arrays.copyOfRange(payload, HEADER_LENGTH, payload.length));
+    }
+
+    private static boolean hasHeader(final byte[] payload) {
+        return payload.length > HEADER_LENGTH
+            && payload[0] == HEADER_MAGIC[0]
+            && payload[1] == HEADER_MAGIC[1];
+    }
+}
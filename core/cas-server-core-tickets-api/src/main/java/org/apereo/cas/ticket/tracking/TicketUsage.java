@@ -0,0 +1,36 @@
+package org.apereo.cas.ticket.tracking;
+
+import org.apereo.cas.ticket.Ticket;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+
+/**
+ * This is {@link TicketUsage} that carries the usage details of a ticket-granting ticket,
+ * when tracked tickets are stored separately. Usage is kept next to the tracked tickets
+ * so that the ticket document itself only needs to be written when any other part of it changes.
+ *
+ * @param countOfUses      the count of uses
+ * @param lastTimeUsed     the last time used
+ * @param previousTimeUsed the previous time used
+ * @param documentDigest   the digest of the ticket document that is stored, if any
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+public record TicketUsage(int countOfUses, ZonedDateTime lastTimeUsed,
+                          ZonedDateTime previousTimeUsed, String documentDigest) implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 6271092467214863705L;
+
+    /**
+     * Usage details of the given ticket.
+     *
+     * @param ticket         the ticket
+     * @param documentDigest the document digest
+     * @return the ticket usage
+     */
+    public static TicketUsage of(final Ticket ticket, final String documentDigest) {
+        return new TicketUsage(ticket.getCountOfUses(), ticket.getLastTimeUsed(), ticket.getPreviousTimeUsed(), documentDigest);
+    }
+}
@@ -0,0 +1,90 @@
+package org.apereo.cas.ticket.tracking;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.val;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This is {@link TrackedTickets} that carries the services and descendant tickets
+ * tracked by a ticket-granting ticket, when such entries are stored separately from the ticket itself.
+ * Each entry is stored as JSON, and is encrypted if ticket encryption is turned on.
+ *
+ * @param services          the services keyed by service ticket id
+ * @param descendantTickets the descendant tickets
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+public record TrackedTickets(Map<String, Service> services, Set<String> descendantTickets) implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -3120485371196403121L;
+
+    public TrackedTickets {
+        services = services != null ? services : new HashMap<>(0);
+        descendantTickets = descendantTickets != null ? descendantTickets : new HashSet<>(0);
+    }
+
+    /**
+     * Empty tracked tickets.
+     *
+     * @return the tracked tickets
+     */
+    public static TrackedTickets empty() {
+        return new TrackedTickets(new HashMap<>(0), new HashSet<>(0));
+    }
+
+    /**
+     * Snapshot of the entries currently tracked by the ticket-granting ticket.
+     *
+     * @param ticketGrantingTicket the ticket granting ticket
+     * @return the tracked tickets
+     */
+    public static TrackedTickets of(final TicketGrantingTicket ticketGrantingTicket) {
+        return new TrackedTickets(new HashMap<>(ticketGrantingTicket.getServices()),
+            new HashSet<>(ticketGrantingTicket.getDescendantTickets()));
+    }
+
+    /**
+     * Entries that are tracked here but not in the given tracked tickets.
+     *
+     * @param other the other
+     * @return the tracked tickets
+     */
+    public TrackedTickets without(final TrackedTickets other) {
+        val remainingServices = new HashMap<>(services);
+        remainingServices.keySet().removeAll(other.services().keySet());
+        val remainingDescendants = new HashSet<>(descendantTickets);
+        remainingDescendants.removeAll(other.descendantTickets());
+        return new TrackedTickets(remainingServices, remainingDescendants);
+    }
+
+    /**
+     * Add the given entries to this collection.
+     *
+     * @param other the other
+     * @return the tracked tickets
+     */
+    public TrackedTickets merge(final TrackedTickets other) {
+        services.putAll(other.services());
+        descendantTickets.addAll(other.descendantTickets());
+        return this;
+    }
+
+    /**
+     * Whether there are no entries.
+     *
+     * @return true/false
+     */
+    @JsonIgnore
+    public boolean isEmpty() {
+        return services.isEmpty() && descendantTickets.isEmpty();
+    }
+}
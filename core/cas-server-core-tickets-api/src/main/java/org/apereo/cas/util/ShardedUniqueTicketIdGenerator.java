@@ -0,0 +1,35 @@
+package org.apereo.cas.util;
+
+import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.ticket.registry.ShardedTicketRegistry;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * This is {@link ShardedUniqueTicketIdGenerator}. It appends a shard tag to the ids of tickets
+ * that descend from a parent ticket, so that a {@link ShardedTicketRegistry} stores them
+ * on the same shard as the ticket-granting ticket they descend from.
+ * <p>
+ * Tickets are of the form [PREFIX]-[SEQUENCE NUMBER]-[RANDOM STRING]-[SUFFIX]-[SHARD TAG]
+ * </p>
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@RequiredArgsConstructor
+@Getter
+public class ShardedUniqueTicketIdGenerator implements UniqueTicketIdGenerator {
+    private final UniqueTicketIdGenerator uniqueTicketIdGenerator;
+
+    @Override
+    public String getNewTicketId(final String prefix) throws Throwable {
+        return uniqueTicketIdGenerator.getNewTicketId(prefix);
+    }
+
+    @Override
+    public String getNewTicketId(final String prefix, final String parentTicketId) throws Throwable {
+        return uniqueTicketIdGenerator.getNewTicketId(prefix, parentTicketId)
+            + SEPARATOR + ShardedTicketRegistry.getShardTag(parentTicketId);
+    }
+}
@@ -34,8 +34,10 @@ import org.apereo.cas.ticket.proxy.ProxyGrantingTicketFactory;
 import org.apereo.cas.ticket.proxy.ProxyTicketFactory;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistrySupport;
+import org.apereo.cas.ticket.registry.ShardedTicketIdGeneratorPostProcessor;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
+import org.apereo.cas.ticket.registry.TieredTicketRegistryPostProcessor;
 import org.apereo.cas.ticket.registry.pubsub.DefaultQueueableTicketRegistryMessageReceiver;
 import org.apereo.cas.ticket.registry.pubsub.QueueableTicketRegistry;
 import org.apereo.cas.ticket.registry.pubsub.queue.QueueableTicketRegistryMessagePublisher;
@@ -64,6 +66,7 @@ import lombok.val;
 import org.jooq.lambda.Unchecked;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfigureOrder;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -197,6 +200,40 @@ class CasCoreTicketsConfiguration {
                 storageMap, messageQueueTicketRegistryPublisher, messageQueueTicketRegistryIdentifier);
         }
 
+        /**
+         * Create shardedTicketIdGeneratorPostProcessor bean.
+         * Note that {@code BeanPostProcessor} beans should be static.
+         *
+         * @param casProperties the cas properties
+         * @return the bean post processor
+         */
+        @Bean
+        @ConditionalOnMissingBean(name = "shardedTicketIdGeneratorPostProcessor")
+        public static BeanPostProcessor shardedTicketIdGeneratorPostProcessor(
+            final ObjectProvider<CasConfigurationProperties> casProperties) {
+            return new ShardedTicketIdGeneratorPostProcessor(casProperties);
+        }
+
+        /**
+         * Create tieredTicketRegistryPostProcessor bean.
+         * Note that {@code BeanPostProcessor} beans should be static.
+         *
+         * @param casProperties              the cas properties
+         * @param ticketSerializationManager the ticket serialization manager
+         * @param ticketCatalog              the ticket catalog
+         * @return the bean post processor
+         */
+        @Bean
+        @ConditionalOnMissingBean(name = "tieredTicketRegistryPostProcessor")
+        public static BeanPostProcessor tieredTicketRegistryPostProcessor(
+            final ObjectProvider<CasConfigurationProperties> casProperties,
+            @Qualifier(TicketSerializationManager.BEAN_NAME)
+            final ObjectProvider<TicketSerializationManager> ticketSerializationManager,
+            @Qualifier(TicketCatalog.BEAN_NAME)
+            final ObjectProvider<TicketCatalog> ticketCatalog) {
+            return new TieredTicketRegistryPostProcessor(casProperties, ticketSerializationManager, ticketCatalog);
+        }
+
         @Bean
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         @ConditionalOnMissingBean(name = CipherExecutor.BEAN_NAME_TICKET_REGISTRY_CIPHER_EXECUTOR)
@@ -7,6 +7,7 @@ import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManag
 import org.apereo.cas.ticket.serialization.TicketSerializationExecutionPlan;
 import org.apereo.cas.ticket.serialization.TicketSerializationExecutionPlanConfigurer;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+import org.apereo.cas.ticket.serialization.VersionedEncodedTicketCodec;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 
 import lombok.val;
@@ -59,8 +60,13 @@ class CasCoreTicketsSerializationConfiguration {
         @ConditionalOnMissingBean(name = TicketSerializationManager.BEAN_NAME)
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         public TicketSerializationManager ticketSerializationManager(
+            final CasConfigurationProperties casProperties,
             @Qualifier("ticketSerializationExecutionPlan") final TicketSerializationExecutionPlan ticketSerializationExecutionPlan) {
-            return new DefaultTicketStringSerializationManager(ticketSerializationExecutionPlan);
+            val manager = new DefaultTicketStringSerializationManager(ticketSerializationExecutionPlan);
+            val core = casProperties.getTicket().getRegistry().getCore();
+            manager.setEncodedTicketCodec(new VersionedEncodedTicketCodec(core.getEncodedTicketFormat()));
+            manager.setDocumentFormat(core.getDocumentFormat());
+            return manager;
         }
     }
 
@@ -373,6 +373,34 @@ public abstract class BaseTicketRegistryTests {
         assertEquals(Collections.singleton("ST-1"), services.keySet());
     }
 
+    @RepeatedTest(2)
+    void verifyCommitUnitOfWork() throws Throwable {
+        assumeTrue(canTicketRegistryDelete());
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        ticketRegistry.addTicket(tgt);
+        val service = RegisteredServiceTestUtils.getService("UNIT_OF_WORK_TEST");
+        val staleTicket = tgt.grantServiceTicket("ST-%s".formatted(RandomUtils.generateSecureRandomId()),
+            service, NeverExpiresExpirationPolicy.INSTANCE, false, serviceTicketSessionTrackingPolicy);
+        ticketRegistry.addTicket(staleTicket);
+        val serviceTicket = tgt.grantServiceTicket("ST-%s".formatted(RandomUtils.generateSecureRandomId()),
+            service, NeverExpiresExpirationPolicy.INSTANCE, false, serviceTicketSessionTrackingPolicy);
+
+        val unitOfWork = ticketRegistry.newUnitOfWork()
+            .addTicket(serviceTicket)
+            .updateTicket(tgt)
+            .updateTicket(tgt)
+            .deleteTicket(staleTicket);
+        val addedTickets = unitOfWork.commit();
+        assertTrue(unitOfWork.isEmpty());
+        assertEquals(1, addedTickets.size());
+
+        await().untilAsserted(() -> assertNotNull(ticketRegistry.getTicket(serviceTicket.getId(), ServiceTicket.class)));
+        val tgtResult = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertTrue(tgtResult.getServices().containsKey(serviceTicket.getId()));
+        assertNull(ticketRegistry.getTicket(staleTicket.getId()));
+    }
+
     @RepeatedTest(2)
     void verifyCountingTicketsForService() throws Throwable {
         assumeTrue(canTicketRegistryIterate());
@@ -569,6 +597,25 @@ public abstract class BaseTicketRegistryTests {
         assertNull(ticketRegistry.getTicket(addedTicket.getId()));
     }
 
+    @RepeatedTest(2)
+    void verifyConsumeServiceTicket() throws Throwable {
+        assumeTrue(canTicketRegistryDelete());
+        val tgt = ticketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE));
+        val serviceTicket = ((TicketGrantingTicket) tgt).grantServiceTicket(serviceTicketId,
+            RegisteredServiceTestUtils.getService("CONSUME_TEST"), NeverExpiresExpirationPolicy.INSTANCE,
+            false, serviceTicketSessionTrackingPolicy);
+        ticketRegistry.addTicket(serviceTicket);
+
+        assertThrows(ClassCastException.class, () -> ticketRegistry.consumeTicket(tgt.getId(), ServiceTicket.class));
+        assertNotNull(ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class));
+
+        val consumed = ticketRegistry.consumeTicket(serviceTicketId, ServiceTicket.class);
+        assertEquals(serviceTicketId, consumed.getId());
+        assertNull(ticketRegistry.getTicket(serviceTicketId));
+        assertThrows(InvalidTicketException.class, () -> ticketRegistry.consumeTicket(serviceTicketId, ServiceTicket.class));
+    }
+
     @RepeatedTest(2)
     void verifyExpiration() throws Throwable {
         val authn = CoreAuthenticationTestUtils.getAuthentication();
@@ -1,18 +1,26 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.mock.MockServiceTicket;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
 import org.apereo.cas.services.RegisteredServiceTestUtils;
 import org.apereo.cas.ticket.DefaultTicketCatalog;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
 import org.apereo.cas.ticket.tracking.TicketTrackingPolicy;
+import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.cipher.DefaultTicketCipherExecutor;
 import lombok.val;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Tag;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -73,6 +81,85 @@ class DefaultTicketRegistryTests extends BaseTicketRegistryTests {
     }
 
 
+    @RepeatedTest(1)
+    void verifyTrackedTicketsStoredSeparately() throws Throwable {
+        val trackedTickets = new HashMap<String, Map<String, String>>();
+        val documentWrites = new AtomicInteger();
+        val registry = new DefaultTicketRegistry(CipherExecutor.noOp(), ticketSerializationManager, new DefaultTicketCatalog()) {
+            @Override
+            public void addTicketToQueue(final Ticket ticket) throws Exception {
+                val detached = detachTrackedTickets(ticket);
+                if (detached.hasTrackedTicketEntries()) {
+                    val entries = trackedTickets.computeIfAbsent(ticket.getId(), key -> new ConcurrentHashMap<>());
+                    entries.putAll(detached.storedEntries());
+                    entries.keySet().removeAll(detached.removedEntries());
+                }
+                if (detached.documentChanged()) {
+                    documentWrites.incrementAndGet();
+                    super.addTicketToQueue(detached.ticket());
+                }
+            }
+
+            @Override
+            protected boolean isTrackedTicketsStoredSeparately() {
+                return true;
+            }
+
+            @Override
+            protected Map<String, String> loadTrackedTicketEntries(final TicketGrantingTicket ticket) {
+                return trackedTickets.getOrDefault(ticket.getId(), Map.of());
+            }
+
+            @Override
+            protected void deleteTrackedTickets(final TicketGrantingTicket ticket) {
+                trackedTickets.remove(ticket.getId());
+            }
+        };
+
+        val tgt = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-1234567890",
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        registry.addTicket(tgt);
+        assertEquals(1, documentWrites.get());
+
+        val st = tgt.grantServiceTicket("ST-1234567890", RegisteredServiceTestUtils.getService(),
+            NeverExpiresExpirationPolicy.INSTANCE, false, TicketTrackingPolicy.noOp());
+        tgt.getServices().put(st.getId(), st.getService());
+        tgt.getDescendantTickets().add(st.getId());
+        tgt.update();
+        registry.addTicket(st);
+        registry.updateTicket(tgt);
+        assertEquals(2, documentWrites.get());
+
+        val entries = trackedTickets.get(tgt.getId());
+        assertEquals(3, entries.size());
+        assertTrue(entries.values().stream().allMatch(entry -> entry.startsWith("{")));
+
+        val stored = (TicketGrantingTicket) registry.getMapInstance().get(tgt.getId());
+        assertTrue(stored.getServices().isEmpty());
+        assertTrue(stored.getDescendantTickets().isEmpty());
+        assertEquals(0, stored.getCountOfUses());
+
+        val found = registry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertTrue(found.getServices().containsKey(st.getId()));
+        assertTrue(found.getDescendantTickets().contains(st.getId()));
+        assertEquals(tgt.getCountOfUses(), found.getCountOfUses());
+        assertEquals(tgt.getLastTimeUsed().toInstant(), found.getLastTimeUsed().toInstant());
+
+        found.getServices().clear();
+        found.update();
+        registry.updateTicket(found);
+        assertEquals(2, trackedTickets.get(tgt.getId()).size());
+        assertEquals(2, documentWrites.get());
+
+        found.putProperty("name", "value");
+        registry.updateTicket(found);
+        assertEquals(3, documentWrites.get());
+
+        registry.deleteTicket(found);
+        assertNull(registry.getTicket(st.getId()));
+        assertFalse(trackedTickets.containsKey(tgt.getId()));
+    }
+
     @RepeatedTest(1)
     void verifyEncodeFails() throws Throwable {
         val cipher = new DefaultTicketCipherExecutor(null, null,
@@ -0,0 +1,236 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.ShardedTicketRegistryProperties;
+import org.apereo.cas.mock.MockServiceTicket;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+import org.apereo.cas.util.ShardedUniqueTicketIdGenerator;
+import org.apereo.cas.util.spring.DirectObjectProvider;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link ShardedTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Tag("Tickets")
+class ShardedTicketRegistryTests {
+    private static final ShardedUniqueTicketIdGenerator ID_GENERATOR =
+        new ShardedUniqueTicketIdGenerator(new DefaultUniqueTicketIdGenerator());
+
+    private static TicketRegistry newShard() {
+        return new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+    }
+
+    private static ShardedTicketRegistry newShardedTicketRegistry(final int count) {
+        val shards = IntStream.range(0, count).mapToObj(shard -> newShard()).toList();
+        return new ShardedTicketRegistry(shards, 64, mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+    }
+
+    private static List<MockTicketGrantingTicket> addTicketGrantingTickets(final TicketRegistry registry,
+                                                                          final String principal,
+                                                                          final int count) throws Throwable {
+        val tickets = new ArrayList<MockTicketGrantingTicket>();
+        for (var i = 0; i < count; i++) {
+            val tgt = new MockTicketGrantingTicket(principal);
+            registry.addTicket(tgt);
+            tickets.add(tgt);
+        }
+        return tickets;
+    }
+
+    @Test
+    void verifyDescendantsAreStoredWithTheirParent() throws Throwable {
+        val registry = newShardedTicketRegistry(4);
+        val tgt = new MockTicketGrantingTicket(UUID.randomUUID().toString());
+        val stId = ID_GENERATOR.getNewTicketId(ServiceTicket.PREFIX, tgt.getId());
+        assertTrue(stId.endsWith(ShardedTicketRegistry.getShardTag(tgt.getId())));
+        assertEquals(ShardedTicketRegistry.getShardTag(tgt.getId()), ShardedTicketRegistry.getShardTag(stId));
+
+        val st = new MockServiceTicket(stId, RegisteredServiceTestUtils.getService(), tgt);
+        registry.addTicket(tgt);
+        registry.addTicket(st);
+        val shard = registry.getShard(tgt.getId());
+        assertSame(shard, registry.getShard(stId));
+        assertNotNull(shard.getTicket(tgt.getId()));
+        assertNotNull(shard.getTicket(stId));
+        assertEquals(2, registry.getTickets().size());
+
+        assertNotNull(registry.consumeTicket(stId, ServiceTicket.class));
+        assertNull(shard.getTicket(stId));
+        assertEquals(1, registry.deleteTicket(tgt.getId()));
+        assertEquals(0, registry.stream().count());
+    }
+
+    @Test
+    void verifyOperationsAcrossShards() throws Throwable {
+        val registry = newShardedTicketRegistry(3);
+        val principal = UUID.randomUUID().toString();
+        addTicketGrantingTickets(registry, principal, 30);
+        addTicketGrantingTickets(registry, UUID.randomUUID().toString(), 10);
+
+        assertTrue(registry.getShards().stream().allMatch(shard -> shard.sessionCount() > 0));
+        assertEquals(40, registry.sessionCount());
+        assertEquals(40, registry.stream().count());
+        assertEquals(30, registry.countSessionsFor(principal));
+        assertEquals(30, registry.getSessionsFor(principal).count());
+        assertEquals(5, registry.query(new TicketRegistryQueryCriteria().setCount(5L).setType(TicketGrantingTicket.PREFIX)).size());
+        assertEquals(40, registry.deleteAll());
+        assertEquals(0, registry.sessionCount());
+    }
+
+    @Test
+    void verifyUnitOfWorkIsSplitAcrossShards() throws Throwable {
+        val registry = newShardedTicketRegistry(3);
+        val tickets = IntStream.range(0, 20)
+            .mapToObj(i -> new MockTicketGrantingTicket(UUID.randomUUID().toString()))
+            .toList();
+        val unitOfWork = registry.newUnitOfWork();
+        tickets.forEach(unitOfWork::addTicket);
+        assertEquals(tickets.size(), unitOfWork.commit().size());
+        for (val ticket : tickets) {
+            assertNotNull(registry.getShard(ticket.getId()).getTicket(ticket.getId()));
+        }
+    }
+
+    @Test
+    void verifyTicketsRemainReadableAfterRestartWithAdditionalConnection() throws Throwable {
+        val primary = mock(TicketRegistry.class, delegatesTo(newShard()));
+        val stores = new LinkedHashMap<String, TicketRegistry>();
+        val shardFactory = (Function<String, ShardedTicketRegistry.Shard>) connection ->
+            ShardedTicketRegistry.Shard.of(stores.computeIfAbsent(connection, __ -> newShard()));
+        val properties = new ShardedTicketRegistryProperties().setEnabled(true).setConnections(List.of("shard-1"));
+        val registry = ShardedTicketRegistry.of(primary, properties, shardFactory, mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+        val tickets = addTicketGrantingTickets(registry, UUID.randomUUID().toString(), 100);
+        val st = new MockServiceTicket(ID_GENERATOR.getNewTicketId(ServiceTicket.PREFIX, tickets.getFirst().getId()),
+            RegisteredServiceTestUtils.getService(), tickets.getFirst());
+        registry.addTicket(st);
+
+        properties.setConnections(List.of("shard-1", "shard-2")).setPreviousConnections(List.of("shard-1"));
+        val restarted = (ShardedTicketRegistry) ShardedTicketRegistry.of(primary, properties, shardFactory,
+            mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+        assertEquals(3, restarted.getShards().size());
+        assertSame(stores.get("shard-1"), restarted.getShards().get(1));
+        val added = stores.get("shard-2");
+        assertTrue(tickets.stream().anyMatch(ticket -> restarted.getShard(ticket.getId()) == added));
+        assertEquals(0, added.getTickets().size());
+        assertTrue(tickets.stream().allMatch(ticket -> restarted.getTicket(ticket.getId()) != null));
+        assertEquals(101, restarted.getTickets().size());
+        assertNotNull(restarted.consumeTicket(st.getId(), ServiceTicket.class));
+
+        val migrated = restarted.rebalance();
+        assertTrue(migrated > 0);
+        assertEquals(migrated, added.getTickets().size());
+        assertEquals(0, restarted.rebalance());
+
+        properties.setPreviousConnections(List.of());
+        val migratedRegistry = (ShardedTicketRegistry) ShardedTicketRegistry.of(primary, properties, shardFactory,
+            mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+        for (val ticket : tickets) {
+            assertNotNull(migratedRegistry.getTicket(ticket.getId()));
+            assertNotNull(migratedRegistry.getShard(ticket.getId()).getTicket(ticket.getId()));
+        }
+        assertEquals(100, migratedRegistry.sessionCount());
+    }
+
+    @Test
+    void verifyShardResourcesAreClosed() throws Throwable {
+        val properties = new ShardedTicketRegistryProperties().setEnabled(true)
+            .setConnections(List.of("shard-1")).setPreviousConnections(List.of("shard-0"));
+        val resources = new ArrayList<AutoCloseable>();
+        val shards = new ArrayList<TicketRegistry>();
+        val registry = (ShardedTicketRegistry) ShardedTicketRegistry.of(mock(TicketRegistry.class), properties, connection -> {
+            val resource = mock(AutoCloseable.class);
+            resources.add(resource);
+            val shard = mock(TicketRegistry.class, withSettings().extraInterfaces(DisposableBean.class));
+            shards.add(shard);
+            return ShardedTicketRegistry.Shard.of(shard, resource);
+        }, mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+        assertEquals(2, resources.size());
+        registry.destroy();
+        for (val shard : shards) {
+            verify((DisposableBean) shard).destroy();
+        }
+        for (val resource : resources) {
+            verify(resource).close();
+        }
+    }
+
+    @Test
+    void verifyShardsAreCreatedForConnections() {
+        val properties = new ShardedTicketRegistryProperties().setEnabled(true).setConnections(List.of("shard-1", "shard-2"));
+        val connections = new ArrayList<String>();
+        val registry = ShardedTicketRegistry.of(mock(TicketRegistry.class), properties, connection -> {
+            connections.add(connection);
+            return ShardedTicketRegistry.Shard.of(mock(TicketRegistry.class));
+        }, mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+        assertInstanceOf(ShardedTicketRegistry.class, registry);
+        assertEquals(3, ((ShardedTicketRegistry) registry).getShards().size());
+        assertEquals(properties.getConnections(), connections);
+
+        val primary = mock(TicketRegistry.class);
+        assertSame(primary, ShardedTicketRegistry.of(primary, properties.setEnabled(false), connection -> fail(),
+            mock(TicketSerializationManager.class), new DefaultTicketCatalog()));
+    }
+
+    @Test
+    void verifyQueueableTicketRegistryIsNotSharded() {
+        val properties = new ShardedTicketRegistryProperties().setEnabled(true).setConnections(List.of("shard-1"));
+        val registry = newShard();
+        assertSame(registry, ShardedTicketRegistry.of(registry, properties, connection -> ShardedTicketRegistry.Shard.of(newShard()),
+            mock(TicketSerializationManager.class), new DefaultTicketCatalog()));
+    }
+
+    @Test
+    void verifyShardsAreStreamedLazily() throws Throwable {
+        val first = spy(newShard());
+        val second = spy(newShard());
+        first.addTicket(new MockTicketGrantingTicket(UUID.randomUUID().toString()));
+        second.addTicket(new MockTicketGrantingTicket(UUID.randomUUID().toString()));
+        val registry = new ShardedTicketRegistry(List.of(first, second), 64, mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+        assertTrue(registry.stream().findFirst().isPresent());
+        verify(first).stream();
+        verify(second, never()).stream();
+    }
+
+    @Test
+    void verifyFixedFormatTicketIdsAreNotTagged() {
+        val casProperties = new CasConfigurationProperties();
+        casProperties.getTicket().getRegistry().getSharding().setEnabled(true).setConnections(List.of("shard-1"));
+        val postProcessor = new ShardedTicketIdGeneratorPostProcessor(new DirectObjectProvider<>(casProperties));
+        val fixedFormat = new UniqueTicketIdGenerator() {
+            @Override
+            public String getNewTicketId(final String prefix) {
+                return prefix + '-' + UUID.randomUUID();
+            }
+
+            @Override
+            public boolean isFixedFormat() {
+                return true;
+            }
+        };
+        assertSame(fixedFormat, postProcessor.postProcessAfterInitialization(fixedFormat, "fixedFormat"));
+        assertInstanceOf(ShardedUniqueTicketIdGenerator.class,
+            postProcessor.postProcessAfterInitialization(new DefaultUniqueTicketIdGenerator(), "defaultGenerator"));
+    }
+}
@@ -0,0 +1,254 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TieredTicketRegistryProperties;
+import org.apereo.cas.mock.MockServiceTicket;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.InvalidTicketException;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+import org.apereo.cas.util.spring.DirectObjectProvider;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link TieredTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Tag("Tickets")
+class TieredTicketRegistryTests {
+
+    private static TicketRegistry newDurableTicketRegistry() {
+        return spy(new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog()));
+    }
+
+    private static TicketRegistry newDisposableTicketRegistry() throws Exception {
+        val registry = mock(TicketRegistry.class, withSettings().extraInterfaces(DisposableBean.class));
+        when(registry.newUnitOfWork()).thenCallRealMethod();
+        when(registry.commit(any())).thenCallRealMethod();
+        return registry;
+    }
+
+    private static TieredTicketRegistry newTieredTicketRegistry(final TicketRegistry durableTicketRegistry,
+                                                                final boolean writeThrough) {
+        return newTieredTicketRegistry(durableTicketRegistry, writeThrough, false);
+    }
+
+    private static TieredTicketRegistry newTieredTicketRegistry(final TicketRegistry durableTicketRegistry,
+                                                                final boolean writeThrough,
+                                                                final boolean coalesceServiceTickets) {
+        val properties = new TieredTicketRegistryProperties()
+            .setWriteThroughTicketGrantingTickets(writeThrough)
+            .setCoalesceServiceTickets(coalesceServiceTickets)
+            .setFlushInterval("PT0S");
+        return new TieredTicketRegistry(durableTicketRegistry, mock(TicketSerializationManager.class),
+            new DefaultTicketCatalog(), properties);
+    }
+
+    @Test
+    void verifyChangesAreWrittenBehind() throws Throwable {
+        val durable = newDurableTicketRegistry();
+        val registry = newTieredTicketRegistry(durable, false);
+        val tgt = new MockTicketGrantingTicket(UUID.randomUUID().toString());
+        registry.addTicket(tgt);
+        registry.updateTicket(tgt);
+        assertSame(tgt, registry.getTicket(tgt.getId()));
+        assertNull(durable.getTicket(tgt.getId()));
+        assertEquals(1, registry.getQueueDepth());
+        assertFalse(registry.getQueueLag().isNegative());
+
+        assertEquals(1, registry.flush());
+        assertEquals(0, registry.getQueueDepth());
+        assertNotNull(durable.getTicket(tgt.getId()));
+        verify(durable, never()).updateTicket(any(Ticket.class));
+
+        registry.deleteTicket(tgt);
+        assertNull(registry.getTicket(tgt.getId()));
+        assertNotNull(durable.getTicket(tgt.getId()));
+        registry.flush();
+        assertNull(durable.getTicket(tgt.getId()));
+    }
+
+    @Test
+    void verifyAddedThenRemovedTicketIsCoalesced() throws Throwable {
+        val durable = newDurableTicketRegistry();
+        val registry = newTieredTicketRegistry(durable, false);
+        val tgt = new MockTicketGrantingTicket(UUID.randomUUID().toString());
+        registry.addTicket(tgt);
+        assertEquals(1, registry.deleteTicket(tgt));
+        assertEquals(0, registry.getQueueDepth());
+        assertEquals(0, registry.flush());
+        verify(durable, never()).addTicket(any(Ticket.class));
+        verify(durable, never()).deleteTicket(any(Ticket.class));
+    }
+
+    @Test
+    void verifyServiceTicketsCannotBeReplayed() throws Throwable {
+        val durable = newDurableTicketRegistry();
+        val registry = newTieredTicketRegistry(durable, false);
+        val otherNode = newTieredTicketRegistry(durable, false);
+        val tgt = new MockTicketGrantingTicket(UUID.randomUUID().toString());
+        val st = new MockServiceTicket("ST-" + UUID.randomUUID(), RegisteredServiceTestUtils.getService(), tgt);
+        registry.addTicket(st);
+        assertNotNull(durable.getTicket(st.getId()));
+        assertEquals(0, registry.getQueueDepth());
+        assertNotNull(otherNode.getTicket(st.getId()));
+
+        assertNotNull(registry.consumeTicket(st.getId(), ServiceTicket.class));
+        assertNull(durable.getTicket(st.getId()));
+        assertThrows(InvalidTicketException.class, () -> otherNode.consumeTicket(st.getId(), ServiceTicket.class));
+        assertThrows(InvalidTicketException.class, () -> registry.consumeTicket(st.getId(), ServiceTicket.class));
+    }
+
+    @Test
+    void verifyServiceTicketsAreCoalesced() throws Throwable {
+        val durable = newDurableTicketRegistry();
+        val registry = newTieredTicketRegistry(durable, false, true);
+        val otherNode = newTieredTicketRegistry(durable, false, true);
+        val tgt = new MockTicketGrantingTicket(UUID.randomUUID().toString());
+        val st = new MockServiceTicket("ST-" + UUID.randomUUID(), RegisteredServiceTestUtils.getService(), tgt);
+        registry.addTicket(st);
+        assertEquals(1, registry.getQueueDepth());
+        assertNull(otherNode.getTicket(st.getId()));
+        assertThrows(InvalidTicketException.class, () -> otherNode.consumeTicket(st.getId(), ServiceTicket.class));
+
+        assertSame(st, registry.consumeTicket(st.getId(), ServiceTicket.class));
+        assertThrows(InvalidTicketException.class, () -> registry.consumeTicket(st.getId(), ServiceTicket.class));
+        assertEquals(0, registry.flush());
+        verify(durable, never()).addTicket(any(Ticket.class));
+    }
+
+    @Test
+    void verifyReplicatedServiceTicketsAreConsumedOnce() throws Throwable {
+        val durable = newDurableTicketRegistry();
+        val registry = newTieredTicketRegistry(durable, false, true);
+        val otherNode = newTieredTicketRegistry(durable, false, true);
+        val tgt = new MockTicketGrantingTicket(UUID.randomUUID().toString());
+        val st = new MockServiceTicket("ST-" + UUID.randomUUID(), RegisteredServiceTestUtils.getService(), tgt);
+        registry.addTicket(st);
+        assertEquals(1, registry.flush());
+        assertNotNull(durable.getTicket(st.getId()));
+
+        assertNotNull(otherNode.consumeTicket(st.getId(), ServiceTicket.class));
+        assertNull(durable.getTicket(st.getId()));
+        assertThrows(InvalidTicketException.class, () -> registry.consumeTicket(st.getId(), ServiceTicket.class));
+
+        val removed = new MockServiceTicket("ST-" + UUID.randomUUID(), RegisteredServiceTestUtils.getService(), tgt);
+        registry.addTicket(removed);
+        registry.flush();
+        registry.deleteTicket(removed);
+        assertEquals(0, registry.getQueueDepth());
+        assertNull(durable.getTicket(removed.getId()));
+    }
+
+    @Test
+    void verifyDestroyDelegatesToDurableRegistry() throws Throwable {
+        val durable = newDisposableTicketRegistry();
+        val registry = newTieredTicketRegistry(durable, false);
+        registry.destroy();
+        verify((DisposableBean) durable).destroy();
+    }
+
+    @Test
+    void verifyPendingChangesFlushedBeforeDurableRegistryIsDestroyed() throws Throwable {
+        val casProperties = new CasConfigurationProperties();
+        casProperties.getTicket().getRegistry().getTiered().setEnabled(true).setFlushInterval("PT0S");
+        val postProcessor = new TieredTicketRegistryPostProcessor(new DirectObjectProvider<>(casProperties),
+            new DirectObjectProvider<>(mock(TicketSerializationManager.class)), new DirectObjectProvider<>(new DefaultTicketCatalog()));
+
+        val durable = newDisposableTicketRegistry();
+        assertTrue(postProcessor.requiresDestruction(durable));
+        val registry = (TieredTicketRegistry) postProcessor.postProcessAfterInitialization(durable, TicketRegistry.BEAN_NAME);
+        val tgt = new MockTicketGrantingTicket(UUID.randomUUID().toString());
+        registry.addTicket(tgt);
+        postProcessor.postProcessBeforeDestruction(durable, TicketRegistry.BEAN_NAME);
+        verify(durable).addTicket(tgt);
+
+        val refreshed = newDisposableTicketRegistry();
+        val refreshedRegistry = (TieredTicketRegistry) postProcessor.postProcessAfterInitialization(refreshed, TicketRegistry.BEAN_NAME);
+        val pending = new MockTicketGrantingTicket(UUID.randomUUID().toString());
+        refreshedRegistry.addTicket(pending);
+        val replacement = newDisposableTicketRegistry();
+        postProcessor.postProcessAfterInitialization(replacement, TicketRegistry.BEAN_NAME);
+        verify(refreshed).addTicket(pending);
+
+        postProcessor.destroy();
+        verify((DisposableBean) durable, never()).destroy();
+        verify((DisposableBean) refreshed, never()).destroy();
+        verify((DisposableBean) replacement).destroy();
+    }
+
+    @Test
+    void verifyEvictedTicketsAreServedFromQueue() throws Throwable {
+        val durable = newDurableTicketRegistry();
+        val properties = new TieredTicketRegistryProperties()
+            .setHotTierTimeToLive("PT0S")
+            .setFlushInterval("PT0S");
+        val registry = new TieredTicketRegistry(durable, mock(TicketSerializationManager.class),
+            new DefaultTicketCatalog(), properties);
+        val tgt = new MockTicketGrantingTicket(UUID.randomUUID().toString());
+        registry.addTicket(tgt);
+        assertSame(tgt, registry.getTicket(tgt.getId()));
+        verify(durable, never()).getTicket(tgt.getId());
+        registry.flush();
+        assertNotNull(registry.getTicket(tgt.getId()));
+        verify(durable).getTicket(tgt.getId());
+    }
+
+    @Test
+    void verifyQueueableTicketRegistryIsNotWrapped() {
+        val casProperties = new CasConfigurationProperties();
+        casProperties.getTicket().getRegistry().getTiered().setEnabled(true);
+        val postProcessor = new TieredTicketRegistryPostProcessor(new DirectObjectProvider<>(casProperties),
+            new DirectObjectProvider<>(mock(TicketSerializationManager.class)), new DirectObjectProvider<>(new DefaultTicketCatalog()));
+        val durable = newDurableTicketRegistry();
+        assertSame(durable, postProcessor.postProcessAfterInitialization(durable, TicketRegistry.BEAN_NAME));
+    }
+
+    @Test
+    void verifyTicketsAreReadThrough() throws Throwable {
+        val durable = newDurableTicketRegistry();
+        val tgt = new MockTicketGrantingTicket(UUID.randomUUID().toString());
+        val st = new MockServiceTicket("ST-" + UUID.randomUUID(), RegisteredServiceTestUtils.getService(), tgt);
+        durable.addTicket(tgt);
+        durable.addTicket(st);
+
+        val registry = newTieredTicketRegistry(durable, false);
+        assertNotNull(registry.getTicket(tgt.getId()));
+        assertNotNull(registry.getTicket(tgt.getId()));
+        verify(durable, times(1)).getTicket(tgt.getId());
+
+        assertNotNull(registry.consumeTicket(st.getId(), ServiceTicket.class));
+        assertNull(durable.getTicket(st.getId()));
+        assertEquals(1, registry.sessionCount());
+    }
+
+    @Test
+    void verifyTicketGrantingTicketsAreWrittenThrough() throws Throwable {
+        val durable = newDurableTicketRegistry();
+        val registry = newTieredTicketRegistry(durable, true);
+        val tgt = new MockTicketGrantingTicket(UUID.randomUUID().toString());
+        val st = new MockServiceTicket("ST-" + UUID.randomUUID(), RegisteredServiceTestUtils.getService(), tgt);
+        registry.addTicket(tgt);
+        registry.addTicket(st);
+        assertNotNull(durable.getTicket(tgt.getId()));
+        assertNotNull(durable.getTicket(st.getId()));
+        assertEquals(0, registry.getQueueDepth());
+
+        registry.deleteTicket(tgt);
+        assertNull(durable.getTicket(tgt.getId()));
+        registry.destroy();
+        assertEquals(0, registry.getQueueDepth());
+    }
+}
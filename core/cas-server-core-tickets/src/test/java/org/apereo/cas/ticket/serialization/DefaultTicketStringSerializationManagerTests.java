@@ -9,6 +9,7 @@ import org.apereo.cas.config.CasCoreTicketsAutoConfiguration;
 import org.apereo.cas.config.CasCoreUtilAutoConfiguration;
 import org.apereo.cas.config.CasCoreWebAutoConfiguration;
 import org.apereo.cas.config.CasPersonDirectoryAutoConfiguration;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCoreProperties;
 import org.apereo.cas.services.RegisteredServiceTestUtils;
 import org.apereo.cas.ticket.InvalidTicketException;
 import org.apereo.cas.ticket.Ticket;
@@ -70,6 +71,24 @@ class DefaultTicketStringSerializationManagerTests {
         assertThrows(InvalidTicketException.class, () -> ticketSerializationManager.deserializeTicket(result, ProxyTicket.class));
     }
 
+    @Test
+    void verifyBinaryDocumentFormat() throws Throwable {
+        val factory = (TicketGrantingTicketFactory) this.defaultTicketFactory.get(TicketGrantingTicket.class);
+        val ticket = factory.create(RegisteredServiceTestUtils.getAuthentication(),
+            RegisteredServiceTestUtils.getService(), TicketGrantingTicket.class);
+        val binaryManager = new DefaultTicketStringSerializationManager(new DefaultTicketSerializationExecutionPlan());
+        binaryManager.setDocumentFormat(TicketRegistryCoreProperties.TicketDocumentFormats.CBOR);
+
+        val binaryDocument = binaryManager.serializeTicket(ticket);
+        assertFalse(binaryDocument.startsWith("{"));
+        assertEquals(ticket, binaryManager.deserializeTicket(binaryDocument, TicketGrantingTicket.class));
+        assertEquals(ticket, ticketSerializationManager.deserializeTicket(binaryDocument, TicketGrantingTicket.class.getName()));
+
+        val jsonDocument = ticketSerializationManager.serializeTicket(ticket);
+        assertEquals(ticket, binaryManager.deserializeTicket(jsonDocument, TicketGrantingTicket.class));
+        assertThrows(InvalidTicketException.class, () -> binaryManager.deserializeTicket(binaryDocument, ProxyTicket.class));
+    }
+
     @Test
     void verifyBadClass() throws Throwable {
         assertThrows(NullPointerException.class, () -> ticketSerializationManager.serializeTicket(mock(Ticket.class)));
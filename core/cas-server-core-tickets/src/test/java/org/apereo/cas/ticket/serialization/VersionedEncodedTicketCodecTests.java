@@ -0,0 +1,95 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.config.CasCoreAuthenticationAutoConfiguration;
+import org.apereo.cas.config.CasCoreAutoConfiguration;
+import org.apereo.cas.config.CasCoreLogoutAutoConfiguration;
+import org.apereo.cas.config.CasCoreNotificationsAutoConfiguration;
+import org.apereo.cas.config.CasCoreServicesAutoConfiguration;
+import org.apereo.cas.config.CasCoreTicketsAutoConfiguration;
+import org.apereo.cas.config.CasCoreUtilAutoConfiguration;
+import org.apereo.cas.config.CasCoreWebAutoConfiguration;
+import org.apereo.cas.config.CasPersonDirectoryAutoConfiguration;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCoreProperties;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketFactory;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketFactory;
+import org.apereo.cas.util.serialization.SerializationUtils;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link VersionedEncodedTicketCodecTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@SpringBootTest(classes = {
+    RefreshAutoConfiguration.class,
+    WebMvcAutoConfiguration.class,
+    CasCoreLogoutAutoConfiguration.class,
+    CasCoreTicketsAutoConfiguration.class,
+    CasCoreNotificationsAutoConfiguration.class,
+    CasCoreUtilAutoConfiguration.class,
+    CasCoreAuthenticationAutoConfiguration.class,
+    CasPersonDirectoryAutoConfiguration.class,
+    CasCoreAutoConfiguration.class,
+    CasCoreWebAutoConfiguration.class,
+    CasCoreServicesAutoConfiguration.class
+}, properties = "cas.ticket.registry.core.encoded-ticket-format=CBOR")
+@Tag("Tickets")
+class VersionedEncodedTicketCodecTests {
+    @Autowired
+    @Qualifier(TicketSerializationManager.BEAN_NAME)
+    private TicketSerializationManager ticketSerializationManager;
+
+    @Autowired
+    @Qualifier(TicketFactory.BEAN_NAME)
+    private TicketFactory defaultTicketFactory;
+
+    @Test
+    void verifyCompactFormat() throws Throwable {
+        val ticket = getTicketGrantingTicket();
+        val codec = ticketSerializationManager.getEncodedTicketCodec();
+        val encoded = codec.encode(ticket);
+        val decoded = codec.decode(encoded);
+        assertEquals(ticket, decoded);
+        assertEquals(ticket.getAuthentication().getPrincipal(), ((TicketGrantingTicket) decoded).getAuthentication().getPrincipal());
+        assertTrue(encoded.length < SerializationUtils.serialize(ticket).length);
+    }
+
+    @Test
+    void verifyLegacyFormat() throws Throwable {
+        val ticket = getTicketGrantingTicket();
+        val legacyCodec = new VersionedEncodedTicketCodec();
+        val encoded = legacyCodec.encode(ticket);
+        assertArrayEquals(SerializationUtils.serialize(ticket), encoded);
+        assertEquals(ticket, ticketSerializationManager.getEncodedTicketCodec().decode(encoded));
+
+        val compactCodec = new VersionedEncodedTicketCodec(TicketRegistryCoreProperties.EncodedTicketFormats.CBOR);
+        assertEquals(ticket, legacyCodec.decode(compactCodec.encode(ticket)));
+    }
+
+    @Test
+    void verifyUnknownHeader() throws Throwable {
+        val codec = new VersionedEncodedTicketCodec(TicketRegistryCoreProperties.EncodedTicketFormats.CBOR);
+        val encoded = codec.encode(getTicketGrantingTicket());
+        encoded[3] = Byte.MAX_VALUE;
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(encoded));
+        encoded[2] = Byte.MAX_VALUE;
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(encoded));
+    }
+
+    private TicketGrantingTicket getTicketGrantingTicket() throws Throwable {
+        val factory = (TicketGrantingTicketFactory) defaultTicketFactory.get(TicketGrantingTicket.class);
+        return factory.create(RegisteredServiceTestUtils.getAuthentication(),
+            RegisteredServiceTestUtils.getService(), TicketGrantingTicket.class);
+    }
+}
@@ -21,6 +21,8 @@ import com.fasterxml.jackson.databind.cfg.MapperBuilder;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.fasterxml.jackson.dataformat.xml.XmlFactory;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
@@ -161,6 +163,9 @@ public class JacksonObjectMapperFactory {
         if (jsonFactory instanceof final XmlFactory factory) {
             return XmlMapper.builder(factory);
         }
+        if (jsonFactory instanceof final CBORFactory factory) {
+            return CBORMapper.builder(factory);
+        }
         return JsonMapper.builder(jsonFactory);
     }
 
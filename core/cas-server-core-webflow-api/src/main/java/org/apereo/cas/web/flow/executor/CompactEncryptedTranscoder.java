@@ -0,0 +1,144 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.util.LoggingUtils;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.ArrayUtils;
+import org.cryptacular.bean.CipherBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes the flow execution state into a compact form before encryption. The serialized byte stream
+ * is compressed using a fast deflate level and a preset dictionary of the class names and flow-scope keys
+ * that show up in nearly every flow execution, which removes most of the repetitive overhead of small
+ * serialized payloads that gzip cannot compress well on its own.
+ * <p>
+ * Encoded payloads carry a leading dictionary version. Payloads produced by {@link EncryptedTranscoder}
+ * remain readable, which allows switching transcoders without breaking in-flight flow executions.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Slf4j
+public class CompactEncryptedTranscoder extends EncryptedTranscoder {
+    /**
+     * Version of the shared dictionary used to compress payloads.
+     */
+    public static final byte DICTIONARY_VERSION = 1;
+
+    private static final byte[] DICTIONARY = String.join(";", List.of(
+        "java.lang.Boolean", "java.lang.Integer", "java.lang.Long", "java.lang.Number", "java.lang.Enum",
+        "java.time.ZonedDateTime", "java.time.Ser", "java.util.ArrayList", "java.util.LinkedHashMap",
+        "java.util.LinkedHashSet", "java.util.HashSet", "java.util.Collections$UnmodifiableMap",
+        "java.util.Collections$EmptyMap", "java.util.Collections$SingletonList", "java.util.TreeMap",
+        "org.apereo.cas.authentication.principal.SimplePrincipal",
+        "org.apereo.cas.authentication.principal.SimpleWebApplicationServiceImpl",
+        "org.apereo.cas.authentication.principal.AbstractWebApplicationService",
+        "org.apereo.cas.authentication.credential.UsernamePasswordCredential",
+        "org.apereo.cas.authentication.credential.RememberMeUsernamePasswordCredential",
+        "org.apereo.cas.authentication.credential.AbstractCredential",
+        "org.apereo.cas.authentication.metadata.BasicCredentialMetadata",
+        "org.apereo.cas.authentication.DefaultAuthentication",
+        "org.apereo.cas.authentication.DefaultAuthenticationHandlerExecutionResult",
+        "org.apereo.cas.authentication.DefaultAuthenticationResultBuilder",
+        "org.apereo.cas.authentication.DefaultAuthenticationResult",
+        "org.apereo.cas.authentication.DefaultAuthenticationBuilder",
+        "org.apereo.cas.services.CasRegisteredService",
+        "org.apereo.cas.web.flow.executor.ClientFlowExecutionRepository$SerializedFlowExecutionState",
+        "org.springframework.binding.message.DefaultMessageContext",
+        "org.springframework.binding.collection.SharedMapDecorator",
+        "org.springframework.webflow.engine.impl.FlowSessionImpl",
+        "org.springframework.webflow.engine.impl.FlowExecutionImpl",
+        "org.springframework.webflow.core.collection.LocalAttributeMap",
+        "org.springframework.webflow.core.collection.LocalParameterMap",
+        "org.springframework.webflow.execution.FlowExecutionKey",
+        "java.util.HashMap", "java.lang.String", "java.util.Map", "java.util.List",
+        "attributes", "authenticationDate", "successes", "failures", "credentials", "principal",
+        "originalUrl", "source", "format", "id", "loadFactor", "threshold", "accessor", "username", "password",
+        "flowId", "stateId", "scope", "viewScope", "flashScope", "conversationScope", "execution", "flowSessions",
+        "credential", "service", "registeredService", "authentication", "authenticationResultBuilder",
+        "authenticationResult", "ticketGrantingTicket", "ticketGrantingTicketId", "serviceTicketId",
+        "warnCookieValue", "existingSingleSignOnSessionAvailable", "casLoginFormViewable", "customLoginFormFields",
+        "availableAuthenticationHandlerNames", "passwordManagementEnabled", "forgotUsernameEnabled",
+        "rememberMeAuthenticationEnabled", "staticAuthentication", "activeFlowId", "messagesMemento",
+        "login", "casWebflowLoginContextProvider", "viewLoginForm", "realSubmit", "initializeLoginForm"))
+        .getBytes(StandardCharsets.UTF_8);
+
+    private static final int BUFFER_SIZE = 4096;
+
+    public CompactEncryptedTranscoder(final CipherBean cipherBean) {
+        super(cipherBean, true);
+    }
+
+    @Override
+    public byte[] encode(final Object o) throws IOException {
+        if (o == null) {
+            return ArrayUtils.EMPTY_BYTE_ARRAY;
+        }
+        val outBuffer = new ByteArrayOutputStream(BUFFER_SIZE);
+        outBuffer.write(DICTIONARY_VERSION);
+        val deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setDictionary(DICTIONARY);
+            try (val out = new ObjectOutputStream(new DeflaterOutputStream(outBuffer, deflater, BUFFER_SIZE))) {
+                writeObjectToOutputStream(o, out);
+            } catch (final NotSerializableException e) {
+                LoggingUtils.warn(LOGGER, e);
+            }
+        } finally {
+            deflater.end();
+        }
+        return encrypt(outBuffer);
+    }
+
+    @Override
+    @SuppressWarnings("BanSerializableRead")
+    protected Object deserialize(final byte[] data) throws IOException {
+        if (data == null || data.length == 0 || data[0] != DICTIONARY_VERSION) {
+            LOGGER.trace("Flow execution state is not compressed with a shared dictionary");
+            return super.deserialize(data);
+        }
+        try (val in = new ObjectInputStream(new ByteArrayInputStream(inflate(data)))) {
+            return in.readObject();
+        } catch (final Exception e) {
+            LoggingUtils.error(LOGGER, e);
+            throw new IOException("Deserialization error", e);
+        }
+    }
+
+    private static byte[] inflate(final byte[] data) throws DataFormatException {
+        val inflater = new Inflater();
+        try {
+            inflater.setInput(data, 1, data.length - 1);
+            val outBuffer = new ByteArrayOutputStream(data.length * 4);
+            val buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                val count = inflater.inflate(buffer);
+                if (count == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(DICTIONARY);
+                    } else if (inflater.needsInput()) {
+                        throw new DataFormatException("Flow execution state is truncated");
+                    }
+                }
+                outBuffer.write(buffer, 0, count);
+            }
+            return outBuffer.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+}
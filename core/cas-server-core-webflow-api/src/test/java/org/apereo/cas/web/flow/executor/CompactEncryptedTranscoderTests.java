@@ -0,0 +1,78 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.authentication.credential.UsernamePasswordCredential;
+
+import lombok.val;
+import org.cryptacular.bean.AEADBlockCipherBean;
+import org.cryptacular.bean.CipherBean;
+import org.cryptacular.bean.KeyStoreFactoryBean;
+import org.cryptacular.generator.sp80038d.RBGNonce;
+import org.cryptacular.io.FileResource;
+import org.cryptacular.spec.AEADBlockCipherSpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for {@link CompactEncryptedTranscoder}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Tag("Webflow")
+class CompactEncryptedTranscoderTests {
+    private CipherBean cipherBean;
+
+    private LocalAttributeMap<Object> flowScope;
+
+    @BeforeEach
+    void setup() throws Exception {
+        val ksFactory = new KeyStoreFactoryBean();
+        ksFactory.setResource(new FileResource(new File("src/test/resources/test-keystore.jceks")));
+        ksFactory.setType("JCEKS");
+        ksFactory.setPassword("changeit");
+
+        val bean = new AEADBlockCipherBean();
+        bean.setBlockCipherSpec(new AEADBlockCipherSpec("AES", "GCM"));
+        bean.setKeyStore(ksFactory.newInstance());
+        bean.setKeyAlias("aes128");
+        bean.setKeyPassword("changeit");
+        bean.setNonce(new RBGNonce());
+        cipherBean = bean;
+
+        flowScope = new LocalAttributeMap<>();
+        flowScope.put("credential", new UsernamePasswordCredential("casuser", "Mellon"));
+        flowScope.put("service", "https://app.example.org/login");
+        flowScope.put("passwordManagementEnabled", Boolean.FALSE);
+        flowScope.put("rememberMeAuthenticationEnabled", Boolean.TRUE);
+    }
+
+    @Test
+    void verifyEncodeDecode() throws Throwable {
+        val transcoder = new CompactEncryptedTranscoder(cipherBean);
+        val encoded = transcoder.encode(flowScope);
+        assertEquals(flowScope, transcoder.decode(encoded));
+        assertTrue(encoded.length < new EncryptedTranscoder(cipherBean).encode(flowScope).length);
+    }
+
+    @Test
+    void verifyLegacyState() throws Throwable {
+        val encoded = new EncryptedTranscoder(cipherBean).encode(flowScope);
+        assertEquals(flowScope, new CompactEncryptedTranscoder(cipherBean).decode(encoded));
+    }
+
+    @Test
+    void verifyNullAndBadState() throws Throwable {
+        val transcoder = new CompactEncryptedTranscoder(mock(CipherBean.class));
+        assertEquals(0, transcoder.encode(null).length);
+        assertThrows(IOException.class, () -> transcoder.decode(null));
+        assertThrows(IOException.class, () -> transcoder.deserialize(new byte[]{CompactEncryptedTranscoder.DICTIONARY_VERSION, 1, 2, 3}));
+    }
+}
@@ -141,10 +141,11 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
 
                     val factory = (ServiceTicketFactory) configurationContext.getTicketFactory().get(ServiceTicket.class);
                     val serviceTicket = factory.create(ticketGrantingTicket, selectedService, credentialProvided, ServiceTicket.class);
+                    val unitOfWork = configurationContext.getTicketRegistry().newUnitOfWork();
                     if (!ticketGrantingTicket.isStateless()) {
-                        configurationContext.getTicketRegistry().updateTicket(ticketGrantingTicket);
+                        unitOfWork.updateTicket(ticketGrantingTicket);
                     }
-                    val addedServiceTicket = configurationContext.getTicketRegistry().addTicket(serviceTicket);
+                    val addedServiceTicket = unitOfWork.addTicket(serviceTicket).commit().get(serviceTicket.getId());
                     LOGGER.info("Granted service ticket [{}] for service [{}] and principal [{}]",
                         serviceTicket.getId(), DigestUtils.abbreviate(selectedService.getId()), principal.getId());
                     doPublishEvent(new CasServiceTicketGrantedEvent(this, ticketGrantingTicket, serviceTicket, clientInfo));
@@ -180,10 +181,11 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
                     val factory = (ProxyTicketFactory) configurationContext.getTicketFactory().get(ProxyTicket.class);
                     val proxyTicket = factory.create(proxyGrantingTicket, service, ProxyTicket.class);
                     val clientInfo = ClientInfoHolder.getClientInfo();
+                    val unitOfWork = configurationContext.getTicketRegistry().newUnitOfWork();
                     if (!proxyGrantingTicket.isStateless()) {
-                        configurationContext.getTicketRegistry().updateTicket(proxyGrantingTicket);
+                        unitOfWork.updateTicket(proxyGrantingTicket);
                     }
-                    val addedProxyTicket = configurationContext.getTicketRegistry().addTicket(proxyTicket);
+                    val addedProxyTicket = unitOfWork.addTicket(proxyTicket).commit().get(proxyTicket.getId());
                     LOGGER.info("Granted proxy ticket [{}] for service [{}] for user [{}]",
                         addedProxyTicket.getId(), service.getId(), principal.getId());
                     doPublishEvent(new CasProxyTicketGrantedEvent(this, proxyGrantingTicket, addedProxyTicket, clientInfo));
@@ -202,7 +204,7 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
             LOGGER.info("Service ticket [{}] is not a valid ticket issued by CAS.", serviceTicketId);
             throw new InvalidTicketException(serviceTicketId);
         }
-        val serviceTicket = configurationContext.getTicketRegistry().getTicket(serviceTicketId, ServiceTicket.class);
+        val serviceTicket = configurationContext.getTicketRegistry().consumeTicket(serviceTicketId, ServiceTicket.class);
         if (serviceTicket == null) {
             LOGGER.warn("Service ticket [{}] does not exist.", serviceTicketId);
             throw new InvalidTicketException(serviceTicketId);
@@ -218,23 +220,16 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
             LOGGER.debug("Resolved service [{}] from the authentication request with service [{}] linked to service ticket [{}]",
                 resolvedService, selectedService, serviceTicket.getId());
 
-            configurationContext.getLockRepository().execute(serviceTicket.getId(),
-                Unchecked.supplier(() -> {
-                    if (serviceTicket.isExpired()) {
-                        LOGGER.info("Service ticket [{}] has expired.", serviceTicketId);
-                        throw new InvalidTicketException(serviceTicketId);
-                    }
-                    if (!configurationContext.getServiceMatchingStrategy().matches(selectedService, resolvedService)) {
-                        LOGGER.error("Service ticket [{}] with service [{}] does not match supplied service [{}]",
-                            serviceTicketId, serviceTicket.getService().getId(), resolvedService.getId());
-                        throw new UnrecognizableServiceForServiceTicketValidationException(selectedService);
-                    }
-                    serviceTicket.update();
-                    if (!serviceTicket.isStateless()) {
-                        configurationContext.getTicketRegistry().updateTicket(serviceTicket);
-                    }
-                    return serviceTicket;
-                }));
+            if (serviceTicket.isExpired()) {
+                LOGGER.info("Service ticket [{}] has expired.", serviceTicketId);
+                throw new InvalidTicketException(serviceTicketId);
+            }
+            if (!configurationContext.getServiceMatchingStrategy().matches(selectedService, resolvedService)) {
+                LOGGER.error("Service ticket [{}] with service [{}] does not match supplied service [{}]",
+                    serviceTicketId, serviceTicket.getService().getId(), resolvedService.getId());
+                throw new UnrecognizableServiceForServiceTicketValidationException(selectedService);
+            }
+            serviceTicket.update();
 
             val registeredService = configurationContext.getServicesManager().findServiceBy(selectedService);
             LOGGER.trace("Located registered service definition [{}] from [{}] to handle validation request", registeredService, selectedService);
@@ -313,12 +308,9 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
             doPublishEvent(new CasServiceTicketValidatedEvent(this, serviceTicket, assertion, clientInfo));
             return assertion;
         } finally {
-            if (!serviceTicket.isStateless()) {
-                if (serviceTicket.isExpired()) {
-                    configurationContext.getTicketRegistry().deleteTicket(serviceTicketId);
-                } else {
-                    configurationContext.getTicketRegistry().updateTicket(serviceTicket);
-                }
+            if (!serviceTicket.isStateless() && !serviceTicket.isExpired()) {
+                LOGGER.trace("Service ticket [{}] has remaining uses and is put back into the ticket registry", serviceTicketId);
+                configurationContext.getTicketRegistry().addTicket(serviceTicket);
             }
         }
     }
@@ -0,0 +1,93 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.attribute.DefaultAttributeDefinition;
+import org.apereo.cas.authentication.attribute.DefaultAttributeDefinitionStore;
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.RegisteredService;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link AttributeDefinitionStoreBenchmarks}, measuring attribute resolution
+ * through an attribute definition store whose definitions use patterns, pattern formats
+ * and canonicalization.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AttributeDefinitionStoreBenchmarks {
+    @Param("50")
+    private int definitionCount;
+
+    private DefaultAttributeDefinitionStore attributeDefinitionStore;
+
+    private List<String> attributeNames;
+
+    private Map<String, List<Object>> availableAttributes;
+
+    private Principal principal;
+
+    private RegisteredService registeredService;
+
+    private Service service;
+
+    @Setup
+    public void setup() throws Throwable {
+        CasBenchmarkUtils.newApplicationContext();
+        attributeDefinitionStore = new DefaultAttributeDefinitionStore();
+        attributeDefinitionStore.setScope("example.org");
+        attributeNames = new ArrayList<>(definitionCount);
+        availableAttributes = new LinkedHashMap<>(definitionCount);
+
+        IntStream.range(0, definitionCount).forEach(index -> {
+            val attributeName = "attribute" + index;
+            val definition = DefaultAttributeDefinition.builder()
+                .key(attributeName)
+                .name("urn:oid:1.3.6.1.4.1." + index)
+                .attribute("source" + index)
+                .scoped(index % 2 == 0)
+                .patternFormat("prefix-{0}-suffix")
+                .canonicalizationMode(index % 3 == 0 ? "upper" : "lower")
+                .patterns(new LinkedHashMap<>(Map.of(
+                    "^value-" + index + "-(a|b)$", "matched-" + index,
+                    "^other-.*", "other-" + index)))
+                .build();
+            attributeDefinitionStore.registerAttributeDefinition(definition);
+            attributeNames.add(attributeName);
+            availableAttributes.put("source" + index, List.of("value-" + index + "-a", "other-" + index));
+        });
+
+        principal = CasBenchmarkUtils.newPrincipal("casuser");
+        registeredService = CasBenchmarkUtils.newRegisteredService(1);
+        service = CasBenchmarkUtils.newService(CasBenchmarkUtils.SERVICE_URL_TEMPLATE.formatted(1));
+    }
+
+    @Benchmark
+    public Map<String, List<Object>> resolveAttributeValues() {
+        return attributeDefinitionStore.resolveAttributeValues(attributeNames,
+            availableAttributes, principal, registeredService, service);
+    }
+}
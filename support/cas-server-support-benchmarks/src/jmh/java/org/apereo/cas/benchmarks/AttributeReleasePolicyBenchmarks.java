@@ -0,0 +1,61 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.services.AbstractRegisteredServiceAttributeReleasePolicy;
+import org.apereo.cas.services.RegisteredServiceAttributeReleasePolicyContext;
+import org.apereo.cas.services.ReturnAllowedAttributeReleasePolicy;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link AttributeReleasePolicyBenchmarks}, measuring attribute release
+ * and consentable attribute calculation for a registered service.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AttributeReleasePolicyBenchmarks {
+    private AbstractRegisteredServiceAttributeReleasePolicy attributeReleasePolicy;
+
+    private RegisteredServiceAttributeReleasePolicyContext releasePolicyContext;
+
+    @Setup
+    public void setup() throws Throwable {
+        val applicationContext = CasBenchmarkUtils.newApplicationContext();
+        val registeredService = CasBenchmarkUtils.newRegisteredService(1);
+        attributeReleasePolicy = (ReturnAllowedAttributeReleasePolicy) registeredService.getAttributeReleasePolicy();
+        releasePolicyContext = RegisteredServiceAttributeReleasePolicyContext.builder()
+            .registeredService(registeredService)
+            .service(CasBenchmarkUtils.newService(CasBenchmarkUtils.SERVICE_URL_TEMPLATE.formatted(1)))
+            .principal(CasBenchmarkUtils.newPrincipal("casuser"))
+            .applicationContext(applicationContext)
+            .build();
+    }
+
+    @Benchmark
+    public Map<String, List<Object>> getAttributes() throws Throwable {
+        return attributeReleasePolicy.getAttributes(releasePolicyContext);
+    }
+
+    @Benchmark
+    public Map<String, List<Object>> getConsentableAttributes() throws Throwable {
+        return attributeReleasePolicy.getConsentableAttributes(releasePolicyContext);
+    }
+}
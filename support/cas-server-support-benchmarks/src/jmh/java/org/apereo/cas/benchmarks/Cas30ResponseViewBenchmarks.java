@@ -0,0 +1,80 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.CasViewConstants;
+import org.apereo.cas.authentication.DefaultAuthenticationAttributeReleasePolicy;
+import org.apereo.cas.authentication.DefaultAuthenticationServiceSelectionPlan;
+import org.apereo.cas.authentication.DefaultAuthenticationServiceSelectionStrategy;
+import org.apereo.cas.authentication.attribute.DefaultAttributeDefinitionStore;
+import org.apereo.cas.authentication.support.DefaultCasProtocolAttributeEncoder;
+import org.apereo.cas.services.RegisteredServicePublicKeyCipherExecutor;
+import org.apereo.cas.util.crypto.CipherExecutor;
+import org.apereo.cas.validation.ImmutableAssertion;
+import org.apereo.cas.web.view.Cas30ResponseView;
+import org.apereo.cas.web.view.attributes.DefaultCas30ProtocolAttributesRenderer;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.View;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link Cas30ResponseViewBenchmarks}, measuring the preparation
+ * and rendering of the CAS3 service validation success response.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class Cas30ResponseViewBenchmarks {
+    private View view;
+
+    private Map<String, Object> model;
+
+    @Setup
+    public void setup() throws Throwable {
+        val applicationContext = CasBenchmarkUtils.newApplicationContext();
+        val servicesManager = CasBenchmarkUtils.newServicesManager(applicationContext, 100);
+        val service = CasBenchmarkUtils.newService(CasBenchmarkUtils.SERVICE_URL_TEMPLATE.formatted(50));
+        val authentication = CasBenchmarkUtils.newAuthentication("casuser");
+
+        val encoder = new DefaultCasProtocolAttributeEncoder(servicesManager,
+            RegisteredServicePublicKeyCipherExecutor.INSTANCE, CipherExecutor.noOpOfStringToString());
+        view = new Cas30ResponseView(true, encoder, servicesManager,
+            (viewModel, request, response) -> response.getWriter().write(viewModel.toString()),
+            new DefaultAuthenticationAttributeReleasePolicy("authnContextClass"),
+            new DefaultAuthenticationServiceSelectionPlan(new DefaultAuthenticationServiceSelectionStrategy()),
+            new DefaultCas30ProtocolAttributesRenderer(), new DefaultAttributeDefinitionStore());
+
+        val assertion = new ImmutableAssertion(authentication, authentication, List.of(authentication),
+            false, false, service, servicesManager.findServiceBy(service), new HashMap<>(0));
+        model = Map.of(
+            CasViewConstants.MODEL_ATTRIBUTE_NAME_ASSERTION, assertion,
+            CasViewConstants.MODEL_ATTRIBUTE_NAME_SERVICE, service);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse renderSuccessResponse() throws Exception {
+        val request = new MockHttpServletRequest();
+        val response = new MockHttpServletResponse();
+        view.render(new HashMap<>(model), request, response);
+        return response;
+    }
+}
@@ -0,0 +1,152 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.AcceptUsersAuthenticationHandler;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.DefaultAuthenticationBuilder;
+import org.apereo.cas.authentication.DefaultAuthenticationHandlerExecutionResult;
+import org.apereo.cas.authentication.credential.UsernamePasswordCredential;
+import org.apereo.cas.authentication.metadata.BasicCredentialMetadata;
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.services.CasRegisteredService;
+import org.apereo.cas.services.DefaultServicesManagerRegisteredServiceLocator;
+import org.apereo.cas.services.InMemoryServiceRegistry;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ReturnAllowedAttributeReleasePolicy;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.services.ServicesManagerConfigurationContext;
+import org.apereo.cas.services.mgmt.DefaultServicesManager;
+import org.apereo.cas.util.spring.ApplicationContextProvider;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.experimental.UtilityClass;
+import lombok.val;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * This is {@link CasBenchmarkUtils}, which builds the fixtures shared
+ * by benchmarks without bootstrapping a full CAS application context.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@UtilityClass
+public class CasBenchmarkUtils {
+    /**
+     * Service url template for generated registered services.
+     */
+    public static final String SERVICE_URL_TEMPLATE = "https://app%s.example.org/cas/login";
+
+    /**
+     * Attributes released by generated registered services.
+     */
+    public static final List<String> RELEASED_ATTRIBUTES = List.of("uid", "cn", "mail", "memberOf");
+
+    /**
+     * Build and hold a minimal application context.
+     *
+     * @return the application context
+     */
+    public static ConfigurableApplicationContext newApplicationContext() {
+        val applicationContext = new StaticApplicationContext();
+        applicationContext.getBeanFactory().registerSingleton(CasConfigurationProperties.class.getSimpleName(),
+            new CasConfigurationProperties());
+        applicationContext.refresh();
+        ApplicationContextProvider.holdApplicationContext(applicationContext);
+        return applicationContext;
+    }
+
+    /**
+     * Build a principal with a typical set of attributes.
+     *
+     * @param id the id
+     * @return the principal
+     * @throws Throwable the throwable
+     */
+    public static Principal newPrincipal(final String id) throws Throwable {
+        return PrincipalFactoryUtils.newPrincipalFactory().createPrincipal(id, Map.of(
+            "uid", List.of(id),
+            "cn", List.of(id.toUpperCase(Locale.ENGLISH)),
+            "givenName", List.of(id),
+            "mail", List.of(id + "@example.org"),
+            "memberOf", List.of("system", "admin", "cas", "staff")));
+    }
+
+    /**
+     * Build an authentication for the given principal id.
+     *
+     * @param id the id
+     * @return the authentication
+     * @throws Throwable the throwable
+     */
+    public static Authentication newAuthentication(final String id) throws Throwable {
+        val handler = new AcceptUsersAuthenticationHandler("Benchmarks");
+        val credential = new UsernamePasswordCredential(id, "Mellon");
+        credential.setCredentialMetadata(new BasicCredentialMetadata(credential));
+        return DefaultAuthenticationBuilder.newInstance(newPrincipal(id))
+            .addCredential(credential)
+            .addSuccess(handler.getName(), new DefaultAuthenticationHandlerExecutionResult(handler, credential))
+            .build();
+    }
+
+    /**
+     * Build a web application service for the given url.
+     *
+     * @param url the url
+     * @return the service
+     */
+    public static WebApplicationService newService(final String url) {
+        return new WebApplicationServiceFactory().createService(url);
+    }
+
+    /**
+     * Build a registered service that matches {@link #SERVICE_URL_TEMPLATE} for the given id.
+     *
+     * @param id the id
+     * @return the registered service
+     */
+    public static CasRegisteredService newRegisteredService(final long id) {
+        val registeredService = new CasRegisteredService();
+        registeredService.setId(id);
+        registeredService.setName("Benchmark-" + id);
+        registeredService.setServiceId("^https://app" + id + "\\.example\\.org/.*");
+        registeredService.setEvaluationOrder((int) id);
+        registeredService.setAttributeReleasePolicy(new ReturnAllowedAttributeReleasePolicy(new ArrayList<>(RELEASED_ATTRIBUTES)));
+        return registeredService;
+    }
+
+    /**
+     * Build a services manager backed by an in-memory registry with the given number of services.
+     *
+     * @param applicationContext the application context
+     * @param count              the count
+     * @return the services manager
+     */
+    public static ServicesManager newServicesManager(final ConfigurableApplicationContext applicationContext, final int count) {
+        val registeredServices = LongStream.rangeClosed(1, count)
+            .mapToObj(CasBenchmarkUtils::newRegisteredService)
+            .map(RegisteredService.class::cast)
+            .collect(Collectors.toCollection(ArrayList::new));
+        val context = ServicesManagerConfigurationContext.builder()
+            .serviceRegistry(new InMemoryServiceRegistry(applicationContext, registeredServices, new ArrayList<>(0)))
+            .registeredServicesTemplatesManager(registeredService -> registeredService)
+            .applicationContext(applicationContext)
+            .servicesCache(Caffeine.newBuilder().build())
+            .registeredServiceLocators(List.of(new DefaultServicesManagerRegisteredServiceLocator()))
+            .build();
+        val servicesManager = new DefaultServicesManager(context);
+        servicesManager.load();
+        return servicesManager;
+    }
+}
@@ -0,0 +1,87 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+import org.apereo.cas.util.cipher.BaseBinaryCipherExecutor;
+import org.apereo.cas.util.cipher.DefaultTicketCipherExecutor;
+import org.apereo.cas.util.cipher.TicketGrantingCookieCipherExecutor;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link CipherExecutorBenchmarks}, measuring signing and encryption
+ * of ticket-granting cookies and of binary ticket payloads.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CipherExecutorBenchmarks {
+    @Param({"256", "4096"})
+    private int payloadSize;
+
+    private TicketGrantingCookieCipherExecutor cookieCipherExecutor;
+
+    private BaseBinaryCipherExecutor binaryCipherExecutor;
+
+    private String cookieValue;
+
+    private String encodedCookieValue;
+
+    private byte[] payload;
+
+    private byte[] encodedPayload;
+
+    @Setup
+    public void setup() {
+        cookieCipherExecutor = new TicketGrantingCookieCipherExecutor();
+        binaryCipherExecutor = new DefaultTicketCipherExecutor(null, null, "AES", 512, 16, "benchmarks");
+
+        cookieValue = new DefaultUniqueTicketIdGenerator().getNewTicketId(TicketGrantingTicket.PREFIX);
+        encodedCookieValue = cookieCipherExecutor.encode(cookieValue);
+
+        val builder = new StringBuilder(payloadSize);
+        while (builder.length() < payloadSize) {
+            builder.append(cookieValue);
+        }
+        payload = builder.substring(0, payloadSize).getBytes(StandardCharsets.UTF_8);
+        encodedPayload = binaryCipherExecutor.encode(payload);
+    }
+
+    @Benchmark
+    public String encodeTicketGrantingCookie() {
+        return cookieCipherExecutor.encode(cookieValue);
+    }
+
+    @Benchmark
+    public String decodeTicketGrantingCookie() {
+        return cookieCipherExecutor.decode(encodedCookieValue);
+    }
+
+    @Benchmark
+    public byte[] encodeBinaryPayload() {
+        return binaryCipherExecutor.encode(payload);
+    }
+
+    @Benchmark
+    public byte[] decodeBinaryPayload() {
+        return binaryCipherExecutor.decode(encodedPayload);
+    }
+}
@@ -0,0 +1,86 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.CasSSLContext;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.support.pac4j.cas.Pac4jCasClientProperties;
+import org.apereo.cas.pac4j.client.DelegatedIdentityProviders;
+import org.apereo.cas.support.pac4j.authentication.clients.DefaultDelegatedIdentityProviderFactory;
+import org.apereo.cas.support.pac4j.authentication.clients.RefreshableDelegatedIdentityProviders;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pac4j.core.client.Client;
+import org.pac4j.core.client.IndirectClient;
+import org.pac4j.saml.store.SAMLMessageStoreFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link DelegatedIdentityProvidersBenchmarks}, measuring client lookups
+ * against a large number of eagerly-initialized delegated identity providers,
+ * as done when the login page is rendered and when callbacks are processed.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DelegatedIdentityProvidersBenchmarks {
+    @Param("500")
+    private int identityProviders;
+
+    private DelegatedIdentityProviders delegatedIdentityProviders;
+
+    private String lastClientName;
+
+    @Setup
+    public void setup() {
+        val casProperties = new CasConfigurationProperties();
+        casProperties.getServer().setName("https://sso.example.org");
+        casProperties.getServer().setPrefix("https://sso.example.org/cas");
+        casProperties.getAuthn().getPac4j().getCore().setLazyInit(false);
+        IntStream.rangeClosed(1, identityProviders).forEach(id -> {
+            val properties = new Pac4jCasClientProperties();
+            properties.setClientName("CasClient" + id);
+            properties.setLoginUrl("https://cas%s.example.org/cas/login".formatted(id));
+            properties.setProtocol("CAS30");
+            casProperties.getAuthn().getPac4j().getCas().add(properties);
+        });
+        lastClientName = "CasClient" + identityProviders;
+
+        val clientsCache = Caffeine.newBuilder().maximumSize(100).<String, Collection<IndirectClient>>build();
+        val samlMessageStoreFactory = new StaticListableBeanFactory().getBeanProvider(SAMLMessageStoreFactory.class);
+        val factory = new DefaultDelegatedIdentityProviderFactory(casProperties, new ArrayList<>(0),
+            CasSSLContext.system(), samlMessageStoreFactory, clientsCache);
+        delegatedIdentityProviders = new RefreshableDelegatedIdentityProviders(casProperties.getServer().getLoginUrl(), factory);
+    }
+
+    @Benchmark
+    public Optional<Client> findClient() {
+        return delegatedIdentityProviders.findClient(lastClientName);
+    }
+
+    @Benchmark
+    public List<Client> findAllClients() {
+        return delegatedIdentityProviders.findAllClients();
+    }
+}
@@ -0,0 +1,119 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCoreProperties;
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.expiration.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.serialization.DefaultTicketSerializationExecutionPlan;
+import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManager;
+import org.apereo.cas.ticket.serialization.EncodedTicketCodec;
+import org.apereo.cas.ticket.serialization.VersionedEncodedTicketCodec;
+import org.apereo.cas.ticket.tracking.AllServicesSessionTrackingPolicy;
+import org.apereo.cas.ticket.tracking.TicketTrackingPolicy;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+import org.apereo.cas.util.cipher.BaseBinaryCipherExecutor;
+import org.apereo.cas.util.cipher.DefaultTicketCipherExecutor;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link EncodedTicketCodecBenchmarks}, comparing the encoded ticket formats
+ * for a ticket-granting ticket with a number of tracked services, both with and without
+ * the encryption step applied by ticket registries. Payload sizes for each format are
+ * logged once the benchmark state is initialized.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EncodedTicketCodecBenchmarks {
+    @Param({"SERIALIZATION", "CBOR"})
+    private TicketRegistryCoreProperties.EncodedTicketFormats format;
+
+    @Param({"1", "25"})
+    private int trackedServices;
+
+    private EncodedTicketCodec codec;
+
+    private BaseBinaryCipherExecutor cipherExecutor;
+
+    private TicketGrantingTicket ticketGrantingTicket;
+
+    private byte[] encodedTicket;
+
+    private byte[] encryptedTicket;
+
+    @Setup
+    public void setup() throws Throwable {
+        CasBenchmarkUtils.newApplicationContext();
+        codec = new VersionedEncodedTicketCodec(format);
+        cipherExecutor = new DefaultTicketCipherExecutor(null, null, "AES", 512, 16, "benchmarks");
+
+        val ticketSerializationManager = new DefaultTicketStringSerializationManager(new DefaultTicketSerializationExecutionPlan());
+        val ticketTrackingPolicy = new AllServicesSessionTrackingPolicy(
+            new DefaultTicketRegistry(ticketSerializationManager, new DefaultTicketCatalog()));
+        val ticketIdGenerator = new DefaultUniqueTicketIdGenerator();
+        ticketGrantingTicket = new TicketGrantingTicketImpl(ticketIdGenerator.getNewTicketId(TicketGrantingTicket.PREFIX),
+            CasBenchmarkUtils.newAuthentication("casuser"), new HardTimeoutExpirationPolicy(28_800));
+        IntStream.range(0, trackedServices).forEach(index -> {
+            val service = CasBenchmarkUtils.newService(CasBenchmarkUtils.SERVICE_URL_TEMPLATE.formatted(index));
+            grantServiceTicket(ticketIdGenerator, service, ticketTrackingPolicy);
+        });
+
+        encodedTicket = codec.encode(ticketGrantingTicket);
+        encryptedTicket = cipherExecutor.encode(encodedTicket);
+        LOGGER.info("Encoded ticket size for [{}] with [{}] tracked service(s) is [{}] byte(s), and [{}] byte(s) encrypted",
+            format, trackedServices, encodedTicket.length, encryptedTicket.length);
+    }
+
+    @Benchmark
+    public byte[] encodeTicket() {
+        return codec.encode(ticketGrantingTicket);
+    }
+
+    @Benchmark
+    public Ticket decodeTicket() {
+        return codec.decode(encodedTicket);
+    }
+
+    @Benchmark
+    public byte[] encodeAndEncryptTicket() {
+        return cipherExecutor.encode(codec.encode(ticketGrantingTicket));
+    }
+
+    @Benchmark
+    public Ticket decryptAndDecodeTicket() {
+        return codec.decode(cipherExecutor.decode(encryptedTicket));
+    }
+
+    private void grantServiceTicket(final DefaultUniqueTicketIdGenerator ticketIdGenerator, final Service service,
+                                    final TicketTrackingPolicy ticketTrackingPolicy) {
+        ticketGrantingTicket.grantServiceTicket(ticketIdGenerator.getNewTicketId(ServiceTicket.PREFIX),
+            service, new MultiTimeUseOrTimeoutExpirationPolicy(1, 10), false, ticketTrackingPolicy);
+    }
+}
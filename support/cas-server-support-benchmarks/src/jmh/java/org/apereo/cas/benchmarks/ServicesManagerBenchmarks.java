@@ -0,0 +1,68 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ServicesManager;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link ServicesManagerBenchmarks}, measuring
+ * {@link ServicesManager#findServiceBy(Service)} against a large service registry.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ServicesManagerBenchmarks {
+    @Param("10000")
+    private int registeredServices;
+
+    private ServicesManager servicesManager;
+
+    private Service firstService;
+
+    private Service lastService;
+
+    private Service unknownService;
+
+    @Setup
+    public void setup() {
+        val applicationContext = CasBenchmarkUtils.newApplicationContext();
+        servicesManager = CasBenchmarkUtils.newServicesManager(applicationContext, registeredServices);
+        firstService = CasBenchmarkUtils.newService(CasBenchmarkUtils.SERVICE_URL_TEMPLATE.formatted(1));
+        lastService = CasBenchmarkUtils.newService(CasBenchmarkUtils.SERVICE_URL_TEMPLATE.formatted(registeredServices));
+        unknownService = CasBenchmarkUtils.newService("https://unknown.example.net/cas/login");
+    }
+
+    @Benchmark
+    public RegisteredService findFirstService() {
+        return servicesManager.findServiceBy(firstService);
+    }
+
+    @Benchmark
+    public RegisteredService findLastService() {
+        return servicesManager.findServiceBy(lastService);
+    }
+
+    @Benchmark
+    public RegisteredService findUnknownService() {
+        return servicesManager.findServiceBy(unknownService);
+    }
+}
@@ -0,0 +1,88 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.ticket.ExpirationPolicyBuilder;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.expiration.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.factory.DefaultServiceTicketFactory;
+import org.apereo.cas.ticket.factory.DefaultTicketGrantingTicketFactory;
+import org.apereo.cas.ticket.tracking.TicketTrackingPolicy;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+import org.apereo.cas.util.crypto.CipherExecutor;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link TicketFactoryBenchmarks}, measuring ticket id generation
+ * and the creation of ticket-granting and service tickets.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TicketFactoryBenchmarks {
+    private UniqueTicketIdGenerator ticketIdGenerator;
+
+    private DefaultTicketGrantingTicketFactory ticketGrantingTicketFactory;
+
+    private DefaultServiceTicketFactory serviceTicketFactory;
+
+    private Authentication authentication;
+
+    private Service service;
+
+    private TicketGrantingTicket ticketGrantingTicket;
+
+    @Setup
+    public void setup() throws Throwable {
+        val applicationContext = CasBenchmarkUtils.newApplicationContext();
+        val servicesManager = CasBenchmarkUtils.newServicesManager(applicationContext, 100);
+
+        ticketIdGenerator = new DefaultUniqueTicketIdGenerator();
+        ticketGrantingTicketFactory = new DefaultTicketGrantingTicketFactory(ticketIdGenerator,
+            (ExpirationPolicyBuilder<TicketGrantingTicket>) () -> new HardTimeoutExpirationPolicy(28_800),
+            CipherExecutor.noOpOfSerializableToString(), servicesManager);
+        serviceTicketFactory = new DefaultServiceTicketFactory(
+            (ExpirationPolicyBuilder<ServiceTicket>) () -> new MultiTimeUseOrTimeoutExpirationPolicy(1, 10),
+            new HashMap<>(0), TicketTrackingPolicy.noOp(), CipherExecutor.noOpOfStringToString(), servicesManager);
+
+        authentication = CasBenchmarkUtils.newAuthentication("casuser");
+        service = CasBenchmarkUtils.newService(CasBenchmarkUtils.SERVICE_URL_TEMPLATE.formatted(50));
+        ticketGrantingTicket = ticketGrantingTicketFactory.create(authentication, service, TicketGrantingTicket.class);
+    }
+
+    @Benchmark
+    public String generateTicketId() {
+        return ticketIdGenerator.getNewTicketId(TicketGrantingTicket.PREFIX);
+    }
+
+    @Benchmark
+    public TicketGrantingTicket createTicketGrantingTicket() throws Throwable {
+        return ticketGrantingTicketFactory.create(authentication, service, TicketGrantingTicket.class);
+    }
+
+    @Benchmark
+    public ServiceTicket createServiceTicket() throws Throwable {
+        return serviceTicketFactory.create(ticketGrantingTicket, service, false, ServiceTicket.class);
+    }
+}
@@ -0,0 +1,94 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.serialization.DefaultTicketSerializationExecutionPlan;
+import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManager;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link TicketRegistryBenchmarks}, measuring add/get/delete operations
+ * of the {@link DefaultTicketRegistry} with several threads competing for the same registry.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+public class TicketRegistryBenchmarks {
+    private static final HardTimeoutExpirationPolicy EXPIRATION_POLICY = new HardTimeoutExpirationPolicy(28_800);
+
+    @Param("10000")
+    private int existingTickets;
+
+    private TicketRegistry ticketRegistry;
+
+    private DefaultUniqueTicketIdGenerator ticketIdGenerator;
+
+    private Authentication authentication;
+
+    private String existingTicketId;
+
+    @Setup
+    public void setup() throws Throwable {
+        CasBenchmarkUtils.newApplicationContext();
+        val serializationManager = new DefaultTicketStringSerializationManager(new DefaultTicketSerializationExecutionPlan());
+        ticketRegistry = new DefaultTicketRegistry(serializationManager, new DefaultTicketCatalog());
+        ticketIdGenerator = new DefaultUniqueTicketIdGenerator();
+        authentication = CasBenchmarkUtils.newAuthentication("casuser");
+
+        for (var i = 0; i < existingTickets; i++) {
+            existingTicketId = ticketRegistry.addTicket(newTicket()).getId();
+        }
+    }
+
+    @Benchmark
+    public Ticket getTicket() {
+        return ticketRegistry.getTicket(existingTicketId, TicketGrantingTicket.class);
+    }
+
+    @Benchmark
+    public Ticket addAndDeleteTicket() throws Exception {
+        val ticket = ticketRegistry.addTicket(newTicket());
+        ticketRegistry.deleteTicket(ticket.getId());
+        return ticket;
+    }
+
+    @Benchmark
+    public Ticket addGetAndDeleteTicket() throws Exception {
+        val ticketId = ticketRegistry.addTicket(newTicket()).getId();
+        val ticket = ticketRegistry.getTicket(ticketId, TicketGrantingTicket.class);
+        ticketRegistry.deleteTicket(ticketId);
+        return ticket;
+    }
+
+    private TicketGrantingTicket newTicket() {
+        return new TicketGrantingTicketImpl(ticketIdGenerator.getNewTicketId(TicketGrantingTicket.PREFIX),
+            authentication, EXPIRATION_POLICY);
+    }
+}
@@ -0,0 +1,116 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCoreProperties;
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.expiration.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.serialization.DefaultTicketSerializationExecutionPlan;
+import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManager;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+import org.apereo.cas.ticket.tracking.AllServicesSessionTrackingPolicy;
+import org.apereo.cas.ticket.tracking.TicketTrackingPolicy;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link TicketSerializationBenchmarks}, measuring round trips
+ * of tickets through the {@link TicketSerializationManager} for each ticket document format.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TicketSerializationBenchmarks {
+    @Param({"JSON", "CBOR"})
+    private TicketRegistryCoreProperties.TicketDocumentFormats documentFormat;
+
+    private TicketSerializationManager ticketSerializationManager;
+
+    private TicketTrackingPolicy ticketTrackingPolicy;
+
+    private TicketGrantingTicket ticketGrantingTicket;
+
+    private ServiceTicket serviceTicket;
+
+    private String serializedTicketGrantingTicket;
+
+    private String serializedServiceTicket;
+
+    @Setup
+    public void setup() throws Throwable {
+        CasBenchmarkUtils.newApplicationContext();
+        val serializationManager = new DefaultTicketStringSerializationManager(new DefaultTicketSerializationExecutionPlan());
+        serializationManager.setDocumentFormat(documentFormat);
+        ticketSerializationManager = serializationManager;
+        ticketTrackingPolicy = new AllServicesSessionTrackingPolicy(
+            new DefaultTicketRegistry(ticketSerializationManager, new DefaultTicketCatalog()));
+
+        val ticketIdGenerator = new DefaultUniqueTicketIdGenerator();
+        ticketGrantingTicket = new TicketGrantingTicketImpl(ticketIdGenerator.getNewTicketId(TicketGrantingTicket.PREFIX),
+            CasBenchmarkUtils.newAuthentication("casuser"), new HardTimeoutExpirationPolicy(28_800));
+        IntStream.range(0, 10).forEach(index -> {
+            val service = CasBenchmarkUtils.newService(CasBenchmarkUtils.SERVICE_URL_TEMPLATE.formatted(index));
+            grantServiceTicket(ticketIdGenerator, service);
+        });
+        serviceTicket = grantServiceTicket(ticketIdGenerator, CasBenchmarkUtils.newService(CasBenchmarkUtils.SERVICE_URL_TEMPLATE.formatted(1)));
+
+        serializedTicketGrantingTicket = ticketSerializationManager.serializeTicket(ticketGrantingTicket);
+        serializedServiceTicket = ticketSerializationManager.serializeTicket(serviceTicket);
+    }
+
+    @Benchmark
+    public String serializeTicketGrantingTicket() {
+        return ticketSerializationManager.serializeTicket(ticketGrantingTicket);
+    }
+
+    @Benchmark
+    public Ticket deserializeTicketGrantingTicket() {
+        return ticketSerializationManager.deserializeTicket(serializedTicketGrantingTicket, TicketGrantingTicketImpl.class);
+    }
+
+    @Benchmark
+    public Ticket roundTripTicketGrantingTicket() {
+        val serialized = ticketSerializationManager.serializeTicket(ticketGrantingTicket);
+        return ticketSerializationManager.deserializeTicket(serialized, ticketGrantingTicket.getClass());
+    }
+
+    @Benchmark
+    public Ticket roundTripServiceTicket() {
+        val serialized = ticketSerializationManager.serializeTicket(serviceTicket);
+        return ticketSerializationManager.deserializeTicket(serialized, serviceTicket.getClass());
+    }
+
+    @Benchmark
+    public Ticket deserializeServiceTicket() {
+        return ticketSerializationManager.deserializeTicket(serializedServiceTicket, serviceTicket.getClass());
+    }
+
+    private ServiceTicket grantServiceTicket(final DefaultUniqueTicketIdGenerator ticketIdGenerator, final Service service) {
+        return ticketGrantingTicket.grantServiceTicket(ticketIdGenerator.getNewTicketId(ServiceTicket.PREFIX),
+            service, new MultiTimeUseOrTimeoutExpirationPolicy(1, 10), false, ticketTrackingPolicy);
+    }
+}
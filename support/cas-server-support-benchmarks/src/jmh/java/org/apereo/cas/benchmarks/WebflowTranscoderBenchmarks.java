@@ -0,0 +1,84 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.credential.UsernamePasswordCredential;
+import org.apereo.cas.util.cipher.WebflowConversationStateCipherExecutor;
+import org.apereo.cas.web.flow.executor.CompactEncryptedTranscoder;
+import org.apereo.cas.web.flow.executor.EncryptedTranscoder;
+import org.apereo.cas.web.flow.executor.Transcoder;
+import org.apereo.cas.web.flow.executor.WebflowCipherBean;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link WebflowTranscoderBenchmarks}, comparing the client-side flow state transcoders
+ * on flow-scope state representative of the login flow, once credentials are submitted.
+ * Sizes of the encoded state for each transcoder are logged once the benchmark state is initialized.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class WebflowTranscoderBenchmarks {
+    @Param({"DEFAULT", "COMPACT"})
+    private String transcoderType;
+
+    private Transcoder transcoder;
+
+    private LocalAttributeMap<Object> flowScope;
+
+    private byte[] encodedFlowScope;
+
+    @Setup
+    public void setup() throws Throwable {
+        CasBenchmarkUtils.newApplicationContext();
+        val cipherExecutor = new WebflowConversationStateCipherExecutor(null, null, "AES", 512, 16);
+        val cipherBean = new WebflowCipherBean(cipherExecutor);
+        transcoder = "COMPACT".equals(transcoderType)
+            ? new CompactEncryptedTranscoder(cipherBean)
+            : new EncryptedTranscoder(cipherBean);
+
+        val service = CasBenchmarkUtils.newService(CasBenchmarkUtils.SERVICE_URL_TEMPLATE.formatted(1));
+        flowScope = new LocalAttributeMap<>();
+        flowScope.put("credential", new UsernamePasswordCredential("casuser", "Mellon"));
+        flowScope.put("service", service);
+        flowScope.put("registeredService", CasBenchmarkUtils.newRegisteredService(1));
+        flowScope.put("authentication", CasBenchmarkUtils.newAuthentication("casuser"));
+        flowScope.put("passwordManagementEnabled", Boolean.FALSE);
+        flowScope.put("forgotUsernameEnabled", Boolean.FALSE);
+        flowScope.put("rememberMeAuthenticationEnabled", Boolean.TRUE);
+        flowScope.put("existingSingleSignOnSessionAvailable", Boolean.FALSE);
+        flowScope.put("casLoginFormViewable", Boolean.TRUE);
+
+        encodedFlowScope = transcoder.encode(flowScope);
+        LOGGER.info("Encoded flow state size for [{}] transcoder is [{}] byte(s)", transcoderType, encodedFlowScope.length);
+    }
+
+    @Benchmark
+    public byte[] encodeFlowState() throws Exception {
+        return transcoder.encode(flowScope);
+    }
+
+    @Benchmark
+    public Object decodeFlowState() throws Exception {
+        return transcoder.decode(encodedFlowScope);
+    }
+}
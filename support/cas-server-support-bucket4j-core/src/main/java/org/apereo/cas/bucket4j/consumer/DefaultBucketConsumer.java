@@ -3,7 +3,6 @@ package org.apereo.cas.bucket4j.consumer;
 import org.apereo.cas.bucket4j.producer.BucketStore;
 import org.apereo.cas.configuration.model.support.bucket4j.BaseBucket4jProperties;
 import org.apereo.cas.util.LoggingUtils;
-import org.apereo.cas.util.concurrent.CasReentrantLock;
 import org.apereo.cas.util.function.FunctionUtils;
 
 import io.github.bucket4j.BlockingStrategy;
@@ -15,7 +14,9 @@ import java.util.LinkedHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
- * This is {@link DefaultBucketConsumer}.
+ * This is {@link DefaultBucketConsumer}. Buckets handle concurrent consumption on their own,
+ * whether they are held locally or shared via a distributed store, so requests
+ * for different keys are never serialized.
  *
  * @author Misagh Moayyed
  * @since 6.5.0
@@ -23,44 +24,44 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 @Slf4j
 public class DefaultBucketConsumer implements BucketConsumer {
-    private final CasReentrantLock lock = new CasReentrantLock();
-
     private final BucketStore bucketStore;
 
     private final BaseBucket4jProperties properties;
 
     @Override
     public BucketConsumptionResult consume(final String key) {
-        return lock.tryLock(() -> {
-            val bucket = bucketStore.obtainBucket(key);
-            if (bucket == null) {
-                LOGGER.warn("Unable to obtain a bucket for [{}]", key);
-                return BucketConsumptionResult.builder().consumed(false).build();
-            }
+        val bucket = bucketStore.obtainBucket(key);
+        if (bucket == null) {
+            LOGGER.warn("Unable to obtain a bucket for [{}]", key);
+            return BucketConsumptionResult.builder().consumed(false).build();
+        }
 
-            val canProceed = FunctionUtils.doAndHandle(() -> {
-                if (properties.isBlocking()) {
-                    LOGGER.trace("Attempting to consume a token for the authentication attempt");
-                    return bucket.tryConsume(1, MAX_WAIT_NANOS, BlockingStrategy.PARKING);
-                }
-                return bucket.tryConsume(1);
-            }, e -> {
-                LoggingUtils.error(LOGGER, e);
-                Thread.currentThread().interrupt();
-                return false;
-            }).get();
+        if (properties.isBlocking()) {
+            LOGGER.trace("Attempting to consume a token for the authentication attempt");
+            val consumed = FunctionUtils.doAndHandle(
+                () -> bucket.asBlocking().tryConsume(1, MAX_WAIT_NANOS, BlockingStrategy.PARKING),
+                e -> {
+                    LoggingUtils.error(LOGGER, e);
+                    Thread.currentThread().interrupt();
+                    return false;
+                }).get();
+            val nanosToWait = consumed ? 0 : bucket.estimateAbilityToConsume(1).getNanosToWaitForRefill();
+            return buildResult(consumed, bucket.getAvailableTokens(), nanosToWait);
+        }
+        val probe = bucket.tryConsumeAndReturnRemaining(1);
+        return buildResult(probe.isConsumed(), probe.getRemainingTokens(), probe.getNanosToWaitForRefill());
+    }
 
-            val headers = new LinkedHashMap<String, String>();
-            val availableTokens = bucket.getAvailableTokens();
-            if (!canProceed) {
-                val probe = bucket.tryConsumeAndReturnRemaining(1);
-                val seconds = TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill());
-                headers.put(HEADER_NAME_X_RATE_LIMIT_RETRY_AFTER_SECONDS, Long.toString(seconds));
-                LOGGER.warn("The request is throttled as capacity is entirely consumed. Available tokens are [{}]", availableTokens);
-                return BucketConsumptionResult.builder().consumed(false).headers(headers).build();
-            }
-            headers.put(HEADER_NAME_X_RATE_LIMIT_REMAINING, Long.toString(availableTokens));
-            return BucketConsumptionResult.builder().consumed(true).headers(headers).build();
-        });
+    private static BucketConsumptionResult buildResult(final boolean consumed, final long availableTokens,
+                                                       final long nanosToWait) {
+        val headers = new LinkedHashMap<String, String>();
+        if (!consumed) {
+            val seconds = TimeUnit.NANOSECONDS.toSeconds(nanosToWait);
+            headers.put(HEADER_NAME_X_RATE_LIMIT_RETRY_AFTER_SECONDS, Long.toString(seconds));
+            LOGGER.warn("The request is throttled as capacity is entirely consumed. Available tokens are [{}]", availableTokens);
+            return BucketConsumptionResult.builder().consumed(false).headers(headers).build();
+        }
+        headers.put(HEADER_NAME_X_RATE_LIMIT_REMAINING, Long.toString(availableTokens));
+        return BucketConsumptionResult.builder().consumed(true).headers(headers).build();
     }
 }
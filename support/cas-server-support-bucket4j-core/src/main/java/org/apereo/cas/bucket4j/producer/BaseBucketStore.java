@@ -0,0 +1,84 @@
+package org.apereo.cas.bucket4j.producer;
+
+import org.apereo.cas.configuration.model.support.bucket4j.BaseBucket4jProperties;
+import org.apereo.cas.configuration.model.support.bucket4j.Bucket4jBandwidthLimitProperties;
+import org.apereo.cas.configuration.support.Beans;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.Refill;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * This is {@link BaseBucketStore}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@RequiredArgsConstructor
+@Getter
+public abstract class BaseBucketStore implements BucketStore {
+    protected final BaseBucket4jProperties properties;
+
+    /**
+     * Build the bucket configuration from the configured bandwidths.
+     *
+     * @return the bucket configuration
+     */
+    public BucketConfiguration getBucketConfiguration() {
+        val builder = BucketConfiguration.builder();
+        getBandwidths().forEach(builder::addLimit);
+        return builder.build();
+    }
+
+    /**
+     * Time it takes for an idle bucket to refill to its full capacity.
+     * A bucket that stays idle for longer is indistinguishable from a new bucket,
+     * and may be evicted from the store without loosening the limits.
+     *
+     * @param properties the properties
+     * @return the duration
+     */
+    public static Duration getRefillDuration(final BaseBucket4jProperties properties) {
+        return properties.getBandwidth()
+            .stream()
+            .map(BaseBucketStore::getBandwidthRefillDuration)
+            .max(Duration::compareTo)
+            .orElse(Duration.ZERO);
+    }
+
+    /**
+     * Bandwidths that limit each bucket.
+     *
+     * @return the bandwidths
+     */
+    protected List<Bandwidth> getBandwidths() {
+        return properties.getBandwidth()
+            .stream()
+            .map(bandwidth -> {
+                var limit = switch (bandwidth.getRefillStrategy()) {
+                    case INTERVALLY -> Bandwidth.classic(bandwidth.getCapacity(), Refill.intervally(bandwidth.getRefillCount(),
+                        Beans.newDuration(bandwidth.getRefillDuration())));
+                    case GREEDY -> Bandwidth.simple(bandwidth.getCapacity(), Beans.newDuration(bandwidth.getDuration()));
+                };
+                return limit.withInitialTokens(bandwidth.getInitialTokens() <= 0
+                    ? bandwidth.getCapacity() : bandwidth.getInitialTokens());
+            })
+            .toList();
+    }
+
+    private static Duration getBandwidthRefillDuration(final Bucket4jBandwidthLimitProperties bandwidth) {
+        return switch (bandwidth.getRefillStrategy()) {
+            case INTERVALLY -> {
+                val refills = (bandwidth.getCapacity() + bandwidth.getRefillCount() - 1) / Math.max(1, bandwidth.getRefillCount());
+                yield Beans.newDuration(bandwidth.getRefillDuration()).multipliedBy(Math.max(1, refills));
+            }
+            case GREEDY -> Beans.newDuration(bandwidth.getDuration());
+        };
+    }
+}
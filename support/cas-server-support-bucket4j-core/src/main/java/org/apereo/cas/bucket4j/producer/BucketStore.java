@@ -1,6 +1,6 @@
 package org.apereo.cas.bucket4j.producer;
 
-import io.github.bucket4j.AbstractBucket;
+import io.github.bucket4j.Bucket;
 
 /**
  * This is {@link BucketStore}.
@@ -15,7 +15,7 @@ public interface BucketStore {
      * Obtain bucket for the given key.
      *
      * @param key the key
-     * @return the abstract bucket
+     * @return the bucket
      */
-    AbstractBucket obtainBucket(String key);
+    Bucket obtainBucket(String key);
 }
@@ -0,0 +1,52 @@
+package org.apereo.cas.bucket4j.producer;
+
+import org.apereo.cas.configuration.model.support.bucket4j.BaseBucket4jProperties;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.function.Function;
+
+/**
+ * This is {@link DistributedBucketStore}. Buckets are kept in a store that is shared
+ * by all nodes, via the given {@link ProxyManager}, so that limits apply across the cluster
+ * rather than to each node separately. Every consumption is applied atomically by the store.
+ *
+ * @param <K> the key type used by the proxy manager
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+public class DistributedBucketStore<K> extends BaseBucketStore implements DisposableBean {
+    private final ProxyManager<K> proxyManager;
+
+    private final Function<String, K> keyMapper;
+
+    private final BucketConfiguration configuration;
+
+    private final AutoCloseable resource;
+
+    public DistributedBucketStore(final BaseBucket4jProperties properties,
+                                  final ProxyManager<K> proxyManager,
+                                  final Function<String, K> keyMapper,
+                                  final AutoCloseable resource) {
+        super(properties);
+        this.proxyManager = proxyManager;
+        this.keyMapper = keyMapper;
+        this.resource = resource;
+        this.configuration = getBucketConfiguration();
+    }
+
+    @Override
+    public Bucket obtainBucket(final String key) {
+        return proxyManager.builder().build(keyMapper.apply(key), configuration);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (resource != null) {
+            resource.close();
+        }
+    }
+}
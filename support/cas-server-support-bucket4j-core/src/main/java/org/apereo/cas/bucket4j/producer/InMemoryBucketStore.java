@@ -1,52 +1,49 @@
 package org.apereo.cas.bucket4j.producer;
 
 import org.apereo.cas.configuration.model.support.bucket4j.BaseBucket4jProperties;
-import org.apereo.cas.configuration.support.Beans;
 
-import io.github.bucket4j.AbstractBucket;
-import io.github.bucket4j.Bandwidth;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
-import io.github.bucket4j.local.LocalBucketBuilder;
-import lombok.RequiredArgsConstructor;
 import lombok.val;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 /**
- * This is {@link InMemoryBucketStore}.
+ * This is {@link InMemoryBucketStore}. Buckets are kept in a cache that is bounded in size,
+ * and a bucket is evicted once it stays idle long enough to refill to its full capacity.
  *
  * @author Misagh Moayyed
  * @since 6.6.0
  */
-@RequiredArgsConstructor
-public class InMemoryBucketStore implements BucketStore {
-    private final Map<String, AbstractBucket> store = new ConcurrentHashMap<>();
+public class InMemoryBucketStore extends BaseBucketStore {
+    private final LoadingCache<String, Bucket> store;
 
-    private final BaseBucket4jProperties properties;
+    public InMemoryBucketStore(final BaseBucket4jProperties properties) {
+        super(properties);
+        val configuration = getBucketConfiguration();
+        this.store = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumBuckets())
+            .expireAfterAccess(getRefillDuration(properties))
+            .build(key -> {
+                val builder = Bucket.builder().withNanosecondPrecision();
+                for (val bandwidth : configuration.getBandwidths()) {
+                    builder.addLimit(bandwidth);
+                }
+                return builder.build();
+            });
+    }
 
     @Override
-    public AbstractBucket obtainBucket(final String key) {
-        return store.computeIfAbsent(key, k -> (AbstractBucket) getBucketLimits().build());
+    public Bucket obtainBucket(final String key) {
+        return store.get(key);
     }
 
-    private LocalBucketBuilder getBucketLimits() {
-        val builder = Bucket.builder().withNanosecondPrecision();
-        properties.getBandwidth()
-            .stream()
-            .map(bandwidth -> {
-                var limit = switch (bandwidth.getRefillStrategy()) {
-                    case INTERVALLY -> Bandwidth.classic(bandwidth.getCapacity(), Refill.intervally(bandwidth.getRefillCount(),
-                        Beans.newDuration(bandwidth.getRefillDuration())));
-                    case GREEDY -> Bandwidth.simple(bandwidth.getCapacity(), Beans.newDuration(bandwidth.getDuration()))
-                        .withInitialTokens(bandwidth.getInitialTokens() <= 0 ? bandwidth.getCapacity() : bandwidth.getInitialTokens());
-                };
-                limit = limit.withInitialTokens(bandwidth.getInitialTokens() <= 0
-                    ? bandwidth.getCapacity() : bandwidth.getInitialTokens());
-                return limit;
-            })
-            .forEach(builder::addLimit);
-        return builder;
+    /**
+     * Number of buckets currently held by the store.
+     *
+     * @return the count
+     */
+    public long getBucketCount() {
+        store.cleanUp();
+        return store.estimatedSize();
     }
 }
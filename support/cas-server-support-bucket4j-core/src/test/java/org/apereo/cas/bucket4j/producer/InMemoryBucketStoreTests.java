@@ -0,0 +1,55 @@
+package org.apereo.cas.bucket4j.producer;
+
+import org.apereo.cas.configuration.model.support.bucket4j.Bucket4jBandwidthLimitProperties;
+import org.apereo.cas.configuration.model.support.throttle.Bucket4jThrottleProperties;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link InMemoryBucketStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Tag("AuthenticationThrottling")
+class InMemoryBucketStoreTests {
+
+    @Test
+    void verifyStoreIsBounded() {
+        val properties = new Bucket4jThrottleProperties().setMaximumBuckets(100);
+        properties.getBandwidth().add(new Bucket4jBandwidthLimitProperties().setCapacity(5));
+        val store = new InMemoryBucketStore(properties);
+        for (var i = 0; i < 10_000; i++) {
+            assertNotNull(store.obtainBucket(UUID.randomUUID().toString()));
+        }
+        assertTrue(store.getBucketCount() <= 100);
+    }
+
+    @Test
+    void verifyBucketIsReused() {
+        val properties = new Bucket4jThrottleProperties();
+        properties.getBandwidth().add(new Bucket4jBandwidthLimitProperties().setCapacity(5));
+        val store = new InMemoryBucketStore(properties);
+        val key = UUID.randomUUID().toString();
+        assertTrue(store.obtainBucket(key).tryConsume(5));
+        assertFalse(store.obtainBucket(key).tryConsume(1));
+    }
+
+    @Test
+    void verifyRefillDuration() {
+        val properties = new Bucket4jThrottleProperties();
+        properties.setBandwidth(List.of(
+            new Bucket4jBandwidthLimitProperties().setCapacity(10).setDuration("PT1M"),
+            new Bucket4jBandwidthLimitProperties().setCapacity(100).setRefillCount(10).setRefillDuration("PT30S")
+                .setRefillStrategy(Bucket4jBandwidthLimitProperties.BandwidthRefillStrategies.INTERVALLY)));
+        assertEquals(Duration.ofMinutes(5), BaseBucketStore.getRefillDuration(properties));
+    }
+}
@@ -5,17 +5,22 @@ import org.apereo.cas.configuration.model.support.cassandra.ticketregistry.Cassa
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
-import org.apereo.cas.ticket.TicketDefinition;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
 import org.apereo.cas.util.crypto.CipherExecutor;
+import org.apereo.cas.util.LoggingUtils;
 import org.apereo.cas.util.function.FunctionUtils;
-import org.apereo.cas.util.serialization.JacksonObjectMapperFactory;
 
 import com.datastax.oss.driver.api.core.DefaultConsistencyLevel;
-import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchType;
+import com.datastax.oss.driver.api.core.cql.BatchableStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.Statement;
 import com.datastax.oss.driver.api.querybuilder.QueryBuilder;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -26,16 +31,26 @@ import org.springframework.data.cassandra.core.cql.BeanPropertyRowMapper;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This is {@link CassandraTicketRegistry}.
+ * Queries are prepared once and cached by their CQL. Ticket-granting tickets are additionally
+ * indexed by principal and by authentication attribute in lookup tables, so that sessions
+ * can be located by reading a single partition rather than by scanning or filtering tables.
+ * Lookup tables are backfilled from existing ticket-granting tickets on startup, when the
+ * secondary indexes used by previous versions are found and before they are removed.
  *
  * @author Misagh Moayyed
  * @author doomviking
@@ -43,13 +58,28 @@ import java.util.stream.Stream;
  */
 @Slf4j
 public class CassandraTicketRegistry extends AbstractTicketRegistry implements DisposableBean, InitializingBean {
-    private static final ObjectMapper MAPPER = JacksonObjectMapperFactory.builder()
-        .defaultTypingEnabled(false).build().toObjectMapper();
+    /**
+     * Suffix of the table that maps principals to their ticket-granting tickets.
+     */
+    public static final String PRINCIPAL_INDEX_TABLE_SUFFIX = "ByPrincipal";
+
+    /**
+     * Suffix of the table that maps authentication attributes to ticket-granting tickets.
+     */
+    public static final String ATTRIBUTE_INDEX_TABLE_SUFFIX = "ByAttribute";
+
+    private static final int TOKEN_RANGE_CONCURRENCY = 8;
+
+    private static final List<String> LEGACY_INDEX_SUFFIXES = List.of("_entries_index", "_values_index", "_keys_index");
 
     private final CassandraSessionFactory cassandraSessionFactory;
 
     private final CassandraTicketRegistryProperties properties;
 
+    private final Map<String, PreparedStatement> preparedStatements = new ConcurrentHashMap<>();
+
+    private final BeanPropertyRowMapper<CassandraTicketHolder> rowMapper = new BeanPropertyRowMapper<>(CassandraTicketHolder.class, true);
+
     public CassandraTicketRegistry(final CipherExecutor cipherExecutor,
                                    final TicketSerializationManager ticketSerializationManager,
                                    final TicketCatalog ticketCatalog,
@@ -60,7 +90,6 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
         this.properties = properties;
     }
 
-
     private static int getTimeToLive(final Ticket ticket) {
         val timeToLive = ticket.getExpirationPolicy().getTimeToLive();
         val ttl = Long.MAX_VALUE == timeToLive ? Long.valueOf(Integer.MAX_VALUE) : timeToLive;
@@ -85,16 +114,14 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
             return null;
         }
 
-        val holder = findCassandraTicketBy(definition, encodedTicketId);
-        if (holder.isEmpty()) {
+        val result = findCassandraTicketBy(definition.getProperties().getStorageName(), encodedTicketId)
+            .map(this::toTicket)
+            .orElse(null);
+        if (result == null) {
             LOGGER.debug("Ticket [{}] could not be found in Cassandra", encodedTicketId);
             return null;
         }
-
-        val document = holder.iterator().next();
-        val object = deserializeTicket(document.getData(), document.getType());
-        val result = decodeTicket(object);
-        return FunctionUtils.doAndReturn(result != null && predicate.test(result), () -> result, () -> {
+        return FunctionUtils.doAndReturn(predicate.test(result), () -> result, () -> {
             LOGGER.trace("The condition enforced by the predicate [{}] cannot successfully accept/test the ticket id [{}]", encodedTicketId,
                 predicate.getClass().getSimpleName());
             return null;
@@ -113,22 +140,12 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
 
     @Override
     public Collection<Ticket> getTickets() {
-        return ticketCatalog.findAll()
-            .stream()
-            .map(definition -> {
-                val results = findCassandraTicketBy(definition);
-                return results
-                    .stream()
-                    .map(holder -> {
-                        val result = deserializeTicket(holder.getData(), holder.getType());
-                        return decodeTicket(result);
-                    })
-                    .collect(Collectors.toSet());
-            })
-            .flatMap(Set::stream)
-            .filter(Objects::nonNull)
-            .filter(ticket -> !ticket.isExpired())
-            .collect(Collectors.toSet());
+        try (val results = stream()) {
+            return results
+                .filter(Objects::nonNull)
+                .filter(ticket -> !ticket.isExpired())
+                .collect(Collectors.toSet());
+        }
     }
 
     @Override
@@ -136,27 +153,40 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
         val ticketId = digestIdentifier(ticketToDelete.getId());
         LOGGER.debug("Deleting ticket [{}]", ticketId);
         val definition = ticketCatalog.find(ticketToDelete);
-        val delete = QueryBuilder
-            .deleteFrom(properties.getKeyspace(), definition.getProperties().getStorageName())
-            .whereColumn("id").isEqualTo(QueryBuilder.literal(ticketId))
-            .build()
-            .setConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getConsistencyLevel()))
-            .setSerialConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getSerialConsistencyLevel()))
-            .setTimeout(Beans.newDuration(properties.getTimeout()));
-        cassandraSessionFactory.getCqlTemplate().execute(delete);
+        val storageName = definition.getProperties().getStorageName();
+        val delete = prepare("DELETE FROM %s.%s WHERE id=?;".formatted(properties.getKeyspace(), storageName)).bind(ticketId);
+        if (ticketToDelete instanceof final TicketGrantingTicket ticketGrantingTicket) {
+            val principal = digestIdentifier(getPrincipalIdFrom(ticketGrantingTicket));
+            val deletePrincipal = prepare("DELETE FROM %s.%s WHERE principal=? AND id=?;"
+                .formatted(properties.getKeyspace(), getPrincipalIndexTableName())).bind(principal, ticketId);
+            val deleteAttribute = prepare("DELETE FROM %s.%s WHERE attribute=? AND value=? AND id=?;"
+                .formatted(properties.getKeyspace(), getAttributeIndexTableName()));
+            val statements = new ArrayList<BatchableStatement<?>>();
+            statements.add(delete);
+            statements.add(deletePrincipal);
+            getIndexedAttributes(ticketGrantingTicket)
+                .map(entry -> deleteAttribute.bind(entry.getKey(), entry.getValue(), ticketId))
+                .forEach(statements::add);
+            execute(BatchStatement.newInstance(BatchType.LOGGED, statements));
+        } else {
+            execute(delete);
+        }
         return 1;
     }
 
     @Override
     public long deleteAll() {
+        val tables = new ArrayList<String>();
         ticketCatalog.findAll()
             .stream()
-            .map(definition -> QueryBuilder
-                .truncate(properties.getKeyspace(), definition.getProperties().getStorageName())
-                .build()
-                .setConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getConsistencyLevel()))
-                .setSerialConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getSerialConsistencyLevel()))
-                .setTimeout(Beans.newDuration(properties.getTimeout())))
+            .map(definition -> definition.getProperties().getStorageName())
+            .filter(StringUtils::isNotBlank)
+            .forEach(tables::add);
+        tables.add(getPrincipalIndexTableName());
+        tables.add(getAttributeIndexTableName());
+        tables
+            .stream()
+            .map(table -> configure(QueryBuilder.truncate(properties.getKeyspace(), table).build()))
             .forEach(delete -> {
                 LOGGER.trace("Attempting to delete all via query [{}]", delete);
                 cassandraSessionFactory.getCqlTemplate().execute(delete);
@@ -164,37 +194,51 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
         return -1;
     }
 
+    /**
+     * Stream tickets from all tables. Each table is read by token range;
+     * queries for a window of token ranges are issued concurrently and their pages
+     * are fetched asynchronously, while rows are handed out in token range order.
+     *
+     * @return the stream
+     */
     @Override
     public Stream<? extends Ticket> stream() {
         return ticketCatalog.findAll()
             .stream()
+            .map(definition -> definition.getProperties().getStorageName())
+            .filter(StringUtils::isNotBlank)
             .flatMap(this::streamCassandraTicketBy)
-            .map(holder -> {
-                val result = deserializeTicket(holder.getData(), holder.getType());
-                return decodeTicket(result);
-            });
+            .map(this::toTicket);
+    }
+
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        val select = prepare("SELECT id, storage FROM %s.%s WHERE principal=?;"
+            .formatted(properties.getKeyspace(), getPrincipalIndexTableName()))
+            .bind(digestIdentifier(principalId));
+        return findTicketGrantingTicketsBy(Stream.of(select));
+    }
+
+    @Override
+    public long countSessionsFor(final String principalId) {
+        val select = configure(prepare("SELECT COUNT(*) FROM %s.%s WHERE principal=?;"
+            .formatted(properties.getKeyspace(), getPrincipalIndexTableName()))
+            .bind(digestIdentifier(principalId)));
+        val count = cassandraSessionFactory.getCqlTemplate().queryForObject(select, Long.class);
+        return Objects.requireNonNullElse(count, 0L);
     }
 
     @Override
     public Stream<? extends Ticket> getSessionsWithAttributes(final Map<String, List<Object>> queryAttributes) {
-        val metadata = ticketCatalog.findTicketDefinition(TicketGrantingTicket.class).orElseThrow();
-        val queryList = new ArrayList<String>();
-        queryAttributes.forEach((key, values) ->
-            values.forEach(queryValue -> {
-                var cql = "SELECT * FROM %s.%s WHERE prefix='%s' AND ".formatted(properties.getKeyspace(), metadata.getProperties().getStorageName(), metadata.getPrefix());
-                cql += "attributes CONTAINS KEY '%s' AND attributes CONTAINS '%s' ALLOW FILTERING;".formatted(digestIdentifier(key), digestIdentifier(queryValue.toString()));
-                queryList.add(cql);
-            }));
-        val rowMapper = new BeanPropertyRowMapper<>(CassandraTicketHolder.class, true);
-        return queryList
+        val select = prepare("SELECT id, storage FROM %s.%s WHERE attribute=? AND value=?;"
+            .formatted(properties.getKeyspace(), getAttributeIndexTableName()));
+        val queries = queryAttributes
+            .entrySet()
             .stream()
-            .flatMap(query -> cassandraSessionFactory.getCqlTemplate().queryForStream(query, rowMapper))
-            .distinct()
-            .map(holder -> {
-                val result = deserializeTicket(holder.getData(), holder.getType());
-                return decodeTicket(result);
-            })
-            .filter(ticket -> !ticket.isExpired());
+            .flatMap(entry -> entry.getValue()
+                .stream()
+                .map(queryValue -> select.bind(digestIdentifier(entry.getKey()), digestIdentifier(queryValue.toString()))));
+        return findTicketGrantingTicketsBy(queries);
     }
 
     @Override
@@ -207,34 +251,148 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
         createTablesIfNecessary();
     }
 
+    @Override
+    protected int deleteChildren(final TicketGrantingTicket ticket) {
+        val services = ticket.getServices();
+        if (services == null || services.isEmpty()) {
+            return 0;
+        }
+        val deletes = services.keySet()
+            .stream()
+            .map(serviceTicketId -> Pair.of(ticketCatalog.find(serviceTicketId), digestIdentifier(serviceTicketId)))
+            .filter(entry -> entry.getKey() != null)
+            .map(entry -> prepare("DELETE FROM %s.%s WHERE id=?;".formatted(properties.getKeyspace(),
+                entry.getKey().getProperties().getStorageName())).bind(entry.getValue()))
+            .toList();
+        LOGGER.debug("Removing [{}] ticket(s) linked to [{}]", deletes.size(), ticket.getId());
+        executeAll(deletes.stream());
+        return deletes.size();
+    }
 
-    private Collection<CassandraTicketHolder> findCassandraTicketBy(final TicketDefinition definition) {
-        return findCassandraTicketBy(definition, null);
+    /**
+     * Name of the table that maps principals to their ticket-granting tickets.
+     *
+     * @return the table name
+     */
+    protected String getPrincipalIndexTableName() {
+        return getTicketGrantingTicketStorageName() + PRINCIPAL_INDEX_TABLE_SUFFIX;
     }
 
-    private Collection<CassandraTicketHolder> findCassandraTicketBy(final TicketDefinition definition, final String ticketId) {
-        val builder = QueryBuilder.selectFrom(properties.getKeyspace(), definition.getProperties().getStorageName()).all();
-        if (StringUtils.isNotBlank(ticketId)) {
-            builder.whereColumn("id").isEqualTo(QueryBuilder.literal(ticketId)).limit(1);
-        }
-        val select = builder.build()
-            .setConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getConsistencyLevel()))
-            .setSerialConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getSerialConsistencyLevel()))
-            .setTimeout(Beans.newDuration(properties.getTimeout()));
-        LOGGER.trace("Attempting to locate ticket via query [{}]", select);
-        val rowMapper = new BeanPropertyRowMapper<>(CassandraTicketHolder.class, true);
-        return cassandraSessionFactory.getCqlTemplate().query(select, rowMapper);
+    /**
+     * Name of the table that maps authentication attributes to ticket-granting tickets.
+     *
+     * @return the table name
+     */
+    protected String getAttributeIndexTableName() {
+        return getTicketGrantingTicketStorageName() + ATTRIBUTE_INDEX_TABLE_SUFFIX;
+    }
+
+    private String getTicketGrantingTicketStorageName() {
+        return ticketCatalog.findTicketDefinition(TicketGrantingTicket.class).orElseThrow().getProperties().getStorageName();
+    }
+
+    private Ticket toTicket(final CassandraTicketHolder holder) {
+        val result = deserializeTicket(holder.getData(), holder.getType());
+        return decodeTicket(result);
+    }
+
+    private PreparedStatement prepare(final String cql) {
+        return preparedStatements.computeIfAbsent(cql, query -> {
+            LOGGER.trace("Preparing Cassandra statement [{}]", query);
+            return cassandraSessionFactory.getSession().prepare(query);
+        });
     }
 
-    private Stream<CassandraTicketHolder> streamCassandraTicketBy(final TicketDefinition definition) {
-        val builder = QueryBuilder.selectFrom(properties.getKeyspace(), definition.getProperties().getStorageName()).all();
-        val select = builder.build()
+    private <T extends Statement<T>> T configure(final T statement) {
+        return statement
             .setConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getConsistencyLevel()))
             .setSerialConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getSerialConsistencyLevel()))
             .setTimeout(Beans.newDuration(properties.getTimeout()));
-        LOGGER.trace("Attempting to locate ticket via query [{}]", select);
-        val rowMapper = new BeanPropertyRowMapper<>(CassandraTicketHolder.class, true);
-        return cassandraSessionFactory.getCqlTemplate().queryForStream(select, rowMapper);
+    }
+
+    private <T extends Statement<T>> void execute(final T statement) {
+        cassandraSessionFactory.getCqlTemplate().execute(configure(statement));
+    }
+
+    private void executeAll(final Stream<BoundStatement> statements) {
+        val session = cassandraSessionFactory.getSession();
+        val futures = statements
+            .map(statement -> session.executeAsync(configure(statement)).toCompletableFuture())
+            .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private Stream<Pair<String, String>> getIndexedAttributes(final TicketGrantingTicket ticket) {
+        val attributes = (Map<String, List<Object>>) collectAndDigestTicketAttributes(ticket);
+        return attributes
+            .entrySet()
+            .stream()
+            .flatMap(entry -> entry.getValue()
+                .stream()
+                .filter(Objects::nonNull)
+                .map(value -> Pair.of(entry.getKey(), value.toString())))
+            .distinct();
+    }
+
+    private Optional<CassandraTicketHolder> findCassandraTicketBy(final String storageName, final String ticketId) {
+        val select = configure(prepare("SELECT * FROM %s.%s WHERE id=? LIMIT 1;"
+            .formatted(properties.getKeyspace(), storageName)).bind(ticketId));
+        LOGGER.trace("Attempting to locate ticket [{}] in [{}]", ticketId, storageName);
+        return cassandraSessionFactory.getCqlTemplate().query(select, rowMapper).stream().findFirst();
+    }
+
+    private Stream<? extends Ticket> findTicketGrantingTicketsBy(final Stream<BoundStatement> queries) {
+        return queries
+            .flatMap(query -> cassandraSessionFactory.getCqlTemplate().queryForStream(configure(query),
+                (row, rowNum) -> Pair.of(row.getString("storage"), row.getString("id"))))
+            .distinct()
+            .map(entry -> findCassandraTicketBy(entry.getKey(), entry.getValue()))
+            .flatMap(Optional::stream)
+            .map(this::toTicket)
+            .filter(Objects::nonNull)
+            .filter(ticket -> !ticket.isExpired());
+    }
+
+    private Stream<CassandraTicketHolder> streamCassandraTicketBy(final String storageName) {
+        val selectAll = "SELECT * FROM %s.%s;".formatted(properties.getKeyspace(), storageName);
+        val session = cassandraSessionFactory.getSession();
+        val tokenRanges = session.getMetadata().getTokenMap()
+            .map(tokenMap -> tokenMap.getTokenRanges()
+                .stream()
+                .flatMap(range -> range.unwrap().stream())
+                .toList())
+            .orElseGet(List::of);
+        if (tokenRanges.size() <= 1) {
+            LOGGER.trace("Attempting to locate tickets via query [{}]", selectAll);
+            return cassandraSessionFactory.getCqlTemplate().queryForStream(configure(prepare(selectAll).bind()), rowMapper);
+        }
+        val selectFrom = prepare("SELECT * FROM %s.%s WHERE token(id) > ?;".formatted(properties.getKeyspace(), storageName));
+        val selectBetween = prepare("SELECT * FROM %s.%s WHERE token(id) > ? AND token(id) <= ?;"
+            .formatted(properties.getKeyspace(), storageName));
+        LOGGER.trace("Attempting to locate tickets in [{}] across [{}] token range(s)", storageName, tokenRanges.size());
+        val selects = tokenRanges
+            .stream()
+            .map(range -> range.getEnd().compareTo(range.getStart()) <= 0
+                ? selectFrom.bind().setToken(0, range.getStart())
+                : selectBetween.bind().setToken(0, range.getStart()).setToken(1, range.getEnd()))
+            .toList();
+        val windows = (selects.size() + TOKEN_RANGE_CONCURRENCY - 1) / TOKEN_RANGE_CONCURRENCY;
+        return IntStream.range(0, windows)
+            .mapToObj(window -> selects.subList(window * TOKEN_RANGE_CONCURRENCY,
+                Math.min(selects.size(), (window + 1) * TOKEN_RANGE_CONCURRENCY)))
+            .flatMap(window -> window
+                .stream()
+                .map(select -> session.executeAsync(configure(select)).toCompletableFuture())
+                .toList()
+                .stream())
+            .flatMap(CassandraTicketRegistry::streamRows)
+            .map(row -> rowMapper.mapRow(row, 0));
+    }
+
+    private static Stream<Row> streamRows(final CompletableFuture<AsyncResultSet> firstPage) {
+        return Stream.iterate(firstPage.join(), Objects::nonNull,
+                page -> page.hasMorePages() ? page.fetchNextPage().toCompletableFuture().join() : null)
+            .flatMap(page -> StreamSupport.stream(page.currentPage().spliterator(), false));
     }
 
     private void createTablesIfNecessary() {
@@ -243,40 +401,105 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
         LOGGER.trace("Creating Cassandra keyspace with query [{}]", createNs);
         cassandraSessionFactory.getCqlTemplate().execute(createNs);
 
+        val tables = new LinkedHashMap<String, String>();
         ticketCatalog.findAll()
             .stream()
-            .filter(metadata -> StringUtils.isNotBlank(metadata.getProperties().getStorageName()))
-            .forEach(metadata -> {
-                if (properties.isDropTablesOnStartup()) {
-                    val drop = "DROP TABLE IF EXISTS %s.%s;".formatted(properties.getKeyspace(), metadata.getProperties().getStorageName());
-                    LOGGER.trace("Dropping Cassandra table with query [{}]", drop);
-                    cassandraSessionFactory.getCqlTemplate().execute(drop);
-                }
-                val createTable = "CREATE TABLE IF NOT EXISTS %s.%s(id text,type text,prefix text,attributes map<text, text>,data text, PRIMARY KEY(id,type));"
-                    .formatted(properties.getKeyspace(), metadata.getProperties().getStorageName());
-                LOGGER.trace("Creating Cassandra table with query [{}]", createTable);
-                cassandraSessionFactory.getCqlTemplate().execute(createTable);
-
-                cassandraSessionFactory.getCqlTemplate().execute("DROP INDEX IF EXISTS " + metadata.getProperties().getStorageName() + "_entries_index");
-                val createIndexAttributeNames = "CREATE INDEX " + metadata.getProperties().getStorageName() + "_entries_index ON "
-                                                + properties.getKeyspace() + '.' + metadata.getProperties().getStorageName() + " (ENTRIES(attributes));";
-                LOGGER.trace("Creating Cassandra index with query [{}]", createIndexAttributeNames);
-                cassandraSessionFactory.getCqlTemplate().execute(createIndexAttributeNames);
-
-                cassandraSessionFactory.getCqlTemplate().execute("DROP INDEX IF EXISTS " + metadata.getProperties().getStorageName() + "_values_index");
-                val createIndexAttributeValues = "CREATE INDEX " + metadata.getProperties().getStorageName() + "_values_index ON "
-                                                 + properties.getKeyspace() + '.' + metadata.getProperties().getStorageName() + " (VALUES(attributes));";
-                LOGGER.trace("Creating Cassandra index with query [{}]", createIndexAttributeValues);
-                cassandraSessionFactory.getCqlTemplate().execute(createIndexAttributeValues);
-
-                cassandraSessionFactory.getCqlTemplate().execute("DROP INDEX IF EXISTS " + metadata.getProperties().getStorageName() + "_keys_index");
-                val createIndexAttributeNames3 = "CREATE INDEX " + metadata.getProperties().getStorageName() + "_keys_index ON "
-                                                 + properties.getKeyspace() + '.' + metadata.getProperties().getStorageName() + " (KEYS(attributes));";
-                LOGGER.trace("Creating Cassandra index with query [{}]", createIndexAttributeNames3);
-                cassandraSessionFactory.getCqlTemplate().execute(createIndexAttributeNames3);
+            .map(metadata -> metadata.getProperties().getStorageName())
+            .filter(StringUtils::isNotBlank)
+            .forEach(storageName -> tables.put(storageName,
+                "(id text,type text,prefix text,attributes map<text, text>,data text, PRIMARY KEY(id,type))"));
+        tables.put(getPrincipalIndexTableName(), "(principal text,id text,storage text, PRIMARY KEY(principal,id))");
+        tables.put(getAttributeIndexTableName(), "(attribute text,value text,id text,storage text, PRIMARY KEY((attribute,value),id))");
+
+        tables.forEach((tableName, columns) -> {
+            if (properties.isDropTablesOnStartup()) {
+                val drop = "DROP TABLE IF EXISTS %s.%s;".formatted(properties.getKeyspace(), tableName);
+                LOGGER.trace("Dropping Cassandra table with query [{}]", drop);
+                cassandraSessionFactory.getCqlTemplate().execute(drop);
+            }
+            val createTable = "CREATE TABLE IF NOT EXISTS %s.%s%s;".formatted(properties.getKeyspace(), tableName, columns);
+            LOGGER.trace("Creating Cassandra table with query [{}]", createTable);
+            cassandraSessionFactory.getCqlTemplate().execute(createTable);
+        });
+
+        if (hasLegacyIndexes(getTicketGrantingTicketStorageName())) {
+            backfillLookupTables();
+        }
+        ticketCatalog.findAll()
+            .stream()
+            .map(metadata -> metadata.getProperties().getStorageName())
+            .filter(StringUtils::isNotBlank)
+            .flatMap(storageName -> LEGACY_INDEX_SUFFIXES.stream().map(suffix -> storageName + suffix))
+            .forEach(indexName -> {
+                LOGGER.trace("Removing Cassandra index [{}] that is replaced by lookup tables", indexName);
+                cassandraSessionFactory.getCqlTemplate().execute("DROP INDEX IF EXISTS %s.%s;".formatted(properties.getKeyspace(), indexName));
             });
     }
 
+    private boolean hasLegacyIndexes(final String storageName) {
+        val select = "SELECT index_name FROM system_schema.indexes WHERE keyspace_name=? AND table_name=?;";
+        return cassandraSessionFactory.getCqlTemplate()
+            .queryForList(select, String.class, properties.getKeyspace(), storageName)
+            .stream()
+            .anyMatch(indexName -> LEGACY_INDEX_SUFFIXES.stream().anyMatch(suffix -> indexName.equals(storageName + suffix)));
+    }
+
+    /**
+     * Backfill the principal and attribute lookup tables from the ticket-granting tickets
+     * that were stored before the lookup tables existed. Entries inherit the remaining time-to-live
+     * of the ticket they point to. Writes are idempotent, so tickets that are already indexed are simply rewritten.
+     */
+    protected void backfillLookupTables() {
+        val storageName = getTicketGrantingTicketStorageName();
+        val select = configure(prepare("SELECT id, type, data, TTL(data) AS ttl FROM %s.%s;"
+            .formatted(properties.getKeyspace(), storageName)).bind());
+        LOGGER.info("Backfilling lookup tables [{}] and [{}] from existing tickets in [{}]",
+            getPrincipalIndexTableName(), getAttributeIndexTableName(), storageName);
+        try (val rows = cassandraSessionFactory.getCqlTemplate().queryForStream(select, (row, rowNum) -> {
+            val holder = CassandraTicketHolder.builder()
+                .id(row.getString("id"))
+                .type(row.getString("type"))
+                .data(row.getString("data"))
+                .build();
+            return Pair.of(holder, row.isNull("ttl") ? null : row.getInt("ttl"));
+        })) {
+            val count = rows
+                .map(entry -> FunctionUtils.doAndHandle(() -> {
+                    if (toTicket(entry.getKey()) instanceof final TicketGrantingTicket ticketGrantingTicket && !ticketGrantingTicket.isExpired()) {
+                        val ttl = Objects.requireNonNullElseGet(entry.getValue(), () -> getTimeToLive(ticketGrantingTicket));
+                        val statements = new ArrayList<BatchableStatement<?>>();
+                        statements.add(bindPrincipalIndex(ticketGrantingTicket, entry.getKey().getId(), storageName, ttl));
+                        statements.addAll(bindAttributeIndexes(ticketGrantingTicket, entry.getKey().getId(), storageName, ttl));
+                        execute(BatchStatement.newInstance(BatchType.LOGGED, statements));
+                        return true;
+                    }
+                    return false;
+                }, throwable -> {
+                    LoggingUtils.warn(LOGGER, throwable);
+                    return false;
+                }).get())
+                .filter(Boolean::booleanValue)
+                .count();
+            LOGGER.info("Backfilled lookup tables for [{}] ticket-granting ticket(s)", count);
+        }
+    }
+
+    private BoundStatement bindPrincipalIndex(final TicketGrantingTicket ticket, final String ticketId,
+                                              final String storageName, final int ttl) {
+        val principal = digestIdentifier(getPrincipalIdFrom(ticket));
+        return prepare("INSERT INTO %s.%s (principal,id,storage) VALUES (?,?,?) USING TTL ?;"
+            .formatted(properties.getKeyspace(), getPrincipalIndexTableName()))
+            .bind(principal, ticketId, storageName, ttl);
+    }
+
+    private List<BoundStatement> bindAttributeIndexes(final TicketGrantingTicket ticket, final String ticketId,
+                                                      final String storageName, final int ttl) {
+        val attributeIndex = prepare("INSERT INTO %s.%s (attribute,value,id,storage) VALUES (?,?,?,?) USING TTL ?;"
+            .formatted(properties.getKeyspace(), getAttributeIndexTableName()));
+        return getIndexedAttributes(ticket)
+            .map(entry -> attributeIndex.bind(entry.getKey(), entry.getValue(), ticketId, storageName, ttl))
+            .toList();
+    }
 
     private Ticket addTicketToCassandra(final Ticket ticket, final boolean inserting) throws Exception {
         LOGGER.debug("Adding ticket [{}]", ticket.getId());
@@ -285,7 +508,7 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
         val encTicket = encodeTicket(ticket);
         val data = ticketSerializationManager.serializeTicket(encTicket);
         val ttl = getTimeToLive(ticket);
-        var statement = (SimpleStatement) null;
+        val storageName = metadata.getProperties().getStorageName();
 
         val attributeMap = (Map<String, List>) collectAndDigestTicketAttributes(ticket);
         val attributesEncoded = attributeMap
@@ -298,34 +521,24 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
             })
             .collect(Collectors.toMap(Pair::getKey, v -> v.getValue().toString()));
 
-        if (inserting) {
-            val document = CassandraTicketHolder.builder()
-                .id(encTicket.getId())
-                .data(data)
-                .prefix(ticket.getPrefix())
-                .type(encTicket.getClass().getName())
-                .attributes(attributesEncoded)
-                .build();
-            val json = MAPPER.writeValueAsString(document);
-            statement = QueryBuilder.insertInto(properties.getKeyspace(), metadata.getProperties().getStorageName())
-                .json(json)
-                .usingTtl(ttl)
-                .build();
+        val statement = inserting
+            ? prepare("INSERT INTO %s.%s (id,type,prefix,attributes,data) VALUES (?,?,?,?,?) USING TTL ?;"
+                .formatted(properties.getKeyspace(), storageName))
+                .bind(encTicket.getId(), encTicket.getClass().getName(), ticket.getPrefix(), attributesEncoded, data, ttl)
+            : prepare("UPDATE %s.%s USING TTL ? SET data=?, attributes=? WHERE id=? AND type=?;"
+                .formatted(properties.getKeyspace(), storageName))
+                .bind(ttl, data, attributesEncoded, encTicket.getId(), encTicket.getClass().getName());
+
+        if (ticket instanceof final TicketGrantingTicket ticketGrantingTicket) {
+            val statements = new ArrayList<BatchableStatement<?>>();
+            statements.add(statement);
+            statements.add(bindPrincipalIndex(ticketGrantingTicket, encTicket.getId(), storageName, ttl));
+            statements.addAll(bindAttributeIndexes(ticketGrantingTicket, encTicket.getId(), storageName, ttl));
+            LOGGER.trace("Storing ticket [{}] and its principal and attribute indexes in a logged batch", encTicket.getId());
+            execute(BatchStatement.newInstance(BatchType.LOGGED, statements));
         } else {
-            statement = QueryBuilder.update(properties.getKeyspace(), metadata.getProperties().getStorageName())
-                .usingTtl(ttl)
-                .setColumn("data", QueryBuilder.literal(data))
-                .setColumn("attributes", QueryBuilder.literal(attributesEncoded))
-                .whereColumn("id").isEqualTo(QueryBuilder.literal(encTicket.getId()))
-                .whereColumn("type").isEqualTo(QueryBuilder.literal(encTicket.getClass().getName()))
-                .build();
+            execute(statement);
         }
-        statement = statement.setConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getConsistencyLevel()))
-            .setSerialConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getSerialConsistencyLevel()))
-            .setTimeout(Beans.newDuration(properties.getTimeout()));
-
-        LOGGER.trace("Attempting to locate ticket via query [{}]", statement.getQuery());
-        cassandraSessionFactory.getCqlTemplate().execute(statement);
         LOGGER.debug("Added ticket [{}]", encTicket.getId());
         return ticket;
     }
@@ -1,10 +1,16 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.cassandra.CassandraSessionFactory;
 import org.apereo.cas.config.CassandraTicketRegistryAutoConfiguration;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
 import org.apereo.cas.util.junit.EnabledIfListeningOnPort;
 import lombok.Getter;
+import lombok.val;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +18,10 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.AopTestUtils;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -38,9 +48,77 @@ class CassandraTicketRegistryTests extends BaseTicketRegistryTests {
     @Qualifier(TicketRegistry.BEAN_NAME)
     private TicketRegistry newTicketRegistry;
 
+    @Autowired
+    @Qualifier("cassandraTicketRegistrySessionFactory")
+    private CassandraSessionFactory cassandraTicketRegistrySessionFactory;
+
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
     @RepeatedTest(1)
     void verifyFails() throws Throwable {
         assertDoesNotThrow(() -> newTicketRegistry.addTicket((Ticket) null));
     }
 
+    @RepeatedTest(1)
+    void verifyLookupTablesBackfilledFromLegacyIndexes() throws Throwable {
+        val principal = UUID.randomUUID().toString();
+        val authentication = CoreAuthenticationTestUtils.getAuthentication(principal,
+            Map.of("cn", List.of("backfill-" + principal)));
+        newTicketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId, authentication, NeverExpiresExpirationPolicy.INSTANCE));
+        assertEquals(1, newTicketRegistry.countSessionsFor(principal));
+
+        val cassandra = casProperties.getTicket().getRegistry().getCassandra();
+        val keyspace = cassandra.getKeyspace();
+        val storageName = ticketCatalog.findTicketDefinition(TicketGrantingTicket.class).orElseThrow().getProperties().getStorageName();
+        val cqlTemplate = cassandraTicketRegistrySessionFactory.getCqlTemplate();
+        cqlTemplate.execute("TRUNCATE %s.%s;".formatted(keyspace, storageName + CassandraTicketRegistry.PRINCIPAL_INDEX_TABLE_SUFFIX));
+        cqlTemplate.execute("TRUNCATE %s.%s;".formatted(keyspace, storageName + CassandraTicketRegistry.ATTRIBUTE_INDEX_TABLE_SUFFIX));
+        cqlTemplate.execute("CREATE INDEX IF NOT EXISTS %s_entries_index ON %s.%s (ENTRIES(attributes));".formatted(storageName, keyspace, storageName));
+        assertEquals(0, newTicketRegistry.countSessionsFor(principal));
+
+        val registry = (CassandraTicketRegistry) AopTestUtils.getTargetObject(newTicketRegistry);
+        cassandra.setDropTablesOnStartup(false);
+        try {
+            registry.afterPropertiesSet();
+        } finally {
+            cassandra.setDropTablesOnStartup(true);
+        }
+        assertEquals(1, newTicketRegistry.countSessionsFor(principal));
+        try (val sessions = newTicketRegistry.getSessionsFor(principal)) {
+            assertEquals(ticketGrantingTicketId, sessions.findFirst().orElseThrow().getId());
+        }
+        try (val sessions = newTicketRegistry.getSessionsWithAttributes(Map.of("cn", List.of("backfill-" + principal)))) {
+            assertEquals(1, sessions.count());
+        }
+        val indexes = cqlTemplate.queryForList("SELECT index_name FROM system_schema.indexes WHERE keyspace_name=? AND table_name=?;",
+            String.class, keyspace, storageName);
+        assertFalse(indexes.contains(storageName + "_entries_index"));
+    }
+
+    @RepeatedTest(1)
+    void verifyAttributeIndexWrittenAndRemovedWithTicket() throws Throwable {
+        val cassandra = casProperties.getTicket().getRegistry().getCassandra();
+        val storageName = ticketCatalog.findTicketDefinition(TicketGrantingTicket.class).orElseThrow().getProperties().getStorageName();
+        val countIndexed = "SELECT COUNT(*) FROM %s.%s;".formatted(cassandra.getKeyspace(),
+            storageName + CassandraTicketRegistry.ATTRIBUTE_INDEX_TABLE_SUFFIX);
+        val cqlTemplate = cassandraTicketRegistrySessionFactory.getCqlTemplate();
+        val indexed = cqlTemplate.queryForObject(countIndexed, Long.class);
+
+        val principal = UUID.randomUUID().toString();
+        val authentication = CoreAuthenticationTestUtils.getAuthentication(principal,
+            Map.of("cn", List.of("first-" + principal, "second-" + principal)));
+        newTicketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId, authentication, NeverExpiresExpirationPolicy.INSTANCE));
+        assertTrue(cqlTemplate.queryForObject(countIndexed, Long.class) >= indexed + 2);
+        try (val sessions = newTicketRegistry.getSessionsWithAttributes(Map.of("cn", List.of("second-" + principal)))) {
+            assertEquals(ticketGrantingTicketId, sessions.findFirst().orElseThrow().getId());
+        }
+
+        newTicketRegistry.deleteTicket(ticketGrantingTicketId);
+        try (val sessions = newTicketRegistry.getSessionsWithAttributes(Map.of("cn", List.of("first-" + principal, "second-" + principal)))) {
+            assertEquals(0, sessions.count());
+        }
+        assertEquals(indexed, cqlTemplate.queryForObject(countIndexed, Long.class));
+    }
+
 }
@@ -3,6 +3,7 @@ package org.apereo.cas.consent;
 import org.apereo.cas.authentication.principal.Principal;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.configuration.model.support.consent.DynamoDbConsentProperties;
+import org.apereo.cas.dynamodb.DynamoDbGlobalSecondaryIndex;
 import org.apereo.cas.dynamodb.DynamoDbQueryBuilder;
 import org.apereo.cas.dynamodb.DynamoDbTableUtils;
 import org.apereo.cas.util.CollectionUtils;
@@ -46,6 +47,14 @@ public record DynamoDbConsentFacilitator(DynamoDbConsentProperties dynamoDbPrope
     private static final ObjectMapper MAPPER = JacksonObjectMapperFactory.builder()
         .defaultTypingEnabled(false).build().toObjectMapper();
 
+    private static final List<DynamoDbGlobalSecondaryIndex> INDEXES = List.of(
+        DynamoDbGlobalSecondaryIndex.tableKey(ColumnNames.ID.getColumnName(), ScalarAttributeType.N),
+        DynamoDbGlobalSecondaryIndex.builder()
+            .indexName("principalIndex")
+            .partitionKey(ColumnNames.PRINCIPAL.getColumnName())
+            .sortKey(ColumnNames.SERVICE.getColumnName())
+            .build());
+
     private static Map<String, AttributeValue> buildTableAttributeValuesMap(final ConsentDecision record) {
         val values = new HashMap<String, AttributeValue>();
         values.put(ColumnNames.PRINCIPAL.getColumnName(), AttributeValue.builder().s(record.getPrincipal()).build());
@@ -85,7 +94,7 @@ public record DynamoDbConsentFacilitator(DynamoDbConsentProperties dynamoDbPrope
             .keyType(KeyType.HASH)
             .build());
         FunctionUtils.doUnchecked(__ -> DynamoDbTableUtils.createTable(amazonDynamoDBClient, dynamoDbProperties,
-            dynamoDbProperties.getTableName(), deleteTables, attributes, schema));
+            dynamoDbProperties.getTableName(), deleteTables, attributes, schema, INDEXES));
     }
 
     /**
@@ -253,6 +262,7 @@ public record DynamoDbConsentFacilitator(DynamoDbConsentProperties dynamoDbPrope
     private Stream<ConsentDecision> getRecordsByKeys(final List<? extends DynamoDbQueryBuilder> queries) {
         return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient,
             dynamoDbProperties.getTableName(),
+            INDEXES,
             queries,
             DynamoDbConsentFacilitator::extractAttributeValuesFrom);
     }
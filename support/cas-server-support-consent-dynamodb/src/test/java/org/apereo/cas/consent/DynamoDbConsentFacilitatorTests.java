@@ -0,0 +1,49 @@
+package org.apereo.cas.consent;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.configuration.model.support.consent.DynamoDbConsentProperties;
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.paginators.QueryIterable;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link DynamoDbConsentFacilitatorTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Tag("DynamoDb")
+class DynamoDbConsentFacilitatorTests {
+    private DynamoDbClient client;
+
+    @BeforeEach
+    void setup() {
+        client = mock(DynamoDbClient.class);
+        when(client.queryPaginator(any(QueryRequest.class)))
+            .thenAnswer(invocation -> new QueryIterable(client, invocation.getArgument(0)));
+        when(client.query(any(QueryRequest.class)))
+            .thenReturn(QueryResponse.builder().items(List.of()).count(0).build());
+    }
+
+    @Test
+    void verifyDecisionsAreQueriedByPrincipalIndex() {
+        val facilitator = new DynamoDbConsentFacilitator(new DynamoDbConsentProperties(), client);
+        assertTrue(facilitator.find("casuser").isEmpty());
+        assertNull(facilitator.find(CoreAuthenticationTestUtils.getService(), CoreAuthenticationTestUtils.getPrincipal("casuser")));
+        verify(client).query(argThat((QueryRequest request) -> "principalIndex".equals(request.indexName())
+            && request.keyConditions().size() == 1));
+        verify(client).query(argThat((QueryRequest request) -> "principalIndex".equals(request.indexName())
+            && request.keyConditions().containsKey(DynamoDbConsentFacilitator.ColumnNames.SERVICE.getColumnName())));
+        verify(client, never()).scan(any(ScanRequest.class));
+        verify(client, never()).scanPaginator(any(ScanRequest.class));
+    }
+}
@@ -76,8 +76,8 @@ public class CasCosmosDbTicketRegistryAutoConfiguration {
             })
             .toList();
 
-        val cipher = CoreTicketUtils.newTicketRegistryCipherExecutor(
-            casProperties.getTicket().getRegistry().getCosmosDb().getCrypto(), "cosmos-db");
-        return new CosmosDbTicketRegistry(cipher, ticketSerializationManager, ticketCatalog, containers);
+        val cosmosDb = casProperties.getTicket().getRegistry().getCosmosDb();
+        val cipher = CoreTicketUtils.newTicketRegistryCipherExecutor(cosmosDb.getCrypto(), "cosmos-db");
+        return new CosmosDbTicketRegistry(cipher, ticketSerializationManager, ticketCatalog, containers, cosmosDb);
     }
 }
@@ -1,5 +1,6 @@
 package org.apereo.cas.ticket;
 
+import org.apereo.cas.configuration.model.support.cosmosdb.CosmosDbTicketRegistryProperties;
 import org.apereo.cas.ticket.registry.AbstractTicketRegistry;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
 import org.apereo.cas.util.crypto.CipherExecutor;
@@ -16,7 +17,6 @@ import com.google.common.collect.Iterables;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.http.HttpStatus;
 
 import java.util.ArrayList;
@@ -31,6 +31,9 @@ import java.util.stream.StreamSupport;
 
 /**
  * This is {@link CosmosDbTicketRegistry}.
+ * The partition key of each ticket document is derived from the ticket id
+ * according to the configured {@link CosmosDbTicketRegistryProperties.PartitioningSchemes},
+ * so tickets are always read and removed via point operations.
  *
  * @author Misagh Moayyed
  * @since 7.0.0
@@ -44,10 +47,14 @@ public class CosmosDbTicketRegistry extends AbstractTicketRegistry {
 
     private final List<CosmosContainer> cosmosContainers;
 
+    private final CosmosDbTicketRegistryProperties properties;
+
     public CosmosDbTicketRegistry(final CipherExecutor cipherExecutor, final TicketSerializationManager ticketSerializationManager,
-                                  final TicketCatalog ticketCatalog, final List<CosmosContainer> cosmosContainers) {
+                                  final TicketCatalog ticketCatalog, final List<CosmosContainer> cosmosContainers,
+                                  final CosmosDbTicketRegistryProperties properties) {
         super(cipherExecutor, ticketSerializationManager, ticketCatalog);
         this.cosmosContainers = cosmosContainers;
+        this.properties = properties;
     }
 
     @Override
@@ -60,32 +67,34 @@ public class CosmosDbTicketRegistry extends AbstractTicketRegistry {
             }
             val container = getTicketContainer(metadata);
             LOGGER.debug("Reading ticket with id [{}] from [{}]", encTicketId, container.getId());
-            val ticketHolder = container.readItem(encTicketId, new PartitionKey(metadata.getPrefix()), CosmosDbTicketDocument.class).getItem();
+            val ticketHolder = readTicketDocument(container, metadata, encTicketId);
+            if (ticketHolder == null) {
+                LOGGER.debug("Ticket id [{}] cannot be found", ticketId);
+                return null;
+            }
             val result = decodeTicket(ticketHolder.getTicket());
             return predicate != null && predicate.test(result) ? result : null;
         } catch (final NotFoundException e) {
             LOGGER.debug("Ticket id [{}] cannot be found", ticketId);
             return null;
-        } 
+        }
     }
 
     @Override
     public long deleteAll() {
-        val queryOptions = new CosmosQueryRequestOptions();
         return ticketCatalog.findAll()
             .stream()
-            .map(defn -> Pair.of(defn, getTicketContainer(defn)))
-            .mapToLong(pair -> {
-                val container = pair.getValue();
-                val items = container.queryItems("SELECT * FROM " + container.getId(), queryOptions, CosmosDbTicketDocument.class);
+            .map(this::getTicketContainer)
+            .mapToLong(container -> {
+                val items = container.queryItems("SELECT * FROM " + container.getId(), newQueryRequestOptions(), CosmosDbTicketDocument.class);
                 val queries = StreamSupport.stream(items.iterableByPage().spliterator(), false)
                     .map(response -> response.getResults()
                         .stream()
-                        .map(doc -> CosmosBulkOperations.getDeleteItemOperation(doc.getId(), new PartitionKey(pair.getKey().getPrefix())))
+                        .map(doc -> CosmosBulkOperations.getDeleteItemOperation(doc.getId(), new PartitionKey(doc.getPrefix())))
                         .collect(Collectors.toList()))
                     .flatMap(List::stream)
                     .toList();
-                return Iterables.size(pair.getValue().executeBulkOperations(queries));
+                return Iterables.size(container.executeBulkOperations(queries));
             })
             .sum();
     }
@@ -98,10 +107,7 @@ public class CosmosDbTicketRegistry extends AbstractTicketRegistry {
                 val container = getTicketContainer(defn);
                 return CompletableFuture.supplyAsync(() -> {
                     LOGGER.trace("Reading tickets in container [{}]", defn.getPrefix());
-                    return container
-                        .readAllItems(new PartitionKey(defn.getPrefix()), CosmosDbTicketDocument.class)
-                        .stream()
-                        .toList();
+                    return queryTicketDocuments(container).toList();
                 });
             }).toList();
         val allFutures = CompletableFuture.allOf(readOps.toArray(new CompletableFuture[0]));
@@ -114,6 +120,15 @@ public class CosmosDbTicketRegistry extends AbstractTicketRegistry {
         return FunctionUtils.doUnchecked(allCompletableFuture::get);
     }
 
+    @Override
+    public Stream<? extends Ticket> stream() {
+        return ticketCatalog.findAll()
+            .stream()
+            .map(this::getTicketContainer)
+            .flatMap(this::queryTicketDocuments)
+            .map(doc -> decodeTicket(doc.getTicket()));
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) throws Exception {
         return addTicket(ticket);
@@ -124,8 +139,17 @@ public class CosmosDbTicketRegistry extends AbstractTicketRegistry {
         val encTicketId = digestIdentifier(ticketToDelete.getId());
         val metadata = ticketCatalog.find(ticketToDelete);
         val container = getTicketContainer(metadata);
-        val result = container.deleteItem(encTicketId, new PartitionKey(metadata.getPrefix()), new CosmosItemRequestOptions());
-        return HttpStatus.valueOf(result.getStatusCode()).is2xxSuccessful() ? 1 : 0;
+        val partitionKey = getPartitionKey(metadata, encTicketId);
+        try {
+            val result = container.deleteItem(encTicketId, new PartitionKey(partitionKey), new CosmosItemRequestOptions());
+            return HttpStatus.valueOf(result.getStatusCode()).is2xxSuccessful() ? 1 : 0;
+        } catch (final NotFoundException e) {
+            if (isLegacyPartitionMigrationEnabled(metadata, partitionKey)) {
+                val result = container.deleteItem(encTicketId, new PartitionKey(metadata.getPrefix()), new CosmosItemRequestOptions());
+                return HttpStatus.valueOf(result.getStatusCode()).is2xxSuccessful() ? 1 : 0;
+            }
+            throw e;
+        }
     }
 
     @Override
@@ -144,7 +168,7 @@ public class CosmosDbTicketRegistry extends AbstractTicketRegistry {
             val ticketDefinition = ticketCatalog.find(ticket);
             val holder = getCosmosDbTicketDocument(ticket, ticketDefinition);
             val commands = (List<CosmosItemOperation>) operations.getOrDefault(ticketDefinition.getProperties().getStorageName(), new ArrayList<>());
-            commands.add(CosmosBulkOperations.getCreateItemOperation(holder, new PartitionKey(ticketDefinition.getPrefix())));
+            commands.add(CosmosBulkOperations.getCreateItemOperation(holder, new PartitionKey(holder.getPrefix())));
             operations.put(ticketDefinition.getProperties().getStorageName(), commands);
         }).toList();
         operations.forEach((key, value) -> {
@@ -169,11 +193,64 @@ public class CosmosDbTicketRegistry extends AbstractTicketRegistry {
                 .principal(digestIdentifier(getPrincipalIdFrom(ticket)))
                 .timeToLive(ttl)
                 .ticket(encTicket)
-                .prefix(metadata.getPrefix())
+                .prefix(getPartitionKey(metadata, encTicket.getId()))
                 .build();
         });
     }
 
+    /**
+     * Gets the partition key of a ticket document,
+     * derived from the ticket definition and the (encoded) ticket id.
+     *
+     * @param metadata    the metadata
+     * @param encTicketId the encoded ticket id
+     * @return the partition key
+     */
+    protected String getPartitionKey(final TicketDefinition metadata, final String encTicketId) {
+        if (properties.getPartitioningScheme() == CosmosDbTicketRegistryProperties.PartitioningSchemes.HASHED) {
+            val bucket = Math.floorMod(encTicketId.hashCode(), Math.max(1, properties.getPartitionBuckets()));
+            return metadata.getPrefix() + '-' + bucket;
+        }
+        return metadata.getPrefix();
+    }
+
+    private CosmosDbTicketDocument readTicketDocument(final CosmosContainer container, final TicketDefinition metadata,
+                                                      final String encTicketId) {
+        val partitionKey = getPartitionKey(metadata, encTicketId);
+        try {
+            return container.readItem(encTicketId, new PartitionKey(partitionKey), CosmosDbTicketDocument.class).getItem();
+        } catch (final NotFoundException e) {
+            if (isLegacyPartitionMigrationEnabled(metadata, partitionKey)) {
+                return migrateLegacyTicketDocument(container, metadata, encTicketId, partitionKey);
+            }
+            throw e;
+        }
+    }
+
+    private CosmosDbTicketDocument migrateLegacyTicketDocument(final CosmosContainer container, final TicketDefinition metadata,
+                                                               final String encTicketId, final String partitionKey) {
+        val legacyPartitionKey = new PartitionKey(metadata.getPrefix());
+        val document = container.readItem(encTicketId, legacyPartitionKey, CosmosDbTicketDocument.class).getItem();
+        LOGGER.debug("Moving ticket [{}] from legacy partition [{}] to [{}]", encTicketId, metadata.getPrefix(), partitionKey);
+        document.setPrefix(partitionKey);
+        container.upsertItem(document);
+        container.deleteItem(encTicketId, legacyPartitionKey, new CosmosItemRequestOptions());
+        return document;
+    }
+
+    private boolean isLegacyPartitionMigrationEnabled(final TicketDefinition metadata, final String partitionKey) {
+        return properties.isMigrateLegacyPartitions() && !metadata.getPrefix().equals(partitionKey);
+    }
+
+    private Stream<CosmosDbTicketDocument> queryTicketDocuments(final CosmosContainer container) {
+        LOGGER.trace("Querying tickets across all partitions of container [{}]", container.getId());
+        return container.queryItems("SELECT * FROM " + container.getId(), newQueryRequestOptions(), CosmosDbTicketDocument.class).stream();
+    }
+
+    private static CosmosQueryRequestOptions newQueryRequestOptions() {
+        return new CosmosQueryRequestOptions().setMaxDegreeOfParallelism(-1);
+    }
+
     private CosmosContainer getTicketContainer(final TicketDefinition metadata) {
         val mapName = metadata.getProperties().getStorageName();
         LOGGER.debug("Locating container [{}] for ticket definition [{}]", mapName, metadata);
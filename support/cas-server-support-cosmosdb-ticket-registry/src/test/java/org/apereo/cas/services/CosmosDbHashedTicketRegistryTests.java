@@ -0,0 +1,90 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.config.CasCosmosDbTicketRegistryAutoConfiguration;
+import org.apereo.cas.cosmosdb.CosmosDbObjectFactory;
+import org.apereo.cas.ticket.CosmosDbTicketDocument;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import org.apereo.cas.ticket.registry.BaseTicketRegistryTests;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.util.spring.ApplicationContextProvider;
+import com.azure.cosmos.models.CosmosItemRequestOptions;
+import com.azure.cosmos.models.CosmosQueryRequestOptions;
+import com.azure.cosmos.models.PartitionKey;
+import lombok.Getter;
+import lombok.val;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link CosmosDbHashedTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Tag("Azure")
+@Import(CasCosmosDbTicketRegistryAutoConfiguration.class)
+@TestPropertySource(properties = {
+    "cas.tgc.crypto.enabled=false",
+    "cas.http-client.host-name-verifier=none",
+    "cas.ticket.registry.cosmos-db.uri=${#environmentVariables['COSMOS_DB_URL']}",
+    "cas.ticket.registry.cosmos-db.key=${#environmentVariables['COSMOS_DB_KEY']}",
+    "cas.ticket.registry.cosmos-db.database=CasHashedTicketRegistryDb",
+    "cas.ticket.registry.cosmos-db.database-throughput=1000",
+    "cas.ticket.registry.cosmos-db.max-retry-attempts-on-throttled-requests=5",
+    "cas.ticket.registry.cosmos-db.indexing-mode=CONSISTENT",
+    "cas.ticket.registry.cosmos-db.partitioning-scheme=HASHED",
+    "cas.ticket.registry.cosmos-db.partition-buckets=8",
+    "cas.ticket.registry.cosmos-db.migrate-legacy-partitions=true"
+})
+@ResourceLock("cosmosdb-tickets")
+@Getter
+@EnabledIfEnvironmentVariable(named = "COSMOS_DB_URL", matches = ".+")
+@EnabledIfEnvironmentVariable(named = "COSMOS_DB_KEY", matches = ".+")
+class CosmosDbHashedTicketRegistryTests extends BaseTicketRegistryTests {
+    @Autowired
+    @Qualifier(TicketRegistry.BEAN_NAME)
+    private TicketRegistry newTicketRegistry;
+
+    @Autowired
+    @Qualifier("cosmosDbTicketRegistryObjectFactory")
+    private CosmosDbObjectFactory cosmosDbTicketRegistryObjectFactory;
+
+    @RepeatedTest(1)
+    void verifyTicketMovedFromLegacyPartition() throws Throwable {
+        newTicketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE));
+
+        val definition = ticketCatalog.find(ticketGrantingTicketId);
+        val container = cosmosDbTicketRegistryObjectFactory.getContainer(definition.getProperties().getStorageName());
+        val document = container.queryItems("SELECT * FROM c WHERE c.id = '%s'".formatted(ticketGrantingTicketId),
+            new CosmosQueryRequestOptions(), CosmosDbTicketDocument.class).stream().findFirst().orElseThrow();
+        val hashedPartition = document.getPrefix();
+        assertNotEquals(TicketGrantingTicket.PREFIX, hashedPartition);
+        assertTrue(hashedPartition.startsWith(TicketGrantingTicket.PREFIX + '-'));
+
+        container.deleteItem(ticketGrantingTicketId, new PartitionKey(hashedPartition), new CosmosItemRequestOptions());
+        document.setPrefix(TicketGrantingTicket.PREFIX);
+        container.upsertItem(document);
+
+        assertNotNull(newTicketRegistry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class));
+        val migrated = container.readItem(ticketGrantingTicketId, new PartitionKey(hashedPartition), CosmosDbTicketDocument.class).getItem();
+        assertEquals(hashedPartition, migrated.getPrefix());
+    }
+
+    @AfterAll
+    public static void shutdown() {
+        val factory = ApplicationContextProvider.getApplicationContext().getBean(CosmosDbObjectFactory.class);
+        factory.dropDatabase();
+    }
+}
@@ -0,0 +1,113 @@
+package org.apereo.cas.dynamodb;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
+import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndex;
+import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
+import software.amazon.awssdk.services.dynamodb.model.KeyType;
+import software.amazon.awssdk.services.dynamodb.model.Projection;
+import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughput;
+import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This is {@link DynamoDbGlobalSecondaryIndex}. It declares a global secondary index
+ * that is created along with its table, and that lookups may use to query records
+ * by the index keys instead of scanning the table. A definition without an index name
+ * describes the primary key of the table itself, so lookups by the table key
+ * are also turned into queries.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Getter
+@SuperBuilder
+@ToString
+public class DynamoDbGlobalSecondaryIndex {
+    private final String indexName;
+
+    private final String partitionKey;
+
+    @Builder.Default
+    private final ScalarAttributeType partitionKeyType = ScalarAttributeType.S;
+
+    private final String sortKey;
+
+    @Builder.Default
+    private final ScalarAttributeType sortKeyType = ScalarAttributeType.S;
+
+    @Builder.Default
+    private final ProjectionType projectionType = ProjectionType.ALL;
+
+    /**
+     * Describe the primary key of the table.
+     *
+     * @param partitionKey     the partition key
+     * @param partitionKeyType the partition key type
+     * @return the definition
+     */
+    public static DynamoDbGlobalSecondaryIndex tableKey(final String partitionKey,
+                                                        final ScalarAttributeType partitionKeyType) {
+        return builder().partitionKey(partitionKey).partitionKeyType(partitionKeyType).build();
+    }
+
+    /**
+     * Whether this definition describes the primary key of the table.
+     *
+     * @return true/false
+     */
+    public boolean isTableKey() {
+        return StringUtils.isBlank(indexName);
+    }
+
+    /**
+     * Attribute definitions for the index keys.
+     *
+     * @return the attribute definitions
+     */
+    public List<AttributeDefinition> toAttributeDefinitions() {
+        val definitions = new ArrayList<AttributeDefinition>(2);
+        definitions.add(AttributeDefinition.builder().attributeName(partitionKey).attributeType(partitionKeyType).build());
+        if (StringUtils.isNotBlank(sortKey)) {
+            definitions.add(AttributeDefinition.builder().attributeName(sortKey).attributeType(sortKeyType).build());
+        }
+        return definitions;
+    }
+
+    /**
+     * Key schema of the index.
+     *
+     * @return the key schema
+     */
+    public List<KeySchemaElement> toKeySchema() {
+        val schema = new ArrayList<KeySchemaElement>(2);
+        schema.add(KeySchemaElement.builder().attributeName(partitionKey).keyType(KeyType.HASH).build());
+        if (StringUtils.isNotBlank(sortKey)) {
+            schema.add(KeySchemaElement.builder().attributeName(sortKey).keyType(KeyType.RANGE).build());
+        }
+        return schema;
+    }
+
+    /**
+     * Build the global secondary index.
+     *
+     * @param throughput the provisioned throughput, if any
+     * @return the global secondary index
+     */
+    public GlobalSecondaryIndex toGlobalSecondaryIndex(final ProvisionedThroughput throughput) {
+        return GlobalSecondaryIndex.builder()
+            .indexName(indexName)
+            .keySchema(toKeySchema())
+            .projection(Projection.builder().projectionType(projectionType).build())
+            .provisionedThroughput(throughput)
+            .build();
+    }
+}
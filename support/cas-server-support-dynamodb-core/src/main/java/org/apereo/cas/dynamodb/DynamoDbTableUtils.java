@@ -1,38 +1,56 @@
 package org.apereo.cas.dynamodb;
 
 import org.apereo.cas.configuration.model.support.dynamodb.AbstractDynamoDbProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.util.LoggingUtils;
 import org.apereo.cas.util.function.FunctionUtils;
 
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.BillingMode;
+import software.amazon.awssdk.services.dynamodb.model.ComparisonOperator;
 import software.amazon.awssdk.services.dynamodb.model.Condition;
+import software.amazon.awssdk.services.dynamodb.model.CreateGlobalSecondaryIndexAction;
 import software.amazon.awssdk.services.dynamodb.model.CreateTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DeleteTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndexDescription;
+import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndexUpdate;
+import software.amazon.awssdk.services.dynamodb.model.IndexStatus;
 import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
 import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughput;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
 import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
 import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.Select;
 import software.amazon.awssdk.services.dynamodb.model.TableDescription;
 import software.amazon.awssdk.services.dynamodb.model.TableStatus;
 import software.amazon.awssdk.services.dynamodb.model.TimeToLiveSpecification;
+import software.amazon.awssdk.services.dynamodb.model.UpdateTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.UpdateTimeToLiveRequest;
 
 import java.io.Serial;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -48,6 +66,10 @@ public class DynamoDbTableUtils {
 
     private static final int DEFAULT_WAIT_INTERVAL = 10 * 1000;
 
+    private static final Set<ComparisonOperator> KEY_CONDITION_OPERATORS = EnumSet.of(ComparisonOperator.EQ,
+        ComparisonOperator.LE, ComparisonOperator.LT, ComparisonOperator.GE, ComparisonOperator.GT,
+        ComparisonOperator.BEGINS_WITH, ComparisonOperator.BETWEEN);
+
     /**
      * Wait until active.
      *
@@ -129,15 +151,47 @@ public class DynamoDbTableUtils {
                                                final boolean deleteTable,
                                                final List<AttributeDefinition> attributeDefinitions,
                                                final List<KeySchemaElement> keySchemaElements) throws Exception {
+        return createTable(dynamoDbClient, dynamoDbProperties, tableName, deleteTable,
+            attributeDefinitions, keySchemaElements, List.of());
+    }
+
+    /**
+     * Create table along with its global secondary indexes. Indexes that are missing
+     * from a table that already exists are added to the table; the wait for such indexes
+     * to become active is bounded by the configured index creation timeout.
+     *
+     * @param dynamoDbClient       the dynamo db client
+     * @param dynamoDbProperties   the dynamo db properties
+     * @param tableName            the table name
+     * @param deleteTable          the delete tables
+     * @param attributeDefinitions the attribute definitions
+     * @param keySchemaElements    the key schema elements
+     * @param indexes              the global secondary indexes
+     * @return the table description
+     * @throws Exception the exception
+     */
+    public static TableDescription createTable(final DynamoDbClient dynamoDbClient,
+                                               final AbstractDynamoDbProperties dynamoDbProperties,
+                                               final String tableName,
+                                               final boolean deleteTable,
+                                               final List<AttributeDefinition> attributeDefinitions,
+                                               final List<KeySchemaElement> keySchemaElements,
+                                               final List<DynamoDbGlobalSecondaryIndex> indexes) throws Exception {
 
         val billingMode = BillingMode.fromValue(dynamoDbProperties.getBillingMode().name());
         val throughput = billingMode == BillingMode.PROVISIONED ? ProvisionedThroughput.builder()
             .readCapacityUnits(dynamoDbProperties.getReadCapacity())
             .writeCapacityUnits(dynamoDbProperties.getWriteCapacity())
             .build() : null;
+        val globalSecondaryIndexes = indexes
+            .stream()
+            .filter(index -> !index.isTableKey())
+            .map(index -> index.toGlobalSecondaryIndex(throughput))
+            .toList();
         val request = CreateTableRequest.builder()
-            .attributeDefinitions(attributeDefinitions)
+            .attributeDefinitions(mergeAttributeDefinitions(attributeDefinitions, indexes))
             .keySchema(keySchemaElements)
+            .globalSecondaryIndexes(globalSecondaryIndexes.isEmpty() ? null : globalSecondaryIndexes)
             .provisionedThroughput(throughput)
             .tableName(tableName)
             .billingMode(billingMode)
@@ -156,7 +210,8 @@ public class DynamoDbTableUtils {
         LOGGER.debug("Sending request [{}] to obtain table description...", describeTableRequest);
         val tableDescription = dynamoDbClient.describeTable(describeTableRequest).table();
         LOGGER.debug("Located newly created table with description: [{}]", tableDescription);
-        return tableDescription;
+        val indexCreationTimeout = Beans.newDuration(dynamoDbProperties.getIndexCreationTimeout());
+        return createMissingGlobalSecondaryIndexes(dynamoDbClient, tableDescription, indexes, throughput, indexCreationTimeout);
     }
 
     /**
@@ -270,6 +325,237 @@ public class DynamoDbTableUtils {
         return items.stream().map(itemMapper);
     }
 
+    /**
+     * Gets records by keys, using a query against the table key or one of the given indexes
+     * whose partition key is matched for equality by the queries. Remaining queries are applied
+     * as filters on the query results. The table is only scanned when no index can serve the queries.
+     *
+     * @param <T>            the type parameter
+     * @param dynamoDbClient the dynamo db client
+     * @param tableName      the table name
+     * @param indexes        the indexes
+     * @param queries        the queries
+     * @param itemMapper     the item mapper
+     * @return the records by keys
+     */
+    public static <T> Stream<T> getRecordsByKeys(final DynamoDbClient dynamoDbClient,
+                                                 final String tableName,
+                                                 final List<DynamoDbGlobalSecondaryIndex> indexes,
+                                                 final List<? extends DynamoDbQueryBuilder> queries,
+                                                 final Function<Map<String, AttributeValue>, T> itemMapper) {
+        return buildQueryRequest(tableName, indexes, queries, Select.ALL_ATTRIBUTES)
+            .map(request -> FunctionUtils.doAndHandle(() -> {
+                LOGGER.debug("Submitting query request [{}] to get records with keys [{}]", request, queries);
+                return dynamoDbClient.queryPaginator(request)
+                    .items()
+                    .stream()
+                    .map(itemMapper)
+                    .filter(Objects::nonNull)
+                    .toList()
+                    .stream();
+            }, e -> {
+                LOGGER.warn("Unable to query table [{}] with index [{}]: [{}]", tableName, request.indexName(), e.getMessage());
+                return getRecordsByKeys(dynamoDbClient, tableName, queries, itemMapper);
+            }).get())
+            .orElseGet(() -> scanPaginator(dynamoDbClient, tableName, List.copyOf(queries), itemMapper));
+    }
+
+    /**
+     * Count records by keys, using a query against the table key or one of the given indexes
+     * whose partition key is matched for equality by the queries. Only the count is returned
+     * by the query, so the cost is bound to the size of the index entries that match.
+     *
+     * @param dynamoDbClient the dynamo db client
+     * @param tableName      the table name
+     * @param indexes        the indexes
+     * @param queries        the queries
+     * @return the count
+     */
+    public static long countRecordsByKeys(final DynamoDbClient dynamoDbClient,
+                                          final String tableName,
+                                          final List<DynamoDbGlobalSecondaryIndex> indexes,
+                                          final List<? extends DynamoDbQueryBuilder> queries) {
+        return buildQueryRequest(tableName, indexes, queries, Select.COUNT)
+            .map(request -> FunctionUtils.doAndHandle(() -> {
+                LOGGER.debug("Submitting query request [{}] to count records with keys [{}]", request, queries);
+                return dynamoDbClient.queryPaginator(request)
+                    .stream()
+                    .mapToLong(QueryResponse::count)
+                    .sum();
+            }, e -> {
+                LOGGER.warn("Unable to query table [{}] with index [{}]: [{}]", tableName, request.indexName(), e.getMessage());
+                return (long) scan(dynamoDbClient, tableName, queries).count();
+            }).get())
+            .orElseGet(() -> {
+                val scanRequest = ScanRequest.builder()
+                    .tableName(tableName)
+                    .scanFilter(buildRequestQueryFilter(queries))
+                    .select(Select.COUNT)
+                    .build();
+                return dynamoDbClient.scanPaginator(scanRequest)
+                    .stream()
+                    .mapToLong(ScanResponse::count)
+                    .sum();
+            });
+    }
+
+    /**
+     * Build a query request that is served by the table key or one of the indexes, if any.
+     *
+     * @param tableName the table name
+     * @param indexes   the indexes
+     * @param queries   the queries
+     * @param select    the attributes to select
+     * @return the query request
+     */
+    public static Optional<QueryRequest> buildQueryRequest(final String tableName,
+                                                           final List<DynamoDbGlobalSecondaryIndex> indexes,
+                                                           final List<? extends DynamoDbQueryBuilder> queries,
+                                                           final Select select) {
+        for (val index : indexes) {
+            val partitionQuery = queries
+                .stream()
+                .filter(query -> query.getKey().equals(index.getPartitionKey())
+                    && query.getOperator() == ComparisonOperator.EQ
+                    && query.getAttributeValue() != null
+                    && query.getAttributeValue().size() == 1)
+                .findFirst();
+            if (partitionQuery.isPresent()) {
+                val keyQueries = new ArrayList<DynamoDbQueryBuilder>();
+                keyQueries.add(partitionQuery.get());
+                queries
+                    .stream()
+                    .filter(query -> query != partitionQuery.get())
+                    .filter(query -> StringUtils.isNotBlank(index.getSortKey()) && query.getKey().equals(index.getSortKey()))
+                    .filter(query -> KEY_CONDITION_OPERATORS.contains(query.getOperator()))
+                    .findFirst()
+                    .ifPresent(keyQueries::add);
+                val filterQueries = queries.stream().filter(query -> !keyQueries.contains(query)).toList();
+                val keyAttributes = index.toKeySchema().stream().map(KeySchemaElement::attributeName).toList();
+                if (filterQueries.stream().noneMatch(query -> keyAttributes.contains(query.getKey()))) {
+                    val request = QueryRequest.builder()
+                        .tableName(tableName)
+                        .indexName(index.isTableKey() ? null : index.getIndexName())
+                        .keyConditions(buildRequestQueryFilter(keyQueries))
+                        .queryFilter(filterQueries.isEmpty() ? null : buildRequestQueryFilter(filterQueries))
+                        .select(select)
+                        .build();
+                    return Optional.of(request);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Scan the entire table in parallel segments and stream the results.
+     * This is only meant for full exports of the table; lookups should go
+     * through {@link #getRecordsByKeys(DynamoDbClient, String, List, List, Function)}.
+     *
+     * @param <T>            the type parameter
+     * @param dynamoDbClient the dynamo db client
+     * @param tableName      the table name
+     * @param totalSegments  the total segments
+     * @param keys           the keys
+     * @param itemMapper     the item mapper
+     * @return the stream
+     */
+    public static <T> Stream<T> scanParallel(final DynamoDbClient dynamoDbClient,
+                                             final String tableName,
+                                             final int totalSegments,
+                                             final List<? extends DynamoDbQueryBuilder> keys,
+                                             final Function<Map<String, AttributeValue>, T> itemMapper) {
+        val segments = Math.max(1, totalSegments);
+        return IntStream.range(0, segments)
+            .parallel()
+            .boxed()
+            .flatMap(segment -> {
+                val scanRequest = ScanRequest.builder()
+                    .tableName(tableName)
+                    .segment(segment)
+                    .totalSegments(segments)
+                    .scanFilter(keys.isEmpty() ? null : buildRequestQueryFilter(keys))
+                    .build();
+                LOGGER.trace("Scanning segment [{}] of table [{}] with request [{}]", segment, tableName, scanRequest);
+                return dynamoDbClient.scanPaginator(scanRequest).items().stream();
+            })
+            .map(itemMapper)
+            .filter(Objects::nonNull);
+    }
+
+    private static List<AttributeDefinition> mergeAttributeDefinitions(final List<AttributeDefinition> attributeDefinitions,
+                                                                       final List<DynamoDbGlobalSecondaryIndex> indexes) {
+        val definitions = new LinkedHashMap<String, AttributeDefinition>();
+        attributeDefinitions.forEach(definition -> definitions.put(definition.attributeName(), definition));
+        indexes.stream()
+            .flatMap(index -> index.toAttributeDefinitions().stream())
+            .forEach(definition -> definitions.putIfAbsent(definition.attributeName(), definition));
+        return new ArrayList<>(definitions.values());
+    }
+
+    private static TableDescription createMissingGlobalSecondaryIndexes(final DynamoDbClient dynamoDbClient,
+                                                                        final TableDescription tableDescription,
+                                                                        final List<DynamoDbGlobalSecondaryIndex> indexes,
+                                                                        final ProvisionedThroughput throughput,
+                                                                        final Duration timeout) throws Exception {
+        val existingIndexes = tableDescription.hasGlobalSecondaryIndexes()
+            ? tableDescription.globalSecondaryIndexes().stream().map(GlobalSecondaryIndexDescription::indexName).toList()
+            : List.<String>of();
+        val createdIndexes = new ArrayList<String>();
+        for (val index : indexes) {
+            if (!index.isTableKey() && !existingIndexes.contains(index.getIndexName())) {
+                val globalSecondaryIndex = index.toGlobalSecondaryIndex(throughput);
+                val update = UpdateTableRequest.builder()
+                    .tableName(tableDescription.tableName())
+                    .attributeDefinitions(index.toAttributeDefinitions())
+                    .globalSecondaryIndexUpdates(GlobalSecondaryIndexUpdate.builder()
+                        .create(CreateGlobalSecondaryIndexAction.builder()
+                            .indexName(globalSecondaryIndex.indexName())
+                            .keySchema(globalSecondaryIndex.keySchema())
+                            .projection(globalSecondaryIndex.projection())
+                            .provisionedThroughput(globalSecondaryIndex.provisionedThroughput())
+                            .build())
+                        .build())
+                    .build();
+                LOGGER.info("Creating global secondary index [{}] for table [{}]", index.getIndexName(), tableDescription.tableName());
+                dynamoDbClient.updateTable(update);
+                createdIndexes.add(index.getIndexName());
+            }
+        }
+        return createdIndexes.isEmpty()
+            ? tableDescription
+            : waitUntilIndexesAreActive(dynamoDbClient, tableDescription.tableName(), createdIndexes, timeout);
+    }
+
+    private static TableDescription waitUntilIndexesAreActive(final DynamoDbClient dynamoDbClient,
+                                                              final String tableName,
+                                                              final List<String> indexNames,
+                                                              final Duration timeout) throws Exception {
+        val endTime = System.currentTimeMillis() + timeout.toMillis();
+        val interval = Math.min(DEFAULT_WAIT_INTERVAL, Math.max(timeout.toMillis(), 1));
+        val tableRequest = DescribeTableRequest.builder().tableName(tableName).build();
+        while (true) {
+            val table = dynamoDbClient.describeTable(tableRequest).table();
+            val activeIndexes = table.hasGlobalSecondaryIndexes()
+                ? table.globalSecondaryIndexes()
+                    .stream()
+                    .filter(index -> index.indexStatus() == IndexStatus.ACTIVE)
+                    .map(GlobalSecondaryIndexDescription::indexName)
+                    .toList()
+                : List.<String>of();
+            if (activeIndexes.containsAll(indexNames)) {
+                return table;
+            }
+            if (System.currentTimeMillis() >= endTime) {
+                LOGGER.warn("Global secondary indexes [{}] of table [{}] are not active yet and continue to be built in the background. "
+                            + "Lookups fall back to scanning the table until the indexes become active.", indexNames, tableName);
+                return table;
+            }
+            LOGGER.debug("Waiting for global secondary indexes [{}] of table [{}] to become active", indexNames, tableName);
+            Thread.sleep(interval);
+        }
+    }
+
     private static TableDescription waitForTableDescription(final DynamoDbClient dynamo,
                                                             final String tableName,
                                                             final TableStatus desiredStatus,
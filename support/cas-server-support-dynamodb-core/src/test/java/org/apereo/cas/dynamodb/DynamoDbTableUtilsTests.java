@@ -2,23 +2,31 @@ package org.apereo.cas.dynamodb;
 
 import org.apereo.cas.configuration.model.support.dynamodb.AbstractDynamoDbProperties;
 import lombok.val;
+import org.apache.commons.lang3.time.StopWatch;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatcher;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.BillingMode;
+import software.amazon.awssdk.services.dynamodb.model.ComparisonOperator;
 import software.amazon.awssdk.services.dynamodb.model.CreateTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.CreateTableResponse;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableResponse;
+import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndexDescription;
+import software.amazon.awssdk.services.dynamodb.model.IndexStatus;
 import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
 import software.amazon.awssdk.services.dynamodb.model.KeyType;
 import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
+import software.amazon.awssdk.services.dynamodb.model.Select;
 import software.amazon.awssdk.services.dynamodb.model.TableDescription;
 import software.amazon.awssdk.services.dynamodb.model.TableStatus;
+import software.amazon.awssdk.services.dynamodb.model.UpdateTableRequest;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -116,6 +124,101 @@ class DynamoDbTableUtilsTests {
         verify(client).createTable(argThat(createTableArgMatcher));
     }
 
+    @Test
+    void verifyCreateTableWithGlobalSecondaryIndexes() throws Throwable {
+        val client = mock(DynamoDbClient.class);
+        val createTableArgMatcher = new CreateTableRequestArgumentMatcher();
+        expectCreateTable(client, createTableArgMatcher);
+
+        val props = new MinimalTestDynamoDbProperties()
+            .setBillingMode(AbstractDynamoDbProperties.BillingMode.PAY_PER_REQUEST)
+            .setIndexCreationTimeout("PT0S");
+        val index = DynamoDbGlobalSecondaryIndex.builder()
+            .indexName("principalIndex")
+            .partitionKey("principal")
+            .sortKey("creationTime")
+            .build();
+        DynamoDbTableUtils.createTable(client, props, "test-table", false,
+            List.of(AttributeDefinition.builder().attributeName("id").attributeType(ScalarAttributeType.S).build()),
+            List.of(KeySchemaElement.builder().attributeName("id").keyType(KeyType.HASH).build()),
+            List.of(DynamoDbGlobalSecondaryIndex.tableKey("id", ScalarAttributeType.S), index));
+
+        verify(client).createTable(argThat((CreateTableRequest request) ->
+            request.attributeDefinitions().size() == 3
+            && request.globalSecondaryIndexes().size() == 1
+            && request.globalSecondaryIndexes().getFirst().indexName().equals("principalIndex")
+            && request.globalSecondaryIndexes().getFirst().keySchema().size() == 2));
+    }
+
+    @Test
+    void verifyIndexCreationWaitIsBounded() throws Throwable {
+        val client = mock(DynamoDbClient.class);
+        when(client.createTable(any(CreateTableRequest.class))).thenReturn(CreateTableResponse.builder().build());
+        val creating = TableDescription.builder()
+            .tableName("test-table")
+            .tableStatus(TableStatus.ACTIVE)
+            .globalSecondaryIndexes(GlobalSecondaryIndexDescription.builder()
+                .indexName("serviceIndex").indexStatus(IndexStatus.ACTIVE).build())
+            .build();
+        when(client.describeTable(any(DescribeTableRequest.class)))
+            .thenReturn(DescribeTableResponse.builder().table(creating).build());
+
+        val props = new MinimalTestDynamoDbProperties()
+            .setBillingMode(AbstractDynamoDbProperties.BillingMode.PAY_PER_REQUEST)
+            .setIndexCreationTimeout("PT0.2S");
+        val indexes = List.of(
+            DynamoDbGlobalSecondaryIndex.tableKey("id", ScalarAttributeType.S),
+            DynamoDbGlobalSecondaryIndex.builder().indexName("serviceIndex").partitionKey("service").build(),
+            DynamoDbGlobalSecondaryIndex.builder().indexName("principalIndex").partitionKey("principal").build());
+        val stopwatch = new StopWatch();
+        stopwatch.start();
+        val description = DynamoDbTableUtils.createTable(client, props, "test-table", false,
+            List.of(AttributeDefinition.builder().attributeName("id").attributeType(ScalarAttributeType.S).build()),
+            List.of(KeySchemaElement.builder().attributeName("id").keyType(KeyType.HASH).build()), indexes);
+        stopwatch.stop();
+        assertNotNull(description);
+        assertTrue(stopwatch.getTime(TimeUnit.SECONDS) < 5);
+        verify(client).updateTable(argThat((UpdateTableRequest request) ->
+            request.globalSecondaryIndexUpdates().getFirst().create().indexName().equals("principalIndex")));
+    }
+
+    @Test
+    void verifyQueryRequestUsesIndexes() {
+        val indexes = List.of(
+            DynamoDbGlobalSecondaryIndex.tableKey("id", ScalarAttributeType.S),
+            DynamoDbGlobalSecondaryIndex.builder()
+                .indexName("principalIndex")
+                .partitionKey("principal")
+                .sortKey("creationTime")
+                .build());
+        val byId = DynamoDbTableUtils.buildQueryRequest("test-table", indexes,
+            List.of(newQuery("id", ComparisonOperator.EQ, "1")), Select.ALL_ATTRIBUTES).orElseThrow();
+        assertNull(byId.indexName());
+        assertTrue(byId.keyConditions().containsKey("id"));
+
+        val byPrincipal = DynamoDbTableUtils.buildQueryRequest("test-table", indexes,
+            List.of(newQuery("type", ComparisonOperator.EQ, "event"),
+                newQuery("creationTime", ComparisonOperator.GE, "2024"),
+                newQuery("principal", ComparisonOperator.EQ, "casuser")), Select.COUNT).orElseThrow();
+        assertEquals("principalIndex", byPrincipal.indexName());
+        assertEquals(2, byPrincipal.keyConditions().size());
+        assertEquals(1, byPrincipal.queryFilter().size());
+        assertTrue(byPrincipal.queryFilter().containsKey("type"));
+        assertEquals(Select.COUNT, byPrincipal.select());
+
+        assertTrue(DynamoDbTableUtils.buildQueryRequest("test-table", indexes,
+            List.of(newQuery("principal", ComparisonOperator.GE, "casuser")), Select.ALL_ATTRIBUTES).isEmpty());
+        assertTrue(DynamoDbTableUtils.buildQueryRequest("test-table", indexes, List.of(), Select.ALL_ATTRIBUTES).isEmpty());
+    }
+
+    private static DynamoDbQueryBuilder newQuery(final String key, final ComparisonOperator operator, final String value) {
+        return DynamoDbQueryBuilder.builder()
+            .key(key)
+            .operator(operator)
+            .attributeValue(List.of(AttributeValue.builder().s(value).build()))
+            .build();
+    }
+
     @SuppressWarnings("serial")
     static class MinimalTestDynamoDbProperties extends AbstractDynamoDbProperties {
 
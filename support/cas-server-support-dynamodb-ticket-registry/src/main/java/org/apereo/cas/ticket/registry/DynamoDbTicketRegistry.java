@@ -20,6 +20,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -102,6 +103,42 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
         return initialList;
     }
 
+    /**
+     * Tickets to add and update, along with tickets to delete that have no children,
+     * are written in as few transactions as possible. Ticket-granting tickets are deleted
+     * separately, so their children are deleted as well.
+     */
+    @Override
+    public Map<String, Ticket> commit(final TicketRegistryUnitOfWork unitOfWork) throws Exception {
+        val addedTickets = new LinkedHashMap<String, Ticket>();
+        val toSave = new ArrayList<DynamoDbTicketRegistryFacilitator.TicketPayload>();
+        for (val ticket : unitOfWork.getTicketsToAdd()) {
+            if (!ticket.isExpired()) {
+                toSave.add(toTicketPayload(ticket));
+                addedTickets.put(ticket.getId(), ticket);
+            }
+        }
+        for (val ticket : unitOfWork.getTicketsToUpdate()) {
+            if (!ticket.isExpired()) {
+                toSave.add(toTicketPayload(ticket));
+            }
+        }
+        val toDelete = new LinkedHashMap<Ticket, String>();
+        val ticketGrantingTickets = new ArrayList<Ticket>();
+        unitOfWork.getTicketsToDelete().forEach(ticket -> {
+            if (ticket instanceof TicketGrantingTicket) {
+                ticketGrantingTickets.add(ticket);
+            } else {
+                toDelete.put(ticket, digestIdentifier(ticket.getId()));
+            }
+        });
+        dbTableService.write(toSave, toDelete);
+        for (val ticket : ticketGrantingTickets) {
+            deleteTicket(ticket);
+        }
+        return addedTickets;
+    }
+
     @Override
     public Ticket addSingleTicket(final Ticket ticket) {
         FunctionUtils.doAndHandle(__ -> {
@@ -154,6 +191,12 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
         return dbTableService.delete(ticketToDelete.getId(), ticketId) ? 1 : 0;
     }
 
+    @Override
+    protected Ticket consumeSingleTicket(final String ticketId) {
+        val encTicketId = digestIdentifier(ticketId);
+        return StringUtils.isBlank(encTicketId) ? null : decodeTicket(dbTableService.consume(ticketId, encTicketId));
+    }
+
     @Override
     public long sessionCount() {
         return dbTableService.countTickets(TicketGrantingTicket.class, TicketGrantingTicket.PREFIX);
@@ -2,6 +2,7 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.configuration.model.support.dynamodb.DynamoDbTicketRegistryProperties;
+import org.apereo.cas.dynamodb.DynamoDbGlobalSecondaryIndex;
 import org.apereo.cas.dynamodb.DynamoDbQueryBuilder;
 import org.apereo.cas.dynamodb.DynamoDbTableUtils;
 import org.apereo.cas.ticket.Ticket;
@@ -17,6 +18,7 @@ import lombok.experimental.SuperBuilder;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.jooq.lambda.Unchecked;
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
@@ -24,14 +26,19 @@ import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.ComparisonOperator;
+import software.amazon.awssdk.services.dynamodb.model.Delete;
 import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
 import software.amazon.awssdk.services.dynamodb.model.KeyType;
+import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
+import software.amazon.awssdk.services.dynamodb.model.Put;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
 import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
-import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
 import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
 import java.nio.ByteBuffer;
 import java.time.chrono.ChronoZonedDateTime;
@@ -42,7 +49,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -59,6 +65,26 @@ import java.util.stream.Stream;
 public class DynamoDbTicketRegistryFacilitator {
     private static final int BATCH_PUT_REQUEST_LIMIT = 25;
 
+    private static final int TRANSACT_WRITE_REQUEST_LIMIT = 100;
+
+    private static final int STREAM_SCAN_SEGMENTS = 4;
+
+    private static final DynamoDbGlobalSecondaryIndex PRINCIPAL_INDEX = DynamoDbGlobalSecondaryIndex.builder()
+        .indexName("principalIndex")
+        .partitionKey(ColumnNames.PRINCIPAL.getColumnName())
+        .build();
+
+    private static final DynamoDbGlobalSecondaryIndex SERVICE_INDEX = DynamoDbGlobalSecondaryIndex.builder()
+        .indexName("serviceIndex")
+        .partitionKey(ColumnNames.SERVICE.getColumnName())
+        .build();
+
+    private static final DynamoDbGlobalSecondaryIndex PREFIX_INDEX = DynamoDbGlobalSecondaryIndex.builder()
+        .indexName("prefixIndex")
+        .partitionKey(ColumnNames.PREFIX.getColumnName())
+        .projectionType(ProjectionType.KEYS_ONLY)
+        .build();
+
     private final TicketCatalog ticketCatalog;
 
     private final DynamoDbTicketRegistryProperties dynamoDbProperties;
@@ -96,19 +122,42 @@ public class DynamoDbTicketRegistryFacilitator {
         return false;
     }
 
+    /**
+     * Delete the ticket and return the item as it was before removal,
+     * in a single request.
+     *
+     * @param ticketId        the ticket id
+     * @param encodedTicketId the encoded ticket id
+     * @return the ticket, or null
+     */
+    public Ticket consume(final String ticketId, final String encodedTicketId) {
+        val metadata = this.ticketCatalog.find(ticketId);
+        if (metadata != null) {
+            val del = DeleteItemRequest.builder().tableName(metadata.getProperties().getStorageName())
+                .key(CollectionUtils.wrap(ColumnNames.ID.getColumnName(), AttributeValue.builder().s(encodedTicketId).build()))
+                .returnValues(ReturnValue.ALL_OLD)
+                .build();
+            LOGGER.debug("Submitting delete request [{}] to consume ticket [{}]", del, ticketId);
+            val returnItem = amazonDynamoDBClient.deleteItem(del).attributes();
+            if (returnItem != null && !returnItem.isEmpty()) {
+                return deserializeTicket(returnItem);
+            }
+        } else {
+            LOGGER.warn("No ticket definition could be found in the catalog to match [{}]", ticketId);
+        }
+        return null;
+    }
+
     /**
      * Delete all.
      *
-     * @return the int
+     * @return the count of deleted tickets
      */
-    public int deleteAll() {
-        val count = new AtomicInteger();
+    public long deleteAll() {
+        val count = new AtomicLong();
         val metadata = this.ticketCatalog.findAll();
-        metadata.forEach(r -> {
-            val scan = ScanRequest.builder().tableName(r.getProperties().getStorageName()).build();
-            LOGGER.debug("Submitting scan request [{}] to table [{}]", scan, r.getProperties().getStorageName());
-            count.addAndGet(this.amazonDynamoDBClient.scan(scan).count());
-        });
+        metadata.forEach(r -> count.addAndGet(DynamoDbTableUtils.countRecordsByKeys(amazonDynamoDBClient,
+            r.getProperties().getStorageName(), List.of(), List.of())));
         createTicketTables(true);
         return count.get();
     }
@@ -129,8 +178,8 @@ public class DynamoDbTicketRegistryFacilitator {
                         .attributeValue(List.of(AttributeValue.builder().s(defn.getPrefix()).build()))
                         .operator(ComparisonOperator.EQ)
                         .build());
-                return DynamoDbTableUtils.scanPaginator(amazonDynamoDBClient, defn.getProperties().getStorageName(),
-                    keys, DynamoDbTicketRegistryFacilitator::deserializeTicket);
+                return DynamoDbTableUtils.scanParallel(amazonDynamoDBClient, defn.getProperties().getStorageName(),
+                    STREAM_SCAN_SEGMENTS, keys, DynamoDbTicketRegistryFacilitator::deserializeTicket);
             })
             .toList();
         return Streams.concat(resultStreams.toArray(new Stream[]{}));
@@ -163,18 +212,11 @@ public class DynamoDbTicketRegistryFacilitator {
     public Collection<Ticket> getAll() {
         val metadata = ticketCatalog.findAll();
         val tickets = new ArrayList<Ticket>(metadata.size());
-        metadata.forEach(r -> {
-            val scan = ScanRequest.builder().tableName(r.getProperties().getStorageName()).build();
-            LOGGER.debug("Scanning table with request [{}]", scan);
-            val result = this.amazonDynamoDBClient.scan(scan);
-            LOGGER.debug("Scanned table with result [{}]", scan);
-            tickets.addAll(result.items()
-                .stream()
-                .map(DynamoDbTicketRegistryFacilitator::deserializeTicket)
-                .filter(Objects::nonNull)
-                .filter(ticket -> !ticket.isExpired())
-                .toList());
-        });
+        metadata.forEach(r -> tickets.addAll(DynamoDbTableUtils.scanParallel(amazonDynamoDBClient,
+                r.getProperties().getStorageName(), STREAM_SCAN_SEGMENTS, List.of(),
+                DynamoDbTicketRegistryFacilitator::deserializeTicket)
+            .filter(ticket -> !ticket.isExpired())
+            .toList()));
         return tickets;
     }
 
@@ -248,6 +290,44 @@ public class DynamoDbTicketRegistryFacilitator {
         LOGGER.debug("Ticket added with result [{}]", putItemResult);
     }
 
+    /**
+     * Put and delete tickets in a single transaction, so that all changes are applied or none are.
+     * DynamoDb accepts at most 100 items in a transaction;
+     * larger requests are rejected rather than split, since split transactions are no longer atomic.
+     *
+     * @param toSave   the tickets to save
+     * @param toDelete the tickets to delete, mapped to their encoded identifiers
+     */
+    public void write(final Collection<TicketPayload> toSave, final Map<Ticket, String> toDelete) {
+        val items = new ArrayList<TransactWriteItem>(toSave.size() + toDelete.size());
+        toSave.forEach(payload -> {
+            val request = buildPutItemRequest(payload);
+            items.add(TransactWriteItem.builder()
+                .put(Put.builder().tableName(request.tableName()).item(request.item()).build())
+                .build());
+        });
+        toDelete.forEach((ticket, encodedTicketId) -> {
+            val metadata = ticketCatalog.find(ticket);
+            if (metadata != null) {
+                items.add(TransactWriteItem.builder()
+                    .delete(Delete.builder()
+                        .tableName(metadata.getProperties().getStorageName())
+                        .key(CollectionUtils.wrap(ColumnNames.ID.getColumnName(), AttributeValue.builder().s(encodedTicketId).build()))
+                        .build())
+                    .build());
+            }
+        });
+        if (items.size() > TRANSACT_WRITE_REQUEST_LIMIT) {
+            throw new IllegalArgumentException(String.format("Unable to write %s ticket(s) in a single transaction; "
+                + "DynamoDb allows at most %s items per transaction", items.size(), TRANSACT_WRITE_REQUEST_LIMIT));
+        }
+        if (!items.isEmpty()) {
+            val request = TransactWriteItemsRequest.builder().transactItems(items).build();
+            LOGGER.debug("Submitting transaction with [{}] item(s)", items.size());
+            amazonDynamoDBClient.transactWriteItems(request);
+        }
+    }
+
     /**
      * Gets sessions with attributes.
      *
@@ -319,12 +399,26 @@ public class DynamoDbTicketRegistryFacilitator {
                 r.getProperties().getStorageName(),
                 deleteTables,
                 attributeDefns,
-                keySchemaElements);
+                keySchemaElements,
+                getIndexes(r.getProperties().getStorageName()));
             DynamoDbTableUtils.enableTimeToLiveOnTable(amazonDynamoDBClient,
                 tableDesc.tableName(), ColumnNames.EXPIRATION.getColumnName());
         }));
     }
 
+    /**
+     * Global secondary indexes for the ticket table. Every table is indexed by service and prefix,
+     * and the table that holds ticket-granting tickets is also indexed by principal.
+     *
+     * @param tableName the table name
+     * @return the indexes
+     */
+    protected List<DynamoDbGlobalSecondaryIndex> getIndexes(final String tableName) {
+        return tableName.equals(dynamoDbProperties.getTicketGrantingTicketsTableName())
+            ? List.of(PRINCIPAL_INDEX, SERVICE_INDEX, PREFIX_INDEX)
+            : List.of(SERVICE_INDEX, PREFIX_INDEX);
+    }
+
     /**
      * Build table attribute values from ticket map.
      *
@@ -345,10 +439,14 @@ public class DynamoDbTicketRegistryFacilitator {
             AttributeValue.builder().n(String.valueOf(ttl)).build());
         values.put(ColumnNames.ID.getColumnName(),
             AttributeValue.builder().s(payload.getEncodedTicket().getId()).build());
-        values.put(ColumnNames.PRINCIPAL.getColumnName(),
-            AttributeValue.builder().s(payload.getPrincipal()).build());
-        values.put(ColumnNames.SERVICE.getColumnName(),
-            AttributeValue.builder().s(payload.getService()).build());
+        if (StringUtils.isNotBlank(payload.getPrincipal())) {
+            values.put(ColumnNames.PRINCIPAL.getColumnName(),
+                AttributeValue.builder().s(payload.getPrincipal()).build());
+        }
+        if (StringUtils.isNotBlank(payload.getService())) {
+            values.put(ColumnNames.SERVICE.getColumnName(),
+                AttributeValue.builder().s(payload.getService()).build());
+        }
         values.put(ColumnNames.PREFIX.getColumnName(),
             AttributeValue.builder().s(payload.getOriginalTicket().getPrefix()).build());
         values.put(ColumnNames.CREATION_TIME.getColumnName(), AttributeValue.builder().
@@ -389,9 +487,9 @@ public class DynamoDbTicketRegistryFacilitator {
                 .attributeValue(List.of(AttributeValue.builder().s(principal).build()))
                 .operator(ComparisonOperator.EQ)
                 .build());
-        return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient,
-                dynamoDbProperties.getTicketGrantingTicketsTableName(),
-                keys, DynamoDbTicketRegistryFacilitator::deserializeTicket)
+        val tableName = dynamoDbProperties.getTicketGrantingTicketsTableName();
+        return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient, tableName,
+                getIndexes(tableName), keys, DynamoDbTicketRegistryFacilitator::deserializeTicket)
             .filter(ticket -> !ticket.isExpired());
     }
 
@@ -410,7 +508,7 @@ public class DynamoDbTicketRegistryFacilitator {
                 .operator(ComparisonOperator.EQ)
                 .build());
         return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient,
-                tableName, keys, DynamoDbTicketRegistryFacilitator::deserializeTicket)
+                tableName, getIndexes(tableName), keys, DynamoDbTicketRegistryFacilitator::deserializeTicket)
             .filter(ticket -> !ticket.isExpired())
             .count();
     }
@@ -430,8 +528,9 @@ public class DynamoDbTicketRegistryFacilitator {
                 .operator(ComparisonOperator.EQ)
                 .build());
         return ticketCatalog.findTicketDefinition(ticketType)
-            .map(def -> DynamoDbTableUtils.scan(amazonDynamoDBClient, def.getProperties().getStorageName(), keys).count())
-            .orElse(-1);
+            .map(def -> DynamoDbTableUtils.countRecordsByKeys(amazonDynamoDBClient, def.getProperties().getStorageName(),
+                getIndexes(def.getProperties().getStorageName()), keys))
+            .orElse(-1L);
     }
 
 
@@ -3,9 +3,11 @@ package org.apereo.cas.ticket.registry;
 import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
 import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.junit.EnabledIfListeningOnPort;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -14,6 +16,8 @@ import software.amazon.awssdk.services.dynamodb.model.BillingMode;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableResponse;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.IntStream;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -65,6 +69,51 @@ class DynamoDbTicketRegistryFacilitatorTests {
             assertFalse(dynamoDbTicketRegistryFacilitator.delete("badticket", "badticket"));
             assertTrue(dynamoDbTicketRegistryFacilitator.deleteAll() > 0);
         }
+
+        @Test
+        void verifyTransactionLimit() throws Throwable {
+            dynamoDbTicketRegistryFacilitator.createTicketTables(true);
+            val payloads = IntStream.range(0, 101)
+                .mapToObj(i -> new MockTicketGrantingTicket("casuser"))
+                .map(ticket -> DynamoDbTicketRegistryFacilitator.TicketPayload.builder()
+                    .originalTicket(ticket)
+                    .encodedTicket(ticket)
+                    .principal("casuser")
+                    .service(StringUtils.EMPTY)
+                    .build())
+                .toList();
+            assertThrows(IllegalArgumentException.class, () -> dynamoDbTicketRegistryFacilitator.write(payloads, Map.of()));
+            assertEquals(0, dynamoDbTicketRegistryFacilitator.getSessionsFor("casuser").count());
+
+            dynamoDbTicketRegistryFacilitator.write(payloads.subList(0, 100), Map.of());
+            assertEquals(100, dynamoDbTicketRegistryFacilitator.getSessionsFor("casuser").count());
+        }
+
+        @Test
+        void verifyIndexedLookups() throws Throwable {
+            dynamoDbTicketRegistryFacilitator.createTicketTables(true);
+            val tableName = dynamoDbTicketRegistryFacilitator.getDynamoDbProperties().getTicketGrantingTicketsTableName();
+            val table = dynamoDbTicketRegistryFacilitator.getAmazonDynamoDBClient()
+                .describeTable(DescribeTableRequest.builder().tableName(tableName).build()).table();
+            assertEquals(3, table.globalSecondaryIndexes().size());
+
+            val ticket = new MockTicketGrantingTicket("casuser",
+                CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword(),
+                CollectionUtils.wrap("name", "CAS"));
+            dynamoDbTicketRegistryFacilitator.put(
+                DynamoDbTicketRegistryFacilitator.TicketPayload.builder()
+                    .originalTicket(ticket)
+                    .encodedTicket(ticket)
+                    .principal("casuser")
+                    .service(StringUtils.EMPTY)
+                    .build());
+            assertEquals(1, dynamoDbTicketRegistryFacilitator.getSessionsFor("casuser").count());
+            assertEquals(0, dynamoDbTicketRegistryFacilitator.getSessionsFor("unknown").count());
+            assertEquals(1, dynamoDbTicketRegistryFacilitator.countTickets(TicketGrantingTicket.class, TicketGrantingTicket.PREFIX));
+            assertEquals(0, dynamoDbTicketRegistryFacilitator.countTicketsFor(tableName,
+                RegisteredServiceTestUtils.getService(RegisteredServiceTestUtils.CONST_TEST_URL)));
+            assertEquals(1, dynamoDbTicketRegistryFacilitator.stream().count());
+        }
     }
 
     @Nested
@@ -2,6 +2,7 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.dynamodb.AmazonDynamoDbClientFactory;
 import org.apereo.cas.support.events.CasEventRepository;
 import org.apereo.cas.support.events.CasEventRepositoryFilter;
@@ -54,7 +55,8 @@ public class CasEventsDynamoDbRepositoryAutoConfiguration {
         final DynamoDbClient dynamoDbEventRepositoryClient,
         final CasConfigurationProperties casProperties) throws Exception {
         val db = casProperties.getEvents().getDynamoDb();
-        val f = new DynamoDbCasEventsFacilitator(db, dynamoDbEventRepositoryClient);
+        val maxAge = Beans.newDuration(casProperties.getEvents().getCore().getMaxAge());
+        val f = new DynamoDbCasEventsFacilitator(db, dynamoDbEventRepositoryClient, maxAge);
         if (!db.isPreventTableCreationOnStartup()) {
             f.createTable(db.isDropTablesOnStartup());
         }
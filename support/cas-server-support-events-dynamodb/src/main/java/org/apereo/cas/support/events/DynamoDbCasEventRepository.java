@@ -4,6 +4,9 @@ import org.apereo.cas.support.events.dao.AbstractCasEventRepository;
 import org.apereo.cas.support.events.dao.CasEvent;
 import org.apereo.cas.util.function.FunctionUtils;
 
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
 import java.time.ZonedDateTime;
 import java.util.stream.Stream;
 
@@ -13,6 +16,7 @@ import java.util.stream.Stream;
  * @author Misagh Moayyed
  * @since 6.3.0
  */
+@Slf4j
 public class DynamoDbCasEventRepository extends AbstractCasEventRepository {
     private final DynamoDbCasEventsFacilitator dbCasEventsFacilitator;
 
@@ -27,6 +31,12 @@ public class DynamoDbCasEventRepository extends AbstractCasEventRepository {
         FunctionUtils.doUnchecked(__ -> dbCasEventsFacilitator.createTable(true));
     }
 
+    @Override
+    public void removeBefore(final ZonedDateTime dateTime) {
+        val count = dbCasEventsFacilitator.removeBefore(dateTime);
+        LOGGER.debug("Removed [{}] event(s) created before [{}]", count, dateTime);
+    }
+
     @Override
     public CasEvent saveInternal(final CasEvent event) throws Exception {
         return dbCasEventsFacilitator.save(event);
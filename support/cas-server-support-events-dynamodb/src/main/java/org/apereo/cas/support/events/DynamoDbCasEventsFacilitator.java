@@ -1,9 +1,11 @@
 package org.apereo.cas.support.events;
 
 import org.apereo.cas.configuration.model.core.events.DynamoDbEventsProperties;
+import org.apereo.cas.dynamodb.DynamoDbGlobalSecondaryIndex;
 import org.apereo.cas.dynamodb.DynamoDbQueryBuilder;
 import org.apereo.cas.dynamodb.DynamoDbTableUtils;
 import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.util.function.FunctionUtils;
 import org.apereo.cas.util.serialization.JacksonObjectMapperFactory;
 
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -17,11 +19,15 @@ import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.ComparisonOperator;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
 import software.amazon.awssdk.services.dynamodb.model.KeyType;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -29,17 +35,30 @@ import java.util.Map;
 import java.util.stream.Stream;
 
 /**
- * This is {@link DynamoDbCasEventsFacilitator}.
+ * This is {@link DynamoDbCasEventsFacilitator}. Events are queried through global secondary
+ * indexes by principal and type, and are expired by DynamoDB once they exceed the given maximum age.
  *
  * @author Misagh Moayyed
  * @since 6.3.0
  */
 @Slf4j
-public record DynamoDbCasEventsFacilitator(DynamoDbEventsProperties dynamoDbProperties, DynamoDbClient amazonDynamoDBClient) {
+public record DynamoDbCasEventsFacilitator(DynamoDbEventsProperties dynamoDbProperties, DynamoDbClient amazonDynamoDBClient, Duration maxAge) {
     private static final ObjectMapper MAPPER = JacksonObjectMapperFactory.builder()
         .defaultTypingEnabled(false).build().toObjectMapper();
 
-    private static Map<String, AttributeValue> buildTableAttributeValuesMap(final CasEvent record) throws Exception {
+    private static final List<DynamoDbGlobalSecondaryIndex> INDEXES = List.of(
+        DynamoDbGlobalSecondaryIndex.builder()
+            .indexName("principalIndex")
+            .partitionKey(ColumnNames.PRINCIPAL.getColumnName())
+            .sortKey(ColumnNames.CREATION_TIME.getColumnName())
+            .build(),
+        DynamoDbGlobalSecondaryIndex.builder()
+            .indexName("typeIndex")
+            .partitionKey(ColumnNames.TYPE.getColumnName())
+            .sortKey(ColumnNames.CREATION_TIME.getColumnName())
+            .build());
+
+    private Map<String, AttributeValue> buildTableAttributeValuesMap(final CasEvent record) throws Exception {
         val values = new HashMap<String, AttributeValue>();
         values.put(ColumnNames.PRINCIPAL.getColumnName(), AttributeValue.builder().s(record.getPrincipalId()).build());
         values.put(ColumnNames.ID.getColumnName(), AttributeValue.builder().n(String.valueOf(record.getId())).build());
@@ -47,6 +66,10 @@ public record DynamoDbCasEventsFacilitator(DynamoDbEventsProperties dynamoDbProp
         values.put(ColumnNames.TYPE.getColumnName(), AttributeValue.builder().s(record.getType()).build());
         val properties = MAPPER.writeValueAsString(record.getProperties());
         values.put(ColumnNames.PROPERTIES.getColumnName(), AttributeValue.builder().s(properties).build());
+        if (isExpiring()) {
+            val expiration = Instant.now(Clock.systemUTC()).plus(maxAge).getEpochSecond();
+            values.put(ColumnNames.EXPIRATION.getColumnName(), AttributeValue.builder().n(String.valueOf(expiration)).build());
+        }
         LOGGER.debug("Created attribute values [{}] based on [{}]", values, record);
         return values;
     }
@@ -72,7 +95,12 @@ public record DynamoDbCasEventsFacilitator(DynamoDbEventsProperties dynamoDbProp
         DynamoDbTableUtils.createTable(amazonDynamoDBClient, dynamoDbProperties,
             dynamoDbProperties.getTableName(), deleteTables,
             List.of(AttributeDefinition.builder().attributeName(ColumnNames.ID.getColumnName()).attributeType(ScalarAttributeType.N).build()),
-            List.of(KeySchemaElement.builder().attributeName(ColumnNames.ID.getColumnName()).keyType(KeyType.HASH).build()));
+            List.of(KeySchemaElement.builder().attributeName(ColumnNames.ID.getColumnName()).keyType(KeyType.HASH).build()),
+            INDEXES);
+        if (isExpiring()) {
+            FunctionUtils.doAndHandle(__ -> DynamoDbTableUtils.enableTimeToLiveOnTable(amazonDynamoDBClient,
+                dynamoDbProperties.getTableName(), ColumnNames.EXPIRATION.getColumnName()));
+        }
     }
 
     /**
@@ -104,6 +132,33 @@ public record DynamoDbCasEventsFacilitator(DynamoDbEventsProperties dynamoDbProp
         createTable(true);
     }
 
+    /**
+     * Remove events created before the given date. This covers events that carry
+     * no expiration attribute, such as those recorded before a maximum age was defined,
+     * which DynamoDB would otherwise keep forever.
+     *
+     * @param dateTime the date time
+     * @return the number of removed events
+     */
+    public long removeBefore(final ZonedDateTime dateTime) {
+        val query = DynamoDbQueryBuilder.builder()
+            .key(ColumnNames.CREATION_TIME.getColumnName())
+            .attributeValue(List.of(AttributeValue.builder().s(dateTime.toString()).build()))
+            .operator(ComparisonOperator.LT)
+            .build();
+        val ids = DynamoDbTableUtils.scanPaginator(amazonDynamoDBClient, dynamoDbProperties.getTableName(),
+            List.of(query), item -> item.get(ColumnNames.ID.getColumnName())).toList();
+        ids.forEach(id -> {
+            val request = DeleteItemRequest.builder()
+                .tableName(dynamoDbProperties.getTableName())
+                .key(Map.of(ColumnNames.ID.getColumnName(), id))
+                .build();
+            LOGGER.trace("Submitting delete request [{}]", request);
+            amazonDynamoDBClient.deleteItem(request);
+        });
+        return ids.size();
+    }
+
     /**
      * Gets events for principal.
      *
@@ -256,14 +311,23 @@ public record DynamoDbCasEventsFacilitator(DynamoDbEventsProperties dynamoDbProp
         /**
          * creation time column.
          */
-        CREATION_TIME("creationTime");
+        CREATION_TIME("creationTime"),
+        /**
+         * expiration column, in epoch seconds, used as the time-to-live attribute.
+         */
+        EXPIRATION("expiration");
 
         private final String columnName;
     }
 
+    private boolean isExpiring() {
+        return maxAge != null && !maxAge.isZero() && !maxAge.isNegative();
+    }
+
     private Stream<CasEvent> getRecordsByKeys(final List<DynamoDbQueryBuilder> queries) {
         return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient,
             dynamoDbProperties.getTableName(),
+            INDEXES,
             queries,
             Unchecked.function(DynamoDbCasEventsFacilitator::extractAttributeValuesFrom));
     }
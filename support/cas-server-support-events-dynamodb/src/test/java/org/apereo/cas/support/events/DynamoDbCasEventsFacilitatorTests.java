@@ -0,0 +1,73 @@
+package org.apereo.cas.support.events;
+
+import org.apereo.cas.configuration.model.core.events.DynamoDbEventsProperties;
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.paginators.QueryIterable;
+import software.amazon.awssdk.services.dynamodb.paginators.ScanIterable;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link DynamoDbCasEventsFacilitatorTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Tag("DynamoDb")
+class DynamoDbCasEventsFacilitatorTests {
+    private DynamoDbClient client;
+
+    @BeforeEach
+    void setup() {
+        client = mock(DynamoDbClient.class);
+        when(client.queryPaginator(any(QueryRequest.class)))
+            .thenAnswer(invocation -> new QueryIterable(client, invocation.getArgument(0)));
+        when(client.query(any(QueryRequest.class)))
+            .thenReturn(QueryResponse.builder().items(List.of()).count(0).build());
+    }
+
+    @Test
+    void verifyEventsAreQueriedByIndexes() {
+        val facilitator = new DynamoDbCasEventsFacilitator(new DynamoDbEventsProperties(), client, Duration.ZERO);
+        assertEquals(0, facilitator.getEventsForPrincipal("casuser").count());
+        assertEquals(0, facilitator.getEventsOfType("casEvent", ZonedDateTime.now(ZoneOffset.UTC)).count());
+        verify(client).query(argThat((QueryRequest request) -> "principalIndex".equals(request.indexName())));
+        verify(client).query(argThat((QueryRequest request) -> "typeIndex".equals(request.indexName())
+            && request.keyConditions().containsKey(DynamoDbCasEventsFacilitator.ColumnNames.CREATION_TIME.getColumnName())));
+        verify(client, never()).scan(any(ScanRequest.class));
+        verify(client, never()).scanPaginator(any(ScanRequest.class));
+    }
+
+    @Test
+    void verifyEventsAreRemovedBeforeDate() {
+        val idColumn = DynamoDbCasEventsFacilitator.ColumnNames.ID.getColumnName();
+        val items = List.of(
+            Map.of(idColumn, AttributeValue.builder().n("1").build()),
+            Map.of(idColumn, AttributeValue.builder().n("2").build()));
+        when(client.scanPaginator(any(ScanRequest.class)))
+            .thenAnswer(invocation -> new ScanIterable(client, invocation.getArgument(0)));
+        when(client.scan(any(ScanRequest.class)))
+            .thenReturn(ScanResponse.builder().items(items).count(items.size()).build());
+
+        val facilitator = new DynamoDbCasEventsFacilitator(new DynamoDbEventsProperties(), client, Duration.ZERO);
+        assertEquals(2, facilitator.removeBefore(ZonedDateTime.now(ZoneOffset.UTC)));
+        verify(client).scan(argThat((ScanRequest request) -> request.scanFilter()
+            .containsKey(DynamoDbCasEventsFacilitator.ColumnNames.CREATION_TIME.getColumnName())));
+        verify(client, times(2)).deleteItem(any(DeleteItemRequest.class));
+    }
+}
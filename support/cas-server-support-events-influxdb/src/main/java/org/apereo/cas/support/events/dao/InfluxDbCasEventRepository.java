@@ -3,6 +3,7 @@ package org.apereo.cas.support.events.dao;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
 import org.apereo.cas.influxdb.InfluxDbConnectionFactory;
 import org.apereo.cas.support.events.CasEventRepositoryFilter;
+import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.cas.util.serialization.JacksonObjectMapperFactory;
 
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -19,11 +20,13 @@ import org.springframework.beans.factory.DisposableBean;
 import java.io.Serial;
 import java.io.Serializable;
 import java.time.Instant;
+import java.time.ZonedDateTime;
 import java.util.Map;
 import java.util.stream.Stream;
 
 /**
- * This is {@link InfluxDbCasEventRepository}.
+ * This is {@link InfluxDbCasEventRepository}. Events are queried by their principal and type tags,
+ * and by the time they were recorded, so that InfluxDb filters events rather than CAS.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -62,23 +65,51 @@ public class InfluxDbCasEventRepository extends AbstractCasEventRepository imple
         return event;
     }
 
+    @Override
+    public void removeBefore(final ZonedDateTime dateTime) {
+        influxDbConnectionFactory.deleteBefore(MEASUREMENT, dateTime.toInstant());
+    }
+
     @Override
     public Stream<? extends CasEvent> load() {
         val results = influxDbConnectionFactory.query(InfluxDbEvent.class);
-        return results.stream().map(flux -> {
-            val event = new CasEvent();
-            val geo = Unchecked.supplier(() -> MAPPER.readValue(flux.getGeoLocation(), new TypeReference<GeoLocationRequest>() {
-            })).get();
-            event.putGeoLocation(geo);
-            event.setPrincipalId(flux.getPrincipalId());
-            event.setType(flux.getType());
-            event.setCreationTime(flux.getCreationTime());
-            event.putClientIpAddress(flux.getClientIpAddress());
-            event.putServerIpAddress(flux.getServerIpAddress());
-            event.putEventId(flux.getValue());
-            event.putTimestamp(Long.valueOf(flux.getTimestamp()));
-            return event;
-        });
+        return results.stream().map(InfluxDbCasEventRepository::toCasEvent);
+    }
+
+    @Override
+    public Stream<? extends CasEvent> load(final ZonedDateTime dateTime) {
+        return query(Map.of(), dateTime);
+    }
+
+    @Override
+    public Stream<? extends CasEvent> getEventsOfTypeForPrincipal(final String type, final String principal) {
+        return query(Map.of(TYPE_PARAM, type, PRINCIPAL_ID_PARAM, principal), null);
+    }
+
+    @Override
+    public Stream<? extends CasEvent> getEventsOfTypeForPrincipal(final String type, final String principal,
+                                                                  final ZonedDateTime dateTime) {
+        return query(Map.of(TYPE_PARAM, type, PRINCIPAL_ID_PARAM, principal), dateTime);
+    }
+
+    @Override
+    public Stream<? extends CasEvent> getEventsOfType(final String type) {
+        return query(Map.of(TYPE_PARAM, type), null);
+    }
+
+    @Override
+    public Stream<? extends CasEvent> getEventsOfType(final String type, final ZonedDateTime dateTime) {
+        return query(Map.of(TYPE_PARAM, type), dateTime);
+    }
+
+    @Override
+    public Stream<? extends CasEvent> getEventsForPrincipal(final String id) {
+        return query(Map.of(PRINCIPAL_ID_PARAM, id), null);
+    }
+
+    @Override
+    public Stream<? extends CasEvent> getEventsForPrincipal(final String id, final ZonedDateTime dateTime) {
+        return query(Map.of(PRINCIPAL_ID_PARAM, id), dateTime);
     }
 
     @Override
@@ -86,6 +117,29 @@ public class InfluxDbCasEventRepository extends AbstractCasEventRepository imple
         influxDbConnectionFactory.close();
     }
 
+    private Stream<CasEvent> query(final Map<String, String> tags, final ZonedDateTime dateTime) {
+        val start = dateTime == null ? null : dateTime.toInstant();
+        return influxDbConnectionFactory.query(InfluxDbEvent.class, MEASUREMENT, tags, start)
+            .stream()
+            .map(InfluxDbCasEventRepository::toCasEvent)
+            .filter(event -> dateTime == null || !DateTimeUtils.convertToZonedDateTime(event.getCreationTime()).isBefore(dateTime));
+    }
+
+    private static CasEvent toCasEvent(final InfluxDbEvent flux) {
+        val event = new CasEvent();
+        val geo = Unchecked.supplier(() -> MAPPER.readValue(flux.getGeoLocation(), new TypeReference<GeoLocationRequest>() {
+        })).get();
+        event.putGeoLocation(geo);
+        event.setPrincipalId(flux.getPrincipalId());
+        event.setType(flux.getType());
+        event.setCreationTime(flux.getCreationTime());
+        event.putClientIpAddress(flux.getClientIpAddress());
+        event.putServerIpAddress(flux.getServerIpAddress());
+        event.putEventId(flux.getValue());
+        event.putTimestamp(Long.valueOf(flux.getTimestamp()));
+        return event;
+    }
+
     @Measurement(name = MEASUREMENT)
     @Getter
     @Setter
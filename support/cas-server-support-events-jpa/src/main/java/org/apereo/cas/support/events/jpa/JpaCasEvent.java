@@ -11,6 +11,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import java.io.Serial;
 
@@ -23,7 +24,11 @@ import java.io.Serial;
 @Getter
 @Entity
 @Setter
-@Table(name = "CasEvent")
+@Table(name = "CasEvent", indexes = {
+    @Index(name = "CasEvent_principalId_idx", columnList = "principalId,creationTime"),
+    @Index(name = "CasEvent_type_idx", columnList = "type,creationTime"),
+    @Index(name = "CasEvent_creationTime_idx", columnList = "creationTime")
+})
 @Accessors(chain = true)
 public class JpaCasEvent extends CasEvent {
     @Serial
@@ -7,6 +7,7 @@ import org.apereo.cas.support.events.dao.AbstractCasEventRepository;
 import org.apereo.cas.support.events.dao.CasEvent;
 
 import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
@@ -29,6 +30,7 @@ import java.util.stream.Stream;
 @EnableTransactionManagement(proxyTargetClass = false)
 @Transactional(transactionManager = "transactionManagerEvents")
 @ToString
+@Slf4j
 public class JpaCasEventRepository extends AbstractCasEventRepository {
 
     private static final String SELECT_QUERY = "SELECT r from JpaCasEvent r ";
@@ -57,6 +59,14 @@ public class JpaCasEventRepository extends AbstractCasEventRepository {
         this.entityManager.createQuery("DELETE FROM JpaCasEvent e").executeUpdate();
     }
 
+    @Override
+    public void removeBefore(final ZonedDateTime dateTime) {
+        val count = entityManager.createQuery("DELETE FROM JpaCasEvent e WHERE e.creationTime < :creationTime")
+            .setParameter(CREATION_TIME_PARAM, dateTime.toString())
+            .executeUpdate();
+        LOGGER.debug("Removed [{}] event(s) created before [{}]", count, dateTime);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Stream<? extends CasEvent> load() {
@@ -2,8 +2,11 @@ package org.apereo.cas.support.events.dao;
 
 import org.apereo.cas.support.events.CasEventRepositoryFilter;
 
+import org.apereo.cas.util.DateTimeUtils;
+
 import com.github.benmanes.caffeine.cache.LoadingCache;
 
+import java.time.ZonedDateTime;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -42,6 +45,11 @@ public class InMemoryCasEventRepository extends AbstractCasEventRepository {
         return event;
     }
 
+    @Override
+    public void removeBefore(final ZonedDateTime dateTime) {
+        cache.asMap().values().removeIf(event -> DateTimeUtils.convertToZonedDateTime(event.getCreationTime()).isBefore(dateTime));
+    }
+
     @Override
     public void removeAll() {
         cache.invalidateAll();
@@ -1,10 +1,13 @@
 package org.apereo.cas.support.events.dao;
 
 import org.apereo.cas.config.CasEventsInMemoryRepositoryAutoConfiguration;
+import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.support.events.AbstractCasEventRepositoryTests;
 import org.apereo.cas.support.events.CasEventRepository;
 import lombok.Getter;
+import lombok.val;
 import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.ResourceAccessMode;
 import org.junit.jupiter.api.parallel.ResourceLock;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +16,12 @@ import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguratio
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * This is {@link InMemoryCasEventRepositoryTests}.
  *
@@ -31,4 +40,22 @@ class InMemoryCasEventRepositoryTests extends AbstractCasEventRepositoryTests {
     @Autowired
     @Qualifier(CasEventRepository.BEAN_NAME)
     private CasEventRepository eventRepository;
+
+    @Test
+    void verifyCleanerRemovesOldEvents() throws Throwable {
+        eventRepository.removeAll();
+        val now = ZonedDateTime.now(ZoneOffset.UTC);
+        eventRepository.save(new CasEvent(1, "type", "casuser", now.minusDays(10).toString(), Map.of()));
+        eventRepository.save(new CasEvent(2, "type", "casuser", now.toString(), Map.of()));
+
+        val casProperties = new CasConfigurationProperties();
+        casProperties.getEvents().getCore().setMaxAge("P1D");
+        new CasEventRepositoryCleaner(eventRepository, casProperties).clean();
+        assertEquals(1, eventRepository.load().count());
+
+        casProperties.getEvents().getCore().setMaxAge("PT0S");
+        eventRepository.save(new CasEvent(3, "type", "casuser", now.minusDays(10).toString(), Map.of()));
+        new CasEventRepositoryCleaner(eventRepository, casProperties).clean();
+        assertEquals(2, eventRepository.load().count());
+    }
 }
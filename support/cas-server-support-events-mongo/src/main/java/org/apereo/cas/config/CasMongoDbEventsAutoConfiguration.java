@@ -47,6 +47,8 @@ public class CasMongoDbEventsAutoConfiguration {
         val factory = new MongoDbConnectionFactory(casSslContext.getSslContext());
         val mongoTemplate = factory.buildMongoTemplate(mongo);
         MongoDbConnectionFactory.createCollection(mongoTemplate, mongo.getCollection(), mongo.isDropCollection());
+        MongoDbConnectionFactory.createOrUpdateIndexes(mongoTemplate,
+            mongoTemplate.getCollection(mongo.getCollection()), MongoDbCasEventRepository.INDEXES);
         return mongoTemplate;
     }
 
@@ -5,12 +5,16 @@ import org.apereo.cas.support.events.dao.AbstractCasEventRepository;
 import org.apereo.cas.support.events.dao.CasEvent;
 
 import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.stream.Stream;
 
 /**
@@ -20,7 +24,20 @@ import java.util.stream.Stream;
  * @since 5.0.0
  */
 @ToString
+@Slf4j
 public class MongoDbCasEventRepository extends AbstractCasEventRepository {
+    /**
+     * Indexes that back the queries for events by principal, type and creation time.
+     */
+    public static final List<Index> INDEXES = List.of(
+        new Index().named("principalIdIndex")
+            .on(PRINCIPAL_ID_PARAM, Sort.Direction.ASC)
+            .on(CREATION_TIME_PARAM, Sort.Direction.ASC),
+        new Index().named("typeIndex")
+            .on(TYPE_PARAM, Sort.Direction.ASC)
+            .on(CREATION_TIME_PARAM, Sort.Direction.ASC),
+        new Index().named("creationTimeIndex")
+            .on(CREATION_TIME_PARAM, Sort.Direction.ASC));
 
     private final MongoOperations mongoTemplate;
 
@@ -39,6 +56,13 @@ public class MongoDbCasEventRepository extends AbstractCasEventRepository {
         mongoTemplate.remove(new Query(), CasEvent.class, this.collectionName);
     }
 
+    @Override
+    public void removeBefore(final ZonedDateTime dateTime) {
+        val query = new Query(Criteria.where(CREATION_TIME_PARAM).lt(dateTime.toString()));
+        val result = mongoTemplate.remove(query, CasEvent.class, this.collectionName);
+        LOGGER.debug("Removed [{}] event(s) created before [{}]", result.getDeletedCount(), dateTime);
+    }
+
     @Override
     public Stream<? extends CasEvent> load() {
         return this.mongoTemplate.stream(new Query(), CasEvent.class, this.collectionName);
@@ -3,11 +3,13 @@ package org.apereo.cas.config;
 import org.apereo.cas.authentication.CasSSLContext;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.redis.core.CasRedisTemplate;
 import org.apereo.cas.redis.core.RedisObjectFactory;
 import org.apereo.cas.support.events.CasEventRepository;
 import org.apereo.cas.support.events.CasEventRepositoryFilter;
 import org.apereo.cas.support.events.redis.RedisCasEventRepository;
+import org.apereo.cas.util.function.FunctionUtils;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 import lombok.val;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -72,7 +74,10 @@ public class CasRedisEventsAutoConfiguration {
         @Qualifier("redisEventRepositoryFilter")
         final CasEventRepositoryFilter redisEventRepositoryFilter,
         final CasConfigurationProperties casProperties) {
-        return new RedisCasEventRepository(redisEventRepositoryFilter, redisEventTemplate,
-            casProperties.getEvents().getRedis().getScanCount());
+        val repository = new RedisCasEventRepository(redisEventRepositoryFilter, redisEventTemplate,
+            casProperties.getEvents().getRedis().getScanCount(),
+            Beans.newDuration(casProperties.getEvents().getCore().getMaxAge()));
+        FunctionUtils.doAndHandle(__ -> repository.backfillIndexes());
+        return repository;
     }
 }
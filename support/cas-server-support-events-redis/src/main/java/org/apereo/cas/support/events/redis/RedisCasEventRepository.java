@@ -9,13 +9,31 @@ import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
  * This is {@link RedisCasEventRepository} that stores event data into a redis database.
+ * Every event is tracked in sorted sets per principal, per type and for all events,
+ * scored by the event timestamp, so that events are looked up by range queries on
+ * these indexes instead of scanning the keyspace. Events that exceed the given maximum
+ * age are expired by Redis, and are trimmed from the indexes as new events are recorded.
+ * Events that were recorded before these indexes existed are indexed once via {@link #backfillIndexes()}.
  *
  * @author Misagh Moayyed
  * @since 6.4.0
@@ -28,132 +46,226 @@ public class RedisCasEventRepository extends AbstractCasEventRepository {
 
     private static final String CAS_PREFIX = RedisCasEventRepository.class.getSimpleName();
 
+    private static final String INDEX_PREFIX = CAS_PREFIX + "Index";
+
+    private static final String ALL_EVENTS_INDEX = INDEX_PREFIX + KEY_SEPARATOR + "all";
+
+    private static final String BACKFILL_MARKER = INDEX_PREFIX + KEY_SEPARATOR + "backfilled";
+
     private final CasRedisTemplate<String, CasEvent> template;
 
     private final long scanCount;
 
+    private final Duration maxAge;
+
     public RedisCasEventRepository(final CasEventRepositoryFilter eventRepositoryFilter,
                                    final CasRedisTemplate<String, CasEvent> redisTemplate,
-                                   final long scanCount) {
+                                   final long scanCount,
+                                   final Duration maxAge) {
         super(eventRepositoryFilter);
         this.template = redisTemplate;
         this.scanCount = scanCount;
+        this.maxAge = maxAge;
     }
 
     private static String getKey(final String type, final String principal, final String timestamp) {
         return CAS_PREFIX + KEY_SEPARATOR + type + KEY_SEPARATOR + principal + KEY_SEPARATOR + timestamp;
     }
 
+    private static String getPrincipalIndex(final String principal) {
+        return INDEX_PREFIX + KEY_SEPARATOR + PRINCIPAL_ID_PARAM + KEY_SEPARATOR + principal;
+    }
+
+    private static String getTypeIndex(final String type) {
+        return INDEX_PREFIX + KEY_SEPARATOR + TYPE_PARAM + KEY_SEPARATOR + type;
+    }
+
+    private static Predicate<String> isKeyOfType(final String type) {
+        val prefix = CAS_PREFIX + KEY_SEPARATOR + type + KEY_SEPARATOR;
+        return key -> key.startsWith(prefix);
+    }
+
+    private static double getMinimumScore(final ZonedDateTime dateTime) {
+        return dateTime == null ? Double.NEGATIVE_INFINITY : dateTime.toInstant().toEpochMilli();
+    }
+
+    /**
+     * Add events that are not tracked by the sorted-set indexes yet, typically recorded
+     * by an earlier version, to the indexes. Event keys are scanned once; completion is recorded
+     * in the database so that the scan is skipped from then on.
+     *
+     * @return the number of events that were indexed
+     */
+    public long backfillIndexes() {
+        if (BooleanUtils.isTrue(template.hasKey(BACKFILL_MARKER))) {
+            LOGGER.trace("Event indexes are already backfilled");
+            return 0;
+        }
+        val indexes = new HashSet<String>();
+        val count = new AtomicLong();
+        try (val keys = getKeys("*", "*", "*")) {
+            keys.forEach(key -> {
+                val typeAndPrincipalAndTimestamp = StringUtils.removeStart(key, CAS_PREFIX + KEY_SEPARATOR);
+                val typeAndPrincipal = StringUtils.substringBeforeLast(typeAndPrincipalAndTimestamp, KEY_SEPARATOR);
+                var timestamp = NumberUtils.toLong(StringUtils.substringAfterLast(typeAndPrincipalAndTimestamp, KEY_SEPARATOR), -1);
+                if (timestamp < 0) {
+                    val event = template.opsForValue().get(key);
+                    timestamp = event != null && event.getTimestamp() != null ? event.getTimestamp() : -1;
+                }
+                if (timestamp >= 0) {
+                    val eventIndexes = List.of(ALL_EVENTS_INDEX,
+                        getTypeIndex(StringUtils.substringBefore(typeAndPrincipal, KEY_SEPARATOR)),
+                        getPrincipalIndex(StringUtils.substringAfter(typeAndPrincipal, KEY_SEPARATOR)));
+                    for (val index : eventIndexes) {
+                        getIndexOperations().add(index, key, timestamp);
+                    }
+                    indexes.addAll(eventIndexes);
+                    count.incrementAndGet();
+                }
+            });
+        }
+        if (isExpiring()) {
+            indexes.forEach(index -> template.expire(index, maxAge));
+        }
+        getStringOperations().set(BACKFILL_MARKER, Instant.now(Clock.systemUTC()).toString());
+        LOGGER.info("Indexed [{}] existing event(s)", count.get());
+        return count.get();
+    }
+
     @Override
     public void removeAll() {
         try (val keys = getKeys("*", "*", "*")) {
             keys.forEach(template::delete);
         }
+        try (val indexes = template.scan(INDEX_PREFIX + KEY_SEPARATOR + '*', this.scanCount)) {
+            indexes.forEach(template::delete);
+        }
     }
 
     @Override
-    public Stream<? extends CasEvent> load() {
-        try (val keys = getKeys("*", "*", "*")) {
-            return keys
-                .map(key -> this.template.boundValueOps(key).get())
-                .filter(Objects::nonNull)
-                .toList()
-                .stream();
+    public void removeBefore(final ZonedDateTime dateTime) {
+        val maxScore = dateTime.toInstant().toEpochMilli() - 1;
+        val keys = getIndexOperations().rangeByScore(ALL_EVENTS_INDEX, Double.NEGATIVE_INFINITY, maxScore);
+        if (keys != null && !keys.isEmpty()) {
+            val indexes = new HashSet<String>();
+            keys.forEach(key -> {
+                val typeAndPrincipal = StringUtils.substringBeforeLast(StringUtils.removeStart(key, CAS_PREFIX + KEY_SEPARATOR), KEY_SEPARATOR);
+                indexes.add(getTypeIndex(StringUtils.substringBefore(typeAndPrincipal, KEY_SEPARATOR)));
+                indexes.add(getPrincipalIndex(StringUtils.substringAfter(typeAndPrincipal, KEY_SEPARATOR)));
+            });
+            template.delete(keys);
+            indexes.forEach(index -> getIndexOperations().removeRangeByScore(index, Double.NEGATIVE_INFINITY, maxScore));
+            getIndexOperations().removeRangeByScore(ALL_EVENTS_INDEX, Double.NEGATIVE_INFINITY, maxScore);
+            LOGGER.debug("Removed [{}] event(s) created before [{}]", keys.size(), dateTime);
         }
     }
 
+    @Override
+    public Stream<? extends CasEvent> load() {
+        return getEventsFromIndex(ALL_EVENTS_INDEX, null, key -> true);
+    }
+
     @Override
     public Stream<? extends CasEvent> load(final ZonedDateTime dateTime) {
-        try (val keys = getKeys("*", "*", "*")) {
-            return keys
-                .map(key -> this.template.boundValueOps(key).get())
-                .filter(Objects::nonNull)
-                .filter(event -> event.getTimestamp() >= dateTime.toInstant().toEpochMilli())
-                .toList()
-                .stream();
-        }
+        return getEventsFromIndex(ALL_EVENTS_INDEX, dateTime, key -> true);
     }
 
     @Override
     public Stream<? extends CasEvent> getEventsOfTypeForPrincipal(final String type, final String principal) {
-        try (val keys = getKeys(type, principal, "*")) {
-            return keys
-                .map(key -> this.template.boundValueOps(key).get())
-                .filter(Objects::nonNull)
-                .toList()
-                .stream();
-        }
+        return getEventsFromIndex(getPrincipalIndex(principal), null, isKeyOfType(type));
     }
 
     @Override
     public Stream<? extends CasEvent> getEventsOfTypeForPrincipal(final String type,
                                                                   final String principal,
                                                                   final ZonedDateTime dateTime) {
-        try (val keys = getKeys(type, principal, "*")) {
-            return keys
-                .map(key -> this.template.boundValueOps(key).get())
-                .filter(Objects::nonNull)
-                .filter(event -> event.getTimestamp() >= dateTime.toInstant().toEpochMilli())
-                .toList()
-                .stream();
-        }
+        return getEventsFromIndex(getPrincipalIndex(principal), dateTime, isKeyOfType(type));
     }
 
     @Override
     public Stream<? extends CasEvent> getEventsOfType(final String type) {
-        try (val keys = getKeys(type, "*", "*")) {
-            return keys
-                .map(key -> this.template.boundValueOps(key).get())
-                .filter(Objects::nonNull)
-                .toList()
-                .stream();
-        }
+        return getEventsFromIndex(getTypeIndex(type), null, key -> true);
     }
 
     @Override
     public Stream<? extends CasEvent> getEventsOfType(final String type, final ZonedDateTime dateTime) {
-        try (val keys = getKeys(type, "*", "*")) {
-            return keys
-                .map(key -> this.template.boundValueOps(key).get())
-                .filter(Objects::nonNull)
-                .filter(event -> event.getTimestamp() >= dateTime.toInstant().toEpochMilli())
-                .toList()
-                .stream();
-        }
+        return getEventsFromIndex(getTypeIndex(type), dateTime, key -> true);
     }
 
     @Override
     public Stream<? extends CasEvent> getEventsForPrincipal(final String id) {
-        try (val keys = getKeys("*", id, "*")) {
-            return keys
-                .map(key -> this.template.boundValueOps(key).get())
-                .filter(Objects::nonNull)
-                .toList()
-                .stream();
-        }
+        return getEventsFromIndex(getPrincipalIndex(id), null, key -> true);
     }
 
     @Override
     public Stream<? extends CasEvent> getEventsForPrincipal(final String principal, final ZonedDateTime dateTime) {
-        try (val keys = getKeys("*", principal, "*")) {
-            return keys
-                .map(key -> this.template.boundValueOps(key).get())
-                .filter(Objects::nonNull)
-                .filter(event -> event.getTimestamp() >= dateTime.toInstant().toEpochMilli())
-                .toList()
-                .stream();
-        }
+        return getEventsFromIndex(getPrincipalIndex(principal), dateTime, key -> true);
     }
 
     @Override
     public CasEvent saveInternal(final CasEvent event) {
-        val key = getKey(event.getType(), event.getPrincipalId(), String.valueOf(event.getTimestamp()));
+        val timestamp = event.getTimestamp();
+        val key = getKey(event.getType(), event.getPrincipalId(), String.valueOf(timestamp));
         LOGGER.trace("Saving event record based on key [{}]", key);
-        val ops = this.template.boundValueOps(key);
-        ops.set(event);
+        val indexes = List.of(ALL_EVENTS_INDEX, getTypeIndex(event.getType()), getPrincipalIndex(event.getPrincipalId()));
+        if (isExpiring()) {
+            template.boundValueOps(key).set(event, maxAge);
+            val expiredScore = Instant.now(Clock.systemUTC()).minus(maxAge).toEpochMilli();
+            indexes.forEach(index -> {
+                getIndexOperations().add(index, key, timestamp);
+                getIndexOperations().removeRangeByScore(index, Double.NEGATIVE_INFINITY, expiredScore);
+                template.expire(index, maxAge);
+            });
+        } else {
+            template.boundValueOps(key).set(event);
+            indexes.forEach(index -> getIndexOperations().add(index, key, timestamp));
+        }
         return event;
     }
 
+    private Stream<CasEvent> getEventsFromIndex(final String index, final ZonedDateTime dateTime,
+                                                final Predicate<String> keyFilter) {
+        LOGGER.trace("Fetching records based on index [{}]", index);
+        val keys = getIndexOperations().rangeByScore(index, getMinimumScore(dateTime), Double.POSITIVE_INFINITY);
+        if (keys == null || keys.isEmpty()) {
+            return Stream.empty();
+        }
+        val matchingKeys = keys.stream().filter(keyFilter).toList();
+        if (matchingKeys.isEmpty()) {
+            return Stream.empty();
+        }
+        val values = template.opsForValue().multiGet(matchingKeys);
+        val events = new ArrayList<CasEvent>(matchingKeys.size());
+        val expiredKeys = new ArrayList<String>();
+        for (var i = 0; i < matchingKeys.size(); i++) {
+            val event = values != null ? values.get(i) : null;
+            if (event != null) {
+                events.add(event);
+            } else {
+                expiredKeys.add(matchingKeys.get(i));
+            }
+        }
+        if (!expiredKeys.isEmpty()) {
+            LOGGER.trace("Removing [{}] expired event(s) from index [{}]", expiredKeys.size(), index);
+            getIndexOperations().remove(index, expiredKeys.toArray());
+        }
+        return events.stream();
+    }
+
+    private boolean isExpiring() {
+        return maxAge != null && !maxAge.isZero() && !maxAge.isNegative();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ZSetOperations<String, String> getIndexOperations() {
+        return ((RedisOperations<String, String>) (RedisOperations<?, ?>) template).opsForZSet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ValueOperations<String, String> getStringOperations() {
+        return ((RedisOperations<String, String>) (RedisOperations<?, ?>) template).opsForValue();
+    }
+
     private Stream<String> getKeys(final String type, final String principal, final String timestamp) {
         val key = getKey(type, principal, timestamp);
         LOGGER.trace("Fetching records based on key [{}]", key);
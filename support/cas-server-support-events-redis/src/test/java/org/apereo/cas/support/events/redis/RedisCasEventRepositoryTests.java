@@ -5,15 +5,22 @@ import org.apereo.cas.config.CasRedisEventsAutoConfiguration;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.support.events.AbstractCasEventRepositoryTests;
 import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.dao.CasEvent;
 import org.apereo.cas.util.junit.EnabledIfListeningOnPort;
 import lombok.Getter;
+import lombok.val;
 import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.web.WebProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Test cases for {@link RedisCasEventRepositoryTests}.
@@ -39,4 +46,23 @@ class RedisCasEventRepositoryTests extends AbstractCasEventRepositoryTests {
     @Autowired
     @Qualifier(CasEventRepository.BEAN_NAME)
     private CasEventRepository eventRepository;
+
+    @Test
+    void verifyExistingEventsAreBackfilled() throws Throwable {
+        val repository = (RedisCasEventRepository) eventRepository;
+        repository.removeAll();
+        val now = ZonedDateTime.now(ZoneOffset.UTC);
+        val event = new CasEvent(1, "type", "casuser", now.toString(), Map.of());
+        event.putTimestamp(now.toInstant().toEpochMilli());
+        repository.save(event);
+        try (val indexes = repository.getTemplate().scan(RedisCasEventRepository.class.getSimpleName() + "Index:*", 100L)) {
+            indexes.forEach(index -> repository.getTemplate().delete(index));
+        }
+        assertEquals(0, repository.getEventsForPrincipal("casuser").count());
+
+        assertEquals(1, repository.backfillIndexes());
+        assertEquals(1, repository.getEventsForPrincipal("casuser").count());
+        assertEquals(1, repository.getEventsOfType("type", now.minusDays(1)).count());
+        assertEquals(0, repository.backfillIndexes());
+    }
 }
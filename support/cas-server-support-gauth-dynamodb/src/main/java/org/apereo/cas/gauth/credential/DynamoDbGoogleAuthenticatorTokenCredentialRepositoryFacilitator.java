@@ -2,6 +2,7 @@ package org.apereo.cas.gauth.credential;
 
 import org.apereo.cas.authentication.OneTimeTokenAccount;
 import org.apereo.cas.configuration.model.support.mfa.gauth.DynamoDbGoogleAuthenticatorMultifactorProperties;
+import org.apereo.cas.dynamodb.DynamoDbGlobalSecondaryIndex;
 import org.apereo.cas.dynamodb.DynamoDbQueryBuilder;
 import org.apereo.cas.dynamodb.DynamoDbTableUtils;
 import org.apereo.cas.util.CollectionUtils;
@@ -38,6 +39,13 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Slf4j
 public class DynamoDbGoogleAuthenticatorTokenCredentialRepositoryFacilitator {
+    private static final List<DynamoDbGlobalSecondaryIndex> INDEXES = List.of(
+        DynamoDbGlobalSecondaryIndex.tableKey(ColumnNames.ID.getColumnName(), ScalarAttributeType.N),
+        DynamoDbGlobalSecondaryIndex.builder()
+            .indexName("userIdIndex")
+            .partitionKey(ColumnNames.USERID.getColumnName())
+            .build());
+
     private final DynamoDbGoogleAuthenticatorMultifactorProperties dynamoDbProperties;
 
     private final DynamoDbClient amazonDynamoDBClient;
@@ -224,7 +232,8 @@ public class DynamoDbGoogleAuthenticatorTokenCredentialRepositoryFacilitator {
      * @return the long
      */
     public long count() {
-        return findAll().size();
+        return DynamoDbTableUtils.countRecordsByKeys(amazonDynamoDBClient,
+            dynamoDbProperties.getTableName(), INDEXES, List.of());
     }
 
     /**
@@ -250,7 +259,8 @@ public class DynamoDbGoogleAuthenticatorTokenCredentialRepositoryFacilitator {
                 .attributeType(ScalarAttributeType.N).build()),
             List.of(KeySchemaElement.builder()
                 .attributeName(ColumnNames.ID.getColumnName())
-                .keyType(KeyType.HASH).build())));
+                .keyType(KeyType.HASH).build()),
+            INDEXES));
     }
 
     /**
@@ -293,7 +303,7 @@ public class DynamoDbGoogleAuthenticatorTokenCredentialRepositoryFacilitator {
 
     private Collection<? extends OneTimeTokenAccount> getRecordsByKeys(final List<DynamoDbQueryBuilder> queries) {
         return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient, dynamoDbProperties.getTableName(),
-                queries, DynamoDbGoogleAuthenticatorTokenCredentialRepositoryFacilitator::extractAttributeValuesFrom)
+                INDEXES, queries, DynamoDbGoogleAuthenticatorTokenCredentialRepositoryFacilitator::extractAttributeValuesFrom)
             .collect(Collectors.toSet());
     }
 }
@@ -2,6 +2,7 @@ package org.apereo.cas.gauth.token;
 
 import org.apereo.cas.authentication.OneTimeToken;
 import org.apereo.cas.configuration.model.support.mfa.gauth.DynamoDbGoogleAuthenticatorMultifactorProperties;
+import org.apereo.cas.dynamodb.DynamoDbGlobalSecondaryIndex;
 import org.apereo.cas.dynamodb.DynamoDbQueryBuilder;
 import org.apereo.cas.dynamodb.DynamoDbTableUtils;
 import org.apereo.cas.util.CollectionUtils;
@@ -23,7 +24,6 @@ import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
 import software.amazon.awssdk.services.dynamodb.model.KeyType;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
-import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -46,6 +46,20 @@ public class GoogleAuthenticatorDynamoDbTokenRepositoryFacilitator {
     private static final ObjectMapper MAPPER = JacksonObjectMapperFactory.builder()
         .defaultTypingEnabled(false).build().toObjectMapper();
 
+    private static final List<DynamoDbGlobalSecondaryIndex> INDEXES = List.of(
+        DynamoDbGlobalSecondaryIndex.tableKey(ColumnNames.ID.getColumnName(), ScalarAttributeType.N),
+        DynamoDbGlobalSecondaryIndex.builder()
+            .indexName("userIdIndex")
+            .partitionKey(ColumnNames.USERID.getColumnName())
+            .sortKey(ColumnNames.TOKEN.getColumnName())
+            .sortKeyType(ScalarAttributeType.N)
+            .build(),
+        DynamoDbGlobalSecondaryIndex.builder()
+            .indexName("tokenIndex")
+            .partitionKey(ColumnNames.TOKEN.getColumnName())
+            .partitionKeyType(ScalarAttributeType.N)
+            .build());
+
     private final DynamoDbGoogleAuthenticatorMultifactorProperties dynamoDbProperties;
 
     private final DynamoDbClient amazonDynamoDBClient;
@@ -82,7 +96,8 @@ public class GoogleAuthenticatorDynamoDbTokenRepositoryFacilitator {
                 .attributeType(ScalarAttributeType.N).build()),
             List.of(KeySchemaElement.builder()
                 .attributeName(ColumnNames.ID.getColumnName())
-                .keyType(KeyType.HASH).build())));
+                .keyType(KeyType.HASH).build()),
+            INDEXES));
     }
 
     /**
@@ -127,11 +142,8 @@ public class GoogleAuthenticatorDynamoDbTokenRepositoryFacilitator {
      * @return the long
      */
     public long count() {
-        val scan = ScanRequest.builder().tableName(dynamoDbProperties.getTokenTableName()).build();
-        LOGGER.debug("Scanning table with request [{}] to count items", scan);
-        val result = this.amazonDynamoDBClient.scan(scan);
-        LOGGER.debug("Scanned table with result [{}]", scan);
-        return result.count();
+        return DynamoDbTableUtils.countRecordsByKeys(amazonDynamoDBClient,
+            dynamoDbProperties.getTokenTableName(), INDEXES, List.of());
     }
 
     /**
@@ -147,7 +159,8 @@ public class GoogleAuthenticatorDynamoDbTokenRepositoryFacilitator {
                 .attributeValue(List.of(AttributeValue.builder().s(uid.toLowerCase(Locale.ENGLISH)).build()))
                 .operator(ComparisonOperator.EQ)
                 .build());
-        return getRecordsByKeys(query).size();
+        return DynamoDbTableUtils.countRecordsByKeys(amazonDynamoDBClient,
+            dynamoDbProperties.getTokenTableName(), INDEXES, query);
     }
 
     /**
@@ -303,7 +316,7 @@ public class GoogleAuthenticatorDynamoDbTokenRepositoryFacilitator {
 
     private Set<GoogleAuthenticatorToken> getRecordsByKeys(final List<DynamoDbQueryBuilder> queries) {
         return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient, dynamoDbProperties.getTokenTableName(),
-                queries, GoogleAuthenticatorDynamoDbTokenRepositoryFacilitator::extractAttributeValuesFrom)
+                INDEXES, queries, GoogleAuthenticatorDynamoDbTokenRepositoryFacilitator::extractAttributeValuesFrom)
             .collect(Collectors.toSet());
     }
 }
@@ -0,0 +1,48 @@
+package org.apereo.cas.gauth.credential;
+
+import org.apereo.cas.configuration.model.support.mfa.gauth.DynamoDbGoogleAuthenticatorMultifactorProperties;
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.paginators.QueryIterable;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link DynamoDbGoogleAuthenticatorTokenCredentialRepositoryFacilitatorTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Tag("DynamoDb")
+class DynamoDbGoogleAuthenticatorTokenCredentialRepositoryFacilitatorTests {
+    private DynamoDbClient client;
+
+    @BeforeEach
+    void setup() {
+        client = mock(DynamoDbClient.class);
+        when(client.queryPaginator(any(QueryRequest.class)))
+            .thenAnswer(invocation -> new QueryIterable(client, invocation.getArgument(0)));
+        when(client.query(any(QueryRequest.class)))
+            .thenReturn(QueryResponse.builder().items(List.of()).count(0).build());
+    }
+
+    @Test
+    void verifyAccountsAreQueriedByIndex() {
+        val facilitator = new DynamoDbGoogleAuthenticatorTokenCredentialRepositoryFacilitator(
+            new DynamoDbGoogleAuthenticatorMultifactorProperties(), client);
+        assertTrue(facilitator.find("casuser").isEmpty());
+        assertNull(facilitator.find(1000L));
+        verify(client).query(argThat((QueryRequest request) -> "userIdIndex".equals(request.indexName())));
+        verify(client).query(argThat((QueryRequest request) -> request.indexName() == null
+            && request.keyConditions().containsKey(DynamoDbGoogleAuthenticatorTokenCredentialRepositoryFacilitator.ColumnNames.ID.getColumnName())));
+        verify(client, never()).scan(any(ScanRequest.class));
+        verify(client, never()).scanPaginator(any(ScanRequest.class));
+    }
+}
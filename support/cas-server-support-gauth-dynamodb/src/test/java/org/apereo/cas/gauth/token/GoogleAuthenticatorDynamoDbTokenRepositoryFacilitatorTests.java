@@ -0,0 +1,47 @@
+package org.apereo.cas.gauth.token;
+
+import org.apereo.cas.configuration.model.support.mfa.gauth.DynamoDbGoogleAuthenticatorMultifactorProperties;
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.Select;
+import software.amazon.awssdk.services.dynamodb.paginators.QueryIterable;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link GoogleAuthenticatorDynamoDbTokenRepositoryFacilitatorTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Tag("DynamoDb")
+class GoogleAuthenticatorDynamoDbTokenRepositoryFacilitatorTests {
+    private DynamoDbClient client;
+
+    @BeforeEach
+    void setup() {
+        client = mock(DynamoDbClient.class);
+        when(client.queryPaginator(any(QueryRequest.class)))
+            .thenAnswer(invocation -> new QueryIterable(client, invocation.getArgument(0)));
+        when(client.query(any(QueryRequest.class)))
+            .thenReturn(QueryResponse.builder().items(List.of()).count(0).build());
+    }
+
+    @Test
+    void verifyTokensAreCountedByIndex() {
+        val facilitator = new GoogleAuthenticatorDynamoDbTokenRepositoryFacilitator(
+            new DynamoDbGoogleAuthenticatorMultifactorProperties(), client);
+        assertEquals(0, facilitator.count("casuser"));
+        verify(client).query(argThat((QueryRequest request) -> "userIdIndex".equals(request.indexName())
+            && request.select() == Select.COUNT));
+        verify(client, never()).scan(any(ScanRequest.class));
+        verify(client, never()).scanPaginator(any(ScanRequest.class));
+    }
+}
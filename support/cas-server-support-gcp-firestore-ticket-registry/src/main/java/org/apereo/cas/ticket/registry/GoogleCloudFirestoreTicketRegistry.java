@@ -12,8 +12,12 @@ import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.function.FunctionUtils;
 
+import com.google.cloud.firestore.FieldPath;
 import com.google.cloud.firestore.Filter;
 import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -33,18 +37,28 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 /**
  * This is {@link GoogleCloudFirestoreTicketRegistry}.
+ * Collections are read via paged queries that only project the fields needed to rebuild tickets,
+ * counts are computed by the server via aggregation queries and multiple documents
+ * are removed via a {@link com.google.cloud.firestore.BulkWriter}.
  *
  * @author Misagh Moayyed
  * @since 7.0.0
  */
 @Slf4j
 public class GoogleCloudFirestoreTicketRegistry extends AbstractTicketRegistry {
+    private static final int DEFAULT_PAGE_SIZE = 500;
+
     private final Firestore firestore;
 
+    /**
+     * Number of documents fetched per page when reading collections.
+     */
+    @Setter
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
     public GoogleCloudFirestoreTicketRegistry(final CipherExecutor cipherExecutor, final TicketSerializationManager ticketSerializationManager,
                                               final TicketCatalog ticketCatalog, final Firestore firestore) {
         super(cipherExecutor, ticketSerializationManager, ticketCatalog);
@@ -91,7 +105,9 @@ public class GoogleCloudFirestoreTicketRegistry extends AbstractTicketRegistry {
             .map(firestore::collection)
             .mapToLong(collection -> FunctionUtils.doUnchecked(() -> {
                 val count = collection.count().get().get().getCount();
-                firestore.recursiveDelete(collection).get();
+                try (val bulkWriter = firestore.bulkWriter()) {
+                    firestore.recursiveDelete(collection, bulkWriter).get();
+                }
                 return count;
             }))
             .sum();
@@ -99,20 +115,21 @@ public class GoogleCloudFirestoreTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Collection<? extends Ticket> getTickets() {
-        return ticketCatalog.findAll().stream()
+        try (val tickets = stream()) {
+            return tickets
+                .filter(ticket -> !ticket.isExpired())
+                .collect(Collectors.toSet());
+        }
+    }
+
+    @Override
+    public Stream<? extends Ticket> stream() {
+        return ticketCatalog.findAll()
+            .stream()
             .map(this::getTicketCollectionInstanceByMetadata)
-            .flatMap(collectionName -> {
-                val references = firestore.collection(collectionName).listDocuments();
-                return StreamSupport.stream(references.spliterator(), false)
-                    .map(doc -> FunctionUtils.doUnchecked(() -> doc.get().get()))
-                    .map(doc -> doc.toObject(GoogleCloudFirestoreTicketDocument.class));
-            })
-            .map(doc -> {
-                val ticket = deserializeTicket(doc.getJson(), doc.getType());
-                return decodeTicket(ticket);
-            })
-            .filter(ticket -> !ticket.isExpired())
-            .collect(Collectors.toSet());
+            .filter(StringUtils::isNotBlank)
+            .flatMap(collectionName -> queryTicketDocuments(firestore.collection(collectionName)))
+            .map(this::toTicket);
     }
 
     @Override
@@ -182,23 +199,24 @@ public class GoogleCloudFirestoreTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public long countSessionsFor(final String principalId) {
-        return getSessionsFor(principalId).count();
+        val principal = digestIdentifier(principalId);
+        return ticketCatalog.findTicketImplementations(TicketGrantingTicket.class)
+            .stream()
+            .map(this::getTicketCollectionInstanceByMetadata)
+            .mapToLong(collection -> count(firestore.collection(collection)
+                .whereEqualTo("principal", principal)
+                .whereGreaterThan("expireAt", new Date())))
+            .sum();
     }
 
     @Override
     public Stream<? extends Ticket> getSessionsFor(final String principalId) {
-        val ticketDefinitions = ticketCatalog.findTicketImplementations(TicketGrantingTicket.class);
-        return ticketDefinitions
+        val principal = digestIdentifier(principalId);
+        return ticketCatalog.findTicketImplementations(TicketGrantingTicket.class)
             .stream()
-            .flatMap(definition -> FunctionUtils.doUnchecked(() -> {
-                val collection = getTicketCollectionInstanceByMetadata(definition);
-                val spliterator = firestore.collection(collection).whereEqualTo("principal",
-                    digestIdentifier(principalId)).get().get().spliterator();
-                return StreamSupport.stream(spliterator, false);
-            }))
-            .map(document -> document.toObject(GoogleCloudFirestoreTicketDocument.class))
-            .map(document -> deserializeTicket(document.getJson(), document.getType()))
-            .map(this::decodeTicket)
+            .map(this::getTicketCollectionInstanceByMetadata)
+            .flatMap(collection -> queryTicketDocuments(firestore.collection(collection).whereEqualTo("principal", principal)))
+            .map(this::toTicket)
             .filter(ticket -> !ticket.isExpired());
     }
 
@@ -207,16 +225,9 @@ public class GoogleCloudFirestoreTicketRegistry extends AbstractTicketRegistry {
         return ticketCatalog
             .findAll()
             .stream()
-            .map(Unchecked.function(definition -> {
-                val collection = getTicketCollectionInstanceByMetadata(definition);
-                val spliterator = firestore.collection(collection)
-                    .whereEqualTo("service", service.getId())
-                    .get()
-                    .get()
-                    .spliterator();
-                return StreamSupport.stream(spliterator, false);
-            }))
-            .mapToLong(Stream::count)
+            .map(this::getTicketCollectionInstanceByMetadata)
+            .filter(StringUtils::isNotBlank)
+            .mapToLong(collection -> count(firestore.collection(collection).whereEqualTo("service", service.getId())))
             .sum();
     }
 
@@ -238,33 +249,81 @@ public class GoogleCloudFirestoreTicketRegistry extends AbstractTicketRegistry {
                         .toList())
                     .flatMap(List::stream)
                     .toList();
-                val spliterator = firestore.collection(collection)
+                val query = firestore.collection(collection)
                     .whereEqualTo("prefix", digestIdentifier(definition.getPrefix()))
-                    .where(Filter.or(criterias.toArray(Filter[]::new)))
-                    .get()
-                    .get()
-                    .spliterator();
-                return StreamSupport.stream(spliterator, false);
+                    .where(Filter.or(criterias.toArray(Filter[]::new)));
+                return queryTicketDocuments(query);
             }))
-            .map(document -> document.toObject(GoogleCloudFirestoreTicketDocument.class))
-            .map(document -> deserializeTicket(document.getJson(), document.getType()))
-            .map(this::decodeTicket)
+            .map(this::toTicket)
             .filter(ticket -> !ticket.isExpired());
     }
 
+    @Override
+    protected int deleteChildren(final TicketGrantingTicket ticket) {
+        val services = ticket.getServices();
+        if (services == null || services.isEmpty()) {
+            return 0;
+        }
+        val references = services.keySet()
+            .stream()
+            .map(serviceTicketId -> {
+                val metadata = ticketCatalog.find(serviceTicketId);
+                return metadata == null
+                    ? null
+                    : firestore.collection(getTicketCollectionInstanceByMetadata(metadata)).document(digestIdentifier(serviceTicketId));
+            })
+            .filter(Objects::nonNull)
+            .toList();
+        LOGGER.debug("Removing [{}] ticket(s) linked to [{}]", references.size(), ticket.getId());
+        FunctionUtils.doUnchecked(__ -> {
+            try (val bulkWriter = firestore.bulkWriter()) {
+                references.forEach(bulkWriter::delete);
+            }
+        });
+        return references.size();
+    }
+
     protected long countTicketsByTicketType(final Class<? extends Ticket> ticketType) {
         val ticketDefinitions = ticketCatalog.findTicketImplementations(ticketType);
         return ticketDefinitions
             .stream()
-            .mapToLong(defn -> FunctionUtils.doUnchecked(() -> {
+            .mapToLong(defn -> {
                 val collection = getTicketCollectionInstanceByMetadata(defn);
-                return firestore.collection(collection)
-                    .whereEqualTo("prefix", digestIdentifier(defn.getPrefix()))
-                    .count().get().get().getCount();
-            }))
+                return count(firestore.collection(collection).whereEqualTo("prefix", digestIdentifier(defn.getPrefix())));
+            })
             .sum();
     }
 
+    /**
+     * Query ticket documents page by page, ordered by document id,
+     * fetching only the fields that are needed to rebuild tickets.
+     *
+     * @param query the query
+     * @return the stream
+     */
+    protected Stream<GoogleCloudFirestoreTicketDocument> queryTicketDocuments(final Query query) {
+        val pagedQuery = query.select("json", "type").orderBy(FieldPath.documentId()).limit(pageSize);
+        return Stream.iterate(fetchPage(pagedQuery),
+                page -> !page.isEmpty(),
+                page -> page.size() < pageSize ? List.of() : fetchPage(pagedQuery.startAfter(page.getLast())))
+            .flatMap(List::stream)
+            .map(document -> document.toObject(GoogleCloudFirestoreTicketDocument.class))
+            .filter(Objects::nonNull);
+    }
+
+    private static List<QueryDocumentSnapshot> fetchPage(final Query query) {
+        return FunctionUtils.doUnchecked(() -> query.get().get().getDocuments());
+    }
+
+    private static long count(final Query query) {
+        return FunctionUtils.doUnchecked(() -> query.count().get().get().getCount());
+    }
+
+    private Ticket toTicket(final GoogleCloudFirestoreTicketDocument document) {
+        val ticket = deserializeTicket(document.getJson(), document.getType());
+        return decodeTicket(ticket);
+    }
+
     protected String getTicketCollectionInstanceByMetadata(final TicketDefinition metadata) {
         return metadata.getProperties().getStorageName();
     }
@@ -272,8 +331,10 @@ public class GoogleCloudFirestoreTicketRegistry extends AbstractTicketRegistry {
     protected GoogleCloudFirestoreTicketDocument buildTicketAsDocument(final Ticket ticket) throws Exception {
         val encTicket = encodeTicket(ticket);
         val json = serializeTicket(encTicket);
-        LOGGER.trace("Serialized ticket into a JSON document as\n [{}]",
-            JsonValue.readJSON(json).toString(Stringify.FORMATTED));
+        if (LOGGER.isTraceEnabled() && StringUtils.startsWith(json, "{")) {
+            LOGGER.trace("Serialized ticket into a JSON document as\n [{}]",
+                JsonValue.readJSON(json).toString(Stringify.FORMATTED));
+        }
         val principal = getPrincipalIdFrom(ticket);
 
         val expireAt = getExpireAt(ticket);
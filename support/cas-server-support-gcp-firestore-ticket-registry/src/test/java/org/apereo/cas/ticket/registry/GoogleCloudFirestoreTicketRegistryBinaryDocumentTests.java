@@ -0,0 +1,58 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.config.CasGoogleCloudFirestoreTicketRegistryAutoConfiguration;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import com.google.cloud.spring.autoconfigure.core.GcpContextAutoConfiguration;
+import com.google.cloud.spring.autoconfigure.firestore.GcpFirestoreAutoConfiguration;
+import lombok.Getter;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link GoogleCloudFirestoreTicketRegistryBinaryDocumentTests}.
+ * Runs the registry with binary ticket documents and trace logging,
+ * which must not attempt to format binary documents as JSON.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Getter
+@Tag("GCP")
+@Import({
+    GoogleCloudFirestoreTicketRegistryTests.GoogleCloudFirestoreTestConfiguration.class,
+    CasGoogleCloudFirestoreTicketRegistryAutoConfiguration.class,
+    GcpFirestoreAutoConfiguration.class,
+    GcpContextAutoConfiguration.class
+})
+@TestPropertySource(properties = {
+    "cas.ticket.registry.core.document-format=CBOR",
+    "logging.level.org.apereo.cas.ticket.registry=trace",
+
+    "spring.cloud.gcp.firestore.project-id=apereo-cas-gcp",
+    "spring.cloud.gcp.firestore.emulator.enabled=true",
+    "spring.cloud.gcp.firestore.host-port=127.0.0.1:9980"
+})
+class GoogleCloudFirestoreTicketRegistryBinaryDocumentTests extends BaseTicketRegistryTests {
+    @Autowired
+    @Qualifier(TicketRegistry.BEAN_NAME)
+    private TicketRegistry newTicketRegistry;
+
+    @RepeatedTest(2)
+    void verifyTicketStoredAsBinaryDocument() throws Throwable {
+        val ticket = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        val document = ((GoogleCloudFirestoreTicketRegistry) newTicketRegistry).buildTicketAsDocument(ticket);
+        assertFalse(StringUtils.startsWith(document.getJson(), "{"));
+        newTicketRegistry.addTicket(ticket);
+        assertNotNull(newTicketRegistry.getTicket(ticket.getId()));
+    }
+}
@@ -2,8 +2,10 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasGoogleCloudFirestoreTicketRegistryAutoConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
 import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
 import org.apereo.cas.util.TicketGrantingTicketIdGenerator;
 import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
@@ -25,9 +27,11 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
+import java.time.Duration;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
+import static org.awaitility.Awaitility.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -78,6 +82,53 @@ class GoogleCloudFirestoreTicketRegistryTests extends BaseTicketRegistryTests {
         assertTrue(time <= 20);
     }
 
+    @RepeatedTest(1)
+    void verifyPagedReadsAndCounts() throws Throwable {
+        ((GoogleCloudFirestoreTicketRegistry) newTicketRegistry).setPageSize(3);
+        val principalId = UUID.randomUUID().toString();
+        val service = RegisteredServiceTestUtils.getService(UUID.randomUUID().toString());
+        val ticketGrantingTicket = new TicketGrantingTicketImpl(
+            new TicketGrantingTicketIdGenerator(10, StringUtils.EMPTY).getNewTicketId(TicketGrantingTicket.PREFIX),
+            CoreAuthenticationTestUtils.getAuthentication(principalId), NeverExpiresExpirationPolicy.INSTANCE);
+        newTicketRegistry.addTicket(ticketGrantingTicket);
+        for (var i = 0; i < 7; i++) {
+            val tgt = new TicketGrantingTicketImpl(
+                new TicketGrantingTicketIdGenerator(10, StringUtils.EMPTY).getNewTicketId(TicketGrantingTicket.PREFIX),
+                CoreAuthenticationTestUtils.getAuthentication(principalId), NeverExpiresExpirationPolicy.INSTANCE);
+            newTicketRegistry.addTicket(tgt);
+        }
+        for (var i = 0; i < 5; i++) {
+            val serviceTicket = ticketGrantingTicket.grantServiceTicket("ST-" + UUID.randomUUID(), service,
+                NeverExpiresExpirationPolicy.INSTANCE, false, serviceTicketSessionTrackingPolicy);
+            newTicketRegistry.addTicket(serviceTicket);
+        }
+        newTicketRegistry.updateTicket(ticketGrantingTicket);
+
+        assertEquals(8, newTicketRegistry.countSessionsFor(principalId));
+        try (val sessions = newTicketRegistry.getSessionsFor(principalId)) {
+            assertEquals(8, sessions.count());
+        }
+        assertEquals(5, newTicketRegistry.countTicketsFor(service));
+        assertEquals(13, newTicketRegistry.getTickets().size());
+
+        assertEquals(6, newTicketRegistry.deleteTicket(ticketGrantingTicket.getId()));
+        assertEquals(0, newTicketRegistry.countTicketsFor(service));
+        assertEquals(7, newTicketRegistry.countSessionsFor(principalId));
+    }
+
+    @RepeatedTest(1)
+    void verifyExpiredSessionsAreNotCounted() throws Throwable {
+        val principalId = UUID.randomUUID().toString();
+        newTicketRegistry.addTicket(new TicketGrantingTicketImpl(
+            new TicketGrantingTicketIdGenerator(10, StringUtils.EMPTY).getNewTicketId(TicketGrantingTicket.PREFIX),
+            CoreAuthenticationTestUtils.getAuthentication(principalId), NeverExpiresExpirationPolicy.INSTANCE));
+        newTicketRegistry.addTicket(new TicketGrantingTicketImpl(
+            new TicketGrantingTicketIdGenerator(10, StringUtils.EMPTY).getNewTicketId(TicketGrantingTicket.PREFIX),
+            CoreAuthenticationTestUtils.getAuthentication(principalId), new HardTimeoutExpirationPolicy(1)));
+        assertEquals(2, newTicketRegistry.countSessionsFor(principalId));
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertEquals(1, newTicketRegistry.countSessionsFor(principalId)));
+    }
+
     @TestConfiguration(value = "GoogleCloudFirestoreTestConfiguration", proxyBeanMethods = false)
     static class GoogleCloudFirestoreTestConfiguration {
 
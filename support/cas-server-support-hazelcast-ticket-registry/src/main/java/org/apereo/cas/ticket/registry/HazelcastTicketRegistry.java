@@ -135,6 +135,18 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         return map != null && map.remove(encTicketId) != null ? 1 : 0;
     }
 
+    @Override
+    protected Ticket consumeSingleTicket(final String ticketId) {
+        val metadata = ticketCatalog.find(ticketId);
+        if (metadata == null) {
+            LOGGER.warn("No ticket definition could be found in the catalog to match [{}]", ticketId);
+            return null;
+        }
+        val map = getTicketMapInstanceByMetadata(metadata);
+        val ticketHolder = map != null ? map.remove(digestIdentifier(ticketId)) : null;
+        return ticketHolder != null && ticketHolder.getTicket() != null ? decodeTicket(ticketHolder.getTicket()) : null;
+    }
+
     @Override
     public long deleteAll() {
         return ticketCatalog.findAll()
@@ -15,6 +15,7 @@ import java.io.Serializable;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
@@ -91,6 +92,43 @@ public class InfluxDbConnectionFactory implements AutoCloseable {
             influxDbProperties.getOrganization());
     }
 
+    /**
+     * Delete the points of the measurement that were recorded before the given instant.
+     *
+     * @param measurement the measurement
+     * @param stop        the instant before which points are deleted
+     */
+    public void deleteBefore(final String measurement, final Instant stop) {
+        val predicate = new DeletePredicateRequest();
+        predicate.setStart(OffsetDateTime.now(Clock.systemUTC()).minus(10, ChronoUnit.DECADES));
+        predicate.setStop(stop.atOffset(ZoneOffset.UTC));
+        predicate.setPredicate(String.format("_measurement=\"%s\"", escape(measurement)));
+        this.influxDb.getDeleteApi().delete(predicate, influxDbProperties.getDatabase(),
+            influxDbProperties.getOrganization());
+    }
+
+    /**
+     * Query the points of the measurement that carry the given tags and were recorded
+     * at or after the given instant. The filters are evaluated by InfluxDb.
+     *
+     * @param <T>         the type parameter
+     * @param clazz       the clazz
+     * @param measurement the measurement
+     * @param tags        the tags to match
+     * @param start       the instant to start from, or null to query all points
+     * @return the query result
+     */
+    public <T extends Serializable> List<T> query(final Class<T> clazz, final String measurement,
+                                                  final Map<String, String> tags, final Instant start) {
+        val query = new StringBuilder(String.format("from(bucket:\"%s\") |> range(start: %s)",
+            influxDbProperties.getDatabase(), start == null ? "0" : start.toString()));
+        query.append(String.format(" |> filter(fn: (r) => r._measurement == \"%s\"", escape(measurement)));
+        tags.forEach((name, value) -> query.append(String.format(" and r[\"%s\"] == \"%s\"", escape(name), escape(value))));
+        query.append(')');
+        LOGGER.trace("Executing query [{}]", query);
+        return influxDb.getQueryApi().query(query.toString(), influxDbProperties.getOrganization(), clazz);
+    }
+
     /**
      * Query all result.
      *
@@ -103,6 +141,10 @@ public class InfluxDbConnectionFactory implements AutoCloseable {
         return influxDb.getQueryApi().query(query, influxDbProperties.getOrganization(), clazz);
     }
 
+    private static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
     @Override
     public void close() {
         this.influxDb.close();
@@ -3,6 +3,7 @@ package org.apereo.cas.config;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
 import org.apereo.cas.configuration.model.support.jpa.JpaConfigurationContext;
+import org.apereo.cas.configuration.model.support.jpa.ticketregistry.JpaTicketRegistryProperties;
 import org.apereo.cas.configuration.support.CloseableDataSource;
 import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.jpa.JpaBeanFactory;
@@ -10,6 +11,7 @@ import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.catalog.CasTicketCatalogConfigurationValuesProvider;
 import org.apereo.cas.ticket.registry.JpaTicketEntityFactory;
 import org.apereo.cas.ticket.registry.JpaTicketRegistry;
+import org.apereo.cas.ticket.registry.ShardedTicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
 import org.apereo.cas.util.CollectionUtils;
@@ -23,6 +25,7 @@ import org.apereo.cas.util.spring.beans.BeanSupplier;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 import lombok.val;
 import org.jooq.lambda.Unchecked;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -41,6 +44,7 @@ import org.springframework.integration.jdbc.lock.JdbcLockRegistry;
 import org.springframework.integration.support.locks.LockRegistry;
 import org.springframework.integration.transaction.PseudoTransactionManager;
 import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionOperations;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -195,14 +199,40 @@ public class CasJpaTicketRegistryAutoConfiguration {
             @Qualifier(TicketCatalog.BEAN_NAME)
             final TicketCatalog ticketCatalog,
             @Qualifier(JpaBeanFactory.DEFAULT_BEAN_NAME)
-            final JpaBeanFactory jpaBeanFactory) {
+            final JpaBeanFactory jpaBeanFactory,
+            @Qualifier("ticketEntityManagerFactory")
+            final EntityManagerFactory ticketEntityManagerFactory,
+            @Qualifier("ticketPackagesToScan")
+            final BeanContainer<String> ticketPackagesToScan) {
             return BeanSupplier.of(TicketRegistry.class)
                 .when(CONDITION.given(applicationContext.getEnvironment()))
                 .supply(() -> {
                     val jpa = casProperties.getTicket().getRegistry().getJpa();
                     val cipher = CoreTicketUtils.newTicketRegistryCipherExecutor(jpa.getCrypto(), "jpa");
-                    return new JpaTicketRegistry(cipher, ticketSerializationManager, ticketCatalog,
+                    val registry = new JpaTicketRegistry(cipher, ticketSerializationManager, ticketCatalog,
                         jpaBeanFactory, jpaTicketRegistryTransactionTemplate, casProperties);
+                    registry.setEntityManager(SharedEntityManagerCreator.createSharedEntityManager(ticketEntityManagerFactory));
+                    return ShardedTicketRegistry.of(registry, casProperties.getTicket().getRegistry().getSharding(),
+                        Unchecked.function(connection -> {
+                            val shard = new JpaTicketRegistryProperties();
+                            BeanUtils.copyProperties(jpa, shard);
+                            shard.setUrl(connection);
+                            val dataSource = JpaBeans.newDataSource(shard);
+                            val ctx = JpaConfigurationContext.builder()
+                                .jpaVendorAdapter(jpaBeanFactory.newJpaVendorAdapter(casProperties.getJdbc()))
+                                .persistenceUnitName("jpaTicketRegistryContext")
+                                .dataSource(dataSource)
+                                .packagesToScan(ticketPackagesToScan.toSet())
+                                .build();
+                            val entityManagerFactory = jpaBeanFactory.newEntityManagerFactoryBean(ctx, shard).getObject();
+                            val transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+                            transactionTemplate.setIsolationLevelName(shard.getIsolationLevelName());
+                            transactionTemplate.setPropagationBehaviorName(shard.getPropagationBehaviorName());
+                            val shardRegistry = new JpaTicketRegistry(cipher, ticketSerializationManager, ticketCatalog,
+                                jpaBeanFactory, transactionTemplate, casProperties);
+                            shardRegistry.setEntityManager(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+                            return ShardedTicketRegistry.Shard.of(shardRegistry, entityManagerFactory, dataSource::destroy);
+                        }), ticketSerializationManager, ticketCatalog);
                 })
                 .otherwiseProxy()
                 .get();
@@ -16,6 +16,7 @@ import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.function.FunctionUtils;
 
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -56,6 +57,7 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
     private final CasConfigurationProperties casProperties;
 
     @PersistenceContext(unitName = "jpaTicketRegistryContext")
+    @Setter
     private EntityManager entityManager;
 
     public JpaTicketRegistry(final CipherExecutor cipherExecutor,
@@ -87,6 +89,15 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return ticket;
     }
 
+    /**
+     * All changes are written in a single transaction, which is joined by the operations
+     * that write each ticket, so changes are flushed to the database together.
+     */
+    @Override
+    public Map<String, Ticket> commit(final TicketRegistryUnitOfWork unitOfWork) {
+        return transactionTemplate.execute(status -> FunctionUtils.doUnchecked(() -> super.commit(unitOfWork)));
+    }
+
     @Override
     public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
         return transactionTemplate.execute(callback -> {
@@ -325,6 +336,29 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return Objects.requireNonNull(result);
     }
 
+    @Override
+    protected Ticket consumeSingleTicket(final String ticketId) {
+        return transactionTemplate.execute(callback -> {
+            try {
+                val encTicketId = digestIdentifier(ticketId);
+                if (StringUtils.isNotBlank(encTicketId)) {
+                    val factory = getJpaTicketEntityFactory();
+                    val sql = String.format("SELECT t FROM %s t WHERE t.id = :id", factory.getEntityName());
+                    val query = entityManager.createQuery(sql, factory.getType());
+                    query.setParameter("id", encTicketId);
+                    query.setLockMode(LockModeType.PESSIMISTIC_WRITE);
+                    val entity = factory.toTicket(query.getSingleResult());
+                    val delete = entityManager.createQuery(String.format("DELETE FROM %s o WHERE o.id = :id", factory.getEntityName()));
+                    delete.setParameter("id", encTicketId);
+                    return delete.executeUpdate() > 0 ? decodeTicket(entity) : null;
+                }
+            } catch (final NoResultException e) {
+                LOGGER.debug("No record could be found for ticket [{}]", ticketId);
+            }
+            return null;
+        });
+    }
+
     protected BaseTicketEntity getTicketEntityFrom(final Ticket ticket) {
         return FunctionUtils.doUnchecked(() -> {
             val encodeTicket = encodeTicket(ticket);
@@ -3,15 +3,19 @@ package org.apereo.cas.config;
 import org.apereo.cas.authentication.CasSSLContext;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
+import org.apereo.cas.configuration.model.support.mongo.ticketregistry.MongoDbTicketRegistryProperties;
 import org.apereo.cas.mongo.MongoDbConnectionFactory;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.registry.MongoDbTicketRegistry;
+import org.apereo.cas.ticket.registry.ShardedTicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
 import org.apereo.cas.util.CoreTicketUtils;
 import org.apereo.cas.util.MongoDbTicketRegistryFacilitator;
+import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 import lombok.val;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -41,13 +45,37 @@ class MongoDbTicketRegistryConfiguration {
         @Qualifier("mongoDbTicketRegistryTemplate")
         final MongoOperations mongoDbTicketRegistryTemplate,
         @Qualifier(TicketSerializationManager.BEAN_NAME)
-        final TicketSerializationManager ticketSerializationManager) {
+        final TicketSerializationManager ticketSerializationManager,
+        @Qualifier(CasSSLContext.BEAN_NAME)
+        final CasSSLContext casSslContext) {
 
         val mongo = casProperties.getTicket().getRegistry().getMongo();
-        new MongoDbTicketRegistryFacilitator(ticketCatalog, mongoDbTicketRegistryTemplate, mongo).createTicketCollections();
-
         val cipher = CoreTicketUtils.newTicketRegistryCipherExecutor(mongo.getCrypto(), "mongo");
-        return new MongoDbTicketRegistry(cipher, ticketSerializationManager, ticketCatalog, mongoDbTicketRegistryTemplate);
+        val storeTrackedTicketsSeparately = casProperties.getTicket().getTgt().getCore().isStoreTrackedTicketsSeparately();
+        val registry = newTicketRegistry(mongoDbTicketRegistryTemplate, mongo, cipher,
+            ticketSerializationManager, ticketCatalog, storeTrackedTicketsSeparately);
+        return ShardedTicketRegistry.of(registry, casProperties.getTicket().getRegistry().getSharding(), connection -> {
+            val shard = new MongoDbTicketRegistryProperties();
+            BeanUtils.copyProperties(mongo, shard);
+            shard.setClientUri(connection);
+            val connectionFactory = new MongoDbConnectionFactory(casSslContext.getSslContext());
+            val mongoClient = connectionFactory.buildMongoDbClient(shard);
+            val template = connectionFactory.buildMongoTemplate(mongoClient, shard);
+            return ShardedTicketRegistry.Shard.of(newTicketRegistry(template, shard, cipher, ticketSerializationManager,
+                ticketCatalog, storeTrackedTicketsSeparately), mongoClient);
+        }, ticketSerializationManager, ticketCatalog);
+    }
+
+    private static MongoDbTicketRegistry newTicketRegistry(final MongoOperations mongoTemplate,
+                                                           final MongoDbTicketRegistryProperties mongo,
+                                                           final CipherExecutor cipher,
+                                                           final TicketSerializationManager ticketSerializationManager,
+                                                           final TicketCatalog ticketCatalog,
+                                                           final boolean storeTrackedTicketsSeparately) {
+        new MongoDbTicketRegistryFacilitator(ticketCatalog, mongoTemplate, mongo).createTicketCollections();
+        val registry = new MongoDbTicketRegistry(cipher, ticketSerializationManager, ticketCatalog, mongoTemplate);
+        registry.setStoreTrackedTicketsSeparately(storeTrackedTicketsSeparately);
+        return registry;
     }
 
     @ConditionalOnMissingBean(name = "mongoDbTicketRegistryTemplate")
@@ -62,6 +62,12 @@ public class MongoDbTicketDocument implements Serializable {
      */
     public static final String FIELD_NAME_ATTRIBUTES = "attributes";
 
+    /**
+     * Field name to hold the tracked ticket entries of ticket-granting tickets,
+     * when such entries are stored separately from the ticket itself.
+     */
+    public static final String FIELD_NAME_TRACKED_TICKETS = "trackedTickets";
+
     @Serial
     private static final long serialVersionUID = -4843440028617071224L;
 
@@ -84,4 +90,7 @@ public class MongoDbTicketDocument implements Serializable {
     private Map<String, ?> attributes;
 
     private Date expireAt;
+
+    @JsonProperty
+    private Map<String, String> trackedTickets;
 }
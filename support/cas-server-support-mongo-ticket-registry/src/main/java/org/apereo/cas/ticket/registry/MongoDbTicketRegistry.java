@@ -14,6 +14,7 @@ import org.apereo.cas.util.LoggingUtils;
 import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.function.FunctionUtils;
 import com.mongodb.client.MongoCollection;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -21,6 +22,7 @@ import org.hjson.JsonValue;
 import org.hjson.Stringify;
 import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -31,6 +33,8 @@ import java.io.Serializable;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -52,6 +56,13 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
 
     private final MongoOperations mongoTemplate;
 
+    /**
+     * Whether services and descendant tickets tracked by ticket-granting tickets
+     * are stored as separate entries inside the ticket document.
+     */
+    @Setter
+    private boolean storeTrackedTicketsSeparately;
+
     public MongoDbTicketRegistry(final CipherExecutor cipherExecutor, final TicketSerializationManager ticketSerializationManager,
                                  final TicketCatalog ticketCatalog, final MongoOperations mongoTemplate) {
         super(cipherExecutor, ticketSerializationManager, ticketCatalog);
@@ -77,7 +88,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
     public Ticket addSingleTicket(final Ticket ticket) {
         try {
             LOGGER.debug("Adding ticket [{}]", ticket.getId());
-            val document = buildTicketAsDocument(ticket);
+            val document = buildTrackedTicketAsDocument(ticket);
             val metadata = ticketCatalog.find(ticket);
             if (metadata == null) {
                 LOGGER.error("Could not locate ticket definition in the catalog for ticket [{}]", ticket.getId());
@@ -95,6 +106,39 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         return ticket;
     }
 
+    /**
+     * Tickets to add and update are written with a single bulk write per collection.
+     */
+    @Override
+    public Map<String, Ticket> commit(final TicketRegistryUnitOfWork unitOfWork) throws Exception {
+        val addedTickets = new LinkedHashMap<String, Ticket>();
+        val bulkOperations = new HashMap<String, BulkOperations>();
+        for (val ticket : unitOfWork.getTicketsToAdd()) {
+            val metadata = ticketCatalog.find(ticket);
+            if (metadata != null && !ticket.isExpired()) {
+                val document = FunctionUtils.doUnchecked(() -> buildTrackedTicketAsDocument(ticket));
+                getBulkOperations(bulkOperations, metadata).insert(document);
+                addedTickets.put(ticket.getId(), ticket);
+            }
+        }
+        for (val ticket : unitOfWork.getTicketsToUpdate()) {
+            val metadata = ticketCatalog.find(ticket);
+            if (metadata != null) {
+                val update = FunctionUtils.doUnchecked(() -> buildTicketUpdate(ticket));
+                val query = new Query(Criteria.where(MongoDbTicketDocument.FIELD_NAME_ID).is(digestIdentifier(ticket.getId())));
+                getBulkOperations(bulkOperations, metadata).updateOne(query, update);
+            }
+        }
+        bulkOperations.forEach((collectionName, operations) -> {
+            val result = operations.execute();
+            LOGGER.debug("Wrote tickets to collection [{}] with result [{}]", collectionName, result);
+        });
+        for (val ticket : unitOfWork.getTicketsToDelete()) {
+            deleteTicket(ticket);
+        }
+        return addedTickets;
+    }
+
     @Override
     public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
         try {
@@ -113,8 +157,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             val query = new Query(Criteria.where(MongoDbTicketDocument.FIELD_NAME_ID).is(encTicketId));
             val found = mongoTemplate.findOne(query, MongoDbTicketDocument.class, collectionName);
             if (found != null) {
-                val decoded = deserializeTicket(found.getJson(), found.getType());
-                val result = decodeTicket(decoded);
+                val result = toTicket(found);
 
                 if (predicate.test(result)) {
                     return result;
@@ -150,7 +193,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             .map(this::getTicketCollectionInstanceByMetadata)
             .map(map -> mongoTemplate.findAll(MongoDbTicketDocument.class, map))
             .flatMap(List::stream)
-            .map(ticket -> decodeTicket(deserializeTicket(ticket.getJson(), ticket.getType())))
+            .map(this::toTicket)
             .filter(ticket -> !ticket.isExpired())
             .collect(Collectors.toSet());
     }
@@ -159,7 +202,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
     public Ticket updateTicket(final Ticket ticket) {
         LOGGER.debug("Updating ticket [{}]", ticket);
         try {
-            val holder = buildTicketAsDocument(ticket);
+            val update = buildTicketUpdate(ticket);
             val metadata = ticketCatalog.find(ticket);
             if (metadata == null) {
                 LOGGER.error("Could not locate ticket definition in the catalog for ticket [{}]", ticket.getId());
@@ -167,8 +210,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             }
             LOGGER.debug("Located ticket definition [{}] in the ticket catalog", metadata);
             val collectionName = getTicketCollectionInstanceByMetadata(metadata);
-            val query = new Query(Criteria.where(MongoDbTicketDocument.FIELD_NAME_ID).is(holder.getTicketId()));
-            val update = Update.update(MongoDbTicketDocument.FIELD_NAME_JSON, holder.getJson());
+            val query = new Query(Criteria.where(MongoDbTicketDocument.FIELD_NAME_ID).is(digestIdentifier(ticket.getId())));
             val result = mongoTemplate.updateFirst(query, update, collectionName);
             LOGGER.debug("Updated ticket [{}] with result [{}]", ticket, result);
             return result.getMatchedCount() > 0 ? ticket : null;
@@ -186,7 +228,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             .stream()
             .map(this::getTicketCollectionInstanceByMetadata)
             .flatMap(map -> mongoTemplate.stream(new Query(), MongoDbTicketDocument.class, map))
-            .map(ticket -> decodeTicket(deserializeTicket(ticket.getJson(), ticket.getType())));
+            .map(this::toTicket);
     }
 
     @Override
@@ -211,7 +253,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
                     : TextQuery.queryText(TextCriteria.forDefaultLanguage().matchingAny(principalId)).sortByScore().with(PageRequest.of(0, PAGE_SIZE));
                 return mongoTemplate.stream(query, MongoDbTicketDocument.class, map);
             })
-            .map(ticket -> decodeTicket(deserializeTicket(ticket.getJson(), ticket.getType())))
+            .map(this::toTicket)
             .filter(ticket -> !ticket.isExpired());
     }
 
@@ -240,7 +282,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
                 val query = new Query(finalCriteria);
                 return mongoTemplate.stream(query, MongoDbTicketDocument.class, map);
             })
-            .map(ticket -> decodeTicket(deserializeTicket(ticket.getJson(), ticket.getType())))
+            .map(this::toTicket)
             .filter(ticket -> !ticket.isExpired());
     }
 
@@ -261,6 +303,19 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         return res.getDeletedCount();
     }
 
+    @Override
+    protected Ticket consumeSingleTicket(final String ticketId) {
+        val metadata = ticketCatalog.find(ticketId);
+        if (metadata == null) {
+            LOGGER.debug("Ticket definition [{}] could not be found in the ticket catalog", ticketId);
+            return null;
+        }
+        val collectionName = getTicketCollectionInstanceByMetadata(metadata);
+        val query = new Query(Criteria.where(MongoDbTicketDocument.FIELD_NAME_ID).is(digestIdentifier(ticketId)));
+        val found = mongoTemplate.findAndRemove(query, MongoDbTicketDocument.class, collectionName);
+        return found != null ? toTicket(found) : null;
+    }
+
     @Override
     public List<? extends Serializable> query(final TicketRegistryQueryCriteria criteria) {
         val ticketDefinitions = StringUtils.isNotBlank(criteria.getType())
@@ -278,7 +333,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
                 || StringUtils.equalsIgnoreCase(criteria.getPrincipal(), document.getPrincipal()))
             .map(document -> {
                 if (criteria.isDecode()) {
-                    val ticket = decodeTicket(deserializeTicket(document.getJson(), document.getType()));
+                    val ticket = toTicket(document);
                     return ticket != null ? !ticket.isExpired() : null;
                 }
                 return "%s:%s".formatted(document.getTicketId(), StringUtils.defaultIfBlank(document.getPrincipal(), "N/A"));
@@ -299,13 +354,63 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
                 return mongoTemplate.stream(query, MongoDbTicketDocument.class, map);
             })
             .map(document -> {
-                val ticket = decodeTicket(deserializeTicket(document.getJson(), document.getType()));
+                val ticket = toTicket(document);
                 return ticket != null ? !ticket.isExpired() : null;
             })
             .filter(Objects::nonNull)
             .count();
     }
 
+    @Override
+    protected boolean isTrackedTicketsStoredSeparately() {
+        return storeTrackedTicketsSeparately;
+    }
+
+    @Override
+    protected Map<String, String> loadTrackedTicketEntries(final TicketGrantingTicket ticket) {
+        val query = new Query(Criteria.where(MongoDbTicketDocument.FIELD_NAME_ID).is(digestIdentifier(ticket.getId())));
+        query.fields().include(MongoDbTicketDocument.FIELD_NAME_TRACKED_TICKETS);
+        val found = mongoTemplate.findOne(query, MongoDbTicketDocument.class, getTicketCollectionInstanceByMetadata(ticketCatalog.find(ticket)));
+        return found != null && found.getTrackedTickets() != null ? found.getTrackedTickets() : new HashMap<>(0);
+    }
+
+    protected Ticket toTicket(final MongoDbTicketDocument document) {
+        val ticket = decodeTicket(deserializeTicket(document.getJson(), document.getType()));
+        return attachTrackedTickets(ticket, document.getTrackedTickets());
+    }
+
+    /**
+     * Build the ticket document to insert. Tracked ticket entries
+     * are stored as part of the same document, if any.
+     */
+    protected MongoDbTicketDocument buildTrackedTicketAsDocument(final Ticket ticket) throws Throwable {
+        val detached = detachTrackedTickets(ticket);
+        val document = buildTicketAsDocument(detached.ticket());
+        if (!detached.storedEntries().isEmpty()) {
+            document.setTrackedTickets(detached.storedEntries());
+        }
+        return document;
+    }
+
+    /**
+     * Build the update for an existing ticket document. The ticket itself is only written
+     * if it has changed, while tracked ticket entries are set and unset individually
+     * so that issuing a service ticket does not rewrite the entire ticket-granting ticket.
+     */
+    protected Update buildTicketUpdate(final Ticket ticket) throws Throwable {
+        val detached = detachTrackedTickets(ticket);
+        val update = new Update();
+        if (detached.documentChanged()) {
+            update.set(MongoDbTicketDocument.FIELD_NAME_JSON, buildTicketAsDocument(detached.ticket()).getJson());
+        }
+        if (detached.hasTrackedTicketEntries()) {
+            update.set(MongoDbTicketDocument.FIELD_NAME_EXPIRE_AT, getExpireAt(ticket));
+            detached.storedEntries().forEach((key, value) -> update.set(MongoDbTicketDocument.FIELD_NAME_TRACKED_TICKETS + '.' + key, value));
+            detached.removedEntries().forEach(key -> update.unset(MongoDbTicketDocument.FIELD_NAME_TRACKED_TICKETS + '.' + key));
+        }
+        return update;
+    }
+
     protected long countTicketsByTicketType(final Class<? extends Ticket> ticketType) {
         val ticketDefinitions = ticketCatalog.findTicketImplementations(ticketType);
         return ticketDefinitions
@@ -320,8 +425,10 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         val json = serializeTicket(encTicket);
         FunctionUtils.throwIf(StringUtils.isBlank(json),
             () -> new IllegalArgumentException("Ticket " + ticket.getId() + " cannot be serialized to JSON"));
-        LOGGER.trace("Serialized ticket into a JSON document as\n [{}]",
-            JsonValue.readJSON(json).toString(Stringify.FORMATTED));
+        if (LOGGER.isTraceEnabled() && StringUtils.startsWith(json, "{")) {
+            LOGGER.trace("Serialized ticket into a JSON document as\n [{}]",
+                JsonValue.readJSON(json).toString(Stringify.FORMATTED));
+        }
 
         val expireAt = getExpireAt(ticket);
         LOGGER.trace("Calculated expiration date for ticket ttl as [{}]", expireAt);
@@ -346,6 +453,12 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         return Objects.requireNonNull(collection).getNamespace().getCollectionName();
     }
 
+    private BulkOperations getBulkOperations(final Map<String, BulkOperations> bulkOperations, final TicketDefinition metadata) {
+        val collectionName = getTicketCollectionInstanceByMetadata(metadata);
+        return bulkOperations.computeIfAbsent(collectionName,
+            name -> mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, name));
+    }
+
     protected MongoCollection getTicketCollectionInstance(final String mapName) {
         return FunctionUtils.doUnchecked(() -> {
             val inst = mongoTemplate.getCollection(mapName);
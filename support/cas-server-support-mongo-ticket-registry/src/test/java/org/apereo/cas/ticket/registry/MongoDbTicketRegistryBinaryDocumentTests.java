@@ -0,0 +1,73 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.config.CasMongoDbTicketRegistryAutoConfiguration;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.junit.EnabledIfListeningOnPort;
+import lombok.Getter;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.test.context.TestPropertySource;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link MongoDbTicketRegistryBinaryDocumentTests}.
+ * Runs the registry with binary ticket documents and trace logging,
+ * which must not attempt to format binary documents as JSON.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Tag("MongoDb")
+@Import(CasMongoDbTicketRegistryAutoConfiguration.class)
+@TestPropertySource(properties = {
+    "cas.ticket.registry.core.document-format=CBOR",
+    "logging.level.org.apereo.cas.ticket.registry=trace",
+
+    "cas.ticket.registry.mongo.database-name=ticket-registry",
+    "cas.ticket.registry.mongo.authentication-database-name=admin",
+    "cas.ticket.registry.mongo.host=localhost",
+    "cas.ticket.registry.mongo.port=27017",
+    "cas.ticket.registry.mongo.drop-collection=true",
+    "cas.ticket.registry.mongo.update-indexes=true",
+    "cas.ticket.registry.mongo.drop-indexes=true",
+    "cas.ticket.registry.mongo.user-id=root",
+    "cas.ticket.registry.mongo.password=secret"
+})
+@EnabledIfListeningOnPort(port = 27017)
+@Getter
+class MongoDbTicketRegistryBinaryDocumentTests extends BaseTicketRegistryTests {
+
+    @Autowired
+    @Qualifier(TicketRegistry.BEAN_NAME)
+    private TicketRegistry newTicketRegistry;
+
+    @Autowired
+    @Qualifier("mongoDbTicketRegistryTemplate")
+    private MongoOperations mongoDbTicketRegistryTemplate;
+
+    @BeforeEach
+    public void before() {
+        newTicketRegistry.deleteAll();
+    }
+
+    @RepeatedTest(2)
+    void verifyTicketStoredAsBinaryDocument() throws Throwable {
+        val ticket = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        newTicketRegistry.addTicket(ticket);
+        val collectionName = ticketCatalog.find(ticket).getProperties().getStorageName();
+        val documents = mongoDbTicketRegistryTemplate.findAll(MongoDbTicketDocument.class, collectionName);
+        assertEquals(1, documents.size());
+        assertFalse(StringUtils.startsWith(documents.getFirst().getJson(), "{"));
+        assertNotNull(newTicketRegistry.getTicket(ticket.getId()));
+    }
+}
@@ -0,0 +1,108 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.config.CasMongoDbTicketRegistryAutoConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.junit.EnabledIfListeningOnPort;
+import lombok.Getter;
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.test.context.TestPropertySource;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link MongoDbTicketRegistryTrackedTicketsTests}.
+ * Runs the registry with tracked tickets stored separately
+ * as entries of the ticket-granting ticket document.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Tag("MongoDb")
+@Import(CasMongoDbTicketRegistryAutoConfiguration.class)
+@TestPropertySource(properties = {
+    "cas.ticket.tgt.core.store-tracked-tickets-separately=true",
+
+    "cas.ticket.registry.mongo.database-name=ticket-registry",
+    "cas.ticket.registry.mongo.authentication-database-name=admin",
+    "cas.ticket.registry.mongo.host=localhost",
+    "cas.ticket.registry.mongo.port=27017",
+    "cas.ticket.registry.mongo.drop-collection=true",
+    "cas.ticket.registry.mongo.update-indexes=true",
+    "cas.ticket.registry.mongo.drop-indexes=true",
+    "cas.ticket.registry.mongo.user-id=root",
+    "cas.ticket.registry.mongo.password=secret"
+})
+@EnabledIfListeningOnPort(port = 27017)
+@Getter
+class MongoDbTicketRegistryTrackedTicketsTests extends BaseTicketRegistryTests {
+
+    @Autowired
+    @Qualifier(TicketRegistry.BEAN_NAME)
+    private TicketRegistry newTicketRegistry;
+
+    @Autowired
+    @Qualifier("mongoDbTicketRegistryTemplate")
+    private MongoOperations mongoDbTicketRegistryTemplate;
+
+    @BeforeEach
+    public void before() {
+        newTicketRegistry.deleteAll();
+    }
+
+    @RepeatedTest(2)
+    void verifyTrackedTicketsStoredInTicketDocument() throws Throwable {
+        val authentication = CoreAuthenticationTestUtils.getAuthentication(UUID.randomUUID().toString());
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId, authentication, NeverExpiresExpirationPolicy.INSTANCE);
+        newTicketRegistry.addTicket(tgt);
+        val collectionName = ticketCatalog.find(tgt).getProperties().getStorageName();
+        val json = getTicketDocument(collectionName).getJson();
+
+        val st = tgt.grantServiceTicket(serviceTicketId, RegisteredServiceTestUtils.getService(),
+            NeverExpiresExpirationPolicy.INSTANCE, false, serviceTicketSessionTrackingPolicy);
+        newTicketRegistry.addTicket(st);
+        newTicketRegistry.updateTicket(tgt);
+
+        val document = getTicketDocument(collectionName);
+        assertEquals(json, document.getJson());
+        assertEquals(tgt.getServices().size() + tgt.getDescendantTickets().size() + 1, document.getTrackedTickets().size());
+
+        val found = newTicketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertTrue(found.getServices().containsKey(st.getId()));
+        assertEquals(tgt.getCountOfUses(), found.getCountOfUses());
+        assertTrue(newTicketRegistry.getSessionsFor(authentication.getPrincipal().getId())
+            .map(TicketGrantingTicket.class::cast)
+            .allMatch(ticket -> ticket.getServices().containsKey(st.getId())));
+        assertTrue(newTicketRegistry.stream()
+            .filter(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast)
+            .allMatch(ticket -> ticket.getServices().containsKey(st.getId())));
+
+        found.getServices().clear();
+        found.putProperty("name", "value");
+        newTicketRegistry.updateTicket(found);
+        val updated = getTicketDocument(collectionName);
+        assertNotEquals(json, updated.getJson());
+        assertEquals(found.getDescendantTickets().size() + 1, updated.getTrackedTickets().size());
+
+        newTicketRegistry.deleteTicket(found);
+        assertNull(newTicketRegistry.getTicket(st.getId()));
+        assertTrue(mongoDbTicketRegistryTemplate.findAll(MongoDbTicketDocument.class, collectionName).isEmpty());
+    }
+
+    private MongoDbTicketDocument getTicketDocument(final String collectionName) {
+        val documents = mongoDbTicketRegistryTemplate.findAll(MongoDbTicketDocument.class, collectionName);
+        assertEquals(1, documents.size());
+        return documents.getFirst();
+    }
+}
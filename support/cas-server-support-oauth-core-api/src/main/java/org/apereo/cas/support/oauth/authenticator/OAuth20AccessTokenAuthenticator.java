@@ -3,6 +3,7 @@ package org.apereo.cas.support.oauth.authenticator;
 import org.apereo.cas.support.oauth.OAuth20Constants;
 import org.apereo.cas.support.oauth.web.response.accesstoken.response.OAuth20JwtAccessTokenEncoder;
 import org.apereo.cas.ticket.accesstoken.OAuth20AccessToken;
+import org.apereo.cas.ticket.accesstoken.OAuth20StatelessAccessTokenResolver;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.token.JwtBuilder;
 
@@ -39,19 +40,28 @@ public class OAuth20AccessTokenAuthenticator implements Authenticator {
 
     private Set<String> requiredScopes = new LinkedHashSet<>();
 
+    private OAuth20StatelessAccessTokenResolver statelessAccessTokenResolver = OAuth20StatelessAccessTokenResolver.noOp();
+
     protected String extractAccessTokenFrom(final TokenCredentials tokenCredentials) {
         return OAuth20JwtAccessTokenEncoder.toDecodableCipher(accessTokenJwtBuilder).decode(tokenCredentials.getToken());
     }
 
-    @Override
-    public Optional<Credentials> validate(final CallContext callContext, final Credentials credentials) {
-        val tokenCredentials = (TokenCredentials) credentials;
+    protected OAuth20AccessToken fetchAccessToken(final TokenCredentials tokenCredentials) {
+        if (statelessAccessTokenResolver.supports(tokenCredentials.getToken())) {
+            LOGGER.trace("Validating access token statelessly for authentication");
+            return statelessAccessTokenResolver.resolve(tokenCredentials.getToken()).orElse(null);
+        }
         val token = extractAccessTokenFrom(tokenCredentials);
         LOGGER.trace("Received access token [{}] for authentication", token);
+        return ticketRegistry.getTicket(token, OAuth20AccessToken.class);
+    }
 
-        val accessToken = ticketRegistry.getTicket(token, OAuth20AccessToken.class);
+    @Override
+    public Optional<Credentials> validate(final CallContext callContext, final Credentials credentials) {
+        val tokenCredentials = (TokenCredentials) credentials;
+        val accessToken = fetchAccessToken(tokenCredentials);
         if (accessToken == null || accessToken.isExpired()) {
-            LOGGER.error("Provided access token [{}] is either not found in the ticket registry or has expired", token);
+            LOGGER.error("Provided access token is either not found in the ticket registry or has expired");
             return Optional.empty();
         }
 
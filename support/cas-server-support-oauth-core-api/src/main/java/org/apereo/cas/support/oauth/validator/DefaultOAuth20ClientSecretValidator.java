@@ -1,9 +1,13 @@
 package org.apereo.cas.support.oauth.validator;
 
 import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.EncodingUtils;
 import org.apereo.cas.util.crypto.CipherExecutor;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,9 +15,15 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.Serializable;
+import java.security.MessageDigest;
+import java.time.Duration;
 
 /**
  * This is {@link DefaultOAuth20ClientSecretValidator}.
+ * Client secrets defined by registered services are decoded once and only their digests
+ * are kept in memory, keyed by the registered service and its (encoded) client secret,
+ * so that a change to the service's client secret is picked up on the next validation.
+ * Provided client secrets are compared against the digests in constant time.
  *
  * @author Misagh Moayyed
  * @since 6.6.0
@@ -22,8 +32,18 @@ import java.io.Serializable;
 @RequiredArgsConstructor
 @Getter
 public class DefaultOAuth20ClientSecretValidator implements OAuth20ClientSecretValidator {
+    private static final int MAXIMUM_CACHE_SIZE = 10_000;
+
+    private static final Duration CACHE_EXPIRATION = Duration.ofMinutes(30);
+
     private final CipherExecutor<Serializable, String> cipherExecutor;
 
+    @Getter(AccessLevel.NONE)
+    private final Cache<ClientSecretKey, ClientSecretDigest> clientSecretDigests = Caffeine.newBuilder()
+        .maximumSize(MAXIMUM_CACHE_SIZE)
+        .expireAfterAccess(CACHE_EXPIRATION)
+        .build();
+
     @Override
     public boolean validate(final OAuthRegisteredService registeredService, final String clientSecret) {
         if (isClientSecretUndefined(registeredService)) {
@@ -31,8 +51,8 @@ public class DefaultOAuth20ClientSecretValidator implements OAuth20ClientSecretV
             return true;
         }
         val clientSecretDecoded = EncodingUtils.urlDecode(clientSecret);
-        val definedSecret = cipherExecutor.decode(registeredService.getClientSecret(), new Object[]{registeredService});
-        if (!StringUtils.equals(definedSecret, clientSecretDecoded)) {
+        val definedSecret = getDefinedClientSecretDigest(registeredService);
+        if (!definedSecret.matches(clientSecretDecoded)) {
             LOGGER.error("Wrong client secret for service: [{}]. Using PKCE does not require a client secret and "
                        + "requests generally must not specify a client secret to CAS.\nFurthermore, you must make sure "
                        + "no client secret is assigned to this registered service in the CAS service registry.",
@@ -50,4 +70,28 @@ public class DefaultOAuth20ClientSecretValidator implements OAuth20ClientSecretV
     protected boolean isClientSecretUndefined(final OAuthRegisteredService registeredService) {
         return registeredService != null && StringUtils.isBlank(registeredService.getClientSecret());
     }
+
+    private ClientSecretDigest getDefinedClientSecretDigest(final OAuthRegisteredService registeredService) {
+        val key = new ClientSecretKey(registeredService.getId(), registeredService.getClientId(), registeredService.getClientSecret());
+        return clientSecretDigests.get(key, k -> {
+            val definedSecret = cipherExecutor.decode(registeredService.getClientSecret(), new Object[]{registeredService});
+            return ClientSecretDigest.of(definedSecret);
+        });
+    }
+
+    private record ClientSecretKey(long serviceId, String clientId, String clientSecret) {
+    }
+
+    private record ClientSecretDigest(byte[] digest) {
+        static ClientSecretDigest of(final String secret) {
+            return new ClientSecretDigest(secret == null ? null : DigestUtils.rawDigestSha256(secret));
+        }
+
+        boolean matches(final String secret) {
+            if (digest == null || secret == null) {
+                return digest == null && secret == null;
+            }
+            return MessageDigest.isEqual(digest, DigestUtils.rawDigestSha256(secret));
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package org.apereo.cas.support.oauth.web.endpoints;
 
 import org.apereo.cas.support.oauth.web.response.accesstoken.response.OAuth20JwtAccessTokenEncoder;
+import org.apereo.cas.ticket.OAuth20Token;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.accesstoken.OAuth20AccessToken;
 
@@ -38,6 +39,27 @@ public abstract class BaseOAuth20Controller<T extends OAuth20ConfigurationContex
             : clazz.cast(token);
     }
 
+    /**
+     * Fetch token, either by validating it statelessly when it is a JWT and stateless
+     * access tokens are turned on, or by looking it up in the ticket registry.
+     *
+     * @param <U>            the type parameter
+     * @param encodedToken   the token as presented by the client
+     * @param decodedTokenId the decoded token id
+     * @param clazz          the clazz
+     * @return the token, or null
+     */
+    protected <U extends OAuth20Token> U fetchToken(final String encodedToken, final String decodedTokenId, final Class<U> clazz) {
+        val statelessResolver = configurationContext.getStatelessAccessTokenResolver();
+        if (statelessResolver.supports(encodedToken)) {
+            return statelessResolver.resolve(encodedToken)
+                .filter(clazz::isInstance)
+                .map(clazz::cast)
+                .orElse(null);
+        }
+        return configurationContext.getTicketRegistry().getTicket(decodedTokenId, clazz);
+    }
+
     protected String extractAccessTokenFrom(final String token) {
         return OAuth20JwtAccessTokenEncoder.toDecodableCipher(getConfigurationContext().getAccessTokenJwtBuilder()).decode(token);
     }
@@ -29,6 +29,7 @@ import org.apereo.cas.ticket.ExpirationPolicyBuilder;
 import org.apereo.cas.ticket.OAuth20TokenSigningAndEncryptionService;
 import org.apereo.cas.ticket.TicketFactory;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.accesstoken.OAuth20StatelessAccessTokenResolver;
 import org.apereo.cas.ticket.device.OAuth20DeviceToken;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.token.JwtBuilder;
@@ -40,6 +41,7 @@ import org.apereo.cas.web.cookie.CasCookieBuilder;
 import org.apereo.cas.web.support.ArgumentExtractor;
 import org.apereo.cas.web.support.CookieUtils;
 
+import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -146,7 +148,10 @@ public class OAuth20ConfigurationContext {
     private final List<OAuth20IntrospectionResponseGenerator> introspectionResponseGenerator;
 
     private final PrincipalResolver principalResolver;
-    
+
+    @Builder.Default
+    private final OAuth20StatelessAccessTokenResolver statelessAccessTokenResolver = OAuth20StatelessAccessTokenResolver.noOp();
+
     /**
      * Gets ticket granting ticket.
      *
@@ -137,7 +137,7 @@ public class OAuth20IntrospectionEndpointController<T extends OAuth20Configurati
     private OAuth20Token fetchTokenFromRegistry(final String accessTokenId) {
         try {
             val token = extractAccessTokenFrom(accessTokenId);
-            return getConfigurationContext().getTicketRegistry().getTicket(token, OAuth20Token.class);
+            return fetchToken(accessTokenId, token, OAuth20Token.class);
         } catch (final InvalidTicketException e) {
             LOGGER.trace(e.getMessage(), e);
             LOGGER.info("Unable to fetch access token [{}]: [{}]", accessTokenId, e.getMessage());
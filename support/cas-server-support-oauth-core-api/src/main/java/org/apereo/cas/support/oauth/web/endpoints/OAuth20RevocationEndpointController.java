@@ -111,7 +111,7 @@ public class OAuth20RevocationEndpointController<T extends OAuth20ConfigurationC
                                                       final String clientId,
                                                       final HttpServletResponse response) throws Exception {
         val registryToken = FunctionUtils.doAndHandle(() -> {
-            val state = getConfigurationContext().getTicketRegistry().getTicket(token, OAuth20Token.class);
+            val state = fetchToken(token, token, OAuth20Token.class);
             return state == null || state.isExpired() ? null : state;
         });
         if (registryToken == null) {
@@ -125,7 +125,7 @@ public class OAuth20RevocationEndpointController<T extends OAuth20ConfigurationC
             if (isRefreshToken(registryToken)) {
                 revokeToken((OAuth20RefreshToken) registryToken);
             } else {
-                revokeToken(registryToken.getId());
+                revokeToken((OAuth20AccessToken) registryToken);
             }
         } else {
             LOGGER.error("Provided token [{}] is either not a refresh token or not an access token", token);
@@ -139,7 +139,16 @@ public class OAuth20RevocationEndpointController<T extends OAuth20ConfigurationC
     
     private void revokeToken(final OAuth20RefreshToken token) throws Exception {
         revokeToken(token.getId());
-        token.getAccessTokens().forEach(Unchecked.consumer(this::revokeToken));
+        val statelessResolver = getConfigurationContext().getStatelessAccessTokenResolver();
+        token.getAccessTokens().forEach(Unchecked.consumer(accessTokenId -> {
+            statelessResolver.revoke(accessTokenId);
+            revokeToken(accessTokenId);
+        }));
+    }
+
+    private void revokeToken(final OAuth20AccessToken token) throws Exception {
+        getConfigurationContext().getStatelessAccessTokenResolver().revoke(token);
+        revokeToken(token.getId());
     }
 
     protected void revokeToken(final String token) throws Exception {
@@ -80,7 +80,7 @@ public class OAuth20UserProfileEndpointController<T extends OAuth20Configuration
         }
 
         val accessTokenTicket = FunctionUtils.doAndHandle(() -> {
-            val decodedToken = getConfigurationContext().getTicketRegistry().getTicket(decodedAccessTokenId, OAuth20AccessToken.class);
+            val decodedToken = fetchToken(accessTokenResult.getKey(), decodedAccessTokenId, OAuth20AccessToken.class);
             return decodedToken == null || decodedToken.isExpired() ? null : decodedToken;
         });
         if (accessTokenTicket == null || accessTokenTicket.isExpired()) {
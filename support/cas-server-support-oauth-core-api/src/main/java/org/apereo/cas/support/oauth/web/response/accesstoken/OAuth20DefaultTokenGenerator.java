@@ -24,6 +24,7 @@ import org.apereo.cas.ticket.device.OAuth20DeviceUserCodeFactory;
 import org.apereo.cas.ticket.refreshtoken.OAuth20RefreshToken;
 import org.apereo.cas.ticket.refreshtoken.OAuth20RefreshTokenFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryUnitOfWork;
 import org.apereo.cas.util.LoggingUtils;
 import org.apereo.cas.util.function.FunctionUtils;
 import lombok.RequiredArgsConstructor;
@@ -35,6 +36,7 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -166,8 +168,10 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
                 case ACCESS_TOKEN, JWT -> {
                     val subjectToken = (OAuth20AccessToken) tokenRequestContext.getSubjectToken();
                     val exchangedAccessToken = exchangeTokenForAccessToken(targetService, subjectToken, tokenRequestContext);
-                    val addedAccessToken = addAccessToken(tokenRequestContext, exchangedAccessToken);
-                    yield new AccessAndRefreshTokens(addedAccessToken, null);
+                    val unitOfWork = ticketRegistry.newUnitOfWork();
+                    val accessTokenToAdd = addAccessToken(tokenRequestContext, exchangedAccessToken, unitOfWork);
+                    val addedTickets = unitOfWork.commit();
+                    yield new AccessAndRefreshTokens(getAddedTicket(addedTickets, accessTokenToAdd), null);
                 }
             };
         }
@@ -175,14 +179,16 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
         val authentication = prepareAuthentication(tokenRequestContext);
         LOGGER.debug("Creating access token for [{}]", tokenRequestContext);
         val accessToken = createAccessToken(tokenRequestContext, authentication);
-        val addedAccessToken = addAccessToken(tokenRequestContext, accessToken);
+        val unitOfWork = ticketRegistry.newUnitOfWork();
+        val accessTokenToAdd = addAccessToken(tokenRequestContext, accessToken, unitOfWork);
         val refreshToken = FunctionUtils.doIf(tokenRequestContext.isGenerateRefreshToken(),
-            Unchecked.supplier(() -> generateRefreshToken(tokenRequestContext, accessToken.getId())),
+            Unchecked.supplier(() -> generateRefreshToken(tokenRequestContext, accessToken.getId(), unitOfWork)),
             () -> {
                 LOGGER.debug("Service [{}] is not able/allowed to receive refresh tokens", tokenRequestContext.getService());
                 return null;
             }).get();
-        return new AccessAndRefreshTokens(addedAccessToken, refreshToken);
+        val addedTickets = unitOfWork.commit();
+        return new AccessAndRefreshTokens(getAddedTicket(addedTickets, accessTokenToAdd), getAddedTicket(addedTickets, refreshToken));
     }
 
     private OAuth20AccessToken createAccessToken(final AccessTokenRequestContext tokenRequestContext,
@@ -207,59 +213,86 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
             tokenRequestContext.getResponseType(), tokenRequestContext.getGrantType());
     }
 
+    /**
+     * Add the access token to the unit of work, along with changes to the tickets linked to it.
+     *
+     * @param tokenRequestContext the token request context
+     * @param accessToken         the access token
+     * @param unitOfWork          the unit of work
+     * @return the access token
+     * @throws Exception the exception
+     */
     protected Ticket addAccessToken(final AccessTokenRequestContext tokenRequestContext,
-                                    final OAuth20AccessToken accessToken) throws Exception {
-        var finalAccessToken = (Ticket) accessToken;
+                                    final OAuth20AccessToken accessToken,
+                                    final TicketRegistryUnitOfWork unitOfWork) throws Exception {
         if (tokenRequestContext.getResponseType() != OAuth20ResponseTypes.ID_TOKEN && accessToken.getExpiresIn() > 0) {
             LOGGER.debug("Created access token [{}]", accessToken);
-            finalAccessToken = addTicketToRegistry(accessToken, accessToken.getTicketGrantingTicket());
-            LOGGER.debug("Added access token [{}] to registry", finalAccessToken);
-            updateRefreshToken(tokenRequestContext, finalAccessToken);
+            addTicketToRegistry(accessToken, accessToken.getTicketGrantingTicket(), unitOfWork);
+            updateRefreshToken(tokenRequestContext, accessToken, unitOfWork);
         }
-        updateOAuthCode(tokenRequestContext);
-        return finalAccessToken;
+        updateOAuthCode(tokenRequestContext, unitOfWork);
+        return accessToken;
     }
 
-    private void updateRefreshToken(final AccessTokenRequestContext tokenRequestContext,
-                                    final Ticket accessToken) throws Exception {
+    private static void updateRefreshToken(final AccessTokenRequestContext tokenRequestContext,
+                                           final Ticket accessToken,
+                                           final TicketRegistryUnitOfWork unitOfWork) {
         if (tokenRequestContext.isRefreshToken() && !tokenRequestContext.getToken().isStateless()) {
             val refreshToken = (OAuth20RefreshToken) tokenRequestContext.getToken();
             LOGGER.trace("Tracking access token [{}] linked to refresh token [{}]", accessToken.getId(), refreshToken.getId());
             refreshToken.getAccessTokens().add(accessToken.getId());
-            ticketRegistry.updateTicket(refreshToken);
+            unitOfWork.updateTicket(refreshToken);
         }
     }
 
-    private void updateOAuthCode(final AccessTokenRequestContext tokenRequestContext) throws Exception {
+    private static void updateOAuthCode(final AccessTokenRequestContext tokenRequestContext,
+                                        final TicketRegistryUnitOfWork unitOfWork) {
         val token = tokenRequestContext.getToken();
         if (tokenRequestContext.isCodeToken() && !token.isStateless()) {
             token.update();
             LOGGER.trace("Updated OAuth code [{}]", token.getId());
             if (token.isExpired()) {
-                ticketRegistry.deleteTicket(token);
+                unitOfWork.deleteTicket(token);
             } else {
-                ticketRegistry.updateTicket(token);
+                unitOfWork.updateTicket(token);
             }
-            ticketRegistry.updateTicket(tokenRequestContext.getTicketGrantingTicket());
+            unitOfWork.updateTicket(tokenRequestContext.getTicketGrantingTicket());
         }
     }
 
-    protected Ticket addTicketToRegistry(final Ticket ticket, final Ticket ticketGrantingTicket) throws Exception {
+    private static Ticket getAddedTicket(final Map<String, Ticket> addedTickets, final Ticket ticket) {
+        return ticket != null ? addedTickets.getOrDefault(ticket.getId(), ticket) : null;
+    }
+
+    /**
+     * Add ticket to the unit of work, and update its parent ticket-granting ticket, if any.
+     *
+     * @param ticket               the ticket
+     * @param ticketGrantingTicket the ticket granting ticket
+     * @param unitOfWork           the unit of work
+     */
+    protected void addTicketToRegistry(final Ticket ticket, final Ticket ticketGrantingTicket,
+                                       final TicketRegistryUnitOfWork unitOfWork) {
         LOGGER.debug("Adding ticket [{}] to registry", ticket);
-        val addedToken = ticketRegistry.addTicket(ticket);
+        unitOfWork.addTicket(ticket);
         if (ticketGrantingTicket != null) {
             LOGGER.debug("Updating parent ticket-granting ticket [{}]", ticketGrantingTicket);
-            ticketRegistry.updateTicket(ticketGrantingTicket);
+            unitOfWork.updateTicket(ticketGrantingTicket);
         }
-        return addedToken;
-    }
-
-    protected Ticket addTicketToRegistry(final Ticket ticket) throws Exception {
-        return addTicketToRegistry(ticket, null);
     }
 
+    /**
+     * Generate the refresh token and add it to the unit of work.
+     *
+     * @param tokenRequestContext the token request context
+     * @param accessTokenId       the access token id
+     * @param unitOfWork          the unit of work
+     * @return the refresh token
+     * @throws Throwable the throwable
+     */
     protected Ticket generateRefreshToken(final AccessTokenRequestContext tokenRequestContext,
-                                          final String accessTokenId) throws Throwable {
+                                          final String accessTokenId,
+                                          final TicketRegistryUnitOfWork unitOfWork) throws Throwable {
         LOGGER.debug("Creating refresh token for [{}]", tokenRequestContext.getService());
         val refreshToken = refreshTokenFactory.create(tokenRequestContext.getService(),
             tokenRequestContext.getAuthentication(),
@@ -271,11 +304,11 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
             tokenRequestContext.getResponseType(),
             tokenRequestContext.getGrantType());
         LOGGER.debug("Adding refresh token [{}] to the registry", refreshToken);
-        val addedRefreshToken = addTicketToRegistry(refreshToken, tokenRequestContext.getTicketGrantingTicket());
+        addTicketToRegistry(refreshToken, tokenRequestContext.getTicketGrantingTicket(), unitOfWork);
         if (tokenRequestContext.isExpireOldRefreshToken()) {
-            expireOldRefreshToken(tokenRequestContext);
+            expireOldRefreshToken(tokenRequestContext, unitOfWork);
         }
-        return addedRefreshToken;
+        return refreshToken;
     }
 
     private OAuth20DeviceUserCode getDeviceUserCodeFromRegistry(final OAuth20DeviceToken deviceCodeTicket) {
@@ -308,22 +341,23 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
         val deviceUserCode = deviceUserCodeFactory.createDeviceUserCode(deviceToken.getService());
         LOGGER.debug("Created device user code token [{}]", deviceUserCode.getId());
 
-        val addedDeviceUserCode = addTicketToRegistry(deviceUserCode);
+        val addedDeviceUserCode = ticketRegistry.addTicket(deviceUserCode);
         LOGGER.debug("Added device user code [{}] to registry", addedDeviceUserCode);
 
         deviceToken.setUserCode(addedDeviceUserCode.getId());
-        val addedDeviceToken = addTicketToRegistry(deviceToken);
+        val addedDeviceToken = ticketRegistry.addTicket(deviceToken);
         LOGGER.debug("Added device token [{}] to registry", addedDeviceToken);
 
         return new DeviceTokens(addedDeviceToken, addedDeviceUserCode);
     }
 
-    private void expireOldRefreshToken(final AccessTokenRequestContext tokenRequestContext) throws Exception {
+    private static void expireOldRefreshToken(final AccessTokenRequestContext tokenRequestContext,
+                                              final TicketRegistryUnitOfWork unitOfWork) {
         val oldRefreshToken = tokenRequestContext.getToken();
         if (!oldRefreshToken.isStateless()) {
             LOGGER.debug("Expiring old refresh token [{}]", oldRefreshToken);
             oldRefreshToken.markTicketExpired();
-            ticketRegistry.deleteTicket(oldRefreshToken);
+            unitOfWork.deleteTicket(oldRefreshToken);
         }
     }
 
@@ -1,5 +1,6 @@
 package org.apereo.cas.support.oauth.web.response.accesstoken.response;
 
+import org.apereo.cas.CasProtocolConstants;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.RegisteredService;
@@ -31,6 +32,7 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -214,6 +216,9 @@ public class OAuth20JwtAccessTokenEncoder {
             val authentication = accessToken.getAuthentication();
             val builder = JwtBuilder.JwtRequest.builder();
             val attributes = collectAttributes(accessToken);
+            if (casProperties.getAuthn().getOauth().getAccessToken().getStateless().isEnabled()) {
+                attributes.putAll(collectStatelessClaims(accessToken));
+            }
             return builder
                 .serviceAudience(determineServiceAudience(registeredService, accessToken))
                 .issueDate(DateTimeUtils.dateOf(authentication.getAuthenticationDate()))
@@ -253,6 +258,19 @@ public class OAuth20JwtAccessTokenEncoder {
             return attributes;
         }
 
+        protected Map<String, List<Object>> collectStatelessClaims(final OAuth20AccessToken accessToken) {
+            val claims = new HashMap<String, List<Object>>();
+            claims.put(OAuth20Constants.CLIENT_ID, List.of(accessToken.getClientId()));
+            claims.put(OAuth20Constants.SCOPE, new ArrayList<>(accessToken.getScopes()));
+            FunctionUtils.doIfNotNull(accessToken.getGrantType(),
+                grantType -> claims.put(OAuth20Constants.GRANT_TYPE, List.of(grantType.getType())));
+            FunctionUtils.doIfNotNull(accessToken.getResponseType(),
+                responseType -> claims.put(OAuth20Constants.RESPONSE_TYPE, List.of(responseType.getType())));
+            FunctionUtils.doIfNotNull(accessToken.getService(),
+                svc -> claims.put(CasProtocolConstants.PARAMETER_SERVICE, List.of(svc.getId())));
+            return claims;
+        }
+
         protected Date determineValidUntilDate(final AuthenticationAwareTicket accessToken) {
             val authenticationDate = accessToken.getAuthentication().getAuthenticationDate();
             return DateTimeUtils.dateOf(authenticationDate.plusSeconds(accessToken.getExpirationPolicy().getTimeToLive()));
@@ -274,7 +292,9 @@ public class OAuth20JwtAccessTokenEncoder {
             val serviceRequiresJwt = oAuthRegisteredService != null && oAuthRegisteredService.isJwtAccessToken();
             val dpopRequest = accessToken instanceof final AuthenticationAwareTicket aat
                 && aat.getAuthentication().containsAttribute(OAuth20Constants.DPOP);
-            return casProperties.getAuthn().getOauth().getAccessToken().isCreateAsJwt() || this.forceEncodeAsJwt || serviceRequiresJwt || dpopRequest;
+            val accessTokenProperties = casProperties.getAuthn().getOauth().getAccessToken();
+            return accessTokenProperties.isCreateAsJwt() || accessTokenProperties.getStateless().isEnabled()
+                || this.forceEncodeAsJwt || serviceRequiresJwt || dpopRequest;
         }
 
     }
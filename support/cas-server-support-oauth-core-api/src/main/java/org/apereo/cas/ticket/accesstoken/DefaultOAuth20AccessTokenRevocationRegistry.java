@@ -0,0 +1,195 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TransientSessionTicket;
+import org.apereo.cas.ticket.TransientSessionTicketImpl;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryQueryCriteria;
+import org.apereo.cas.ticket.registry.pubsub.queue.QueueableTicketRegistryMessagePublisher;
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.PublisherIdentifier;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * This is {@link DefaultOAuth20AccessTokenRevocationRegistry}.
+ * Revoked tokens are grouped into time partitions based on their expiration date.
+ * Each partition holds a bloom filter that answers the common "not revoked" case
+ * without touching the exact set, and partitions are dropped as a whole once
+ * every token in them has expired. Revocations are published to other nodes
+ * via the ticket registry message queue, and are also recorded in the ticket registry
+ * until the token expires, so that nodes that share a ticket registry see revocations
+ * made by other nodes without relying on the message queue. Revocations recorded in the
+ * ticket registry are loaded when the node starts and on a schedule; tokens are always
+ * checked against the local partitions only, which track tokens by their digest.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Getter
+public class DefaultOAuth20AccessTokenRevocationRegistry implements OAuth20AccessTokenRevocationRegistry {
+    private static final String REVOCATION_TICKET_ID_PREFIX = TransientSessionTicket.PREFIX + "-REVOKED-";
+
+    private final Map<Long, RevocationPartition> partitions = new ConcurrentSkipListMap<>();
+
+    private final QueueableTicketRegistryMessagePublisher messagePublisher;
+
+    private final TicketRegistry ticketRegistry;
+
+    private final PublisherIdentifier publisherIdentifier;
+
+    private final Duration partitionLength;
+
+    private final long expectedRevocations;
+
+    private final double falsePositiveProbability;
+
+    private final Clock clock;
+
+    public DefaultOAuth20AccessTokenRevocationRegistry(final QueueableTicketRegistryMessagePublisher messagePublisher,
+                                                       final TicketRegistry ticketRegistry,
+                                                       final PublisherIdentifier publisherIdentifier,
+                                                       final Duration partitionLength,
+                                                       final long expectedRevocations,
+                                                       final double falsePositiveProbability) {
+        this(messagePublisher, ticketRegistry, publisherIdentifier, partitionLength,
+            expectedRevocations, falsePositiveProbability, Clock.systemUTC());
+    }
+
+    /**
+     * Id of the ticket that records the revocation of the given token in the ticket registry.
+     *
+     * @param tokenId the token id
+     * @return the revocation ticket id
+     */
+    public static String getRevocationTicketId(final String tokenId) {
+        return REVOCATION_TICKET_ID_PREFIX + DigestUtils.sha256(tokenId);
+    }
+
+    @Override
+    public void revoke(final String tokenId, final Instant expirationTime) {
+        if (record(tokenId, expirationTime)) {
+            persist(tokenId, expirationTime);
+            if (messagePublisher.isEnabled()) {
+                LOGGER.trace("Publishing revocation of access token [{}] from [{}]", tokenId, publisherIdentifier);
+                messagePublisher.publishMessageToQueue(
+                    new RevokeAccessTokenMessageQueueCommand(publisherIdentifier, tokenId, expirationTime));
+            }
+        }
+    }
+
+    @Override
+    public void accept(final String tokenId, final Instant expirationTime) {
+        record(tokenId, expirationTime);
+    }
+
+    @Override
+    public boolean isRevoked(final String tokenId) {
+        if (StringUtils.isBlank(tokenId)) {
+            return false;
+        }
+        clean();
+        val digest = DigestUtils.sha256(tokenId);
+        return partitions.values()
+            .stream()
+            .anyMatch(partition -> partition.contains(digest));
+    }
+
+    @Override
+    public void synchronize() {
+        if (ticketRegistry != null) {
+            try {
+                val criteria = new TicketRegistryQueryCriteria().setType(TransientSessionTicket.PREFIX).setDecode(true);
+                val revocations = ticketRegistry.query(criteria)
+                    .stream()
+                    .filter(Ticket.class::isInstance)
+                    .map(Ticket.class::cast)
+                    .filter(ticket -> ticket.getId().startsWith(REVOCATION_TICKET_ID_PREFIX))
+                    .toList();
+                revocations.forEach(ticket -> recordDigest(StringUtils.removeStart(ticket.getId(), REVOCATION_TICKET_ID_PREFIX),
+                    ticket.getCreationTime().toInstant().plusSeconds(ticket.getExpirationPolicy().getTimeToLive())));
+                LOGGER.debug("Loaded [{}] access token revocation(s) from the ticket registry", revocations.size());
+            } catch (final Exception e) {
+                LoggingUtils.warn(LOGGER, "Unable to load access token revocations from the ticket registry", e);
+            }
+        }
+    }
+
+    @Override
+    public void clean() {
+        val currentPartition = partitionOf(clock.instant());
+        partitions.keySet().removeIf(partition -> partition < currentPartition);
+    }
+
+    protected boolean record(final String tokenId, final Instant expirationTime) {
+        if (StringUtils.isBlank(tokenId)) {
+            return false;
+        }
+        LOGGER.debug("Revoking access token [{}] until [{}]", tokenId, expirationTime);
+        return recordDigest(DigestUtils.sha256(tokenId), expirationTime);
+    }
+
+    protected boolean recordDigest(final String digest, final Instant expirationTime) {
+        if (StringUtils.isBlank(digest) || expirationTime == null || expirationTime.isBefore(clock.instant())) {
+            LOGGER.trace("Access token [{}] has already expired and need not be revoked", digest);
+            return false;
+        }
+        partitions
+            .computeIfAbsent(partitionOf(expirationTime), key -> new RevocationPartition(
+                BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedRevocations, falsePositiveProbability)))
+            .add(digest);
+        return true;
+    }
+
+    protected void persist(final String tokenId, final Instant expirationTime) {
+        if (ticketRegistry != null) {
+            try {
+                val timeToLive = Math.max(1, Duration.between(clock.instant(), expirationTime).toSeconds());
+                val ticket = new TransientSessionTicketImpl(getRevocationTicketId(tokenId),
+                    new HardTimeoutExpirationPolicy(timeToLive), null, new HashMap<>());
+                ticketRegistry.addTicket(ticket);
+            } catch (final Exception e) {
+                LoggingUtils.warn(LOGGER, "Unable to record revocation of access token %s in the ticket registry".formatted(tokenId), e);
+            }
+        }
+    }
+
+    protected long partitionOf(final Instant instant) {
+        return instant.toEpochMilli() / partitionLength.toMillis();
+    }
+
+    private record RevocationPartition(BloomFilter<CharSequence> filter, Set<String> tokens) {
+        RevocationPartition(final BloomFilter<CharSequence> filter) {
+            this(filter, ConcurrentHashMap.newKeySet());
+        }
+
+        void add(final String digest) {
+            tokens.add(digest);
+            filter.put(digest);
+        }
+
+        boolean contains(final String digest) {
+            return filter.mightContain(digest) && tokens.contains(digest);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.CasProtocolConstants;
+import org.apereo.cas.authentication.DefaultAuthenticationBuilder;
+import org.apereo.cas.authentication.principal.PrincipalFactory;
+import org.apereo.cas.authentication.principal.ServiceFactory;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.services.RegisteredServiceCipherExecutor;
+import org.apereo.cas.support.oauth.OAuth20Constants;
+import org.apereo.cas.support.oauth.OAuth20GrantTypes;
+import org.apereo.cas.support.oauth.OAuth20ResponseTypes;
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.support.oauth.util.OAuth20Utils;
+import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.ticket.expiration.FixedInstantExpirationPolicy;
+import org.apereo.cas.token.JwtBuilder;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.DateTimeUtils;
+import org.apereo.cas.util.function.FunctionUtils;
+import com.nimbusds.jwt.EncryptedJWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.JWTParser;
+import com.nimbusds.jwt.SignedJWT;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * This is {@link DefaultOAuth20StatelessAccessTokenResolver}.
+ * Validates JWT access tokens by signature and expiration date,
+ * consults the revocation registry and rebuilds the access token
+ * from the token claims.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Getter
+public class DefaultOAuth20StatelessAccessTokenResolver implements OAuth20StatelessAccessTokenResolver {
+    /**
+     * Claims that describe the token itself and are not released as principal attributes.
+     */
+    public static final Set<String> TOKEN_CLAIMS = Set.of(OAuth20Constants.CLIENT_ID, OAuth20Constants.SCOPE,
+        OAuth20Constants.GRANT_TYPE, OAuth20Constants.RESPONSE_TYPE, CasProtocolConstants.PARAMETER_SERVICE);
+
+    private final JwtBuilder accessTokenJwtBuilder;
+
+    private final OAuth20AccessTokenRevocationRegistry revocationRegistry;
+
+    private final ServiceFactory<WebApplicationService> serviceFactory;
+
+    private final PrincipalFactory principalFactory;
+
+    private final Duration maximumTimeToLive;
+
+    @Override
+    public boolean supports(final String token) {
+        return StringUtils.isNotBlank(token) && StringUtils.countMatches(token, '.') >= 2;
+    }
+
+    @Override
+    public Optional<OAuth20AccessToken> resolve(final String token) {
+        if (!supports(token)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(FunctionUtils.doAndHandle(() -> {
+            val jwt = JWTParser.parse(token);
+            if (!(jwt instanceof SignedJWT) && !(jwt instanceof EncryptedJWT)) {
+                LOGGER.warn("Access token is neither signed nor encrypted and cannot be validated statelessly");
+                return null;
+            }
+            val unverifiedClaims = jwt instanceof SignedJWT ? jwt.getJWTClaimsSet() : null;
+            val registeredService = resolveRegisteredService(jwt.getHeader().getCustomParam(
+                RegisteredServiceCipherExecutor.CUSTOM_HEADER_REGISTERED_SERVICE_ID), unverifiedClaims);
+            val claims = accessTokenJwtBuilder.unpack(Optional.ofNullable(registeredService), token);
+            val expirationTime = claims.getExpirationTime();
+            if (StringUtils.isBlank(claims.getJWTID()) || expirationTime == null
+                || expirationTime.toInstant().isBefore(Instant.now(Clock.systemUTC()))) {
+                LOGGER.debug("Access token [{}] has no identifier or has expired", claims.getJWTID());
+                return null;
+            }
+            if (revocationRegistry.isRevoked(claims.getJWTID())) {
+                LOGGER.warn("Access token [{}] has been revoked", claims.getJWTID());
+                return null;
+            }
+            return buildAccessToken(token, claims, registeredService);
+        }));
+    }
+
+    @Override
+    public void revoke(final OAuth20AccessToken accessToken) {
+        val expirationTime = accessToken.getExpirationPolicy().toMaximumExpirationTime(accessToken);
+        revocationRegistry.revoke(accessToken.getId(), expirationTime.toInstant());
+    }
+
+    @Override
+    public void revoke(final String tokenId) {
+        if (StringUtils.startsWith(tokenId, OAuth20AccessToken.PREFIX + UniqueTicketIdGenerator.SEPARATOR)) {
+            revocationRegistry.revoke(tokenId, Instant.now(Clock.systemUTC()).plus(maximumTimeToLive));
+        }
+    }
+
+    protected OAuthRegisteredService resolveRegisteredService(final Object serviceId, final JWTClaimsSet unverifiedClaims) throws Exception {
+        val servicesManager = accessTokenJwtBuilder.getServicesManager();
+        if (serviceId != null) {
+            return servicesManager.findServiceBy(Long.parseLong(serviceId.toString()), OAuthRegisteredService.class);
+        }
+        val clientId = unverifiedClaims != null ? unverifiedClaims.getStringClaim(OAuth20Constants.CLIENT_ID) : null;
+        return StringUtils.isNotBlank(clientId) ? OAuth20Utils.getRegisteredOAuthServiceByClientId(servicesManager, clientId) : null;
+    }
+
+    protected OAuth20AccessToken buildAccessToken(final String token, final JWTClaimsSet claims,
+                                                  final OAuthRegisteredService registeredService) throws Throwable {
+        val attributes = new HashMap<String, List<Object>>();
+        claims.getClaims().forEach((name, value) -> {
+            if (!JWTClaimsSet.getRegisteredNames().contains(name) && !TOKEN_CLAIMS.contains(name)) {
+                attributes.put(name, CollectionUtils.toCollection(value, ArrayList.class));
+            }
+        });
+        val principal = principalFactory.createPrincipal(claims.getSubject(), attributes);
+        val authenticationDate = Optional.ofNullable(claims.getIssueTime())
+            .or(() -> Optional.ofNullable(claims.getNotBeforeTime()))
+            .map(DateTimeUtils::zonedDateTimeOf)
+            .orElseGet(() -> ZonedDateTime.now(Clock.systemUTC()));
+        val authentication = DefaultAuthenticationBuilder.newInstance(principal)
+            .setAuthenticationDate(authenticationDate)
+            .build();
+
+        val clientId = StringUtils.defaultIfBlank(claims.getStringClaim(OAuth20Constants.CLIENT_ID),
+            registeredService != null ? registeredService.getClientId() : null);
+        val serviceId = StringUtils.defaultIfBlank(claims.getStringClaim(CasProtocolConstants.PARAMETER_SERVICE), clientId);
+        val service = serviceFactory.createService(serviceId);
+
+        val grantType = Arrays.stream(OAuth20GrantTypes.values())
+            .filter(type -> type.getType().equals(claims.getClaim(OAuth20Constants.GRANT_TYPE)))
+            .findFirst()
+            .orElse(OAuth20GrantTypes.AUTHORIZATION_CODE);
+        val responseType = Arrays.stream(OAuth20ResponseTypes.values())
+            .filter(type -> type.getType().equals(claims.getClaim(OAuth20Constants.RESPONSE_TYPE)))
+            .findFirst()
+            .orElse(OAuth20ResponseTypes.CODE);
+
+        val expirationPolicy = new FixedInstantExpirationPolicy(claims.getExpirationTime().toInstant());
+        val accessToken = new OAuth20DefaultAccessToken(claims.getJWTID(), service, authentication,
+            expirationPolicy, null, token, collectScopes(claims), clientId, new HashMap<>(), responseType, grantType);
+        accessToken.setCreationTime(authenticationDate);
+        accessToken.markTicketStateless();
+        LOGGER.trace("Rebuilt access token [{}] from JWT claims without the ticket registry", accessToken.getId());
+        return accessToken;
+    }
+
+    protected Collection<String> collectScopes(final JWTClaimsSet claims) {
+        val scopes = new LinkedHashSet<String>();
+        val scopeClaim = claims.getClaim(OAuth20Constants.SCOPE);
+        if (scopeClaim instanceof final Collection<?> values) {
+            values.forEach(value -> scopes.add(value.toString()));
+        } else if (scopeClaim != null) {
+            scopes.addAll(Arrays.asList(StringUtils.split(scopeClaim.toString(), ' ')));
+        }
+        return scopes;
+    }
+}
@@ -0,0 +1,77 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import java.time.Instant;
+
+/**
+ * This is {@link OAuth20AccessTokenRevocationRegistry}.
+ * Tracks access tokens that are revoked before their expiration date,
+ * when access tokens are validated statelessly and are not looked up
+ * in the ticket registry.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+public interface OAuth20AccessTokenRevocationRegistry {
+    /**
+     * Default bean name.
+     */
+    String BEAN_NAME = "accessTokenRevocationRegistry";
+
+    /**
+     * No-op revocation registry that never revokes anything.
+     *
+     * @return the revocation registry
+     */
+    static OAuth20AccessTokenRevocationRegistry noOp() {
+        return new OAuth20AccessTokenRevocationRegistry() {
+            @Override
+            public void revoke(final String tokenId, final Instant expirationTime) {
+            }
+
+            @Override
+            public boolean isRevoked(final String tokenId) {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Revoke the token and propagate the revocation to other nodes.
+     *
+     * @param tokenId        the token id
+     * @param expirationTime the expiration time of the token
+     */
+    void revoke(String tokenId, Instant expirationTime);
+
+    /**
+     * Record a revocation received from another node without
+     * propagating it any further.
+     *
+     * @param tokenId        the token id
+     * @param expirationTime the expiration time
+     */
+    default void accept(final String tokenId, final Instant expirationTime) {
+        revoke(tokenId, expirationTime);
+    }
+
+    /**
+     * Is the token revoked?
+     *
+     * @param tokenId the token id
+     * @return true/false
+     */
+    boolean isRevoked(String tokenId);
+
+    /**
+     * Remove revocation records for tokens that have expired.
+     */
+    default void clean() {
+    }
+
+    /**
+     * Load revocations that are recorded by other nodes,
+     * so that tokens can be checked without leaving this node.
+     */
+    default void synchronize() {
+    }
+}
@@ -0,0 +1,69 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import java.util.Optional;
+
+/**
+ * This is {@link OAuth20StatelessAccessTokenResolver}.
+ * Rebuilds access tokens from their JWT representation without
+ * a round trip to the ticket registry.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@FunctionalInterface
+public interface OAuth20StatelessAccessTokenResolver {
+    /**
+     * Default bean name.
+     */
+    String BEAN_NAME = "oauthStatelessAccessTokenResolver";
+
+    /**
+     * Resolver that never resolves anything and forces
+     * callers to fall back onto the ticket registry.
+     *
+     * @return the resolver
+     */
+    static OAuth20StatelessAccessTokenResolver noOp() {
+        return token -> Optional.empty();
+    }
+
+    /**
+     * Resolve the access token from the given token value.
+     * An empty result indicates that the token cannot be validated
+     * statelessly, and the caller should consult the ticket registry.
+     *
+     * @param token the token, typically an encoded JWT
+     * @return the access token
+     */
+    Optional<OAuth20AccessToken> resolve(String token);
+
+    /**
+     * Whether the token is one that this resolver is responsible for,
+     * in which case a failure to resolve means the token is invalid
+     * and the ticket registry must not be consulted.
+     *
+     * @param token the token
+     * @return true/false
+     */
+    default boolean supports(final String token) {
+        return false;
+    }
+
+    /**
+     * Revoke the access token.
+     *
+     * @param accessToken the access token
+     */
+    default void revoke(final OAuth20AccessToken accessToken) {
+    }
+
+    /**
+     * Revoke the access token by its identifier. Since the expiration date
+     * of the token is unknown, the token is revoked for the maximum
+     * lifetime of access tokens.
+     *
+     * @param tokenId the token id
+     */
+    default void revoke(final String tokenId) {
+    }
+}
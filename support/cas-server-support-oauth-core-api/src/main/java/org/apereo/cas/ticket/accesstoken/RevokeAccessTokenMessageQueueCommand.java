@@ -0,0 +1,68 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.ticket.registry.pubsub.QueueableTicketRegistry;
+import org.apereo.cas.ticket.registry.pubsub.commands.BaseMessageQueueCommand;
+import org.apereo.cas.util.PublisherIdentifier;
+import org.apereo.cas.util.spring.ApplicationContextProvider;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.Serial;
+import java.time.Instant;
+
+/**
+ * This is {@link RevokeAccessTokenMessageQueueCommand}.
+ * Carries the revocation of a stateless access token to other nodes
+ * over the ticket registry message queue.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@Slf4j
+@Getter
+@Setter
+@ToString(callSuper = true)
+public class RevokeAccessTokenMessageQueueCommand extends BaseMessageQueueCommand {
+
+    @Serial
+    private static final long serialVersionUID = -3521046236412512218L;
+
+    private final String tokenId;
+
+    private final Instant expirationTime;
+
+    @JsonCreator
+    public RevokeAccessTokenMessageQueueCommand(@JsonProperty("id")
+                                                final PublisherIdentifier id,
+                                                @JsonProperty("tokenId")
+                                                final String tokenId,
+                                                @JsonProperty("expirationTime")
+                                                final Instant expirationTime) {
+        super(id);
+        this.tokenId = tokenId;
+        this.expirationTime = expirationTime;
+    }
+
+    @Override
+    public void execute(final QueueableTicketRegistry registry) {
+        LOGGER.debug("Executing queue command on ticket registry id [{}] to revoke access token [{}]", getId().getId(), tokenId);
+        val applicationContext = ApplicationContextProvider.getApplicationContext();
+        if (applicationContext != null && applicationContext.containsBean(OAuth20AccessTokenRevocationRegistry.BEAN_NAME)) {
+            applicationContext.getBean(OAuth20AccessTokenRevocationRegistry.BEAN_NAME, OAuth20AccessTokenRevocationRegistry.class)
+                .accept(tokenId, expirationTime);
+        }
+    }
+
+    @Override
+    public BaseMessageQueueCommand withId(final PublisherIdentifier id) {
+        return new RevokeAccessTokenMessageQueueCommand(id, this.tokenId, this.expirationTime);
+    }
+}
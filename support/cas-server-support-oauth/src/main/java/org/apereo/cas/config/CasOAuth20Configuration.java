@@ -19,6 +19,7 @@ import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
 import org.apereo.cas.configuration.model.support.replication.CookieSessionReplicationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.logout.LogoutExecutionPlanConfigurer;
 import org.apereo.cas.pac4j.TicketRegistrySessionStore;
 import org.apereo.cas.services.RegisteredServiceCipherExecutor;
@@ -114,12 +115,16 @@ import org.apereo.cas.ticket.TicketCatalogConfigurer;
 import org.apereo.cas.ticket.TicketFactory;
 import org.apereo.cas.ticket.TicketFactoryExecutionPlanConfigurer;
 import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.ticket.accesstoken.DefaultOAuth20AccessTokenRevocationRegistry;
+import org.apereo.cas.ticket.accesstoken.DefaultOAuth20StatelessAccessTokenResolver;
 import org.apereo.cas.ticket.accesstoken.OAuth20AccessToken;
 import org.apereo.cas.ticket.accesstoken.OAuth20AccessTokenCompactor;
 import org.apereo.cas.ticket.accesstoken.OAuth20AccessTokenExpirationPolicyBuilder;
 import org.apereo.cas.ticket.accesstoken.OAuth20AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuth20AccessTokenRevocationRegistry;
 import org.apereo.cas.ticket.accesstoken.OAuth20DefaultAccessTokenFactory;
 import org.apereo.cas.ticket.accesstoken.OAuth20JwtBuilder;
+import org.apereo.cas.ticket.accesstoken.OAuth20StatelessAccessTokenResolver;
 import org.apereo.cas.ticket.code.OAuth20Code;
 import org.apereo.cas.ticket.code.OAuth20CodeCompactor;
 import org.apereo.cas.ticket.code.OAuth20CodeExpirationPolicyBuilder;
@@ -141,14 +146,17 @@ import org.apereo.cas.ticket.refreshtoken.OAuth20RefreshTokenExpirationPolicyBui
 import org.apereo.cas.ticket.refreshtoken.OAuth20RefreshTokenFactory;
 import org.apereo.cas.ticket.registry.TicketCompactor;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.pubsub.queue.QueueableTicketRegistryMessagePublisher;
 import org.apereo.cas.ticket.tracking.TicketTrackingPolicy;
 import org.apereo.cas.token.JwtBuilder;
 import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
 import org.apereo.cas.util.InternalTicketValidator;
+import org.apereo.cas.util.PublisherIdentifier;
 import org.apereo.cas.util.cipher.CipherExecutorUtils;
 import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.function.FunctionUtils;
 import org.apereo.cas.util.http.HttpRequestUtils;
+import org.apereo.cas.util.spring.beans.BeanCondition;
 import org.apereo.cas.util.spring.beans.BeanContainer;
 import org.apereo.cas.util.spring.beans.BeanSupplier;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
@@ -158,6 +166,7 @@ import org.apereo.cas.web.support.ArgumentExtractor;
 import org.apereo.cas.web.support.CookieUtils;
 import org.apereo.cas.web.support.mgmr.DefaultCasCookieValueManager;
 import org.apereo.cas.web.support.mgmr.DefaultCookieSameSitePolicy;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -195,6 +204,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.scheduling.annotation.Scheduled;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -307,6 +317,8 @@ class CasOAuth20Configuration {
             final ObjectProvider<List<OAuth20AuthorizationRequestValidator>> oauthAuthorizationRequestValidators,
             @Qualifier("oauthTokenGenerator") final OAuth20TokenGenerator oauthTokenGenerator,
             final List<OAuth20IntrospectionResponseGenerator> oauthIntrospectionResponseGenerator,
+            @Qualifier(OAuth20StatelessAccessTokenResolver.BEAN_NAME)
+            final OAuth20StatelessAccessTokenResolver oauthStatelessAccessTokenResolver,
             @Qualifier(PrincipalResolver.BEAN_NAME_PRINCIPAL_RESOLVER) final PrincipalResolver defaultPrincipalResolver) {
             return OAuth20ConfigurationContext.builder()
                 .argumentExtractor(argumentExtractor)
@@ -344,6 +356,7 @@ class CasOAuth20Configuration {
                 .attributeDefinitionStore(attributeDefinitionStore)
                 .introspectionResponseGenerator(oauthIntrospectionResponseGenerator)
                 .principalResolver(defaultPrincipalResolver)
+                .statelessAccessTokenResolver(oauthStatelessAccessTokenResolver)
                 .build();
         }
     }
@@ -720,8 +733,14 @@ class CasOAuth20Configuration {
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         public LogoutExecutionPlanConfigurer oauthLogoutExecutionPlanConfigurer(
             final CasConfigurationProperties casProperties,
+            @Qualifier(OAuth20StatelessAccessTokenResolver.BEAN_NAME)
+            final OAuth20StatelessAccessTokenResolver oauthStatelessAccessTokenResolver,
             @Qualifier("oauthDistributedSessionStore") final SessionStore oauthDistributedSessionStore) {
             return plan -> {
+                if (casProperties.getAuthn().getOauth().getAccessToken().getStateless().isEnabled()) {
+                    plan.registerLogoutPostProcessor(ticketGrantingTicket -> ticketGrantingTicket.getDescendantTickets()
+                        .forEach(oauthStatelessAccessTokenResolver::revoke));
+                }
                 val replicate = casProperties.getAuthn().getOauth().getSessionReplication().isReplicateSessions();
                 if (replicate) {
                     plan.registerLogoutPostProcessor(ticketGrantingTicket -> {
@@ -1276,6 +1295,75 @@ class CasOAuth20Configuration {
         public TicketCatalogConfigurer oauth20TicketCatalogConfigurer() {
             return new OAuth20TicketCatalogConfigurer();
         }
+
+        @Bean
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        @ConditionalOnMissingBean(name = OAuth20AccessTokenRevocationRegistry.BEAN_NAME)
+        public OAuth20AccessTokenRevocationRegistry accessTokenRevocationRegistry(
+            @Qualifier("messageQueueTicketRegistryPublisher")
+            final QueueableTicketRegistryMessagePublisher messageQueueTicketRegistryPublisher,
+            @Qualifier("messageQueueTicketRegistryIdentifier")
+            final PublisherIdentifier messageQueueTicketRegistryIdentifier,
+            @Qualifier(TicketRegistry.BEAN_NAME)
+            final TicketRegistry ticketRegistry,
+            final CasConfigurationProperties casProperties) {
+            val stateless = casProperties.getAuthn().getOauth().getAccessToken().getStateless();
+            if (stateless.isEnabled()) {
+                val registry = new DefaultOAuth20AccessTokenRevocationRegistry(messageQueueTicketRegistryPublisher,
+                    ticketRegistry, messageQueueTicketRegistryIdentifier, Beans.newDuration(stateless.getPartitionLength()),
+                    stateless.getExpectedRevocations(), stateless.getFalsePositiveProbability());
+                registry.synchronize();
+                return registry;
+            }
+            return OAuth20AccessTokenRevocationRegistry.noOp();
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(name = "accessTokenRevocationRegistrySynchronizer")
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        public Runnable accessTokenRevocationRegistrySynchronizer(
+            final ConfigurableApplicationContext applicationContext,
+            @Qualifier(OAuth20AccessTokenRevocationRegistry.BEAN_NAME)
+            final OAuth20AccessTokenRevocationRegistry accessTokenRevocationRegistry) {
+            return BeanSupplier.of(Runnable.class)
+                .when(BeanCondition.on("cas.authn.oauth.access-token.stateless.enabled").isTrue()
+                    .and("cas.authn.oauth.access-token.stateless.schedule.enabled").isTrue().evenIfMissing()
+                    .given(applicationContext.getEnvironment()))
+                .supply(() -> new OAuth20AccessTokenRevocationRegistrySynchronizer(accessTokenRevocationRegistry))
+                .otherwiseProxy()
+                .get();
+        }
+
+        @RequiredArgsConstructor
+        static class OAuth20AccessTokenRevocationRegistrySynchronizer implements Runnable {
+            private final OAuth20AccessTokenRevocationRegistry revocationRegistry;
+
+            @Scheduled(initialDelayString = "${cas.authn.oauth.access-token.stateless.schedule.start-delay:PT1M}",
+                fixedDelayString = "${cas.authn.oauth.access-token.stateless.schedule.repeat-interval:PT1M}")
+            @Override
+            public void run() {
+                revocationRegistry.synchronize();
+            }
+        }
+
+        @Bean
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        @ConditionalOnMissingBean(name = OAuth20StatelessAccessTokenResolver.BEAN_NAME)
+        public OAuth20StatelessAccessTokenResolver oauthStatelessAccessTokenResolver(
+            @Qualifier("accessTokenJwtBuilder") final JwtBuilder accessTokenJwtBuilder,
+            @Qualifier(OAuth20AccessTokenRevocationRegistry.BEAN_NAME)
+            final OAuth20AccessTokenRevocationRegistry accessTokenRevocationRegistry,
+            @Qualifier(WebApplicationService.BEAN_NAME_FACTORY)
+            final ServiceFactory<WebApplicationService> webApplicationServiceFactory,
+            @Qualifier("oauthPrincipalFactory") final PrincipalFactory oauthPrincipalFactory,
+            final CasConfigurationProperties casProperties) {
+            val accessToken = casProperties.getAuthn().getOauth().getAccessToken();
+            if (accessToken.getStateless().isEnabled()) {
+                return new DefaultOAuth20StatelessAccessTokenResolver(accessTokenJwtBuilder, accessTokenRevocationRegistry,
+                    webApplicationServiceFactory, oauthPrincipalFactory, Beans.newDuration(accessToken.getMaxTimeToLiveInSeconds()));
+            }
+            return OAuth20StatelessAccessTokenResolver.noOp();
+        }
     }
 
     @Configuration(value = "CasOAuth20ResponseConfiguration", proxyBeanMethods = false)
@@ -1463,9 +1551,13 @@ class CasOAuth20Configuration {
         @Bean
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         public Authenticator oauthAccessTokenAuthenticator(
+            @Qualifier(OAuth20StatelessAccessTokenResolver.BEAN_NAME)
+            final OAuth20StatelessAccessTokenResolver oauthStatelessAccessTokenResolver,
             @Qualifier("accessTokenJwtBuilder") final JwtBuilder accessTokenJwtBuilder,
             @Qualifier(TicketRegistry.BEAN_NAME) final TicketRegistry ticketRegistry) {
-            return new OAuth20AccessTokenAuthenticator(ticketRegistry, accessTokenJwtBuilder);
+            val authenticator = new OAuth20AccessTokenAuthenticator(ticketRegistry, accessTokenJwtBuilder);
+            authenticator.setStatelessAccessTokenResolver(oauthStatelessAccessTokenResolver);
+            return authenticator;
         }
 
 
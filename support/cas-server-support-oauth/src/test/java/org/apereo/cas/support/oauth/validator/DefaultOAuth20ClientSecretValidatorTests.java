@@ -4,13 +4,18 @@ import org.apereo.cas.AbstractOAuth20Tests;
 import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
 import org.apereo.cas.util.EncodingUtils;
 import org.apereo.cas.util.RandomUtils;
+import org.apereo.cas.util.crypto.CipherExecutor;
 
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.io.Serializable;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 /**
  * This is {@link DefaultOAuth20ClientSecretValidatorTests}.
@@ -84,4 +89,23 @@ class DefaultOAuth20ClientSecretValidatorTests extends AbstractOAuth20Tests {
         val result2 = oauth20ClientSecretValidator.validate(registeredService, StringUtils.EMPTY);
         assertFalse(result2);
     }
+
+    @Test
+    void verifyDecodedClientSecretIsCached() throws Throwable {
+        val cipher = (CipherExecutor<Serializable, String>) mock(CipherExecutor.class);
+        when(cipher.decode(anyString(), any(Object[].class))).thenAnswer(args -> args.getArgument(0));
+        val validator = new DefaultOAuth20ClientSecretValidator(cipher);
+        val registeredService = new OAuthRegisteredService();
+        registeredService.setId(1000);
+        registeredService.setClientId("clientid");
+        registeredService.setClientSecret("secret");
+        assertTrue(validator.validate(registeredService, "secret"));
+        assertFalse(validator.validate(registeredService, "badSecret"));
+        verify(cipher, times(1)).decode(anyString(), any(Object[].class));
+
+        registeredService.setClientSecret("changed-secret");
+        assertFalse(validator.validate(registeredService, "secret"));
+        assertTrue(validator.validate(registeredService, "changed-secret"));
+        verify(cipher, times(2)).decode(anyString(), any(Object[].class));
+    }
 }
@@ -0,0 +1,92 @@
+package org.apereo.cas.support.oauth.web.endpoints;
+
+import org.apereo.cas.AbstractOAuth20Tests;
+import org.apereo.cas.support.oauth.OAuth20Constants;
+import org.apereo.cas.support.oauth.web.response.accesstoken.response.OAuth20JwtAccessTokenEncoder;
+import org.apereo.cas.ticket.accesstoken.DefaultOAuth20AccessTokenRevocationRegistry;
+import org.apereo.cas.ticket.accesstoken.OAuth20StatelessAccessTokenResolver;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the {@link OAuth20RevocationEndpointController} class
+ * when access tokens are validated statelessly.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Tag("OAuthWeb")
+@TestPropertySource(properties = {
+    "cas.authn.oauth.access-token.stateless.enabled=true",
+    "cas.authn.oauth.access-token.crypto.signing.key=cAPyoHMrOMWrwydOXzBA-ufZQM-TilnLjbRgMQWlUlwFmy07bOtAgCIdNBma3c5P4ae_JV6n1OpOAYqSh2NkmQ",
+    "cas.authn.oauth.access-token.crypto.encryption-enabled=false",
+    "cas.authn.oauth.access-token.crypto.enabled=true"
+})
+class OAuth20StatelessRevocationEndpointControllerTests extends AbstractOAuth20Tests {
+    @Autowired
+    @Qualifier("oauthRevocationController")
+    private OAuth20RevocationEndpointController oAuth20RevocationController;
+
+    @Autowired
+    @Qualifier(OAuth20StatelessAccessTokenResolver.BEAN_NAME)
+    private OAuth20StatelessAccessTokenResolver oauthStatelessAccessTokenResolver;
+
+    @Test
+    void verifyJwtAccessTokenRevoked() throws Throwable {
+        val registeredService = getRegisteredService("https://stateless.example.org", CLIENT_SECRET, new HashSet<>());
+        servicesManager.save(registeredService);
+        val accessToken = addAccessToken(createPrincipal(), registeredService);
+        val jwt = OAuth20JwtAccessTokenEncoder.toEncodableCipher(accessTokenJwtBuilder, registeredService,
+            accessToken, accessToken.getService(), casProperties, false).encode(accessToken.getId());
+        assertTrue(oauthStatelessAccessTokenResolver.resolve(jwt).isPresent());
+
+        val mockRequest = new MockHttpServletRequest(HttpMethod.POST.name(), CONTEXT + OAuth20Constants.REVOCATION_URL);
+        val mockResponse = new MockHttpServletResponse();
+        mockRequest.setParameter(OAuth20Constants.CLIENT_ID, registeredService.getClientId());
+        mockRequest.setParameter(OAuth20Constants.CLIENT_SECRET, CLIENT_SECRET);
+        mockRequest.setParameter(OAuth20Constants.TOKEN, jwt);
+
+        requiresAuthenticationInterceptor.preHandle(mockRequest, mockResponse, null);
+        oAuth20RevocationController.handleRequest(mockRequest, mockResponse);
+        assertEquals(HttpStatus.OK.value(), mockResponse.getStatus());
+        assertNull(ticketRegistry.getTicket(accessToken.getId()));
+        assertTrue(oauthStatelessAccessTokenResolver.resolve(jwt).isEmpty());
+        assertNotNull(ticketRegistry.getTicket(DefaultOAuth20AccessTokenRevocationRegistry.getRevocationTicketId(accessToken.getId())));
+    }
+
+    @Test
+    void verifyRefreshTokenRevokesJwtAccessTokens() throws Throwable {
+        val registeredService = getRegisteredService("https://stateless.example.org", CLIENT_SECRET, new HashSet<>());
+        servicesManager.save(registeredService);
+        val principal = createPrincipal();
+        val accessToken = addAccessToken(principal, registeredService);
+        val refreshToken = addRefreshToken(principal, registeredService, accessToken);
+        val jwt = OAuth20JwtAccessTokenEncoder.toEncodableCipher(accessTokenJwtBuilder, registeredService,
+            accessToken, accessToken.getService(), casProperties, false).encode(accessToken.getId());
+
+        val mockRequest = new MockHttpServletRequest(HttpMethod.POST.name(), CONTEXT + OAuth20Constants.REVOCATION_URL);
+        val mockResponse = new MockHttpServletResponse();
+        mockRequest.setParameter(OAuth20Constants.CLIENT_ID, registeredService.getClientId());
+        mockRequest.setParameter(OAuth20Constants.CLIENT_SECRET, CLIENT_SECRET);
+        mockRequest.setParameter(OAuth20Constants.TOKEN, refreshToken.getId());
+
+        requiresAuthenticationInterceptor.preHandle(mockRequest, mockResponse, null);
+        oAuth20RevocationController.handleRequest(mockRequest, mockResponse);
+        assertEquals(HttpStatus.OK.value(), mockResponse.getStatus());
+        assertNull(ticketRegistry.getTicket(refreshToken.getId()));
+        assertTrue(oauthStatelessAccessTokenResolver.resolve(jwt).isEmpty());
+    }
+}
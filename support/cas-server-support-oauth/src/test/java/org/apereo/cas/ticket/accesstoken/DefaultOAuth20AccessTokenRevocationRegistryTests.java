@@ -0,0 +1,111 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TransientSessionTicketImpl;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryQueryCriteria;
+import org.apereo.cas.ticket.registry.pubsub.queue.QueueableTicketRegistryMessagePublisher;
+import org.apereo.cas.util.PublisherIdentifier;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link DefaultOAuth20AccessTokenRevocationRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Tag("OAuthToken")
+class DefaultOAuth20AccessTokenRevocationRegistryTests {
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static DefaultOAuth20AccessTokenRevocationRegistry getRegistry(final Instant now) {
+        return getRegistry(now, null);
+    }
+
+    private static DefaultOAuth20AccessTokenRevocationRegistry getRegistry(final Instant now, final TicketRegistry ticketRegistry) {
+        return new DefaultOAuth20AccessTokenRevocationRegistry(QueueableTicketRegistryMessagePublisher.noOp(),
+            ticketRegistry, new PublisherIdentifier(), Duration.ofMinutes(10), 1000, 0.01, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    void verifyRevokedTokens() {
+        val registry = getRegistry(NOW);
+        val tokenId = "AT-" + UUID.randomUUID();
+        assertFalse(registry.isRevoked(tokenId));
+        registry.revoke(tokenId, NOW.plus(Duration.ofHours(1)));
+        assertTrue(registry.isRevoked(tokenId));
+        assertFalse(registry.isRevoked("AT-" + UUID.randomUUID()));
+        assertFalse(registry.isRevoked(null));
+    }
+
+    @Test
+    void verifyExpiredTokensAreIgnored() {
+        val registry = getRegistry(NOW);
+        val tokenId = "AT-" + UUID.randomUUID();
+        registry.revoke(tokenId, NOW.minusSeconds(1));
+        assertFalse(registry.isRevoked(tokenId));
+        assertTrue(registry.getPartitions().isEmpty());
+    }
+
+    @Test
+    void verifyPartitionsAreCleaned() {
+        val registry = getRegistry(NOW);
+        val tokenId = "AT-" + UUID.randomUUID();
+        registry.accept(tokenId, NOW.plus(Duration.ofMinutes(5)));
+        assertTrue(registry.isRevoked(tokenId));
+        assertEquals(1, registry.getPartitions().size());
+
+        val laterRegistry = getRegistry(NOW.plus(Duration.ofHours(1)));
+        laterRegistry.getPartitions().putAll(registry.getPartitions());
+        assertFalse(laterRegistry.isRevoked(tokenId));
+        assertTrue(laterRegistry.getPartitions().isEmpty());
+    }
+
+    @Test
+    void verifyRevocationsSharedViaTicketRegistry() throws Throwable {
+        val ticketRegistry = mock(TicketRegistry.class);
+        val registry = getRegistry(NOW, ticketRegistry);
+        val tokenId = "AT-" + UUID.randomUUID();
+        registry.revoke(tokenId, NOW.plus(Duration.ofHours(1)));
+        verify(ticketRegistry).addTicket(argThat((Ticket ticket) ->
+            ticket.getId().equals(DefaultOAuth20AccessTokenRevocationRegistry.getRevocationTicketId(tokenId))
+                && ticket.getExpirationPolicy().getTimeToLive() == Duration.ofHours(1).toSeconds()));
+
+        val otherTokenId = "AT-" + UUID.randomUUID();
+        val otherNode = getRegistry(NOW, ticketRegistry);
+        assertFalse(otherNode.isRevoked(otherTokenId));
+        val revocationId = DefaultOAuth20AccessTokenRevocationRegistry.getRevocationTicketId(otherTokenId);
+        doReturn(List.of(new TransientSessionTicketImpl(revocationId, new HardTimeoutExpirationPolicy(600), null, new HashMap<>())))
+            .when(ticketRegistry).query(any(TicketRegistryQueryCriteria.class));
+        otherNode.synchronize();
+        assertTrue(otherNode.isRevoked(otherTokenId));
+        assertFalse(otherNode.getPartitions().isEmpty());
+        verify(ticketRegistry, never()).getTicket(anyString());
+    }
+
+    @Test
+    void verifyTicketRegistryIsNotReadWhenValidatingTokens() {
+        val ticketRegistry = mock(TicketRegistry.class);
+        val registry = getRegistry(NOW, ticketRegistry);
+        assertFalse(registry.isRevoked("AT-" + UUID.randomUUID()));
+        registry.accept("AT-" + UUID.randomUUID(), NOW.plus(Duration.ofHours(1)));
+        assertFalse(registry.isRevoked("AT-" + UUID.randomUUID()));
+        verifyNoInteractions(ticketRegistry);
+    }
+}
@@ -0,0 +1,98 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.AbstractOAuth20Tests;
+import org.apereo.cas.support.oauth.web.response.accesstoken.response.OAuth20JwtAccessTokenEncoder;
+import org.apereo.cas.ticket.registry.pubsub.queue.QueueableTicketRegistryMessagePublisher;
+import org.apereo.cas.util.PublisherIdentifier;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link DefaultOAuth20StatelessAccessTokenResolverTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Tag("OAuthToken")
+@TestPropertySource(properties = {
+    "cas.authn.oauth.access-token.stateless.enabled=true",
+    "cas.authn.oauth.access-token.crypto.signing.key=cAPyoHMrOMWrwydOXzBA-ufZQM-TilnLjbRgMQWlUlwFmy07bOtAgCIdNBma3c5P4ae_JV6n1OpOAYqSh2NkmQ",
+    "cas.authn.oauth.access-token.crypto.encryption-enabled=false",
+    "cas.authn.oauth.access-token.crypto.enabled=true"
+})
+class DefaultOAuth20StatelessAccessTokenResolverTests extends AbstractOAuth20Tests {
+    @Autowired
+    @Qualifier(OAuth20StatelessAccessTokenResolver.BEAN_NAME)
+    private OAuth20StatelessAccessTokenResolver oauthStatelessAccessTokenResolver;
+
+    private String encodeAccessToken(final OAuth20AccessToken accessToken) {
+        val registeredService = servicesManager.findServiceBy(accessToken.getService());
+        return OAuth20JwtAccessTokenEncoder.toEncodableCipher(accessTokenJwtBuilder, registeredService,
+            accessToken, accessToken.getService(), casProperties, false).encode(accessToken.getId());
+    }
+
+    @Test
+    void verifyTokenResolvedWithoutTicketRegistry() throws Throwable {
+        val registeredService = getRegisteredService();
+        servicesManager.save(registeredService);
+        val accessToken = addAccessToken(createPrincipal(), registeredService);
+        val jwt = encodeAccessToken(accessToken);
+        assertTrue(oauthStatelessAccessTokenResolver.supports(jwt));
+
+        ticketRegistry.deleteTicket(accessToken.getId());
+        val resolved = oauthStatelessAccessTokenResolver.resolve(jwt).orElseThrow();
+        assertEquals(accessToken.getId(), resolved.getId());
+        assertEquals(registeredService.getClientId(), resolved.getClientId());
+        assertEquals(accessToken.getAuthentication().getPrincipal().getId(), resolved.getAuthentication().getPrincipal().getId());
+        assertTrue(resolved.isStateless());
+        assertFalse(resolved.isExpired());
+    }
+
+    @Test
+    void verifyRevokedTokenIsNotResolved() throws Throwable {
+        val registeredService = getRegisteredService();
+        servicesManager.save(registeredService);
+        val accessToken = addAccessToken(createPrincipal(), registeredService);
+        val jwt = encodeAccessToken(accessToken);
+        val resolved = oauthStatelessAccessTokenResolver.resolve(jwt).orElseThrow();
+
+        oauthStatelessAccessTokenResolver.revoke(resolved);
+        assertTrue(oauthStatelessAccessTokenResolver.resolve(jwt).isEmpty());
+        val revocationId = DefaultOAuth20AccessTokenRevocationRegistry.getRevocationTicketId(accessToken.getId());
+        assertNotNull(ticketRegistry.getTicket(revocationId));
+
+        val otherNode = new DefaultOAuth20AccessTokenRevocationRegistry(QueueableTicketRegistryMessagePublisher.noOp(),
+            ticketRegistry, new PublisherIdentifier(), Duration.ofMinutes(10), 1000, 0.01);
+        assertFalse(otherNode.isRevoked(accessToken.getId()));
+        otherNode.synchronize();
+        assertTrue(otherNode.isRevoked(accessToken.getId()));
+    }
+
+    @Test
+    void verifyTokenIdRevokedForMaximumLifetime() throws Throwable {
+        val registeredService = getRegisteredService();
+        servicesManager.save(registeredService);
+        val accessToken = addAccessToken(createPrincipal(), registeredService);
+        val jwt = encodeAccessToken(accessToken);
+        oauthStatelessAccessTokenResolver.revoke(accessToken.getId());
+        assertTrue(oauthStatelessAccessTokenResolver.resolve(jwt).isEmpty());
+    }
+
+    @Test
+    void verifyUnsupportedTokens() {
+        val tokenId = OAuth20AccessToken.PREFIX + '-' + UUID.randomUUID();
+        assertFalse(oauthStatelessAccessTokenResolver.supports(tokenId));
+        assertTrue(oauthStatelessAccessTokenResolver.resolve(tokenId).isEmpty());
+        assertTrue(oauthStatelessAccessTokenResolver.resolve("header.payload.signature").isEmpty());
+    }
+}
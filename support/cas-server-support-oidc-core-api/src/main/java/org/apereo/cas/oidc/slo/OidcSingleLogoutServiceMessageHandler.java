@@ -92,6 +92,12 @@ public class OidcSingleLogoutServiceMessageHandler extends BaseSingleLogoutServi
             .collect(Collectors.toList());
     }
 
+    @Override
+    protected boolean dispatchMessageToEndpoint(final LogoutHttpMessage msg, final SingleLogoutRequestContext request,
+                                                final SingleLogoutMessage logoutMessage) {
+        return getMessageDispatcher().dispatch(request, msg, () -> sendMessageToEndpoint(msg, request, logoutMessage));
+    }
+
     @Override
     protected boolean sendMessageToEndpoint(final LogoutHttpMessage msg, final SingleLogoutRequestContext request, final SingleLogoutMessage logoutMessage) {
 
@@ -106,6 +106,7 @@ import org.apereo.cas.ticket.TicketFactory;
 import org.apereo.cas.ticket.TicketFactoryExecutionPlanConfigurer;
 import org.apereo.cas.ticket.UniqueTicketIdGenerator;
 import org.apereo.cas.ticket.accesstoken.OAuth20JwtBuilder;
+import org.apereo.cas.ticket.accesstoken.OAuth20StatelessAccessTokenResolver;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.token.JwtBuilder;
@@ -636,10 +637,14 @@ class OidcConfiguration {
             final JwtBuilder accessTokenJwtBuilder,
             @Qualifier(TicketRegistry.BEAN_NAME)
             final TicketRegistry ticketRegistry,
+            @Qualifier(OAuth20StatelessAccessTokenResolver.BEAN_NAME)
+            final OAuth20StatelessAccessTokenResolver oauthStatelessAccessTokenResolver,
             @Qualifier(ServicesManager.BEAN_NAME)
             final ServicesManager servicesManager) throws Exception {
-            return new OidcAccessTokenAuthenticator(ticketRegistry,
+            val authenticator = new OidcAccessTokenAuthenticator(ticketRegistry,
                 oidcTokenSigningAndEncryptionService, servicesManager, accessTokenJwtBuilder);
+            authenticator.setStatelessAccessTokenResolver(oauthStatelessAccessTokenResolver);
+            return authenticator;
         }
 
         @ConditionalOnMissingBean(name = "oidcDynamicRegistrationAuthenticator")
@@ -652,10 +657,13 @@ class OidcConfiguration {
             final JwtBuilder accessTokenJwtBuilder,
             @Qualifier(TicketRegistry.BEAN_NAME)
             final TicketRegistry ticketRegistry,
+            @Qualifier(OAuth20StatelessAccessTokenResolver.BEAN_NAME)
+            final OAuth20StatelessAccessTokenResolver oauthStatelessAccessTokenResolver,
             @Qualifier(ServicesManager.BEAN_NAME)
             final ServicesManager servicesManager) throws Exception {
             val authenticator = new OidcAccessTokenAuthenticator(ticketRegistry,
                 oidcTokenSigningAndEncryptionService, servicesManager, accessTokenJwtBuilder);
+            authenticator.setStatelessAccessTokenResolver(oauthStatelessAccessTokenResolver);
             authenticator.setRequiredScopes(Set.of(OidcConstants.CLIENT_REGISTRATION_SCOPE));
             return authenticator;
         }
@@ -780,7 +788,9 @@ class OidcConfiguration {
             final AuditableExecution registeredServiceAccessStrategyEnforcer,
             final List<OAuth20IntrospectionResponseGenerator> oauthIntrospectionResponseGenerator,
             @Qualifier(PrincipalResolver.BEAN_NAME_PRINCIPAL_RESOLVER)
-            final PrincipalResolver principalResolver) {
+            final PrincipalResolver principalResolver,
+            @Qualifier(OAuth20StatelessAccessTokenResolver.BEAN_NAME)
+            final OAuth20StatelessAccessTokenResolver oauthStatelessAccessTokenResolver) {
 
             val sortedIdClaimCollectors = new ArrayList<>(oidcIdTokenClaimCollectors);
             AnnotationAwareOrderComparator.sortIfNecessary(sortedIdClaimCollectors);
@@ -789,6 +799,7 @@ class OidcConfiguration {
                 .builder()
                 .introspectionSigningAndEncryptionService(oidcTokenIntrospectionSigningAndEncryptionService)
                 .introspectionResponseGenerator(oauthIntrospectionResponseGenerator)
+                .statelessAccessTokenResolver(oauthStatelessAccessTokenResolver)
                 .argumentExtractor(argumentExtractor)
                 .responseModeJwtBuilder(oidcResponseModeJwtBuilder)
                 .authenticationAttributeReleasePolicy(authenticationAttributeReleasePolicy)
@@ -6,20 +6,32 @@ import org.apereo.cas.ticket.TransientSessionTicketFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.function.FunctionUtils;
 import org.apereo.cas.web.cookie.CasCookieBuilder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.context.session.SessionStore;
 import org.pac4j.jee.context.JEEContext;
+import jakarta.servlet.ServletRequest;
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
  * This is {@link TicketRegistrySessionStore}.
+ * <p>
+ * Session tickets are fetched from the registry once per request and attributes are read from that copy
+ * for the rest of the request. When the request is marked as buffered via {@link #BUFFERED_REQUEST_ATTRIBUTE},
+ * typically by {@link org.apereo.cas.web.TicketRegistrySessionStoreFilter}, changes to session attributes
+ * are coalesced and written to the registry with a single add or update once {@link #flush(ServletRequest)}
+ * is invoked, right before the response is committed. Otherwise, every change is written through to the registry.
  *
  * @author Misagh Moayyed
  * @author Jerome LELEU
@@ -28,6 +40,13 @@ import java.util.UUID;
 @Slf4j
 @RequiredArgsConstructor
 public class TicketRegistrySessionStore implements SessionStore {
+    /**
+     * Request attribute that indicates changes to session attributes should be buffered until the request is flushed.
+     */
+    public static final String BUFFERED_REQUEST_ATTRIBUTE = TicketRegistrySessionStore.class.getName() + ".buffered";
+
+    private static final String SESSION_TICKETS_REQUEST_ATTRIBUTE = TicketRegistrySessionStore.class.getName() + ".sessionTickets";
+
     private static final String SESSION_ID_IN_REQUEST_ATTRIBUTE = "sessionIdInRequestAttribute";
 
     private final TicketRegistry ticketRegistry;
@@ -78,12 +97,16 @@ public class TicketRegistrySessionStore implements SessionStore {
             FunctionUtils.doAndHandle(__ -> {
                 val transientFactory = (TransientSessionTicketFactory) ticketFactory.get(TransientSessionTicket.class);
                 val transientSessionTicket = transientFactory.create(sessionId, properties);
-                val addedTicket = ticketRegistry.addTicket(transientSessionTicket);
-                
+                val sessionTicket = new SessionTicket(ticketRegistry, transientSessionTicket, false, true);
+                getSessionTickets(context).put(transientSessionTicket.getId(), sessionTicket);
+                if (!isBuffered(context)) {
+                    sessionTicket.flush();
+                }
+
                 val webContext = (JEEContext) context;
-                cookieGenerator.addCookie(webContext.getNativeRequest(), webContext.getNativeResponse(), addedTicket.getId());
+                cookieGenerator.addCookie(webContext.getNativeRequest(), webContext.getNativeResponse(), transientSessionTicket.getId());
 
-                context.setRequestAttribute(SESSION_ID_IN_REQUEST_ATTRIBUTE, addedTicket.getId());
+                context.setRequestAttribute(SESSION_ID_IN_REQUEST_ATTRIBUTE, transientSessionTicket.getId());
             });
         } else {
             ticket.getProperties().putAll(properties);
@@ -91,11 +114,25 @@ public class TicketRegistrySessionStore implements SessionStore {
         }
     }
 
+    /**
+     * Write all buffered changes to session tickets that are tracked by the request to the ticket registry.
+     *
+     * @param request the request
+     */
+    public static void flush(final ServletRequest request) {
+        val sessionTickets = (Map<String, SessionTicket>) request.getAttribute(SESSION_TICKETS_REQUEST_ATTRIBUTE);
+        if (sessionTickets != null) {
+            sessionTickets.values().forEach(SessionTicket::flush);
+        }
+    }
+
     private void updateTicket(final WebContext context, final TransientSessionTicket ticket) {
-        FunctionUtils.doUnchecked(__ -> {
-            val updatedTicket = ticketRegistry.updateTicket(ticket);
-            context.setRequestAttribute(SESSION_ID_IN_REQUEST_ATTRIBUTE, updatedTicket.getId());
-        });
+        val sessionTicket = getSessionTickets(context).get(ticket.getId());
+        sessionTicket.setModified(true);
+        if (!isBuffered(context)) {
+            sessionTicket.flush();
+        }
+        context.setRequestAttribute(SESSION_ID_IN_REQUEST_ATTRIBUTE, ticket.getId());
     }
 
     @Override
@@ -103,6 +140,7 @@ public class TicketRegistrySessionStore implements SessionStore {
         val sessionId = fetchSessionIdFromContext(webContext);
         if (sessionId != null) {
             val ticketId = TransientSessionTicketFactory.normalizeTicketId(sessionId);
+            getSessionTickets(webContext).put(ticketId, new SessionTicket(ticketRegistry, null, false, false));
             FunctionUtils.doUnchecked(__ -> ticketRegistry.deleteTicket(ticketId));
             val context = (JEEContext) webContext;
             cookieGenerator.removeCookie(context.getNativeResponse());
@@ -143,17 +181,70 @@ public class TicketRegistrySessionStore implements SessionStore {
     }
 
     private TransientSessionTicket getTransientSessionTicketForSession(final WebContext context) {
-        try {
-            val sessionId = fetchSessionIdFromContext(context);
-            if (sessionId != null) {
-                val ticketId = TransientSessionTicketFactory.normalizeTicketId(sessionId);
-
-                LOGGER.trace("Fetching ticket: [{}]", ticketId);
-                return ticketRegistry.getTicket(ticketId, TransientSessionTicket.class);
+        val sessionId = fetchSessionIdFromContext(context);
+        if (sessionId != null) {
+            val ticketId = TransientSessionTicketFactory.normalizeTicketId(sessionId);
+            val sessionTickets = getSessionTickets(context);
+            val sessionTicket = sessionTickets.get(ticketId);
+            if (sessionTicket != null) {
+                LOGGER.trace("Using ticket [{}] fetched earlier in this request", ticketId);
+                return sessionTicket.getTicket();
             }
+            val ticket = fetchTransientSessionTicket(ticketId);
+            sessionTickets.put(ticketId, new SessionTicket(ticketRegistry, ticket, ticket != null, false));
+            return ticket;
+        }
+        return null;
+    }
+
+    private TransientSessionTicket fetchTransientSessionTicket(final String ticketId) {
+        try {
+            LOGGER.trace("Fetching ticket: [{}]", ticketId);
+            return ticketRegistry.getTicket(ticketId, TransientSessionTicket.class);
         } catch (final Exception e) {
             LOGGER.trace(e.getMessage(), e);
         }
         return null;
     }
+
+    private static boolean isBuffered(final WebContext context) {
+        return context.getRequestAttribute(BUFFERED_REQUEST_ATTRIBUTE).isPresent();
+    }
+
+    private static Map<String, SessionTicket> getSessionTickets(final WebContext context) {
+        val sessionTickets = context.getRequestAttribute(SESSION_TICKETS_REQUEST_ATTRIBUTE);
+        if (sessionTickets.isPresent()) {
+            return (Map<String, SessionTicket>) sessionTickets.get();
+        }
+        val newSessionTickets = new LinkedHashMap<String, SessionTicket>();
+        context.setRequestAttribute(SESSION_TICKETS_REQUEST_ATTRIBUTE, newSessionTickets);
+        return newSessionTickets;
+    }
+
+    @AllArgsConstructor
+    @Getter
+    @Setter
+    private static final class SessionTicket {
+        private final TicketRegistry ticketRegistry;
+
+        private final TransientSessionTicket ticket;
+
+        private boolean stored;
+
+        private boolean modified;
+
+        void flush() {
+            if (ticket != null && modified) {
+                FunctionUtils.doUnchecked(__ -> {
+                    if (stored) {
+                        ticketRegistry.updateTicket(ticket);
+                    } else {
+                        ticketRegistry.addTicket(ticket);
+                        stored = true;
+                    }
+                    modified = false;
+                });
+            }
+        }
+    }
 }
@@ -0,0 +1,79 @@
+package org.apereo.cas.web;
+
+import org.apereo.cas.pac4j.TicketRegistrySessionStore;
+import org.springframework.web.filter.OncePerRequestFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * This is {@link TicketRegistrySessionStoreFilter} that lets the {@link TicketRegistrySessionStore}
+ * buffer changes to session attributes for the duration of the request, and flushes
+ * them to the ticket registry before the response is committed.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+public class TicketRegistrySessionStoreFilter extends OncePerRequestFilter {
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain chain) throws ServletException, IOException {
+        request.setAttribute(TicketRegistrySessionStore.BUFFERED_REQUEST_ATTRIBUTE, Boolean.TRUE);
+        try {
+            chain.doFilter(request, new FlushingResponseWrapper(request, response));
+        } finally {
+            TicketRegistrySessionStore.flush(request);
+            request.removeAttribute(TicketRegistrySessionStore.BUFFERED_REQUEST_ATTRIBUTE);
+        }
+    }
+
+    private static final class FlushingResponseWrapper extends HttpServletResponseWrapper {
+        private final HttpServletRequest request;
+
+        FlushingResponseWrapper(final HttpServletRequest request, final HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public void sendRedirect(final String location) throws IOException {
+            TicketRegistrySessionStore.flush(request);
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public void sendError(final int sc) throws IOException {
+            TicketRegistrySessionStore.flush(request);
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(final int sc, final String msg) throws IOException {
+            TicketRegistrySessionStore.flush(request);
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            TicketRegistrySessionStore.flush(request);
+            super.flushBuffer();
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            TicketRegistrySessionStore.flush(request);
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            TicketRegistrySessionStore.flush(request);
+            return super.getWriter();
+        }
+    }
+}
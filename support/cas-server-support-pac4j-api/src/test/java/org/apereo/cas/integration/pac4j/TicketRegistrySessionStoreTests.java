@@ -2,9 +2,12 @@ package org.apereo.cas.integration.pac4j;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.pac4j.TicketRegistrySessionStore;
+import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketFactory;
+import org.apereo.cas.ticket.TransientSessionTicket;
 import org.apereo.cas.ticket.TransientSessionTicketFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.web.TicketRegistrySessionStoreFilter;
 import org.apereo.cas.web.cookie.CasCookieBuilder;
 import org.apereo.cas.web.support.CookieUtils;
 import org.apereo.cas.web.support.InvalidCookieException;
@@ -13,6 +16,10 @@ import lombok.val;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.pac4j.core.util.Pac4jConstants;
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.context.session.SessionStore;
 import org.pac4j.jee.context.JEEContext;
@@ -25,10 +32,16 @@ import org.springframework.mock.web.MockHttpServletResponse;
 
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 /**
  * This is {@link TicketRegistrySessionStoreTests}.
@@ -98,6 +111,63 @@ class TicketRegistrySessionStoreTests {
         assertFalse(sessionStore.get(webContext, "SessionAttribute1").isEmpty());
     }
 
+    static Stream<Arguments> getRedirectionSessionAttributes() {
+        return Stream.of(
+            Arguments.of("OidcClient", Map.of(
+                "OidcClient#state", UUID.randomUUID().toString(),
+                "OidcClient#nonce", UUID.randomUUID().toString(),
+                "OidcClient#pkceCodeVerifier", UUID.randomUUID().toString(),
+                Pac4jConstants.REQUESTED_URL, "https://github.com/apereo/cas",
+                Pac4jConstants.DEFAULT_CLIENT_NAME_PARAMETER, "OidcClient")),
+            Arguments.of("GenericOAuth20Client", Map.of(
+                "GenericOAuth20Client#state", UUID.randomUUID().toString(),
+                Pac4jConstants.REQUESTED_URL, "https://github.com/apereo/cas",
+                Pac4jConstants.DEFAULT_CLIENT_NAME_PARAMETER, "GenericOAuth20Client")),
+            Arguments.of("SAML2Client", Map.of(
+                "SAML2Client#state", UUID.randomUUID().toString(),
+                "SAML2Client$attemptedAuthnRequestId", UUID.randomUUID().toString(),
+                "SAML2Client$samlRequestIssueInstant", String.valueOf(System.currentTimeMillis()),
+                Pac4jConstants.REQUESTED_URL, "https://github.com/apereo/cas",
+                Pac4jConstants.DEFAULT_CLIENT_NAME_PARAMETER, "SAML2Client"))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("getRedirectionSessionAttributes")
+    void verifyRedirectionFlowCoalescesWrites(final String clientName, final Map<String, String> attributes) throws Throwable {
+        val registry = spy(ticketRegistry);
+        val store = new TicketRegistrySessionStore(registry, ticketFactory, cookieGenerator);
+        val filter = new TicketRegistrySessionStoreFilter();
+
+        filter.doFilter(request, response, (req, res) -> {
+            val context = new JEEContext((HttpServletRequest) req, (HttpServletResponse) res);
+            attributes.forEach((key, value) -> {
+                assertTrue(store.get(context, key).isEmpty());
+                store.set(context, key, value);
+            });
+            verify(registry, never()).addTicket(any(Ticket.class));
+            ((HttpServletResponse) res).sendRedirect("https://idp.example.org/" + clientName);
+            verify(registry, times(1)).addTicket(any(Ticket.class));
+        });
+        verify(registry, times(1)).addTicket(any(Ticket.class));
+        verify(registry, never()).updateTicket(any(Ticket.class));
+
+        val callbackRequest = new MockHttpServletRequest();
+        callbackRequest.setCookies(getDistributedSessionCookie());
+        val callbackResponse = new MockHttpServletResponse();
+        clearInvocations(registry);
+        filter.doFilter(callbackRequest, callbackResponse, (req, res) -> {
+            val context = new JEEContext((HttpServletRequest) req, (HttpServletResponse) res);
+            attributes.forEach((key, value) -> assertEquals(value, store.get(context, key).orElseThrow()));
+            attributes.keySet().forEach(key -> store.set(context, key, null));
+            verify(registry, never()).updateTicket(any(Ticket.class));
+        });
+        verify(registry, times(1)).getTicket(anyString(), eq(TransientSessionTicket.class));
+        verify(registry, times(1)).updateTicket(any(Ticket.class));
+        val context = new JEEContext(callbackRequest, callbackResponse);
+        attributes.keySet().forEach(key -> assertTrue(store.get(context, key).isEmpty()));
+    }
+
     private Cookie getDistributedSessionCookie() {
         return Arrays.stream(response.getCookies())
             .filter(r -> r.getName().equals(cookieGenerator.getCookieName()))
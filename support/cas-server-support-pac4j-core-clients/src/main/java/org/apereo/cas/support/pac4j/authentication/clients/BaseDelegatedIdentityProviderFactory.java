@@ -104,16 +104,34 @@ public abstract class BaseDelegatedIdentityProviderFactory implements DelegatedI
 
     private final Cache<String, Collection<IndirectClient>> clientsCache;
 
+    private volatile Collection<IndirectClient> loadedClients = List.of();
+
     protected abstract Collection<IndirectClient> loadIdentityProviders() throws Exception;
 
     @Override
     public final Collection<IndirectClient> build() {
-        return lock.tryLock(() -> {
-            val core = casProperties.getAuthn().getPac4j().getCore();
-            val currentClients = getCachedClients().isEmpty() || !core.isLazyInit() ? loadIdentityProviders() : getCachedClients();
-            clientsCache.put(casProperties.getServer().getName(), currentClients);
+        val cachedClients = clientsCache.getIfPresent(casProperties.getServer().getName());
+        if (cachedClients != null) {
+            return cachedClients;
+        }
+        val clients = lock.tryLock(() -> {
+            val existingClients = clientsCache.getIfPresent(casProperties.getServer().getName());
+            if (existingClients != null) {
+                return existingClients;
+            }
+            val currentClients = List.<IndirectClient>copyOf(loadIdentityProviders());
+            LOGGER.debug("Loaded [{}] delegated identity provider(s)", currentClients.size());
+            if (!currentClients.isEmpty()) {
+                clientsCache.put(casProperties.getServer().getName(), currentClients);
+            }
+            loadedClients = currentClients;
             return currentClients;
         });
+        if (clients == null) {
+            LOGGER.debug("Delegated identity providers are being loaded; serving the [{}] previously loaded provider(s)", loadedClients.size());
+            return loadedClients;
+        }
+        return clients;
     }
 
     @Override
@@ -2,16 +2,26 @@ package org.apereo.cas.support.pac4j.authentication.clients;
 
 import org.apereo.cas.pac4j.client.DelegatedIdentityProviderFactory;
 import org.apereo.cas.pac4j.client.DelegatedIdentityProviders;
+import org.apereo.cas.util.concurrent.CasReentrantLock;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.pac4j.core.client.Client;
 import org.pac4j.core.client.Clients;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * This is {@link RefreshableDelegatedIdentityProviders}.
+ * Clients produced by the {@link DelegatedIdentityProviderFactory} are initialized once and kept
+ * in an immutable snapshot that is indexed by client name. The snapshot is only rebuilt
+ * when the factory hands back a different collection of clients, i.e. when identity providers
+ * are reloaded after a configuration change, cache expiration or an explicit refresh.
  *
  * @author Misagh Moayyed
  * @since 6.4.0
@@ -20,6 +30,10 @@ import java.util.Optional;
 public class RefreshableDelegatedIdentityProviders extends Clients implements DelegatedIdentityProviders {
     private final DelegatedIdentityProviderFactory delegatedIdentityProviderFactory;
 
+    private final CasReentrantLock lock = new CasReentrantLock();
+
+    private volatile Snapshot snapshot = new Snapshot(0, null, List.of(), Map.of());
+
     public RefreshableDelegatedIdentityProviders(final String callbackUrl,
                                                  final DelegatedIdentityProviderFactory delegatedIdentityProviderFactory) {
         setCallbackUrl(callbackUrl);
@@ -28,21 +42,63 @@ public class RefreshableDelegatedIdentityProviders extends Clients implements De
 
     @Override
     public Optional<Client> findClient(final String name) {
-        setClients(buildDelegatedClients());
-        init();
-        return super.findClient(name);
+        return StringUtils.isBlank(name)
+            ? Optional.empty()
+            : Optional.ofNullable(currentSnapshot().clientsByName().get(normalizeClientName(name)));
     }
 
     @Override
     public List<Client> findAllClients() {
-        setClients(buildDelegatedClients());
-        init();
-        return super.findAllClients();
+        return currentSnapshot().clients();
     }
 
-    protected List<Client> buildDelegatedClients() {
+    /**
+     * Version of the current snapshot of clients,
+     * incremented every time the snapshot is rebuilt.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return snapshot.version();
+    }
+
+    private Snapshot currentSnapshot() {
         val providers = delegatedIdentityProviderFactory.build();
+        val current = snapshot;
+        if (current.source() == providers) {
+            return current;
+        }
+        val rebuilt = lock.tryLock(() -> {
+            if (snapshot.source() == providers) {
+                return snapshot;
+            }
+            setClients(buildDelegatedClients(providers));
+            init();
+            val clients = List.copyOf(super.findAllClients());
+            val clientsByName = new LinkedHashMap<String, Client>(clients.size());
+            clients.forEach(client -> clientsByName.putIfAbsent(normalizeClientName(client.getName()), client));
+            snapshot = new Snapshot(snapshot.version() + 1, providers, clients, Map.copyOf(clientsByName));
+            LOGGER.debug("Rebuilt delegated identity providers snapshot version [{}] with [{}] client(s)",
+                snapshot.version(), clients.size());
+            return snapshot;
+        });
+        if (rebuilt == null) {
+            LOGGER.debug("Delegated identity providers are being rebuilt; serving snapshot version [{}]", snapshot.version());
+            return snapshot;
+        }
+        return rebuilt;
+    }
+
+    protected List<Client> buildDelegatedClients(final Collection<? extends Client> providers) {
         LOGGER.debug("The following clients are built: [{}]", providers);
         return new ArrayList<>(providers);
     }
+
+    private static String normalizeClientName(final String name) {
+        return name.toLowerCase(Locale.ENGLISH).trim();
+    }
+
+    private record Snapshot(long version, Collection<? extends Client> source,
+                            List<Client> clients, Map<String, Client> clientsByName) {
+    }
 }
@@ -43,6 +43,7 @@ import org.apereo.cas.util.http.HttpRequestUtils;
 import org.apereo.cas.util.spring.beans.BeanSupplier;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 import org.apereo.cas.web.DelegatedClientAuthenticationDistributedSessionCookieCipherExecutor;
+import org.apereo.cas.web.TicketRegistrySessionStoreFilter;
 import org.apereo.cas.web.cookie.CasCookieBuilder;
 import org.apereo.cas.web.support.CookieUtils;
 import org.apereo.cas.web.support.mgmr.DefaultCasCookieValueManager;
@@ -64,11 +65,13 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.core.Ordered;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -114,6 +117,21 @@ class DelegatedAuthenticationEventExecutionPlanConfiguration {
             sessionStore.setPrefix(AUTHENTICATION_DELEGATION_PREFIX);
             return sessionStore;
         }
+
+        @ConditionalOnMissingBean(name = "delegatedClientDistributedSessionStoreFilter")
+        @Bean
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        public FilterRegistrationBean<TicketRegistrySessionStoreFilter> delegatedClientDistributedSessionStoreFilter(
+            final CasConfigurationProperties casProperties) {
+            val replicationProps = casProperties.getAuthn().getPac4j().getCore().getSessionReplication();
+            val bean = new FilterRegistrationBean<TicketRegistrySessionStoreFilter>();
+            bean.setFilter(new TicketRegistrySessionStoreFilter());
+            bean.setUrlPatterns(CollectionUtils.wrap("/*"));
+            bean.setName("delegatedClientDistributedSessionStoreFilter");
+            bean.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+            bean.setEnabled(replicationProps.isReplicateSessions());
+            return bean;
+        }
     }
 
     @Configuration(value = "DelegatedAuthenticationEventExecutionPlanCoreConfiguration", proxyBeanMethods = false)
@@ -2,11 +2,18 @@ package org.apereo.cas.support.pac4j;
 
 import org.apereo.cas.pac4j.client.DelegatedIdentityProviderFactory;
 import org.apereo.cas.support.pac4j.authentication.clients.RefreshableDelegatedIdentityProviders;
+import org.apereo.cas.util.function.FunctionUtils;
 import lombok.val;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.pac4j.cas.client.CasClient;
+import org.pac4j.core.client.Client;
+import org.pac4j.oauth.client.FacebookClient;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -28,6 +35,43 @@ class RefreshableDelegatedClientsTests {
         when(delegatedFactory.build()).thenReturn(List.of(client));
         assertFalse(refreshableClients.findAllClients().isEmpty());
         assertTrue(refreshableClients.findClient(client.getName()).isPresent());
+        assertTrue(refreshableClients.findClient(client.getName().toUpperCase(Locale.ENGLISH)).isPresent());
+        assertTrue(refreshableClients.findClient("unknown").isEmpty());
+        val version = refreshableClients.getVersion();
+        assertSame(refreshableClients.findAllClients(), refreshableClients.findAllClients());
+        assertEquals(version, refreshableClients.getVersion());
 
+        when(delegatedFactory.build()).thenReturn(List.of(new CasClient(), new FacebookClient()));
+        assertEquals(2, refreshableClients.findAllClients().size());
+        assertEquals(version + 1, refreshableClients.getVersion());
+
+    }
+
+    @Test
+    void verifyCurrentClientsAreServedWhileRebuilding() throws Throwable {
+        val delegatedFactory = mock(DelegatedIdentityProviderFactory.class);
+        when(delegatedFactory.build()).thenReturn(List.of(new CasClient()));
+        val rebuilding = new CountDownLatch(1);
+        val release = new CountDownLatch(1);
+        val refreshableClients = new RefreshableDelegatedIdentityProviders("http://localhost:8080/cas", delegatedFactory) {
+            @Override
+            protected List<Client> buildDelegatedClients(final Collection<? extends Client> providers) {
+                if (providers.size() > 1) {
+                    rebuilding.countDown();
+                    FunctionUtils.doUnchecked(__ -> release.await());
+                }
+                return super.buildDelegatedClients(providers);
+            }
+        };
+        assertEquals(1, refreshableClients.findAllClients().size());
+
+        when(delegatedFactory.build()).thenReturn(List.of(new CasClient(), new FacebookClient()));
+        val rebuild = new Thread(refreshableClients::findAllClients);
+        rebuild.start();
+        assertTrue(rebuilding.await(10, TimeUnit.SECONDS));
+        assertEquals(1, refreshableClients.findAllClients().size());
+        release.countDown();
+        rebuild.join();
+        assertEquals(2, refreshableClients.findAllClients().size());
     }
 }
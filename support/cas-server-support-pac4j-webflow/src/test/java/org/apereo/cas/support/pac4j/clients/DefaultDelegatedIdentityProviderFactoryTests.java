@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.pac4j.cas.client.CasClient;
+import org.pac4j.core.client.IndirectClient;
 import org.pac4j.core.profile.converter.AttributeConverter;
 import org.pac4j.oauth.client.GitHubClient;
 import org.pac4j.saml.client.SAML2Client;
@@ -42,9 +43,13 @@ class DefaultDelegatedIdentityProviderFactoryTests {
         void verifyEagerInit() throws Throwable {
             val clients1 = List.copyOf(delegatedIdentityProviderFactory.build());
             assertEquals(2, clients1.size());
+            assertTrue(clients1.stream().allMatch(IndirectClient::isInitialized));
             val clients2 = List.copyOf(delegatedIdentityProviderFactory.build());
-            assertFalse(clients2.stream()
+            assertTrue(clients2.stream()
                 .allMatch(c2 -> clients1.stream().anyMatch(client -> client.hashCode() == c2.hashCode())));
+            val clients3 = List.copyOf(delegatedIdentityProviderFactory.rebuild());
+            assertFalse(clients3.stream()
+                .allMatch(c3 -> clients1.stream().anyMatch(client -> client.hashCode() == c3.hashCode())));
         }
     }
 
@@ -229,6 +234,7 @@ class DefaultDelegatedIdentityProviderFactoryTests {
         void verifyLaziness() throws Throwable {
             val clients1 = List.copyOf(delegatedIdentityProviderFactory.build());
             assertEquals(2, clients1.size());
+            assertTrue(clients1.stream().allMatch(IndirectClient::isInitialized));
             val clients2 = List.copyOf(delegatedIdentityProviderFactory.build());
             assertTrue(clients2.stream().allMatch(c2 -> clients1.stream()
                 .anyMatch(client -> client.hashCode() == c2.hashCode())));
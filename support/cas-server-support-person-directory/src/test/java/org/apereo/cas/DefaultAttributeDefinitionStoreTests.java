@@ -339,6 +339,37 @@ class DefaultAttributeDefinitionStoreTests {
         }
     }
 
+    @Test
+    void verifyCompiledAttrDefnFollowsChanges() throws Throwable {
+        val service = CoreAuthenticationTestUtils.getRegisteredService();
+        try (val store = new DefaultAttributeDefinitionStore()) {
+            val defn = DefaultAttributeDefinition.builder()
+                .key("eduPersonPrincipalName")
+                .patternFormat("hello,{0}")
+                .canonicalizationMode("upper")
+                .patterns(CollectionUtils.wrap("^te.+", "matched"))
+                .build();
+            store.registerAttributeDefinition(defn);
+            val context = AttributeDefinitionResolutionContext.builder()
+                .attributeValues(CollectionUtils.wrap(CoreAuthenticationTestUtils.CONST_USERNAME))
+                .principal(CoreAuthenticationTestUtils.getPrincipal())
+                .registeredService(service)
+                .service(CoreAuthenticationTestUtils.getService())
+                .attributes(Map.of())
+                .build();
+            var values = store.resolveAttributeValues("eduPersonPrincipalName", context);
+            assertEquals(List.of("HELLO,MATCHED"), values.orElseThrow().getValue());
+            values = store.resolveAttributeValues("eduPersonPrincipalName", context);
+            assertEquals(List.of("HELLO,MATCHED"), values.orElseThrow().getValue());
+
+            defn.setPatternFormat("bye,{0}");
+            defn.setCanonicalizationMode("lower");
+            defn.getPatterns().put("^te.+", "changed");
+            values = store.resolveAttributeValues("eduPersonPrincipalName", context);
+            assertEquals(List.of("bye,changed"), values.orElseThrow().getValue());
+        }
+    }
+
     @Test
     void verifyOperation() throws Throwable {
         try (val store = new DefaultAttributeDefinitionStore()) {
@@ -187,6 +187,17 @@ class RedisObjectFactoryTests {
         assertNotNull(connection);
     }
     
+    @Test
+    void verifyRedisClientRejectsSentinelAndCluster() {
+        val sentinel = new BaseRedisProperties();
+        sentinel.getSentinel().setMaster("mymaster");
+        assertThrows(IllegalArgumentException.class, () -> RedisObjectFactory.newRedisClient(sentinel, CasSSLContext.disabled()));
+
+        val cluster = new BaseRedisProperties();
+        cluster.getCluster().getNodes().add(new RedisClusterNodeProperties().setHost("localhost").setPort(6379));
+        assertThrows(IllegalArgumentException.class, () -> RedisObjectFactory.newRedisClient(cluster, CasSSLContext.disabled()));
+    }
+
     @Test
     void validateRedisReadFromValues() {
         Stream.of(BaseRedisProperties.RedisReadFromTypes.values()).map(Enum::name).forEach(ReadFrom::valueOf);
@@ -3,6 +3,9 @@ package org.apereo.cas.config;
 import org.apereo.cas.authentication.CasSSLContext;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
+import org.apereo.cas.configuration.model.support.redis.BaseRedisProperties;
+import org.apereo.cas.configuration.model.support.redis.RedisClusterProperties;
+import org.apereo.cas.configuration.model.support.redis.RedisSentinelProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.redis.core.CasRedisTemplate;
 import org.apereo.cas.redis.core.RedisObjectFactory;
@@ -14,6 +17,7 @@ import org.apereo.cas.ticket.registry.RedisCompositeKey;
 import org.apereo.cas.ticket.registry.RedisTicketDocument;
 import org.apereo.cas.ticket.registry.RedisTicketRegistry;
 import org.apereo.cas.ticket.registry.RedisTicketRegistryCacheEndpoint;
+import org.apereo.cas.ticket.registry.ShardedTicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.key.PrincipalRedisKeyGenerator;
 import org.apereo.cas.ticket.registry.key.RedisKeyGeneratorFactory;
@@ -21,6 +25,7 @@ import org.apereo.cas.ticket.registry.key.TicketRedisKeyGenerator;
 import org.apereo.cas.ticket.registry.pub.DefaultRedisTicketRegistryMessagePublisher;
 import org.apereo.cas.ticket.registry.pub.RedisTicketRegistryMessagePublisher;
 import org.apereo.cas.ticket.registry.sub.DefaultRedisTicketRegistryMessageListener;
+import org.apereo.cas.ticket.registry.sub.RedisTicketRegistryClientTrackingListener;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
 import org.apereo.cas.util.CoreTicketUtils;
 import org.apereo.cas.util.PublisherIdentifier;
@@ -32,8 +37,12 @@ import org.apereo.cas.util.spring.beans.BeanSupplier;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.redis.lettucemod.api.sync.RedisModulesCommands;
+import io.lettuce.core.api.push.PushListener;
+import io.micrometer.core.instrument.Metrics;
 import lombok.val;
 import org.jooq.lambda.Unchecked;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
@@ -69,6 +78,8 @@ public class CasRedisTicketRegistryAutoConfiguration {
 
     private static final BeanCondition CONDITION = BeanCondition.on("cas.ticket.registry.redis.enabled").isTrue().evenIfMissing();
 
+    private static final BeanCondition CONDITION_CLIENT_TRACKING = BeanCondition.on("cas.ticket.registry.redis.enable-client-tracking").isTrue();
+
     @Configuration(value = "RedisTicketRegistryCoreConfiguration", proxyBeanMethods = false)
     @EnableConfigurationProperties(CasConfigurationProperties.class)
     @Lazy(false)
@@ -100,13 +111,42 @@ public class CasRedisTicketRegistryAutoConfiguration {
             @Qualifier("redisTicketRegistryMessageListener")
             final MessageListener redisTicketRegistryMessageListener,
             @Qualifier("redisTicketConnectionFactory")
-            final RedisConnectionFactory redisTicketConnectionFactory) {
+            final RedisConnectionFactory redisTicketConnectionFactory,
+            final CasConfigurationProperties casProperties) {
             val container = new RedisMessageListenerContainer();
             container.setConnectionFactory(redisTicketConnectionFactory);
-            container.addMessageListener(redisTicketRegistryMessageListener, redisTicketRegistryMessageTopic);
+            if (!casProperties.getTicket().getRegistry().getRedis().isEnableClientTracking()) {
+                container.addMessageListener(redisTicketRegistryMessageListener, redisTicketRegistryMessageTopic);
+            }
             return container;
         }
 
+        @Bean
+        @ConditionalOnMissingBean(name = "redisTicketRegistryClientTrackingListener")
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        @Lazy(false)
+        public PushListener redisTicketRegistryClientTrackingListener(
+            final ConfigurableApplicationContext applicationContext,
+            final CasConfigurationProperties casProperties,
+            @Qualifier(CasSSLContext.BEAN_NAME)
+            final CasSSLContext casSslContext,
+            @Qualifier("redisKeyGeneratorFactory")
+            final RedisKeyGeneratorFactory redisKeyGeneratorFactory,
+            @Qualifier("redisTicketRegistryCache")
+            final Cache<String, Ticket> redisTicketRegistryCache) {
+            return BeanSupplier.of(PushListener.class)
+                .when(CONDITION.given(applicationContext.getEnvironment()))
+                .when(CONDITION_CLIENT_TRACKING.given(applicationContext.getEnvironment()))
+                .supply(Unchecked.supplier(() -> {
+                    val redis = casProperties.getTicket().getRegistry().getRedis();
+                    val redisKeyGenerator = redisKeyGeneratorFactory.getRedisKeyGenerator(Ticket.class.getName()).orElseThrow();
+                    return new RedisTicketRegistryClientTrackingListener(RedisObjectFactory.newRedisClient(redis, casSslContext),
+                        redisTicketRegistryCache, redisKeyGenerator);
+                }))
+                .otherwiseProxy()
+                .get();
+        }
+
         @Bean
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         @ConditionalOnMissingBean(name = "redisTicketRegistryMessageIdentifier")
@@ -140,7 +180,11 @@ public class CasRedisTicketRegistryAutoConfiguration {
             @Qualifier("redisTicketRegistryMessageIdentifier")
             final PublisherIdentifier redisTicketRegistryMessageIdentifier,
             @Qualifier("ticketRedisTemplate")
-            final CasRedisTemplate<String, RedisTicketDocument> ticketRedisTemplate) {
+            final CasRedisTemplate<String, RedisTicketDocument> ticketRedisTemplate,
+            final CasConfigurationProperties casProperties) {
+            if (casProperties.getTicket().getRegistry().getRedis().isEnableClientTracking()) {
+                return RedisTicketRegistryMessagePublisher.noOp();
+            }
             return new DefaultRedisTicketRegistryMessagePublisher(ticketRedisTemplate, redisTicketRegistryMessageIdentifier);
         }
 
@@ -195,7 +239,12 @@ public class CasRedisTicketRegistryAutoConfiguration {
         @ConditionalOnMissingBean(name = "redisTicketRegistryCache")
         public Cache<String, Ticket> redisTicketRegistryCache(final CasConfigurationProperties casProperties) {
             val redis = casProperties.getTicket().getRegistry().getRedis();
-            return Beans.newCache(redis.getCache(), new CachedTicketExpirationPolicy());
+            val cache = (Cache<String, Ticket>) Beans.newCacheBuilder(redis.getCache())
+                .expireAfter(new CachedTicketExpirationPolicy())
+                .recordStats()
+                .build();
+            Metrics.gauge("cas.ticket.registry.redis.cache.hit.ratio", cache, ticketCache -> ticketCache.stats().hitRate());
+            return cache;
         }
 
         @Bean
@@ -244,9 +293,32 @@ public class CasRedisTicketRegistryAutoConfiguration {
                     val searchCommands = redis.isEnableRedisSearch()
                         ? RedisObjectFactory.newRedisModulesCommands(redis, casSslContext)
                         : Optional.<RedisModulesCommands>empty();
-                    return new RedisTicketRegistry(cipher, ticketSerializationManager, ticketCatalog,
+                    val registry = new RedisTicketRegistry(cipher, ticketSerializationManager, ticketCatalog,
                         casRedisTemplates, redisTicketRegistryCache, redisTicketRegistryMessagePublisher,
                         searchCommands, redisKeyGeneratorFactory, casProperties);
+                    return ShardedTicketRegistry.of(registry, casProperties.getTicket().getRegistry().getSharding(),
+                        Unchecked.function(connection -> {
+                            if (redis.isEnableClientTracking()) {
+                                throw new IllegalArgumentException("Redis client tracking cannot be used when tickets are spread across shards");
+                            }
+                            val shard = new BaseRedisProperties();
+                            BeanUtils.copyProperties(redis, shard);
+                            shard.setUri(connection).setSentinel(new RedisSentinelProperties()).setCluster(new RedisClusterProperties());
+                            val connectionFactory = RedisObjectFactory.newRedisConnectionFactory(shard, true, casSslContext);
+                            val ticketsTemplate = RedisObjectFactory.<String, RedisTicketDocument>newRedisTemplate(connectionFactory);
+                            ticketsTemplate.initialize();
+                            val sessionsTemplate = RedisObjectFactory.<String, String>newRedisTemplate(connectionFactory);
+                            sessionsTemplate.initialize();
+                            val shardSearchCommands = redis.isEnableRedisSearch()
+                                ? RedisObjectFactory.newRedisModulesCommands(shard, casSslContext)
+                                : Optional.<RedisModulesCommands>empty();
+                            val shardRegistry = new RedisTicketRegistry(cipher, ticketSerializationManager, ticketCatalog,
+                                new RedisTicketRegistry.CasRedisTemplates(ticketsTemplate, sessionsTemplate), redisTicketRegistryCache,
+                                redisTicketRegistryMessagePublisher, shardSearchCommands, redisKeyGeneratorFactory, casProperties);
+                            return ShardedTicketRegistry.Shard.of(shardRegistry,
+                                () -> shardSearchCommands.ifPresent(commands -> commands.getStatefulConnection().close()),
+                                ((DisposableBean) connectionFactory)::destroy);
+                        }), ticketSerializationManager, ticketCatalog);
                 }))
                 .otherwise(() -> new DefaultTicketRegistry(ticketSerializationManager, ticketCatalog))
                 .get();
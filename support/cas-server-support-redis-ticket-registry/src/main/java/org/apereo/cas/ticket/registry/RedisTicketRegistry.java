@@ -34,11 +34,15 @@ import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.hjson.JsonValue;
 import org.hjson.Stringify;
+import org.springframework.data.redis.connection.ReturnType;
 import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisKeyValueAdapter;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.convert.KeyspaceConfiguration;
 import org.springframework.data.redis.core.convert.MappingConfiguration;
+import org.springframework.data.redis.core.convert.RedisData;
 import org.springframework.data.redis.core.index.IndexConfiguration;
 import org.springframework.data.redis.core.mapping.RedisMappingContext;
 import java.io.Serializable;
@@ -49,6 +53,8 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -72,6 +78,14 @@ public class RedisTicketRegistry extends AbstractTicketRegistry implements Clean
 
     private static final String SEARCH_INDEX_NAME = RedisTicketDocument.class.getSimpleName() + "Index";
 
+    private static final byte[] CONSUME_TICKET_SCRIPT = """
+        local document = redis.call('HGETALL', KEYS[1])
+        if #document > 0 then
+            redis.call('DEL', KEYS[1])
+        end
+        return document
+        """.getBytes(StandardCharsets.UTF_8);
+
     private final CasRedisTemplates casRedisTemplates;
 
     @Getter(AccessLevel.PACKAGE)
@@ -123,6 +137,11 @@ public class RedisTicketRegistry extends AbstractTicketRegistry implements Clean
                 });
             }
         });
+        if (isTrackedTicketsStoredSeparately()) {
+            try (val result = casRedisTemplates.getSessionsRedisTemplate().scan(getTrackedTicketsRedisKey("*"), 0L)) {
+                result.forEach(key -> casRedisTemplates.getSessionsRedisTemplate().delete(key));
+            }
+        }
         clean();
         return size.get();
     }
@@ -147,6 +166,41 @@ public class RedisTicketRegistry extends AbstractTicketRegistry implements Clean
         return count;
     }
 
+    /**
+     * Consume the ticket by reading and removing its document in a single script call,
+     * so that only one caller can obtain the ticket. The ticket cache is bypassed,
+     * and only the document returned by the script is deserialized.
+     */
+    @Override
+    protected Ticket consumeSingleTicket(final String ticketId) {
+        val ticketPrefix = StringUtils.substring(ticketId, 0, ticketId.indexOf(UniqueTicketIdGenerator.SEPARATOR));
+        val digestedId = digestIdentifier(ticketId);
+        val redisKeyGenerator = redisKeyGeneratorFactory.getRedisKeyGenerator(Ticket.class.getName()).orElseThrow();
+        val redisTicketsKey = redisKeyGenerator.forEntry(ticketPrefix, digestedId);
+        ticketCache.invalidate(redisKeyGenerator.rawKey(redisTicketsKey));
+
+        val results = casRedisTemplates.getTicketsRedisTemplate().execute((RedisCallback<List<Object>>) connection ->
+            connection.scriptingCommands().eval(CONSUME_TICKET_SCRIPT, ReturnType.MULTI, 1, redisTicketsKey.getBytes(StandardCharsets.UTF_8)));
+        if (results == null || results.isEmpty()) {
+            LOGGER.debug("Ticket [{}] is already removed from Redis and cannot be consumed", ticketId);
+            return null;
+        }
+        val fields = new HashMap<String, String>();
+        for (var i = 0; i + 1 < results.size(); i += 2) {
+            fields.put(new String((byte[]) results.get(i), StandardCharsets.UTF_8), new String((byte[]) results.get(i + 1), StandardCharsets.UTF_8));
+        }
+        val ticketDocument = RedisTicketDocument.from(fields);
+        val ticket = decodeTicket(deserializeTicket(ticketDocument.getJson(), ticketDocument.getType()));
+        if (ticket instanceof TicketGrantingTicket) {
+            casRedisTemplates.getSessionsRedisTemplate().delete(getTrackedTicketsRedisKey(digestedId));
+            redisKeyGeneratorFactory.getRedisKeyGenerator(Principal.class.getName())
+                .ifPresent(generator -> casRedisTemplates.getSessionsRedisTemplate()
+                    .boundZSetOps(generator.forEntry(digestIdentifier(getPrincipalIdFrom(ticket)))).remove(digestedId));
+        }
+        messagePublisher.delete(ticket);
+        return ticket;
+    }
+
     @Override
     public List<? extends Ticket> addTicket(final Stream<? extends Ticket> toSave) {
         return (List) casRedisTemplates.getTicketsRedisTemplate().executePipelined((RedisCallback) connection -> {
@@ -155,6 +209,33 @@ public class RedisTicketRegistry extends AbstractTicketRegistry implements Clean
         });
     }
 
+    /**
+     * Commit the unit of work. Additions and updates are sent in a single pipeline;
+     * the session callback binds the pipelined connection to the current thread so that
+     * all template operations issued while writing the tickets share it. Writing a ticket
+     * does not depend on the replies of any of its commands, which are not available until
+     * the pipeline is closed.
+     */
+    @Override
+    public Map<String, Ticket> commit(final TicketRegistryUnitOfWork unitOfWork) throws Exception {
+        val addedTickets = new LinkedHashMap<String, Ticket>();
+        casRedisTemplates.getTicketsRedisTemplate().executePipelined(new SessionCallback<>() {
+            @Override
+            public <K, V> Object execute(final RedisOperations<K, V> operations) {
+                unitOfWork.getTicketsToAdd()
+                    .stream()
+                    .filter(ticket -> !ticket.isExpired())
+                    .forEach(ticket -> addedTickets.put(ticket.getId(), addSingleTicket(ticket)));
+                unitOfWork.getTicketsToUpdate().forEach(this::updateTicket);
+                return null;
+            }
+        });
+        for (val ticket : unitOfWork.getTicketsToDelete()) {
+            deleteTicket(ticket);
+        }
+        return addedTickets;
+    }
+
     @Override
     public Ticket addSingleTicket(final Ticket ticket) {
         LOGGER.debug("Adding ticket [{}]", ticket);
@@ -177,9 +258,10 @@ public class RedisTicketRegistry extends AbstractTicketRegistry implements Clean
     public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
         return FunctionUtils.doAndHandle(() -> {
             val ticketPrefix = StringUtils.substring(ticketId, 0, ticketId.indexOf(UniqueTicketIdGenerator.SEPARATOR));
+            val digestedId = digestIdentifier(ticketId);
             val redisTicketsKey = redisKeyGeneratorFactory.getRedisKeyGenerator(Ticket.class.getName())
-                .orElseThrow().forEntry(ticketPrefix, digestIdentifier(ticketId));
-            return getTicketFromRedisByKey(predicate, redisTicketsKey);
+                .orElseThrow().forEntry(ticketPrefix, digestedId);
+            return getTicketFromRedisByKey(predicate, redisTicketsKey, digestedId);
         });
     }
 
@@ -208,6 +290,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry implements Clean
             .map(document -> deserializeTicket(document.getJson(), document.getType()))
             .map(this::decodeTicket)
             .filter(Objects::nonNull)
+            .map(this::attachTrackedTickets)
             .peek(ticket -> {
                 if (!ticket.isExpired()) {
                     val redisTicketsKey = redisKeyGenerator.forEntry(ticket.getPrefix(), digestIdentifier(ticket.getId()));
@@ -232,7 +315,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry implements Clean
                     .filter(Objects::nonNull)
                     .map(ticketId -> {
                         val redisTicketsKey = redisKeyGenerator.forEntry(TicketGrantingTicket.PREFIX, ticketId);
-                        return getTicketFromRedisByKey(ticket -> !ticket.isExpired(), redisTicketsKey);
+                        return getTicketFromRedisByKey(ticket -> !ticket.isExpired(), redisTicketsKey, ticketId);
                     })
                     .map(this::decodeTicket)
                     .filter(Objects::nonNull)
@@ -290,7 +373,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry implements Clean
                     .filter(document -> StringUtils.isNotBlank(document.getJson()))
                     .map(redisDoc -> {
                         val ticket = deserializeTicket(redisDoc.getJson(), redisDoc.getType());
-                        return decodeTicket(ticket);
+                        return attachTrackedTickets(decodeTicket(ticket));
                     })
                     .filter(ticket -> !ticket.isExpired());
             })
@@ -341,6 +424,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry implements Clean
                         }))
                     .filter(Objects::nonNull)
                     .map(this::decodeTicket)
+                    .map(this::attachTrackedTickets)
                     .filter(ticket -> StringUtils.isBlank(queryCriteria.getPrincipal())
                         || (ticket instanceof final AuthenticationAwareTicket aat
                         && StringUtils.equalsIgnoreCase(queryCriteria.getPrincipal(), aat.getAuthentication().getPrincipal().getId())))
@@ -379,7 +463,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry implements Clean
             FunctionUtils.throwIf(StringUtils.isBlank(json),
                 () -> new IllegalArgumentException("Ticket " + ticket.getId() + " cannot be serialized to JSON"));
 
-            if (LOGGER.isTraceEnabled()) {
+            if (LOGGER.isTraceEnabled() && StringUtils.startsWith(json, "{")) {
                 LOGGER.trace("Serialized ticket into a JSON document as\n [{}]",
                     JsonValue.readJSON(json).toString(Stringify.FORMATTED));
             }
@@ -409,23 +493,15 @@ public class RedisTicketRegistry extends AbstractTicketRegistry implements Clean
         });
     }
 
-    private Ticket getTicketFromRedisByKey(final Predicate<Ticket> predicate, final String redisKeyPattern) {
+    private Ticket getTicketFromRedisByKey(final Predicate<Ticket> predicate, final String redisKeyPattern, final String digestedId) {
         val query = redisKeyGeneratorFactory.getRedisKeyGenerator(Ticket.class.getName()).orElseThrow().rawKey(redisKeyPattern);
         val ticket = Optional.ofNullable(ticketCache.getIfPresent(query))
             .map(this::decodeTicket)
             .filter(predicate)
             .stream()
             .findFirst()
-            .orElseGet(() -> Stream.of(redisKeyPattern)
-                .map(key -> {
-                    val adapter = buildRedisKeyValueAdapter(key);
-                    return adapter.get(key, key, RedisTicketDocument.class);
-                })
-                .filter(Objects::nonNull)
-                .map(document -> deserializeTicket(document.getJson(), document.getType()))
-                .map(this::decodeTicket)
+            .orElseGet(() -> Optional.ofNullable(fetchTicketFromRedis(redisKeyPattern, digestedId))
                 .filter(predicate)
-                .findFirst()
                 .orElse(null));
         if (ticket != null && predicate.test(ticket) && !ticket.isExpired()) {
             ticketCache.put(query, ticket);
@@ -437,18 +513,57 @@ public class RedisTicketRegistry extends AbstractTicketRegistry implements Clean
     }
 
 
+    /**
+     * Fetch the ticket document from Redis. If tracked tickets are stored separately,
+     * the tracked ticket entries are fetched in the same round trip via a pipeline
+     * and restored before the ticket is evaluated for expiration.
+     */
+    private Ticket fetchTicketFromRedis(final String redisKey, final String digestedId) {
+        if (isTrackedTicketsStoredSeparately()) {
+            val trackedTicketsKey = getTrackedTicketsRedisKey(digestedId);
+            val results = casRedisTemplates.getTicketsRedisTemplate().execute((RedisCallback<List<Object>>) connection -> {
+                connection.openPipeline();
+                connection.hashCommands().hGetAll(redisKey.getBytes(StandardCharsets.UTF_8));
+                connection.hashCommands().hGetAll(trackedTicketsKey.getBytes(StandardCharsets.UTF_8));
+                return connection.closePipeline();
+            });
+            val document = results != null ? (Map<byte[], byte[]>) results.getFirst() : null;
+            if (document == null || document.isEmpty()) {
+                return null;
+            }
+            val fields = new HashMap<String, String>();
+            document.forEach((key, value) -> fields.put(new String(key, StandardCharsets.UTF_8), new String(value, StandardCharsets.UTF_8)));
+            val ticketDocument = RedisTicketDocument.from(fields);
+            val ticket = decodeTicket(deserializeTicket(ticketDocument.getJson(), ticketDocument.getType()));
+
+            val serializer = casRedisTemplates.getSessionsRedisTemplate().getHashValueSerializer();
+            val entries = new HashMap<String, String>();
+            Optional.ofNullable((Map<byte[], byte[]>) results.get(1)).ifPresent(trackedTickets -> trackedTickets.forEach((key, value) ->
+                entries.put(new String(key, StandardCharsets.UTF_8), (String) serializer.deserialize(value))));
+            return attachTrackedTickets(ticket, entries);
+        }
+        val adapter = buildRedisKeyValueAdapter(redisKey);
+        return Optional.ofNullable(adapter.get(redisKey, redisKey, RedisTicketDocument.class))
+            .map(document -> deserializeTicket(document.getJson(), document.getType()))
+            .map(this::decodeTicket)
+            .orElse(null);
+    }
+
     private void addOrUpdateTicket(final Ticket ticket) {
         val digestedId = digestIdentifier(ticket.getId());
         val redisKeyGenerator = redisKeyGeneratorFactory.getRedisKeyGenerator(Ticket.class.getName()).orElseThrow();
         val redisKeyPattern = redisKeyGenerator.forEntry(ticket.getPrefix(), digestedId);
 
         val timeout = RedisCompositeKey.getTimeout(ticket);
-        val ticketDocument = buildTicketAsDocument(ticket);
-
-        casRedisTemplates.getTicketsRedisTemplate().boundValueOps(redisKeyPattern).set(ticketDocument, timeout, TimeUnit.SECONDS);
-        val adapter = buildRedisKeyValueAdapter(redisKeyPattern);
-        adapter.put(ticketDocument.getTicketId(), ticketDocument, redisKeyPattern);
+        val detached = detachTrackedTickets(ticket);
+        if (detached.documentChanged()) {
+            val ticketDocument = buildTicketAsDocument(detached.ticket());
+            putTicketDocument(redisKeyPattern, ticketDocument);
+        }
         casRedisTemplates.getTicketsRedisTemplate().expire(redisKeyPattern, timeout, TimeUnit.SECONDS);
+        if (detached.hasTrackedTicketEntries()) {
+            storeTrackedTicketEntries(digestedId, detached, timeout);
+        }
         ticketCache.put(redisKeyGenerator.rawKey(redisKeyPattern), ticket);
 
         redisKeyGeneratorFactory.getRedisKeyGenerator(Principal.class.getName()).ifPresent(generator -> {
@@ -469,6 +584,55 @@ public class RedisTicketRegistry extends AbstractTicketRegistry implements Clean
         });
     }
 
+    @Override
+    protected boolean isTrackedTicketsStoredSeparately() {
+        return casProperties.getTicket().getTgt().getCore().isStoreTrackedTicketsSeparately();
+    }
+
+    @Override
+    protected Map<String, String> loadTrackedTicketEntries(final TicketGrantingTicket ticket) {
+        val redisKey = getTrackedTicketsRedisKey(digestIdentifier(ticket.getId()));
+        return casRedisTemplates.getSessionsRedisTemplate().<String, String>opsForHash().entries(redisKey);
+    }
+
+    private void storeTrackedTicketEntries(final String digestedId, final DetachedTicket detached, final long timeout) {
+        val redisKey = getTrackedTicketsRedisKey(digestedId);
+        val operations = casRedisTemplates.getSessionsRedisTemplate().<String, String>boundHashOps(redisKey);
+        if (!detached.storedEntries().isEmpty()) {
+            operations.putAll(detached.storedEntries());
+        }
+        if (!detached.removedEntries().isEmpty()) {
+            operations.delete(detached.removedEntries().toArray());
+        }
+        operations.expire(timeout, TimeUnit.SECONDS);
+    }
+
+    @Override
+    protected void deleteTrackedTickets(final TicketGrantingTicket ticket) {
+        casRedisTemplates.getSessionsRedisTemplate().delete(getTrackedTicketsRedisKey(digestIdentifier(ticket.getId())));
+    }
+
+    private String getTrackedTicketsRedisKey(final String ticketId) {
+        val redisKeyGenerator = redisKeyGeneratorFactory.getRedisKeyGenerator(Ticket.class.getName()).orElseThrow();
+        return redisKeyGenerator.getNamespace() + "_TRACKING:" + ticketId;
+    }
+
+    /**
+     * Replace the ticket document stored as a hash under the given key.
+     * The hash is written with plain commands whose replies are not inspected,
+     * so that the write can also be issued as part of a pipeline.
+     */
+    private void putTicketDocument(final String redisKey, final RedisTicketDocument ticketDocument) {
+        val redisData = new RedisData();
+        buildRedisKeyValueAdapter(redisKey).getConverter().write(ticketDocument, redisData);
+        val key = redisKey.getBytes(StandardCharsets.UTF_8);
+        casRedisTemplates.getTicketsRedisTemplate().execute((RedisCallback<Object>) connection -> {
+            connection.keyCommands().del(key);
+            connection.hashCommands().hMSet(key, redisData.getBucket().rawMap());
+            return null;
+        });
+    }
+
     private RedisKeyValueAdapter buildRedisKeyValueAdapter(final String redisKeyPattern) {
         val redisMappingContext = new RedisMappingContext(
             new MappingConfiguration(new IndexConfiguration(), new KeyspaceConfiguration() {
@@ -10,6 +10,31 @@ import org.apereo.cas.ticket.Ticket;
  */
 public interface RedisTicketRegistryMessagePublisher {
 
+    /**
+     * Publisher that sends no notifications.
+     *
+     * @return the publisher
+     */
+    static RedisTicketRegistryMessagePublisher noOp() {
+        return new RedisTicketRegistryMessagePublisher() {
+            @Override
+            public void deleteAll() {
+            }
+
+            @Override
+            public void delete(final Ticket ticket) {
+            }
+
+            @Override
+            public void add(final Ticket id) {
+            }
+
+            @Override
+            public void update(final Ticket id) {
+            }
+        };
+    }
+
     /**
      * Send notification to delete all.
      */
@@ -0,0 +1,121 @@
+package org.apereo.cas.ticket.registry.sub;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.key.RedisKeyGenerator;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushListener;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import io.micrometer.core.instrument.Metrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.net.SocketAddress;
+import java.util.List;
+
+/**
+ * This is {@link RedisTicketRegistryClientTrackingListener}. It keeps the ticket cache
+ * coherent using server-assisted client-side caching: a dedicated RESP3 connection turns on
+ * client tracking in broadcasting mode for the ticket key prefix, and Redis pushes an invalidation
+ * message for every ticket key that is modified or expires, whichever CAS server node changed it.
+ * Since invalidations may be missed while the connection is down, the cache is cleared
+ * when the connection is lost and once again when tracking is turned back on.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RedisTicketRegistryClientTrackingListener implements PushListener, RedisConnectionStateListener,
+    InitializingBean, DisposableBean {
+    private static final String METRIC_INVALIDATIONS = "cas.ticket.registry.redis.cache.invalidations";
+
+    private static final String INVALIDATE_MESSAGE_TYPE = "invalidate";
+
+    private final RedisClient redisClient;
+
+    private final Cache<String, Ticket> ticketCache;
+
+    private final RedisKeyGenerator redisKeyGenerator;
+
+    private StatefulRedisConnection<String, String> connection;
+
+    @Override
+    public void afterPropertiesSet() {
+        redisClient.addListener(this);
+        connection = redisClient.connect();
+        connection.addListener(this);
+        connection.sync().clientTracking(getTrackingArgs());
+        LOGGER.info("Redis client tracking is turned on for ticket keys that start with [{}]", getTrackedPrefix());
+    }
+
+    @Override
+    public void destroy() {
+        if (connection != null) {
+            connection.close();
+        }
+        redisClient.shutdown();
+    }
+
+    @Override
+    public void onPushMessage(final PushMessage message) {
+        if (INVALIDATE_MESSAGE_TYPE.equals(message.getType())) {
+            val content = message.getContent(StringCodec.UTF8::decodeKey);
+            if (content.size() > 1 && content.get(1) instanceof final List<?> keys) {
+                LOGGER.trace("Redis invalidated ticket keys [{}]", keys);
+                keys.forEach(key -> ticketCache.invalidate(redisKeyGenerator.rawKey(key.toString())));
+                recordInvalidations("key", keys.size());
+            } else {
+                LOGGER.debug("Redis invalidated all keys; clearing the ticket cache");
+                invalidateAll();
+            }
+        }
+    }
+
+    @Override
+    public void onRedisConnected(final RedisChannelHandler<?, ?> channelHandler, final SocketAddress socketAddress) {
+        if (connection != null && channelHandler == connection) {
+            LOGGER.debug("Redis client tracking connection is re-established; turning tracking back on");
+            connection.async().clientTracking(getTrackingArgs()).thenRun(this::invalidateAll);
+        }
+    }
+
+    @Override
+    public void onRedisDisconnected(final RedisChannelHandler<?, ?> channelHandler) {
+        if (connection != null && channelHandler == connection) {
+            LOGGER.warn("Redis client tracking connection is lost; clearing the ticket cache");
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void onRedisExceptionCaught(final RedisChannelHandler<?, ?> channelHandler, final Throwable cause) {
+        LOGGER.debug("Redis client tracking connection failed: [{}]", cause.getMessage());
+    }
+
+    private void invalidateAll() {
+        ticketCache.invalidateAll();
+        recordInvalidations("all", 1);
+    }
+
+    private TrackingArgs getTrackingArgs() {
+        return TrackingArgs.Builder.enabled().bcast().prefixes(getTrackedPrefix());
+    }
+
+    private String getTrackedPrefix() {
+        return redisKeyGenerator.getNamespace() + ':';
+    }
+
+    private static void recordInvalidations(final String scope, final long count) {
+        Metrics.counter(METRIC_INVALIDATIONS, "scope", scope).increment(count);
+    }
+}
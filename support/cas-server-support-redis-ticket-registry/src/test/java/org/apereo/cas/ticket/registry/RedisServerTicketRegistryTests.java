@@ -5,6 +5,7 @@ import org.apereo.cas.config.CasRedisCoreAutoConfiguration;
 import org.apereo.cas.config.CasRedisTicketRegistryAutoConfiguration;
 import org.apereo.cas.redis.core.CasRedisTemplate;
 import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.InvalidTicketException;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
@@ -15,6 +16,7 @@ import org.apereo.cas.util.ServiceTicketIdGenerator;
 import org.apereo.cas.util.TicketGrantingTicketIdGenerator;
 import org.apereo.cas.util.junit.EnabledIfListeningOnPort;
 import org.apereo.cas.util.thread.Cleanable;
+import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -29,8 +31,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.AopTestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.UUID;
@@ -39,6 +45,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
+import static org.awaitility.Awaitility.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -242,6 +249,23 @@ class RedisServerTicketRegistryTests {
             assertTrue(section.containsKey("stats"));
         }
 
+        @RepeatedTest(1)
+        void verifyConsumedTicketIsNotServedFromCache() throws Throwable {
+            val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+                CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+            getNewTicketRegistry().addTicket(tgt);
+            val st = tgt.grantServiceTicket(serviceTicketId, RegisteredServiceTestUtils.getService(),
+                NeverExpiresExpirationPolicy.INSTANCE, false, serviceTicketSessionTrackingPolicy);
+            getNewTicketRegistry().addTicket(st);
+            assertNotNull(getNewTicketRegistry().getTicket(serviceTicketId));
+
+            val pattern = RedisCompositeKey.forTickets().withIdPattern(ServiceTicket.PREFIX).toKeyPattern();
+            try (val keys = ticketRedisTemplate.scan(pattern, 0L)) {
+                keys.forEach(ticketRedisTemplate::delete);
+            }
+            assertThrows(InvalidTicketException.class, () -> getNewTicketRegistry().consumeTicket(serviceTicketId, ServiceTicket.class));
+        }
+
         @RepeatedTest(1)
         void verifyFailure() throws Throwable {
             val originalAuthn = CoreAuthenticationTestUtils.getAuthentication();
@@ -257,6 +281,100 @@ class RedisServerTicketRegistryTests {
         }
     }
 
+    @Nested
+    @TestPropertySource(properties = {
+        "cas.ticket.registry.redis.queue-identifier=cas-node-200",
+        "cas.ticket.registry.redis.host=localhost",
+        "cas.ticket.registry.redis.port=6379",
+        "cas.ticket.registry.redis.enable-client-tracking=true",
+        "cas.ticket.registry.redis.crypto.encryption.key=AZ5y4I9qzKPYUVNL2Td4RMbpg6Z-ldui8VEFg8hsj1M",
+        "cas.ticket.registry.redis.crypto.signing.key=cAPyoHMrOMWrwydOXzBA-ufZQM-TilnLjbRgMQWlUlwFmy07bOtAgCIdNBma3c5P4ae_JV6n1OpOAYqSh2NkmQ"
+    })
+    class ClientTrackingTests extends BaseRedisSentinelTicketRegistryTests {
+        @Autowired
+        @Qualifier("redisTicketRegistryCache")
+        private Cache<String, Ticket> redisTicketRegistryCache;
+
+        @Autowired
+        @Qualifier("ticketRedisTemplate")
+        private CasRedisTemplate<String, RedisTicketDocument> ticketRedisTemplate;
+
+        @RepeatedTest(1)
+        void verifyCacheIsInvalidatedWhenTicketKeyChanges() throws Throwable {
+            val authentication = CoreAuthenticationTestUtils.getAuthentication(UUID.randomUUID().toString());
+            val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId, authentication, NeverExpiresExpirationPolicy.INSTANCE);
+            getNewTicketRegistry().addTicket(tgt);
+            val pattern = RedisCompositeKey.forTickets().withIdPattern(TicketGrantingTicket.PREFIX).toKeyPattern();
+            try (val keys = ticketRedisTemplate.scan(pattern, 1L)) {
+                val redisKey = keys.findFirst().orElseThrow();
+                val cacheKey = RedisCompositeKey.forTickets().withoutPrefix(redisKey);
+                redisTicketRegistryCache.put(cacheKey, tgt);
+                ticketRedisTemplate.expire(redisKey, Duration.ofMinutes(5));
+                await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertNull(redisTicketRegistryCache.getIfPresent(cacheKey)));
+            }
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+        "cas.ticket.tgt.core.store-tracked-tickets-separately=true",
+        "cas.ticket.registry.redis.queue-identifier=cas-node-300",
+        "cas.ticket.registry.redis.host=localhost",
+        "cas.ticket.registry.redis.port=6379",
+        "cas.ticket.registry.redis.cache.cache-size=0",
+        "cas.ticket.registry.redis.enable-redis-search=false",
+        "cas.ticket.registry.redis.crypto.encryption.key=AZ5y4I9qzKPYUVNL2Td4RMbpg6Z-ldui8VEFg8hsj1M",
+        "cas.ticket.registry.redis.crypto.signing.key=cAPyoHMrOMWrwydOXzBA-ufZQM-TilnLjbRgMQWlUlwFmy07bOtAgCIdNBma3c5P4ae_JV6n1OpOAYqSh2NkmQ"
+    })
+    class TrackedTicketsTests extends BaseRedisSentinelTicketRegistryTests {
+        @RepeatedTest(2)
+        void verifyTrackedTicketsStoredSeparately() throws Throwable {
+            val registry = (RedisTicketRegistry) AopTestUtils.getTargetObject(getNewTicketRegistry());
+            val authentication = CoreAuthenticationTestUtils.getAuthentication(UUID.randomUUID().toString());
+            val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId, authentication, NeverExpiresExpirationPolicy.INSTANCE);
+            registry.addTicket(tgt);
+
+            val digestedId = registry.digestIdentifier(tgt.getId());
+            val ticketKey = RedisCompositeKey.forTickets().withTicketId(TicketGrantingTicket.PREFIX, digestedId).toKeyPattern();
+            val trackedTicketsKey = RedisCompositeKey.forTickets().getPrefix() + "_TRACKING:" + digestedId;
+            val document = getTicketDocument(ticketKey);
+            assertNotNull(document);
+
+            val st = tgt.grantServiceTicket(serviceTicketId, RegisteredServiceTestUtils.getService(),
+                NeverExpiresExpirationPolicy.INSTANCE, false, serviceTicketSessionTrackingPolicy);
+            registry.addTicket(st);
+            registry.updateTicket(tgt);
+            assertEquals(document, getTicketDocument(ticketKey));
+            val trackedEntries = getCasRedisTemplates().getSessionsRedisTemplate().opsForHash().size(trackedTicketsKey);
+            assertEquals(tgt.getServices().size() + tgt.getDescendantTickets().size() + 1, trackedEntries);
+
+            val found = registry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+            assertTrue(found.getServices().containsKey(st.getId()));
+            assertEquals(tgt.getCountOfUses(), found.getCountOfUses());
+            assertTrue(registry.getSessionsFor(authentication.getPrincipal().getId())
+                .map(TicketGrantingTicket.class::cast)
+                .allMatch(ticket -> ticket.getServices().containsKey(st.getId())));
+            assertTrue(registry.stream()
+                .filter(TicketGrantingTicket.class::isInstance)
+                .map(TicketGrantingTicket.class::cast)
+                .allMatch(ticket -> ticket.getServices().containsKey(st.getId())));
+
+            found.putProperty("name", "value");
+            registry.updateTicket(found);
+            assertNotEquals(document, getTicketDocument(ticketKey));
+
+            registry.deleteTicket(found);
+            assertNull(registry.getTicket(st.getId()));
+            assertFalse(getCasRedisTemplates().getSessionsRedisTemplate().hasKey(trackedTicketsKey));
+        }
+
+        private String getTicketDocument(final String redisKey) {
+            val json = ticketRedisTemplate.execute((RedisCallback<byte[]>) connection -> connection.hashCommands()
+                .hGet(redisKey.getBytes(StandardCharsets.UTF_8), RedisTicketDocument.FIELD_NAME_JSON.getBytes(StandardCharsets.UTF_8)));
+            return json != null ? new String(json, StandardCharsets.UTF_8) : null;
+        }
+    }
+
     @Nested
     @SpringBootTest(
         classes = {
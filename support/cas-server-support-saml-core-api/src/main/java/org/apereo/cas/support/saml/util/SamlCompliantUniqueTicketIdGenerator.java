@@ -61,6 +61,15 @@ public class SamlCompliantUniqueTicketIdGenerator implements UniqueTicketIdGener
         });
     }
 
+    /**
+     * {@inheritDoc}
+     * Artifacts must keep the format that is defined by the SAML specification.
+     */
+    @Override
+    public boolean isFixedFormat() {
+        return true;
+    }
+
     private AbstractSAMLArtifact getSAMLArtifactType() {
         if (this.saml2compliant) {
             return new SAML2ArtifactType0004(ENDPOINT_ID, newAssertionHandle(), this.sourceIdDigest);
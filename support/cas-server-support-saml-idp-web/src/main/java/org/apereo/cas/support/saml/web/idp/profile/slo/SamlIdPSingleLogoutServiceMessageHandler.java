@@ -96,6 +96,45 @@ public class SamlIdPSingleLogoutServiceMessageHandler extends BaseSingleLogoutSe
     protected boolean sendMessageToEndpoint(final LogoutHttpMessage msg,
                                             final SingleLogoutRequestContext request,
                                             final SingleLogoutMessage logoutMessage) {
+        if (isLogoutRequestInitiator(request)) {
+            return true;
+        }
+        val binding = getSingleLogoutBinding(request);
+        if (SAMLConstants.SAML2_SOAP11_BINDING_URI.equalsIgnoreCase(binding)) {
+            return super.sendMessageToEndpoint(msg, request, logoutMessage);
+        }
+        return sendLogoutRequestForBinding(msg, logoutMessage, binding);
+    }
+
+    /**
+     * Hand the message to the message dispatcher. The request initiator is determined before the message is
+     * dispatched, while the HTTP request is still available; messages for the SOAP binding are posted
+     * by the dispatcher itself, and messages for other bindings are sent according to their binding.
+     *
+     * @param msg           the msg
+     * @param request       the request
+     * @param logoutMessage the logout message
+     * @return true if the message was accepted for delivery
+     */
+    @Override
+    protected boolean dispatchMessageToEndpoint(final LogoutHttpMessage msg,
+                                                final SingleLogoutRequestContext request,
+                                                final SingleLogoutMessage logoutMessage) {
+        if (isLogoutRequestInitiator(request)) {
+            return true;
+        }
+        val binding = getSingleLogoutBinding(request);
+        if (SAMLConstants.SAML2_SOAP11_BINDING_URI.equalsIgnoreCase(binding)) {
+            return super.dispatchMessageToEndpoint(msg, request, logoutMessage);
+        }
+        return getMessageDispatcher().dispatch(request, msg, () -> sendLogoutRequestForBinding(msg, logoutMessage, binding));
+    }
+
+    private static String getSingleLogoutBinding(final SingleLogoutRequestContext request) {
+        return request.getProperties().get(SamlIdPSingleLogoutServiceLogoutUrlBuilder.PROPERTY_NAME_SINGLE_LOGOUT_BINDING);
+    }
+
+    private boolean isLogoutRequestInitiator(final SingleLogoutRequestContext request) {
         if (request.getExecutionRequest().getHttpServletRequest().isPresent()) {
             val logoutRequest = WebUtils.getSingleLogoutRequest(request.getExecutionRequest().getHttpServletRequest().get());
             val decodedRequest = EncodingUtils.decodeBase64(logoutRequest);
@@ -106,12 +145,12 @@ public class SamlIdPSingleLogoutServiceMessageHandler extends BaseSingleLogoutSe
                 return true;
             }
         }
+        return false;
+    }
 
-        val binding = request.getProperties().get(SamlIdPSingleLogoutServiceLogoutUrlBuilder.PROPERTY_NAME_SINGLE_LOGOUT_BINDING);
-        if (SAMLConstants.SAML2_SOAP11_BINDING_URI.equalsIgnoreCase(binding)) {
-            return super.sendMessageToEndpoint(msg, request, logoutMessage);
-        }
-
+    private boolean sendLogoutRequestForBinding(final LogoutHttpMessage msg,
+                                                final SingleLogoutMessage logoutMessage,
+                                                final String binding) {
         HttpResponse response = null;
         try {
             val logoutRequest = (LogoutRequest) logoutMessage.getMessage();
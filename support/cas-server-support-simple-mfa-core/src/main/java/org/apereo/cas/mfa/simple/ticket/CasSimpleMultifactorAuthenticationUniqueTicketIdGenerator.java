@@ -19,4 +19,9 @@ public class CasSimpleMultifactorAuthenticationUniqueTicketIdGenerator implement
     public String getNewTicketId(final String prefix) {
         return prefix + SEPARATOR + RandomUtils.randomNumeric(this.tokenLength);
     }
+
+    @Override
+    public boolean isFixedFormat() {
+        return true;
+    }
 }
@@ -1,17 +1,40 @@
 package org.apereo.cas.config;
 
+import org.apereo.cas.authentication.CasSSLContext;
 import org.apereo.cas.bucket4j.consumer.BucketConsumer;
 import org.apereo.cas.bucket4j.consumer.DefaultBucketConsumer;
+import org.apereo.cas.bucket4j.producer.BaseBucketStore;
 import org.apereo.cas.bucket4j.producer.BucketStore;
+import org.apereo.cas.bucket4j.producer.DistributedBucketStore;
 import org.apereo.cas.bucket4j.producer.InMemoryBucketStore;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
+import org.apereo.cas.configuration.model.support.throttle.Bucket4jThrottleProperties;
+import org.apereo.cas.configuration.support.JpaBeans;
+import org.apereo.cas.hz.HazelcastConfigurationFactory;
+import org.apereo.cas.redis.core.RedisObjectFactory;
 import org.apereo.cas.throttle.ThrottledRequestExecutor;
+import org.apereo.cas.util.function.FunctionUtils;
 import org.apereo.cas.util.spring.beans.BeanCondition;
 import org.apereo.cas.util.spring.beans.BeanSupplier;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 import org.apereo.cas.web.Bucket4jThrottledRequestExecutor;
+
+import com.hazelcast.instance.impl.HazelcastInstanceFactory;
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.jdbc.BucketTableSettings;
+import io.github.bucket4j.distributed.jdbc.SQLProxyConfigurationBuilder;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.grid.hazelcast.HazelcastProxyManager;
+import io.github.bucket4j.mysql.MySQLSelectForUpdateBasedProxyManager;
+import io.github.bucket4j.postgresql.PostgreSQLadvisoryLockBasedProxyManager;
+import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.codec.ByteArrayCodec;
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -20,6 +43,14 @@ import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * This is {@link CasBucket4jThrottlingAutoConfiguration}.
@@ -27,6 +58,7 @@ import org.springframework.context.annotation.ScopedProxyMode;
  * @author Misagh Moayyed
  * @since 6.0.0
  */
+@Slf4j
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 @ConditionalOnFeatureEnabled(feature = CasFeatureModule.FeatureCatalog.Throttling, module = "bucket4j")
 @AutoConfiguration
@@ -51,14 +83,25 @@ public class CasBucket4jThrottlingAutoConfiguration {
     @Bean
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
     public BucketStore bucket4jThrottledRequestStore(
+        @Qualifier(CasSSLContext.BEAN_NAME)
+        final ObjectProvider<CasSSLContext> casSslContext,
         final ConfigurableApplicationContext applicationContext,
         final CasConfigurationProperties casProperties) {
         return BeanSupplier.of(BucketStore.class)
             .when(CONDITION.given(applicationContext.getEnvironment()))
-            .supply(() -> {
-                val throttle = casProperties.getAuthn().getThrottle();
-                return new InMemoryBucketStore(throttle.getBucket4j());
-            })
+            .supply(() -> FunctionUtils.doUnchecked(() -> {
+                val bucket4j = casProperties.getAuthn().getThrottle().getBucket4j();
+                if (bucket4j.getHazelcast().isEnabled()) {
+                    return newHazelcastBucketStore(bucket4j);
+                }
+                if (bucket4j.getRedis().isEnabled()) {
+                    return newRedisBucketStore(bucket4j, casSslContext.getIfAvailable(CasSSLContext::system));
+                }
+                if (bucket4j.getJdbc().isEnabled()) {
+                    return newJdbcBucketStore(bucket4j);
+                }
+                return new InMemoryBucketStore(bucket4j);
+            }))
             .otherwiseProxy()
             .get();
     }
@@ -80,4 +123,59 @@ public class CasBucket4jThrottlingAutoConfiguration {
             .otherwise(BucketConsumer::permitAll)
             .get();
     }
+
+    private static BucketStore newHazelcastBucketStore(final Bucket4jThrottleProperties bucket4j) {
+        val hz = bucket4j.getHazelcast();
+        val timeout = Math.max(1, BaseBucketStore.getRefillDuration(bucket4j).toSeconds());
+        val mapConfig = HazelcastConfigurationFactory.buildMapConfig(hz, hz.getMapName(), timeout);
+        val hazelcastInstance = HazelcastInstanceFactory.getOrCreateHazelcastInstance(HazelcastConfigurationFactory.build(hz, mapConfig));
+        val map = hazelcastInstance.<String, byte[]>getMap(hz.getMapName());
+        LOGGER.debug("Sharing throttling buckets via Hazelcast map [{}]", hz.getMapName());
+        return new DistributedBucketStore<>(bucket4j, new HazelcastProxyManager<>(map),
+            Function.identity(), hazelcastInstance::shutdown);
+    }
+
+    private static BucketStore newRedisBucketStore(final Bucket4jThrottleProperties bucket4j,
+                                                   final CasSSLContext casSslContext) throws Exception {
+        val connectionFactory = (LettuceConnectionFactory) RedisObjectFactory.newRedisConnectionFactory(bucket4j.getRedis(), true, casSslContext);
+        if (!(connectionFactory.getNativeClient() instanceof final RedisClient redisClient)) {
+            connectionFactory.destroy();
+            throw new IllegalArgumentException("Sharing throttling buckets is not supported with Redis clusters");
+        }
+        val connection = redisClient.connect(ByteArrayCodec.INSTANCE);
+        val proxyManager = LettuceBasedProxyManager.builderFor(connection)
+            .withExpirationStrategy(ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(Duration.ofSeconds(10)))
+            .build();
+        LOGGER.debug("Sharing throttling buckets via Redis");
+        return new DistributedBucketStore<>(bucket4j, proxyManager,
+            key -> key.getBytes(StandardCharsets.UTF_8),
+            () -> {
+                connection.close();
+                connectionFactory.destroy();
+            });
+    }
+
+    private static BucketStore newJdbcBucketStore(final Bucket4jThrottleProperties bucket4j) throws SQLException {
+        val jdbc = bucket4j.getJdbc();
+        val dataSource = JpaBeans.newDataSource(jdbc);
+        val mysql = StringUtils.startsWithAny(jdbc.getUrl(), "jdbc:mysql:", "jdbc:mariadb:");
+        createBucketTable(dataSource, mysql);
+        val configuration = SQLProxyConfigurationBuilder.builder()
+            .withTableSettings(BucketTableSettings.getDefault())
+            .build(dataSource);
+        final ProxyManager<Long> proxyManager = mysql
+            ? new MySQLSelectForUpdateBasedProxyManager(configuration)
+            : new PostgreSQLadvisoryLockBasedProxyManager(configuration);
+        LOGGER.debug("Sharing throttling buckets via database [{}]", jdbc.getUrl());
+        return new DistributedBucketStore<>(bucket4j, proxyManager,
+            key -> UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).getMostSignificantBits(),
+            dataSource::destroy);
+    }
+
+    private static void createBucketTable(final DataSource dataSource, final boolean mysql) throws SQLException {
+        val stateType = mysql ? "BLOB" : "BYTEA";
+        try (val connection = dataSource.getConnection(); val statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS bucket (id BIGINT PRIMARY KEY, state " + stateType + ')');
+        }
+    }
 }
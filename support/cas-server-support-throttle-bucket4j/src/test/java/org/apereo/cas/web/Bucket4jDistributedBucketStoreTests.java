@@ -0,0 +1,86 @@
+package org.apereo.cas.web;
+
+import org.apereo.cas.bucket4j.consumer.BucketConsumer;
+import org.apereo.cas.bucket4j.consumer.DefaultBucketConsumer;
+import org.apereo.cas.bucket4j.producer.DistributedBucketStore;
+import org.apereo.cas.configuration.model.support.bucket4j.Bucket4jBandwidthLimitProperties;
+import org.apereo.cas.configuration.model.support.bucket4j.Bucket4jHazelcastProperties;
+import org.apereo.cas.configuration.model.support.throttle.Bucket4jThrottleProperties;
+import org.apereo.cas.hz.HazelcastConfigurationFactory;
+
+import com.hazelcast.instance.impl.HazelcastInstanceFactory;
+import io.github.bucket4j.grid.hazelcast.HazelcastProxyManager;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link Bucket4jDistributedBucketStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Tag("AuthenticationThrottling")
+class Bucket4jDistributedBucketStoreTests {
+    private static final int CAPACITY = 25;
+
+    private static final int NODES = 4;
+
+    private static final int REQUESTS_PER_NODE = 50;
+
+    @Test
+    void verifyClusterWideRateHolds() throws Throwable {
+        val properties = new Bucket4jThrottleProperties().setBlocking(false);
+        properties.getBandwidth().add(new Bucket4jBandwidthLimitProperties()
+            .setCapacity(CAPACITY)
+            .setDuration("PT1H"));
+        val hz = new Bucket4jHazelcastProperties();
+        hz.getCluster().getCore().setInstanceName(UUID.randomUUID().toString());
+        val hazelcastInstance = HazelcastInstanceFactory.getOrCreateHazelcastInstance(
+            HazelcastConfigurationFactory.build(hz, HazelcastConfigurationFactory.buildMapConfig(hz, hz.getMapName(), 60)));
+        try {
+            val consumers = new ArrayList<BucketConsumer>();
+            for (var i = 0; i < NODES; i++) {
+                val map = hazelcastInstance.<String, byte[]>getMap(hz.getMapName());
+                val store = new DistributedBucketStore<>(properties, new HazelcastProxyManager<>(map), Function.identity(), null);
+                consumers.add(new DefaultBucketConsumer(store, properties));
+            }
+            val consumed = new AtomicInteger();
+            val key = UUID.randomUUID().toString();
+            val start = new CountDownLatch(1);
+            try (val executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                val futures = new ArrayList<Future<?>>();
+                for (val consumer : consumers) {
+                    for (var i = 0; i < REQUESTS_PER_NODE; i++) {
+                        futures.add(executor.submit(() -> {
+                            start.await();
+                            if (consumer.consume(key).isConsumed()) {
+                                consumed.incrementAndGet();
+                            }
+                            return null;
+                        }));
+                    }
+                }
+                start.countDown();
+                for (val future : futures) {
+                    future.get();
+                }
+            }
+            assertEquals(CAPACITY, consumed.get());
+            assertFalse(consumers.getFirst().consume(key).isConsumed());
+            assertTrue(consumers.getLast().consume(UUID.randomUUID().toString()).isConsumed());
+        } finally {
+            hazelcastInstance.shutdown();
+        }
+    }
+}
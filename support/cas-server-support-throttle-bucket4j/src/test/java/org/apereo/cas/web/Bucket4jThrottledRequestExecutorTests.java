@@ -28,4 +28,14 @@ class Bucket4jThrottledRequestExecutorTests {
     @Nested
     class NonBlockingTests extends BaseBucket4jThrottledRequestTests {
     }
+
+    @TestPropertySource(properties = {
+        "cas.authn.throttle.bucket4j.bandwidth[0].capacity=2",
+        "cas.authn.throttle.bucket4j.blocking=false",
+        "cas.authn.throttle.bucket4j.hazelcast.enabled=true",
+        "cas.authn.throttle.bucket4j.hazelcast.cluster.core.instance-name=bucket4j-throttle"
+    })
+    @Nested
+    class HazelcastTests extends BaseBucket4jThrottledRequestTests {
+    }
 }
@@ -66,17 +66,7 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
     public boolean exceedsThreshold(final HttpServletRequest request) {
         val key = constructKey(request);
         LOGGER.trace("Throttling threshold key is [{}] with calculated threshold [{}]", key, getThresholdRate());
-        val store = getConfigurationContext().getThrottledSubmissionStore();
-
-        if (store.contains(key)) {
-            val submission = store.get(key);
-            LOGGER.trace("Found existing throttled submission [{}] for key [{}]", submission, key);
-            if (!submission.hasExpiredAlready()) {
-                LOGGER.warn("Throttled submission [{}] remains throttled; submission expires at [{}]", key, submission.getExpiration());
-                return true;
-            }
-        }
-        return store.exceedsThreshold(key, getThresholdRate());
+        return getConfigurationContext().getThrottledSubmissionStore().exceedsThreshold(key, getThresholdRate());
     }
 
     @Override
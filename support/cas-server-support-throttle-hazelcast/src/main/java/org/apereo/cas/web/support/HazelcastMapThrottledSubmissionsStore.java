@@ -3,33 +3,134 @@ package org.apereo.cas.web.support;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.throttle.BaseMappableThrottledSubmissionsStore;
 
+import com.hazelcast.core.ReadOnly;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.ExtendedMapEntry;
 import com.hazelcast.map.IMap;
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
+import java.io.Serial;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 /**
- * This is {@link HazelcastMapThrottledSubmissionsStore}.
+ * This is {@link HazelcastMapThrottledSubmissionsStore}. Submissions are recorded and
+ * evaluated by entry processors that run on the member owning the submission key,
+ * so neither operation moves submissions across the network. Every submission carries
+ * its own time-to-live that matches its throttling window, and Hazelcast expires
+ * submissions on its own instead of having them scanned and released.
  *
  * @author Misagh Moayyed
  * @since 6.5.0
  */
+@Slf4j
 public class HazelcastMapThrottledSubmissionsStore<T extends ThrottledSubmission> extends BaseMappableThrottledSubmissionsStore<T> {
+    private static final long MAP_DEFAULT_TTL = -1;
+
+    private final long rateWindowSeconds;
+
     public HazelcastMapThrottledSubmissionsStore(final Map<String, T> backingMap,
                                                  final CasConfigurationProperties casProperties) {
         super(backingMap, casProperties);
+        val failure = casProperties.getAuthn().getThrottle().getFailure();
+        this.rateWindowSeconds = failure.getThreshold() > 0 && failure.getRangeSeconds() > 0
+            ? (long) Math.ceil((double) failure.getRangeSeconds() / failure.getThreshold())
+            : MAP_DEFAULT_TTL;
+    }
+
+    @Override
+    public void put(final T submission) {
+        getHazelcastMap().executeOnKey(submission.getKey(), new SubmissionRecorder<>(submission, getTimeToLive(submission)));
+    }
+
+    @Override
+    public boolean exceedsThreshold(final String key, final double thresholdRate) {
+        return Boolean.TRUE.equals(getHazelcastMap().executeOnKey(key, new ThresholdEvaluator<>(thresholdRate)));
+    }
+
+    @Override
+    public void release(final double thresholdRate) {
+        LOGGER.trace("Throttled submissions are released by Hazelcast once their time-to-live elapses");
     }
 
     @Override
     public void removeIf(final Predicate<T> condition) {
-        val hzMap = (IMap<String, T>) backingMap;
-        hzMap.removeAll((com.hazelcast.query.Predicate<String, T>) entry -> condition.test(entry.getValue()));
+        getHazelcastMap().removeAll((com.hazelcast.query.Predicate<String, T>) entry -> condition.test(entry.getValue()));
     }
 
     @Override
     public void remove(final String key) {
-        val hzMap = (IMap<String, T>) backingMap;
-        hzMap.remove(key);
+        getHazelcastMap().remove(key);
+    }
+
+    /**
+     * Time-to-live of the submission in seconds. A submission with an expiration lives until it expires;
+     * otherwise, it lives for as long as its submission rate may exceed the configured threshold.
+     *
+     * @param submission the submission
+     * @return the time-to-live in seconds, or a negative value to use the map default
+     */
+    protected long getTimeToLive(final T submission) {
+        if (submission.getExpiration() != null) {
+            val remaining = Duration.between(ZonedDateTime.now(Clock.systemUTC()), submission.getExpiration());
+            return Math.max(1, remaining.toSeconds() + 1);
+        }
+        return rateWindowSeconds;
+    }
+
+    private IMap<String, T> getHazelcastMap() {
+        return (IMap<String, T>) backingMap;
+    }
+
+    /**
+     * Records the submission with its time-to-live. A submission that is still locked
+     * for longer than the recorded one is kept, so concurrent failures never shorten a lock.
+     *
+     * @param <T>        the submission type
+     * @param submission the submission
+     * @param ttlSeconds the time-to-live in seconds
+     */
+    private record SubmissionRecorder<T extends ThrottledSubmission>(T submission, long ttlSeconds)
+        implements EntryProcessor<String, T, Boolean> {
+        @Serial
+        private static final long serialVersionUID = 3816352716428157208L;
+
+        @Override
+        public Boolean process(final Map.Entry<String, T> entry) {
+            val existing = entry.getValue();
+            if (existing != null && existing.getExpiration() != null && submission.getExpiration() != null
+                && existing.getExpiration().isAfter(submission.getExpiration())) {
+                return Boolean.FALSE;
+            }
+            ((ExtendedMapEntry<String, T>) entry).setValue(submission, ttlSeconds, TimeUnit.SECONDS);
+            return Boolean.TRUE;
+        }
+    }
+
+    /**
+     * Evaluates the recorded submission against the threshold rate without modifying it.
+     *
+     * @param <T>           the submission type
+     * @param thresholdRate the threshold rate
+     */
+    private record ThresholdEvaluator<T extends ThrottledSubmission>(double thresholdRate)
+        implements EntryProcessor<String, T, Boolean>, ReadOnly {
+        @Serial
+        private static final long serialVersionUID = -2203384715176224619L;
+
+        @Override
+        public Boolean process(final Map.Entry<String, T> entry) {
+            return BaseMappableThrottledSubmissionsStore.exceedsThreshold(entry.getValue(), thresholdRate);
+        }
+
+        @Override
+        public EntryProcessor<String, T, Boolean> getBackupProcessor() {
+            return null;
+        }
     }
 }
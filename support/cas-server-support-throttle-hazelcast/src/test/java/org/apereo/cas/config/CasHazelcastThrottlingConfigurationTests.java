@@ -10,7 +10,11 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.util.UUID;
+import static org.awaitility.Awaitility.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -51,4 +55,18 @@ class CasHazelcastThrottlingConfigurationTests {
         throttleSubmissionStore.remove(submission.getKey());
         assertEquals(0, throttleSubmissionStore.entries().count());
     }
+
+    @Test
+    void verifySubmissionsExpire() throws Throwable {
+        val submission = ThrottledSubmission.builder()
+            .key(UUID.randomUUID().toString())
+            .expiration(ZonedDateTime.now(Clock.systemUTC()).plusSeconds(1))
+            .build();
+        throttleSubmissionStore.put(submission);
+        assertTrue(throttleSubmissionStore.exceedsThreshold(submission.getKey(), 1));
+        throttleSubmissionStore.put(submission.withExpiration(ZonedDateTime.now(Clock.systemUTC()).minusSeconds(1)));
+        assertEquals(submission.getExpiration(), throttleSubmissionStore.get(submission.getKey()).getExpiration());
+        await().atMost(Duration.ofSeconds(10)).until(() -> throttleSubmissionStore.get(submission.getKey()) == null);
+        assertFalse(throttleSubmissionStore.exceedsThreshold(submission.getKey(), 1));
+    }
 }
@@ -1,6 +1,7 @@
 package org.apereo.cas.trusted.authentication.storage;
 
 import org.apereo.cas.configuration.model.support.dynamodb.DynamoDbTrustedDevicesMultifactorProperties;
+import org.apereo.cas.dynamodb.DynamoDbGlobalSecondaryIndex;
 import org.apereo.cas.dynamodb.DynamoDbQueryBuilder;
 import org.apereo.cas.dynamodb.DynamoDbTableUtils;
 import org.apereo.cas.trusted.authentication.api.MultifactorAuthenticationTrustRecord;
@@ -41,6 +42,17 @@ import java.util.stream.Stream;
 @Slf4j
 @SuppressWarnings("JavaUtilDate")
 public record DynamoDbMultifactorTrustEngineFacilitator(DynamoDbTrustedDevicesMultifactorProperties dynamoDbProperties, DynamoDbClient amazonDynamoDBClient) {
+    private static final List<DynamoDbGlobalSecondaryIndex> INDEXES = List.of(
+        DynamoDbGlobalSecondaryIndex.tableKey(ColumnNames.ID.getColumnName(), ScalarAttributeType.S),
+        DynamoDbGlobalSecondaryIndex.builder()
+            .indexName("principalIndex")
+            .partitionKey(ColumnNames.PRINCIPAL.getColumnName())
+            .build(),
+        DynamoDbGlobalSecondaryIndex.builder()
+            .indexName("recordKeyIndex")
+            .partitionKey(ColumnNames.RECORD_KEY.getColumnName())
+            .build());
+
     private static MultifactorAuthenticationTrustRecord extractAttributeValuesFrom(final Map<String, AttributeValue> item) {
         val record = new MultifactorAuthenticationTrustRecord();
         record.setId(Long.parseLong(item.get(ColumnNames.ID.getColumnName()).s()));
@@ -88,7 +100,8 @@ public record DynamoDbMultifactorTrustEngineFacilitator(DynamoDbTrustedDevicesMu
         FunctionUtils.doUnchecked(__ -> DynamoDbTableUtils.createTable(amazonDynamoDBClient, dynamoDbProperties,
             dynamoDbProperties.getTableName(), deleteTables,
             List.of(AttributeDefinition.builder().attributeName(ColumnNames.ID.getColumnName()).attributeType(ScalarAttributeType.S).build()),
-            List.of(KeySchemaElement.builder().attributeName(ColumnNames.ID.getColumnName()).keyType(KeyType.HASH).build())));
+            List.of(KeySchemaElement.builder().attributeName(ColumnNames.ID.getColumnName()).keyType(KeyType.HASH).build()),
+            INDEXES));
     }
 
     /**
@@ -103,7 +116,7 @@ public record DynamoDbMultifactorTrustEngineFacilitator(DynamoDbTrustedDevicesMu
             .operator(ComparisonOperator.EQ)
             .attributeValue(List.of(AttributeValue.builder().s(String.valueOf(principal)).build()))
             .build());
-        return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient, dynamoDbProperties.getTableName(),
+        return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient, dynamoDbProperties.getTableName(), INDEXES,
                 queries, DynamoDbMultifactorTrustEngineFacilitator::extractAttributeValuesFrom)
             .collect(Collectors.toSet());
     }
@@ -132,7 +145,7 @@ public record DynamoDbMultifactorTrustEngineFacilitator(DynamoDbTrustedDevicesMu
             .operator(ComparisonOperator.EQ)
             .attributeValue(List.of(AttributeValue.builder().s(String.valueOf(key)).build()))
             .build());
-        val records = DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient, dynamoDbProperties.getTableName(),
+        val records = DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient, dynamoDbProperties.getTableName(), INDEXES,
             queries, DynamoDbMultifactorTrustEngineFacilitator::extractAttributeValuesFrom);
 
         deleteMultifactorTrustRecords(records);
@@ -150,7 +163,7 @@ public record DynamoDbMultifactorTrustEngineFacilitator(DynamoDbTrustedDevicesMu
             .operator(ComparisonOperator.LE)
             .attributeValue(List.of(AttributeValue.builder().s(String.valueOf(time)).build()))
             .build());
-        val records = DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient, dynamoDbProperties.getTableName(),
+        val records = DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient, dynamoDbProperties.getTableName(), INDEXES,
             queries, DynamoDbMultifactorTrustEngineFacilitator::extractAttributeValuesFrom);
         deleteMultifactorTrustRecords(records);
     }
@@ -168,7 +181,7 @@ public record DynamoDbMultifactorTrustEngineFacilitator(DynamoDbTrustedDevicesMu
             .operator(ComparisonOperator.GE)
             .attributeValue(List.of(AttributeValue.builder().s(String.valueOf(time)).build()))
             .build());
-        return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient, dynamoDbProperties.getTableName(),
+        return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient, dynamoDbProperties.getTableName(), INDEXES,
                 queries, DynamoDbMultifactorTrustEngineFacilitator::extractAttributeValuesFrom)
             .collect(Collectors.toSet());
     }
@@ -185,7 +198,7 @@ public record DynamoDbMultifactorTrustEngineFacilitator(DynamoDbTrustedDevicesMu
             .operator(ComparisonOperator.EQ)
             .attributeValue(List.of(AttributeValue.builder().s(String.valueOf(id)).build()))
             .build());
-        return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient, dynamoDbProperties.getTableName(),
+        return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient, dynamoDbProperties.getTableName(), INDEXES,
                 queries, DynamoDbMultifactorTrustEngineFacilitator::extractAttributeValuesFrom)
             .findFirst()
             .orElse(null);
@@ -201,7 +214,7 @@ public record DynamoDbMultifactorTrustEngineFacilitator(DynamoDbTrustedDevicesMu
             .key(ColumnNames.RECORD_KEY.getColumnName())
             .operator(ComparisonOperator.NOT_NULL)
             .build());
-        return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient, dynamoDbProperties.getTableName(),
+        return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient, dynamoDbProperties.getTableName(), INDEXES,
                 queries, DynamoDbMultifactorTrustEngineFacilitator::extractAttributeValuesFrom)
             .collect(Collectors.toSet());
     }
@@ -0,0 +1,47 @@
+package org.apereo.cas.trusted.authentication.storage;
+
+import org.apereo.cas.configuration.model.support.dynamodb.DynamoDbTrustedDevicesMultifactorProperties;
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.paginators.QueryIterable;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link DynamoDbMultifactorTrustEngineFacilitatorTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.1.0
+ */
+@Tag("DynamoDb")
+class DynamoDbMultifactorTrustEngineFacilitatorTests {
+    private DynamoDbClient client;
+
+    @BeforeEach
+    void setup() {
+        client = mock(DynamoDbClient.class);
+        when(client.queryPaginator(any(QueryRequest.class)))
+            .thenAnswer(invocation -> new QueryIterable(client, invocation.getArgument(0)));
+        when(client.query(any(QueryRequest.class)))
+            .thenReturn(QueryResponse.builder().items(List.of()).count(0).build());
+    }
+
+    @Test
+    void verifyRecordsAreQueriedByIndexes() {
+        val facilitator = new DynamoDbMultifactorTrustEngineFacilitator(new DynamoDbTrustedDevicesMultifactorProperties(), client);
+        assertTrue(facilitator.getRecordForPrincipal("casuser").isEmpty());
+        assertNull(facilitator.getRecordForId(1000L));
+        verify(client).query(argThat((QueryRequest request) -> "principalIndex".equals(request.indexName())));
+        verify(client).query(argThat((QueryRequest request) -> request.indexName() == null
+            && request.keyConditions().containsKey(DynamoDbMultifactorTrustEngineFacilitator.ColumnNames.ID.getColumnName())));
+        verify(client, never()).scan(any(ScanRequest.class));
+        verify(client, never()).scanPaginator(any(ScanRequest.class));
+    }
+}
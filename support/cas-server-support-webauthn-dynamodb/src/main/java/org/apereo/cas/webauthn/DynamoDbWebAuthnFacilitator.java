@@ -1,6 +1,7 @@
 package org.apereo.cas.webauthn;
 
 import org.apereo.cas.configuration.model.support.mfa.webauthn.WebAuthnDynamoDbMultifactorProperties;
+import org.apereo.cas.dynamodb.DynamoDbGlobalSecondaryIndex;
 import org.apereo.cas.dynamodb.DynamoDbQueryBuilder;
 import org.apereo.cas.dynamodb.DynamoDbTableUtils;
 import org.apereo.cas.util.CollectionUtils;
@@ -37,6 +38,9 @@ import java.util.stream.Stream;
 @RequiredArgsConstructor
 @Slf4j
 public class DynamoDbWebAuthnFacilitator {
+    private static final List<DynamoDbGlobalSecondaryIndex> INDEXES = List.of(
+        DynamoDbGlobalSecondaryIndex.tableKey(ColumnNames.PRINCIPAL.getColumnName(), ScalarAttributeType.S));
+
     private final WebAuthnDynamoDbMultifactorProperties dynamoDbProperties;
 
     private final DynamoDbClient amazonDynamoDBClient;
@@ -148,7 +152,7 @@ public class DynamoDbWebAuthnFacilitator {
     }
 
     private Stream<DynamoDbWebAuthnCredentialRegistration> getRecordsByKeys(final DynamoDbQueryBuilder... queries) {
-        return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient, dynamoDbProperties.getTableName(),
+        return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient, dynamoDbProperties.getTableName(), INDEXES,
             Arrays.stream(queries).collect(Collectors.toList()), item -> {
                 val username = item.get(ColumnNames.PRINCIPAL.getColumnName()).s().trim().toLowerCase(Locale.ENGLISH);
                 val records = item.get(ColumnNames.RECORDS.getColumnName()).l();
@@ -3,6 +3,7 @@ package org.apereo.cas.adaptors.yubikey.dao;
 import org.apereo.cas.adaptors.yubikey.YubiKeyAccount;
 import org.apereo.cas.adaptors.yubikey.YubiKeyRegisteredDevice;
 import org.apereo.cas.configuration.model.support.mfa.yubikey.YubiKeyDynamoDbMultifactorProperties;
+import org.apereo.cas.dynamodb.DynamoDbGlobalSecondaryIndex;
 import org.apereo.cas.dynamodb.DynamoDbQueryBuilder;
 import org.apereo.cas.dynamodb.DynamoDbTableUtils;
 import org.apereo.cas.util.CollectionUtils;
@@ -40,6 +41,9 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 public class DynamoDbYubiKeyFacilitator {
+    private static final List<DynamoDbGlobalSecondaryIndex> INDEXES = List.of(
+        DynamoDbGlobalSecondaryIndex.tableKey(ColumnNames.USERNAME.getColumnName(), ScalarAttributeType.S));
+
     private final YubiKeyDynamoDbMultifactorProperties dynamoDbProperties;
 
     private final DynamoDbClient amazonDynamoDBClient;
@@ -212,7 +216,7 @@ public class DynamoDbYubiKeyFacilitator {
     }
 
     private List<YubiKeyAccount> getRecordsByKeys(final DynamoDbQueryBuilder... queries) {
-        return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient, dynamoDbProperties.getTableName(),
+        return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient, dynamoDbProperties.getTableName(), INDEXES,
                 Arrays.stream(queries).collect(Collectors.toList()),
                 item -> {
                     val id = Long.parseLong(item.get(ColumnNames.ID.getColumnName()).n());